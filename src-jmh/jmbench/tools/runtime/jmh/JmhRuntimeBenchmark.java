@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.tools.runtime.jmh;
+
+import jmbench.impl.LibraryConfigure;
+import jmbench.interfaces.BenchmarkMatrix;
+import jmbench.interfaces.MatrixProcessorInterface;
+import jmbench.interfaces.RuntimePerformanceFactory;
+import jmbench.tools.runtime.InputOutputGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * <p>
+ * JMH benchmark which measures any operation provided by a {@link RuntimePerformanceFactory}.  Which library,
+ * operation and matrix size is benchmarked is specified by the parameters, which are set by
+ * {@link JmhRuntimeLibrary}.  Inputs are created using the same {@link InputOutputGenerator} as the regular
+ * runtime benchmark.
+ * </p>
+ *
+ * <p>
+ * Each invocation calls {@link MatrixProcessorInterface#process} with {@link #batch} trials, which keeps the
+ * cost of the timer inside of process() insignificant for small matrices.  The measured throughput must be
+ * multiplied by the batch size to get operations per second.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JmhRuntimeBenchmark {
+
+    // name of the LibraryConfigure class
+    @Param("")
+    public String configure;
+    // name of the RuntimePerformanceFactory class
+    @Param("")
+    public String factory;
+    // name of the InputOutputGenerator class
+    @Param("")
+    public String generator;
+    // name of the function in the factory which creates the algorithm
+    @Param("")
+    public String operation;
+    // size of the input matrices
+    @Param("2")
+    public int size;
+    // number of operations performed in each invocation
+    @Param("1")
+    public long batch;
+    // seed used to create the input matrices
+    @Param("0")
+    public long seed;
+
+    private MatrixProcessorInterface alg;
+    private BenchmarkMatrix inputs[];
+    private BenchmarkMatrix outputs[];
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        LibraryConfigure config = (LibraryConfigure)Class.forName(configure).newInstance();
+        config.runtimeConfigure();
+
+        RuntimePerformanceFactory f = (RuntimePerformanceFactory)Class.forName(factory).newInstance();
+        InputOutputGenerator g = (InputOutputGenerator)Class.forName(generator).newInstance();
+
+        alg = createAlgorithm(f,operation);
+        if( alg == null )
+            throw new IllegalArgumentException("Operation not supported: "+operation);
+
+        inputs = g.createInputs(f,new Random(seed),false,size);
+        outputs = new BenchmarkMatrix[ g.numOutputs() ];
+    }
+
+    @Benchmark
+    public void process( Blackhole bh ) {
+        bh.consume(alg.process(inputs,outputs,batch));
+        bh.consume(outputs);
+    }
+
+    /**
+     * Invokes the function in the factory which creates the algorithm for the operation.
+     *
+     * @return The algorithm or null if the library doesn't support it
+     */
+    public static MatrixProcessorInterface createAlgorithm( RuntimePerformanceFactory factory , String operation ) {
+        try {
+            Method m = factory.getClass().getMethod(operation);
+            return (MatrixProcessorInterface)m.invoke(factory);
+        } catch (NoSuchMethodException e) {
+            throw new RuntimeException(e);
+        } catch (InvocationTargetException e) {
+            throw new RuntimeException(e);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
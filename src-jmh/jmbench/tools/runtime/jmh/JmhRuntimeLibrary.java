@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.tools.runtime.jmh;
+
+import jmbench.impl.LibraryDescription;
+import jmbench.interfaces.MatrixProcessorInterface;
+import jmbench.interfaces.RuntimePerformanceFactory;
+import jmbench.tools.BenchmarkTools;
+import jmbench.tools.runtime.*;
+import jmbench.tools.runtime.evaluation.RuntimeResultsCsvIO;
+import jmbench.tools.runtime.generator.FloatGenerator;
+import jmbench.tools.stability.UtilBinarySerialization;
+import org.openjdk.jmh.results.BenchmarkResult;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+
+
+/**
+ * <p>
+ * Benchmarks a single library using JMH instead of {@link jmbench.tools.EvaluatorSlave}.  It is launched in its
+ * own JavaVM by {@link JmhLibraryLauncher} with the library's jars and JMH on the classpath, and JMH then forks
+ * a new JavaVM for each matrix size.  Every iteration measured by JMH is converted into a
+ * {@link RuntimeMeasurement} and saved in the same CSV format as {@link RuntimeBenchmarkLibrary}, so the results
+ * can be plotted and compared just like regular results.
+ * </p>
+ *
+ * <p>
+ * Arguments: library output directory, base name of the saved {@link RuntimeBenchmarkConfig}, followed by
+ * optional flags for the forked JavaVMs.  The {@link LibraryDescription} is read from the artifact saved next
+ * to the output directory.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class JmhRuntimeLibrary {
+
+    // each invocation will process at least this many matrix elements.  Prevents the timer inside of
+    // MatrixProcessorInterface.process() from dominating the results for small matrices
+    public static final int MIN_BATCH_ELEMENTS = 1000;
+
+    private String directorySave;
+    private LibraryDescription desc;
+    private RuntimeBenchmarkConfig config;
+    // flags passed to each forked JavaVM after the library's own flags
+    private String jvmFlags[];
+
+    public JmhRuntimeLibrary( String directorySave , LibraryDescription desc , RuntimeBenchmarkConfig config ,
+                              String ...jvmFlags ) {
+        this.directorySave = directorySave;
+        this.desc = desc;
+        this.config = config;
+        this.jvmFlags = jvmFlags;
+    }
+
+    /**
+     * Benchmarks every operation in the config.  Operations which have already been finished are skipped.
+     */
+    public void performBenchmark() {
+        File d = new File(directorySave);
+        if( !d.exists() && !d.mkdirs() )
+            throw new IllegalArgumentException("Failed to make output directory");
+
+        RuntimePerformanceFactory factory;
+        try {
+            factory = desc.factoryRuntime.newInstance();
+        } catch (InstantiationException e) {
+            throw new RuntimeException(e);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+
+        List<RuntimeEvaluationCase> cases =
+                new FactoryRuntimeEvaluationCase(desc.configure,desc.factoryRuntime,config).createCases();
+
+        for( RuntimeEvaluationCase c : cases ) {
+            // the benchmark only knows the name of the operation, which isn't enough to create structured, sparse
+            // or single precision inputs
+            if( c.getStructure() != null ) {
+                System.out.println("SKIPPING: "+c.getOpName()+" structured inputs are not supported by JMH");
+                continue;
+            }
+            if( c.getSparseFormat() != null ) {
+                System.out.println("SKIPPING: "+c.getOpName()+" sparse inputs are not supported by JMH");
+                continue;
+            }
+            if( c.getGenerator() instanceof FloatGenerator ) {
+                System.out.println("SKIPPING: "+c.getOpName()+" single precision inputs are not supported by JMH");
+                continue;
+            }
+
+            File f = new File(directorySave+"/"+c.getFileName()+".csv");
+            if( f.exists() && RuntimeResultsCsvIO.read(f).isComplete() ) {
+                System.out.println("SKIPPING: Found previously completed results for "+c.getOpName());
+                continue;
+            }
+
+            if( JmhRuntimeBenchmark.createAlgorithm(factory,c.getNameAlgorithm()) == null ) {
+                System.out.println("SKIPPING: "+c.getOpName()+" is not supported");
+                continue;
+            }
+
+            evaluateCase(c,f);
+        }
+    }
+
+    /**
+     * Runs JMH for each matrix size until they have all been processed, an error occurs, or it takes too long
+     */
+    private void evaluateCase( RuntimeEvaluationCase c , File f ) {
+        int matDimen[] = c.getDimens();
+        RuntimeEvaluationMetrics score[] = new RuntimeEvaluationMetrics[ matDimen.length ];
+        RuntimeResults results = new RuntimeResults(c.getOpName(),desc.location.getPlotName(),matDimen,score);
+
+        for( int i = 0; i < matDimen.length; i++ ) {
+            System.out.println("#### JMH "+desc.location.getPlotName()+"  op "+c.getOpName()+"  Size "+matDimen[i]+"  ####");
+
+            List<RuntimeMeasurement> measurements;
+            try {
+                measurements = evaluateSize(c,matDimen[i]);
+            } catch (RunnerException e) {
+                System.err.println("JMH failed on "+c.getOpName()+" size "+matDimen[i]+": "+e.getMessage());
+                break;
+            }
+            if( measurements.isEmpty() )
+                break;
+
+            score[i] = new RuntimeEvaluationMetrics(measurements);
+            if( c.getGenerator() instanceof BandwidthGenerator )
+                score[i].bytesPerOp = ((BandwidthGenerator)c.getGenerator()).getBytesPerOp(matDimen[i]);
+            RuntimeResultsCsvIO.write(results,f.getPath());
+
+            // larger matrices will only take longer
+            if( 1000.0/score[i].getMin() > config.maxTrialTime )
+                break;
+        }
+
+        results.complete = true;
+        RuntimeResultsCsvIO.write(results,f.getPath());
+    }
+
+    /**
+     * Benchmarks a single matrix size using JMH.  Each measured iteration in every fork is one measurement.
+     */
+    private List<RuntimeMeasurement> evaluateSize( RuntimeEvaluationCase c , int size ) throws RunnerException {
+        long batch = Math.max(1,MIN_BATCH_ELEMENTS/((long)size*size));
+
+        long memory = config.memoryTrial > 0 ? config.memoryTrial :
+                (c.getGenerator().getRequiredMemory(size)/1024/1024+config.memorySlaveBase)*config.memorySlaveScale;
+
+        List<String> jvmArgs = new ArrayList<String>();
+        jvmArgs.add("-server");
+        jvmArgs.add("-Xms"+memory+"M");
+        jvmArgs.add("-Xmx"+memory+"M");
+        jvmArgs.addAll(Arrays.asList(BenchmarkTools.lookupJreFlags(desc.configure)));
+        jvmArgs.addAll(Arrays.asList(jvmFlags));
+
+        Options opt = new OptionsBuilder()
+                .include("^"+Pattern.quote(JmhRuntimeBenchmark.class.getName()+".process")+"$")
+                .param("configure",desc.configure.getName())
+                .param("factory",desc.factoryRuntime.getName())
+                .param("generator",c.getGenerator().getClass().getName())
+                .param("operation",c.getNameAlgorithm())
+                .param("size",Integer.toString(size))
+                .param("batch",Long.toString(batch))
+                .param("seed",Long.toString(config.seed))
+                .forks(config.jmhForks)
+                .warmupIterations(config.jmhWarmupIterations)
+                .warmupTime(TimeValue.milliseconds(config.jmhIterationTime))
+                .measurementIterations(config.jmhIterations)
+                .measurementTime(TimeValue.milliseconds(config.jmhIterationTime))
+                .jvmArgs(jvmArgs.toArray(new String[jvmArgs.size()]))
+                .shouldFailOnError(true)
+                .verbosity(VerboseMode.SILENT)
+                .build();
+
+        Collection<RunResult> runs = new Runner(opt).run();
+
+        List<RuntimeMeasurement> ret = new ArrayList<RuntimeMeasurement>();
+        for( RunResult run : runs ) {
+            for( BenchmarkResult fork : run.getBenchmarkResults() ) {
+                for( IterationResult iteration : fork.getIterationResults() ) {
+                    double opsPerSec = iteration.getPrimaryResult().getScore()*batch;
+                    ret.add(new RuntimeMeasurement(opsPerSec,memory*1024*1024));
+                }
+            }
+        }
+        return ret;
+    }
+
+    public static void main( String args[] ) {
+        if( args.length < 2 ) {
+            System.out.println("Expected at least two arguments: output directory and config");
+            System.exit(1);
+        }
+
+        String directorySave = args[0];
+        LibraryDescription desc = UtilBinarySerialization.loadArtifact(directorySave);
+        RuntimeBenchmarkConfig config = UtilBinarySerialization.loadArtifact(args[1]);
+
+        if( desc == null || config == null ) {
+            System.out.println("Failed to load the library description or config");
+            System.exit(1);
+        }
+
+        String jvmFlags[] = Arrays.copyOfRange(args,2,args.length);
+
+        new JmhRuntimeLibrary(directorySave,desc,config,jvmFlags).performBenchmark();
+        System.exit(0);
+    }
+}
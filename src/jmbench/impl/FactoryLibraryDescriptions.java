@@ -139,6 +139,7 @@ public class FactoryLibraryDescriptions {
         ret.factoryMemory = (Class)JBlasMemoryFactory.class;
         ret.factoryRuntime = (Class)JBlasAlgorithmFactory.class;
         ret.location = LibraryLocation.JBLAS;
+        ret.multiThreaded = true;
         ret.version = (Class)AllLibraryVersion.JBLAS.class;
 
         return ret;
@@ -175,6 +176,7 @@ public class FactoryLibraryDescriptions {
         ret.factoryMemory = (Class)MtjMemoryFactory.class;
         ret.factoryRuntime = (Class)MtjAlgorithmFactory.class;
         ret.location = LibraryLocation.MTJ_NATIVE;
+        ret.multiThreaded = true;
         ret.version = (Class)AllLibraryVersion.MTJ.class;
 
         return ret;
@@ -183,10 +185,11 @@ public class FactoryLibraryDescriptions {
     public static LibraryDescription createOjAlgo() {
         LibraryDescription ret = new LibraryDescription();
 
-        ret.configure = (Class)DoNothingSpecialConfigure.class;
+        ret.configure = (Class)OjAlgoLibraryConfigure.class;
         ret.factoryMemory = (Class)OjAlgoMemoryFactory.class;
         ret.factoryRuntime = (Class)OjAlgoAlgorithmFactory.class;
         ret.location = LibraryLocation.OJALGO;
+        ret.multiThreaded = true;
         ret.version = (Class)AllLibraryVersion.OJALGO.class;
 
         return ret;
@@ -195,10 +198,11 @@ public class FactoryLibraryDescriptions {
     public static LibraryDescription createPColt() {
         LibraryDescription ret = new LibraryDescription();
 
-        ret.configure = (Class)DoNothingSpecialConfigure.class;
+        ret.configure = (Class)PColtLibraryConfigure.class;
         ret.factoryMemory = (Class)PColtMemoryFactory.class;
         ret.factoryRuntime = (Class)PColtAlgorithmFactory.class;
         ret.location = LibraryLocation.PCOLT;
+        ret.multiThreaded = true;
         ret.version = (Class)AllLibraryVersion.PColt.class;
 
         return ret;
@@ -223,6 +227,7 @@ public class FactoryLibraryDescriptions {
         ret.factoryMemory = (Class)UjmpMemoryFactory.class;
         ret.factoryRuntime = (Class)UjmpAlgorithmFactory.class;
         ret.location = LibraryLocation.UJMP;
+        ret.multiThreaded = true;
         ret.version = (Class)AllLibraryVersion.UJMP.class;
 
         return ret;
@@ -235,6 +240,7 @@ public class FactoryLibraryDescriptions {
         ret.factoryMemory = (Class)UjmpMemoryFactory.class;
         ret.factoryRuntime = (Class)UjmpAlgorithmFactory.class;
         ret.location = LibraryLocation.UJMP_NATIVE;
+        ret.multiThreaded = true;
         ret.version = (Class)AllLibraryVersion.UJMP.class;
 
         return ret;
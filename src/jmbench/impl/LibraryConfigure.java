@@ -28,6 +28,15 @@ import java.io.Serializable;
  */
 public interface LibraryConfigure extends Serializable {
 
+    /**
+     * Specifies the maximum number of threads the library can use internally.  Called before
+     * {@link #runtimeConfigure()}.  Native libraries are limited through environment variables when the
+     * slave is launched instead.
+     *
+     * @param numThreads Maximum number of threads.  If <= 0 the library's default is used.
+     */
+    public void setThreadBudget( int numThreads );
+
     /**
      * Called once when the benchmark thread starts to configure the library at runtime
      */
@@ -22,12 +22,16 @@ package jmbench.impl;
 import jmbench.interfaces.MemoryFactory;
 import jmbench.interfaces.RuntimePerformanceFactory;
 
+import java.io.Serializable;
+
 /**
  * Contains all the information needed to run a benchmark for a particular library.
  *
  * @author Peter Abeles
  */
-public class LibraryDescription {
+public class LibraryDescription implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     /** Information on the library's name and location */
     public LibraryLocation location;
     /** Specifies how to configure the library at runtime */
@@ -38,6 +42,11 @@ public class LibraryDescription {
     public Class<MemoryFactory> factoryMemory;
     /** Used to extract the libraries version */
     public Class<LibraryVersion> version;
+    /**
+     * True if the library spawns its own worker threads.  When libraries are benchmarked in parallel these
+     * are given an entire socket to themselves.
+     */
+    public boolean multiThreaded;
 
 
 }
@@ -33,6 +33,8 @@ import java.util.List;
  */
 @SuppressWarnings({"unchecked"})
 public class LibraryLocation implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     public static final LibraryLocation EJML = new LibraryLocation("EJML","ejml","ejml", false,false,0);
     public static final LibraryLocation JAMA = new LibraryLocation("JAMA","jama","jama", false, false, 1);
     public static final LibraryLocation MTJ = new LibraryLocation("MTJ","mtj","mtj", true, false, 2);
@@ -30,6 +30,9 @@ public class DoNothingSpecialConfigure implements LibraryConfigure {
     @Override
     public void runtimeConfigure() {}
 
+    @Override
+    public void setThreadBudget(int numThreads) {}
+
     @Override
     public String[] getJreFlags() {
         return new String[0];
@@ -43,6 +43,11 @@ public class MtjLibraryConfigure implements LibraryConfigure {
         ARPACK.getInstance();
     }
 
+    @Override
+    public void setThreadBudget(int numThreads) {
+        // pure java MTJ is single threaded
+    }
+
     @Override
     public String[] getJreFlags() {
         return new String[0];
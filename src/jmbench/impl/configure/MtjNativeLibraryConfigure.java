@@ -38,6 +38,11 @@ public class MtjNativeLibraryConfigure implements LibraryConfigure {
         ARPACK.getInstance();
     }
 
+    @Override
+    public void setThreadBudget(int numThreads) {
+        // the native BLAS is limited using environment variables
+    }
+
     @Override
     public String[] getJreFlags() {
         return new String[0];
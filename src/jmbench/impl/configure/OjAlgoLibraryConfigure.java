@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.impl.configure;
+
+import jmbench.impl.LibraryConfigure;
+import org.ojalgo.OjAlgoUtils;
+import org.ojalgo.machine.Hardware;
+import org.ojalgo.machine.VirtualMachine;
+
+/**
+ * Limits the number of threads ojAlgo uses.  ojAlgo decides how many threads to use from a description of
+ * the hardware it is running on, so it's replaced by one with fewer threads.
+ *
+ * @author Peter Abeles
+ */
+public class OjAlgoLibraryConfigure implements LibraryConfigure {
+
+    // maximum number of threads ojAlgo can use.  <= 0 for its default
+    int numThreads;
+
+    @Override
+    public void runtimeConfigure() {
+        if( numThreads > 0 ) {
+            Hardware hardware = Hardware.makeSimple(VirtualMachine.getArchitecture(),
+                    VirtualMachine.getMemory(),numThreads);
+            OjAlgoUtils.ENVIRONMENT = hardware.virtualise();
+        }
+    }
+
+    @Override
+    public void setThreadBudget(int numThreads) {
+        this.numThreads = numThreads;
+    }
+
+    @Override
+    public String[] getJreFlags() {
+        return new String[0];
+    }
+}
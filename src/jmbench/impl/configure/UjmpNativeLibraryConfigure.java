@@ -29,10 +29,19 @@ import org.ujmp.core.util.UJMPSettings;
  */
 public class UjmpNativeLibraryConfigure implements LibraryConfigure {
 
+    // maximum number of threads UJMP can use.  <= 0 for its default
+    int numThreads;
 
     @Override
     public void runtimeConfigure() {
         UJMPSettings.setUseJBlas(true);
+        if( numThreads > 0 )
+            UJMPSettings.setNumberOfThreads(numThreads);
+    }
+
+    @Override
+    public void setThreadBudget(int numThreads) {
+        this.numThreads = numThreads;
     }
 
     @Override
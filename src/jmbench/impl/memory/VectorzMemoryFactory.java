@@ -7,8 +7,12 @@ import jmbench.interfaces.MemoryProcessorInterface;
 import mikera.matrixx.AMatrix;
 import mikera.matrixx.Matrix;
 import mikera.matrixx.algo.Multiplications;
+import mikera.matrixx.decompose.Eigen;
+import mikera.matrixx.decompose.IEigenResult;
 import mikera.matrixx.decompose.ISVDResult;
 import mikera.matrixx.solve.Linear;
+import mikera.matrixx.solve.impl.CholeskySolver;
+import mikera.vectorz.AVector;
 
 public class VectorzMemoryFactory implements MemoryFactory {
 
@@ -33,10 +37,14 @@ public class VectorzMemoryFactory implements MemoryFactory {
         public void process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
             AMatrix A = inputs[0].getOriginal();
 
+            CholeskySolver solver = new CholeskySolver();
             AMatrix result = null;
 
-            for( int i = 0; i < numTrials; i++ )
-                result = A.inverse();
+            for( int i = 0; i < numTrials; i++ ) {
+                if( !solver.setA(A) )
+                    throw new RuntimeException("Inversion failed");
+                result = solver.invert();
+            }
         }
     }
 
@@ -163,22 +171,18 @@ public class VectorzMemoryFactory implements MemoryFactory {
     {
         @Override
         public void process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
-//            DenseMatrix64F A = inputs[0].getOriginal();
-//
-//            EigenDecomposition<DenseMatrix64F> eig = DecompositionFactory.eig(A.numRows,true);
-//            DenseMatrix64F v[] =  new DenseMatrix64F[Math.min(A.numRows,A.numCols)];
-//            for( int i = 0; i < numTrials; i++ ) {
-//                if( !DecompositionFactory.decomposeSafe(eig,A) ) {
-//                    throw new RuntimeException("SVD failed?!?");
-//                }
-//
-//                for( int j = 0; j < v.length; j++ ) {
-//                    v[j] = eig.getEigenVector(j);
-//                }
-//            }
-//            if( v[0] == null )
-//                throw new RuntimeException("There is a null");
-            throw new UnsupportedOperationException("Not implemented yet");
+            AMatrix A = inputs[0].getOriginal();
+
+            AVector v[] = null;
+            for( int i = 0; i < numTrials; i++ ) {
+                IEigenResult eig = Eigen.decomposeSymmetric(A);
+                if( eig == null )
+                    throw new RuntimeException("Eigen failed?!?");
+
+                v = eig.getEigenVectors();
+            }
+            if( v == null || v[0] == null )
+                throw new RuntimeException("There is a null");
         }
     }
     
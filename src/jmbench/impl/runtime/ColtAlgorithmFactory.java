@@ -19,16 +19,29 @@
 
 package jmbench.impl.runtime;
 
+import cern.colt.function.DoubleDoubleFunction;
+import cern.colt.function.DoubleFunction;
 import cern.colt.matrix.DoubleFactory2D;
+import cern.colt.matrix.DoubleMatrix1D;
 import cern.colt.matrix.DoubleMatrix2D;
 import cern.colt.matrix.impl.DenseDoubleMatrix2D;
 import cern.colt.matrix.linalg.*;
+import cern.jet.math.Functions;
 import jmbench.impl.wrapper.ColtBenchmarkMatrix;
 import jmbench.impl.wrapper.EjmlBenchmarkMatrix;
 import jmbench.interfaces.AlgorithmInterface;
+import jmbench.interfaces.BatchPerformanceFactory;
 import jmbench.interfaces.BenchmarkMatrix;
 import jmbench.interfaces.DetectedException;
+import jmbench.interfaces.ElementWisePerformanceFactory;
+import jmbench.interfaces.InPlacePerformanceFactory;
+import jmbench.interfaces.MatrixStructure;
+import jmbench.interfaces.ReusePerformanceFactory;
 import jmbench.interfaces.RuntimePerformanceFactory;
+import jmbench.interfaces.StructuredPerformanceFactory;
+import jmbench.interfaces.VectorPerformanceFactory;
+import jmbench.tools.runtime.generator.AxpyGenerator;
+import jmbench.tools.runtime.generator.ElementMapGenerator;
 import jmbench.tools.runtime.generator.ScaleGenerator;
 import org.ejml.data.DenseMatrix64F;
 import org.ejml.ops.SpecializedOps;
@@ -37,7 +50,8 @@ import org.ejml.ops.SpecializedOps;
 /**
  * @author Peter Abeles
  */
-public class ColtAlgorithmFactory implements RuntimePerformanceFactory {
+public class ColtAlgorithmFactory implements RuntimePerformanceFactory, BatchPerformanceFactory, InPlacePerformanceFactory, ReusePerformanceFactory,
+        StructuredPerformanceFactory, VectorPerformanceFactory, ElementWisePerformanceFactory {
 
     @Override
     public BenchmarkMatrix create(int numRows, int numCols) {
@@ -433,6 +447,681 @@ public class ColtAlgorithmFactory implements RuntimePerformanceFactory {
         return null;
     }
 
+    @Override
+    public AlgorithmInterface batchMult() {
+        return new BatchMult();
+    }
+
+    public static class BatchMult implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            int N = inputs.length/2;
+            DenseDoubleMatrix2D matA[] = new DenseDoubleMatrix2D[N];
+            DenseDoubleMatrix2D matB[] = new DenseDoubleMatrix2D[N];
+            DoubleMatrix2D result[] = new DoubleMatrix2D[N];
+            for( int i = 0; i < N; i++ ) {
+                matA[i] = inputs[i].getOriginal();
+                matB[i] = inputs[N+i].getOriginal();
+            }
+
+            Algebra alg = new Algebra();
+
+            long prev = System.nanoTime();
+
+            int j = 0;
+            for( long i = 0; i < numTrials; i++ ) {
+                result[j] = alg.mult(matA[j],matB[j]);
+                if( ++j == N ) j = 0;
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            for( int i = 0; i < N && i < numTrials; i++ )
+                outputs[i] = new ColtBenchmarkMatrix(result[i]);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface batchSolve() {
+        return new BatchSolve();
+    }
+
+    public static class BatchSolve implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            int N = inputs.length/2;
+            DenseDoubleMatrix2D matA[] = new DenseDoubleMatrix2D[N];
+            DenseDoubleMatrix2D matB[] = new DenseDoubleMatrix2D[N];
+            DoubleMatrix2D result[] = new DoubleMatrix2D[N];
+            for( int i = 0; i < N; i++ ) {
+                matA[i] = inputs[i].getOriginal();
+                matB[i] = inputs[N+i].getOriginal();
+            }
+
+            Algebra alg = new Algebra();
+
+            long prev = System.nanoTime();
+
+            int j = 0;
+            for( long i = 0; i < numTrials; i++ ) {
+                result[j] = alg.solve(matA[j],matB[j]);
+                if( ++j == N ) j = 0;
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            for( int i = 0; i < N && i < numTrials; i++ )
+                outputs[i] = new ColtBenchmarkMatrix(result[i]);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface batchMultFixed2() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface batchMultFixed3() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface batchSolveFixed2() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface batchSolveFixed3() {
+        return null;
+    }
+
+    // invertSymmPosDef, solveOver and transpose have no way to write into an existing matrix
+
+    @Override
+    public AlgorithmInterface invertInto() {
+        return new InvInto();
+    }
+
+    @Override
+    public AlgorithmInterface invertSymmPosDefInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface addInto() {
+        return new AddInto();
+    }
+
+    @Override
+    public AlgorithmInterface multInto() {
+        return new MultInto();
+    }
+
+    @Override
+    public AlgorithmInterface multTransBInto() {
+        return new MultTransBInto();
+    }
+
+    @Override
+    public AlgorithmInterface scaleInto() {
+        return new ScaleInto();
+    }
+
+    @Override
+    public AlgorithmInterface solveExactInto() {
+        return new SolveInto();
+    }
+
+    @Override
+    public AlgorithmInterface solveOverInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface transposeInto() {
+        return null;
+    }
+
+    public static class AddInto implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix2D matA = inputs[0].getOriginal();
+            DoubleMatrix2D matB = inputs[1].getOriginal();
+
+            DoubleMatrix2D result = new DenseDoubleMatrix2D(matA.rows(),matA.columns());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result.assign(matA);
+                result.assign(matB,Functions.plus);
+            }
+
+            long elapsed = System.nanoTime()-prev;
+            outputs[0] = new ColtBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    public static class MultInto implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix2D matA = inputs[0].getOriginal();
+            DoubleMatrix2D matB = inputs[1].getOriginal();
+
+            DoubleMatrix2D result = new DenseDoubleMatrix2D(matA.rows(),matB.columns());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                matA.zMult(matB,result);
+            }
+
+            long elapsed = System.nanoTime()-prev;
+            outputs[0] = new ColtBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    public static class MultTransBInto implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix2D matA = inputs[0].getOriginal();
+            DoubleMatrix2D matB = inputs[1].getOriginal();
+
+            DoubleMatrix2D result = new DenseDoubleMatrix2D(matA.rows(),matB.rows());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                matA.zMult(matB,result,1.0,0.0,false,true);
+            }
+
+            long elapsed = System.nanoTime()-prev;
+            outputs[0] = new ColtBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    public static class ScaleInto implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix2D matA = inputs[0].getOriginal();
+
+            DoubleMatrix2D result = new DenseDoubleMatrix2D(matA.rows(),matA.columns());
+            DoubleFunction scale = Functions.mult(ScaleGenerator.SCALE);
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result.assign(matA);
+                result.assign(scale);
+            }
+
+            long elapsed = System.nanoTime()-prev;
+            outputs[0] = new ColtBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    /**
+     * The LU decomposition is computed in a copy of A and the identity matrix is overwritten with the inverse.
+     */
+    public static class InvInto implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix2D matA = inputs[0].getOriginal();
+
+            LUDecompositionQuick lu = new LUDecompositionQuick();
+            DoubleMatrix2D tmp = new DenseDoubleMatrix2D(matA.rows(),matA.columns());
+            DoubleMatrix2D I = DoubleFactory2D.dense.identity(matA.rows());
+            DoubleMatrix2D result = new DenseDoubleMatrix2D(matA.rows(),matA.columns());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                tmp.assign(matA);
+                lu.decompose(tmp);
+                if( !lu.isNonsingular() )
+                    throw new DetectedException("Singular matrix");
+                result.assign(I);
+                lu.solve(result);
+            }
+
+            long elapsed = System.nanoTime()-prev;
+            outputs[0] = new ColtBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    /**
+     * The LU decomposition is computed in a copy of A and a copy of B is overwritten with the solution.
+     */
+    public static class SolveInto implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix2D matA = inputs[0].getOriginal();
+            DoubleMatrix2D matB = inputs[1].getOriginal();
+
+            LUDecompositionQuick lu = new LUDecompositionQuick();
+            DoubleMatrix2D tmp = new DenseDoubleMatrix2D(matA.rows(),matA.columns());
+            DoubleMatrix2D result = new DenseDoubleMatrix2D(matB.rows(),matB.columns());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                tmp.assign(matA);
+                lu.decompose(tmp);
+                if( !lu.isNonsingular() )
+                    throw new DetectedException("Singular matrix");
+                result.assign(matB);
+                lu.solve(result);
+            }
+
+            long elapsed = System.nanoTime()-prev;
+            outputs[0] = new ColtBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    // only LU can be reused.  The other decompositions are computed in their constructors
+
+    @Override
+    public AlgorithmInterface cholReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface luReuse() {
+        return new LU();
+    }
+
+    @Override
+    public AlgorithmInterface svdReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface qrReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface eigSymmReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface solveExactReuse() {
+        return new SolveInto();
+    }
+
+    @Override
+    public AlgorithmInterface solveOverReuse() {
+        return null;
+    }
+
+    // Colt has no structured matrix types
+
+    @Override
+    public AlgorithmInterface multStructured( MatrixStructure structure ) {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface solveExactStructured( MatrixStructure structure ) {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface detStructured( MatrixStructure structure ) {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface invertStructured( MatrixStructure structure ) {
+        return null;
+    }
+
+    // vectors are matrices with one column.  The operations are applied to a view of the column
+
+    @Override
+    public AlgorithmInterface dot() {
+        return new Dot();
+    }
+
+    public static class Dot implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DenseDoubleMatrix2D matX = inputs[0].getOriginal();
+            DenseDoubleMatrix2D matY = inputs[1].getOriginal();
+
+            DoubleMatrix1D x = matX.viewColumn(0);
+            DoubleMatrix1D y = matY.viewColumn(0);
+
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = x.zDotProduct(y);
+            }
+
+            long elapsed = System.nanoTime()-prev;
+
+            outputs[0] = new ColtBenchmarkMatrix(new DenseDoubleMatrix2D(1,1).assign(s));
+
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface axpy() {
+        return new Axpy();
+    }
+
+    public static class Axpy implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DenseDoubleMatrix2D matX = inputs[0].getOriginal();
+            DenseDoubleMatrix2D matY = inputs[1].getOriginal();
+
+            DoubleMatrix1D x = matX.viewColumn(0);
+            DoubleMatrix1D y = matY.viewColumn(0);
+
+            DoubleDoubleFunction plusMult = Functions.plusMult(AxpyGenerator.ALPHA);
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                y.assign(x,plusMult);
+            }
+
+            long elapsed = System.nanoTime()-prev;
+
+            outputs[0] = new ColtBenchmarkMatrix(matY);
+
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface norm2() {
+        return new Norm2();
+    }
+
+    /**
+     * Algebra.norm2() returns the square of the norm
+     */
+    public static class Norm2 implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DenseDoubleMatrix2D matX = inputs[0].getOriginal();
+            DoubleMatrix1D x = matX.viewColumn(0);
+
+            Algebra alg = new Algebra();
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = Math.sqrt(alg.norm2(x));
+            }
+
+            long elapsed = System.nanoTime()-prev;
+
+            outputs[0] = new ColtBenchmarkMatrix(new DenseDoubleMatrix2D(1,1).assign(s));
+
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface gemv() {
+        return new Gemv();
+    }
+
+    public static class Gemv implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DenseDoubleMatrix2D A = inputs[0].getOriginal();
+            DenseDoubleMatrix2D matX = inputs[1].getOriginal();
+            DoubleMatrix1D x = matX.viewColumn(0);
+
+            DenseDoubleMatrix2D result = new DenseDoubleMatrix2D(A.rows(),1);
+            DoubleMatrix1D y = result.viewColumn(0);
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                A.zMult(x,y);
+            }
+
+            long elapsed = System.nanoTime()-prev;
+
+            outputs[0] = new ColtBenchmarkMatrix(result);
+
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface gemvTrans() {
+        return new GemvTrans();
+    }
+
+    public static class GemvTrans implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DenseDoubleMatrix2D A = inputs[0].getOriginal();
+            DenseDoubleMatrix2D matX = inputs[1].getOriginal();
+            DoubleMatrix1D x = matX.viewColumn(0);
+
+            DenseDoubleMatrix2D result = new DenseDoubleMatrix2D(A.columns(),1);
+            DoubleMatrix1D y = result.viewColumn(0);
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                A.zMult(x,y,1,0,true);
+            }
+
+            long elapsed = System.nanoTime()-prev;
+
+            outputs[0] = new ColtBenchmarkMatrix(result);
+
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementMult() {
+        return new ElementMult();
+    }
+
+    public static class ElementMult implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DenseDoubleMatrix2D matA = inputs[0].getOriginal();
+            DenseDoubleMatrix2D matB = inputs[1].getOriginal();
+
+            DoubleMatrix2D result = new DenseDoubleMatrix2D(matA.rows(),matA.columns());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                // In-place operation here
+                result.assign(matA);
+                result.assign(matB, Functions.mult);
+            }
+
+            long elapsed = System.nanoTime() - prev;
+            outputs[0] = new ColtBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementDiv() {
+        return new ElementDiv();
+    }
+
+    public static class ElementDiv implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DenseDoubleMatrix2D matA = inputs[0].getOriginal();
+            DenseDoubleMatrix2D matB = inputs[1].getOriginal();
+
+            DoubleMatrix2D result = new DenseDoubleMatrix2D(matA.rows(),matA.columns());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                // In-place operation here
+                result.assign(matA);
+                result.assign(matB, Functions.div);
+            }
+
+            long elapsed = System.nanoTime() - prev;
+            outputs[0] = new ColtBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementMap() {
+        return new ElementMap();
+    }
+
+    public static class ElementMap implements AlgorithmInterface {
+        private static final DoubleFunction FUNCTION = new DoubleFunction() {
+            @Override
+            public double apply(double x) {
+                return ElementMapGenerator.function(x);
+            }
+        };
+
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DenseDoubleMatrix2D matA = inputs[0].getOriginal();
+
+            DoubleMatrix2D result = new DenseDoubleMatrix2D(matA.rows(),matA.columns());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result.assign(matA);
+                result.assign(FUNCTION);
+            }
+
+            long elapsed = System.nanoTime() - prev;
+            outputs[0] = new ColtBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementMapLoop() {
+        return new ElementMapLoop();
+    }
+
+    public static class ElementMapLoop implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DenseDoubleMatrix2D matA = inputs[0].getOriginal();
+
+            int numRows = matA.rows();
+            int numCols = matA.columns();
+            DoubleMatrix2D result = new DenseDoubleMatrix2D(matA.rows(),matA.columns());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                for( int row = 0; row < numRows; row++ ) {
+                    for( int col = 0; col < numCols; col++ ) {
+                        result.set(row,col,ElementMapGenerator.function(matA.get(row,col)));
+                    }
+                }
+            }
+
+            long elapsed = System.nanoTime() - prev;
+            outputs[0] = new ColtBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementSum() {
+        return new ElementSum();
+    }
+
+    public static class ElementSum implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DenseDoubleMatrix2D matA = inputs[0].getOriginal();
+
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = matA.zSum();
+            }
+
+            long elapsed = System.nanoTime() - prev;
+            outputs[0] = new ColtBenchmarkMatrix(new DenseDoubleMatrix2D(new double[][]{{s}}));
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementMax() {
+        return new ElementMax();
+    }
+
+    public static class ElementMax implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DenseDoubleMatrix2D matA = inputs[0].getOriginal();
+
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = matA.aggregate(Functions.max, Functions.identity);
+            }
+
+            long elapsed = System.nanoTime() - prev;
+            outputs[0] = new ColtBenchmarkMatrix(new DenseDoubleMatrix2D(new double[][]{{s}}));
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface normF() {
+        return new NormF();
+    }
+
+    public static class NormF implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DenseDoubleMatrix2D matA = inputs[0].getOriginal();
+
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = Algebra.DEFAULT.normF(matA);
+            }
+
+            long elapsed = System.nanoTime() - prev;
+            outputs[0] = new ColtBenchmarkMatrix(new DenseDoubleMatrix2D(new double[][]{{s}}));
+            return elapsed;
+        }
+    }
+
     @Override
     public BenchmarkMatrix convertToLib(DenseMatrix64F input) {
         return new ColtBenchmarkMatrix(convertToColt(input));
@@ -20,11 +20,24 @@
 package jmbench.impl.runtime;
 
 import jmbench.impl.wrapper.CommonsMathBenchmarkMatrix;
+import jmbench.impl.wrapper.CommonsMathComplexBenchmarkMatrix;
 import jmbench.interfaces.AlgorithmInterface;
+import jmbench.interfaces.BatchPerformanceFactory;
 import jmbench.interfaces.BenchmarkMatrix;
+import jmbench.interfaces.ComplexPerformanceFactory;
 import jmbench.interfaces.DetectedException;
+import jmbench.interfaces.ElementWisePerformanceFactory;
+import jmbench.interfaces.InPlacePerformanceFactory;
+import jmbench.interfaces.MatrixStructure;
+import jmbench.interfaces.ReusePerformanceFactory;
 import jmbench.interfaces.RuntimePerformanceFactory;
+import jmbench.interfaces.StructuredPerformanceFactory;
+import jmbench.interfaces.VectorPerformanceFactory;
+import jmbench.tools.runtime.generator.AxpyGenerator;
+import jmbench.tools.runtime.generator.ElementMapGenerator;
 import jmbench.tools.runtime.generator.ScaleGenerator;
+import org.apache.commons.math3.complex.Complex;
+import org.apache.commons.math3.complex.ComplexField;
 import org.apache.commons.math3.exception.MathArithmeticException;
 import org.apache.commons.math3.exception.MaxCountExceededException;
 import org.apache.commons.math3.linear.*;
@@ -35,7 +48,8 @@ import org.ejml.data.DenseMatrix64F;
 /**
  * @author Peter Abeles
  */
-public class CommonsMathAlgorithmFactory implements RuntimePerformanceFactory {
+public class CommonsMathAlgorithmFactory implements RuntimePerformanceFactory, BatchPerformanceFactory, InPlacePerformanceFactory, ReusePerformanceFactory,
+        StructuredPerformanceFactory, VectorPerformanceFactory, ElementWisePerformanceFactory, ComplexPerformanceFactory {
 
     @Override
     public BenchmarkMatrix create(int numRows, int numCols) {
@@ -458,6 +472,690 @@ public class CommonsMathAlgorithmFactory implements RuntimePerformanceFactory {
         }
     }
 
+    @Override
+    public AlgorithmInterface batchMult() {
+        return new BatchMult();
+    }
+
+    public static class BatchMult implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            int N = inputs.length/2;
+            RealMatrix matA[] = new RealMatrix[N];
+            RealMatrix matB[] = new RealMatrix[N];
+            RealMatrix result[] = new RealMatrix[N];
+            for( int i = 0; i < N; i++ ) {
+                matA[i] = inputs[i].getOriginal();
+                matB[i] = inputs[N+i].getOriginal();
+            }
+
+            long prev = System.nanoTime();
+
+            int j = 0;
+            for( long i = 0; i < numTrials; i++ ) {
+                result[j] = matA[j].multiply(matB[j]);
+                if( ++j == N ) j = 0;
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            for( int i = 0; i < N && i < numTrials; i++ )
+                outputs[i] = new CommonsMathBenchmarkMatrix(result[i]);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface batchSolve() {
+        return new BatchSolve();
+    }
+
+    public static class BatchSolve implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            int N = inputs.length/2;
+            RealMatrix matA[] = new RealMatrix[N];
+            RealMatrix matB[] = new RealMatrix[N];
+            RealMatrix result[] = new RealMatrix[N];
+            for( int i = 0; i < N; i++ ) {
+                matA[i] = inputs[i].getOriginal();
+                matB[i] = inputs[N+i].getOriginal();
+            }
+
+            long prev = System.nanoTime();
+
+            int j = 0;
+            for( long i = 0; i < numTrials; i++ ) {
+                result[j] = new LUDecomposition(matA[j]).getSolver().solve(matB[j]);
+                if( ++j == N ) j = 0;
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            for( int i = 0; i < N && i < numTrials; i++ )
+                outputs[i] = new CommonsMathBenchmarkMatrix(result[i]);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface batchMultFixed2() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface batchMultFixed3() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface batchSolveFixed2() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface batchSolveFixed3() {
+        return null;
+    }
+
+    // Commons Math always creates a new matrix for the results
+
+    @Override
+    public AlgorithmInterface invertInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface invertSymmPosDefInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface addInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface multInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface multTransBInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface scaleInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface solveExactInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface solveOverInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface transposeInto() {
+        return null;
+    }
+
+    // Commons Math computes a decomposition in its constructor, so a new one is always created
+
+    @Override
+    public AlgorithmInterface cholReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface luReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface svdReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface qrReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface eigSymmReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface solveExactReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface solveOverReuse() {
+        return null;
+    }
+
+    // DiagonalMatrix is the only structured type and it can only be multiplied.  The identity matrix is
+    // represented as a diagonal matrix of ones
+
+    @Override
+    public AlgorithmInterface multStructured( MatrixStructure structure ) {
+        if( structure != MatrixStructure.IDENTITY && structure != MatrixStructure.DIAGONAL )
+            return null;
+        return new MultDiagonal();
+    }
+
+    @Override
+    public AlgorithmInterface solveExactStructured( MatrixStructure structure ) {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface detStructured( MatrixStructure structure ) {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface invertStructured( MatrixStructure structure ) {
+        return null;
+    }
+
+    public static class MultDiagonal implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            RealMatrix A = inputs[0].getOriginal();
+            RealMatrix matB = inputs[1].getOriginal();
+
+            double diag[] = new double[ A.getRowDimension() ];
+            for( int i = 0; i < diag.length; i++ )
+                diag[i] = A.getEntry(i,i);
+            DiagonalMatrix matA = new DiagonalMatrix(diag);
+
+            RealMatrix result = null;
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result = matA.multiply(matB);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new CommonsMathBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    // vectors are converted into ArrayRealVector before the timer starts
+
+    @Override
+    public AlgorithmInterface dot() {
+        return new Dot();
+    }
+
+    public static class Dot implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            RealVector x = toVector(inputs[0]);
+            RealVector y = toVector(inputs[1]);
+
+            double s = 0;
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = x.dotProduct(y);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new CommonsMathBenchmarkMatrix(MatrixUtils.createRealMatrix(new double[][]{{s}}));
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface axpy() {
+        return new Axpy();
+    }
+
+    public static class Axpy implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            RealVector x = toVector(inputs[0]);
+            RealVector y = toVector(inputs[1]);
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                y.combineToSelf(1,AxpyGenerator.ALPHA,x);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new CommonsMathBenchmarkMatrix(MatrixUtils.createColumnRealMatrix(y.toArray()));
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface norm2() {
+        return new Norm2();
+    }
+
+    public static class Norm2 implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            RealVector x = toVector(inputs[0]);
+
+            double s = 0;
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = x.getNorm();
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new CommonsMathBenchmarkMatrix(MatrixUtils.createRealMatrix(new double[][]{{s}}));
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface gemv() {
+        return new Gemv();
+    }
+
+    public static class Gemv implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            RealMatrix A = inputs[0].getOriginal();
+            RealVector x = toVector(inputs[1]);
+
+            RealVector y = null;
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                y = A.operate(x);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new CommonsMathBenchmarkMatrix(MatrixUtils.createColumnRealMatrix(y.toArray()));
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface gemvTrans() {
+        return new GemvTrans();
+    }
+
+    /**
+     * x<sup>T</sup>*A is the transpose of A<sup>T</sup>*x
+     */
+    public static class GemvTrans implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            RealMatrix A = inputs[0].getOriginal();
+            RealVector x = toVector(inputs[1]);
+
+            RealVector y = null;
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                y = A.preMultiply(x);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new CommonsMathBenchmarkMatrix(MatrixUtils.createColumnRealMatrix(y.toArray()));
+            return elapsedTime;
+        }
+    }
+
+    /**
+     * Converts a matrix with one column into a vector
+     */
+    private static RealVector toVector( BenchmarkMatrix m ) {
+        RealMatrix orig = m.getOriginal();
+        return new ArrayRealVector(orig.getColumn(0),false);
+    }
+
+    @Override
+    public AlgorithmInterface elementMult() {
+        return new ElementMult();
+    }
+
+    public static class ElementMult implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            RealMatrix matA = inputs[0].getOriginal();
+            final RealMatrix matB = inputs[1].getOriginal();
+
+            RealMatrix result = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                // there is no element-wise operation for matrices, so a visitor is used instead
+                result = matA.copy();
+                result.walkInOptimizedOrder(new DefaultRealMatrixChangingVisitor() {
+                    @Override
+                    public double visit(int row, int column, double value) {
+                        return value*matB.getEntry(row,column);
+                    }
+                });
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new CommonsMathBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementDiv() {
+        return new ElementDiv();
+    }
+
+    public static class ElementDiv implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            RealMatrix matA = inputs[0].getOriginal();
+            final RealMatrix matB = inputs[1].getOriginal();
+
+            RealMatrix result = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                // there is no element-wise operation for matrices, so a visitor is used instead
+                result = matA.copy();
+                result.walkInOptimizedOrder(new DefaultRealMatrixChangingVisitor() {
+                    @Override
+                    public double visit(int row, int column, double value) {
+                        return value/matB.getEntry(row,column);
+                    }
+                });
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new CommonsMathBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementMap() {
+        return new ElementMap();
+    }
+
+    public static class ElementMap implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            RealMatrix matA = inputs[0].getOriginal();
+
+            RealMatrix result = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result = matA.copy();
+                result.walkInOptimizedOrder(new DefaultRealMatrixChangingVisitor() {
+                    @Override
+                    public double visit(int row, int column, double value) {
+                        return ElementMapGenerator.function(value);
+                    }
+                });
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new CommonsMathBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementMapLoop() {
+        return new ElementMapLoop();
+    }
+
+    public static class ElementMapLoop implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            RealMatrix matA = inputs[0].getOriginal();
+
+            int numRows = matA.getRowDimension();
+            int numCols = matA.getColumnDimension();
+            RealMatrix result = matA.createMatrix(numRows,numCols);
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                for( int row = 0; row < numRows; row++ ) {
+                    for( int col = 0; col < numCols; col++ ) {
+                        result.setEntry(row,col,ElementMapGenerator.function(matA.getEntry(row,col)));
+                    }
+                }
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new CommonsMathBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementSum() {
+        return new ElementSum();
+    }
+
+    public static class ElementSum implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            RealMatrix matA = inputs[0].getOriginal();
+
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = matA.walkInOptimizedOrder(new DefaultRealMatrixPreservingVisitor() {
+                    double sum = 0;
+
+                    @Override
+                    public void visit(int row, int column, double value) {
+                        sum += value;
+                    }
+
+                    @Override
+                    public double end() {
+                        return sum;
+                    }
+                });
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new CommonsMathBenchmarkMatrix(MatrixUtils.createRealMatrix(new double[][]{{s}}));
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementMax() {
+        return new ElementMax();
+    }
+
+    public static class ElementMax implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            RealMatrix matA = inputs[0].getOriginal();
+
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = matA.walkInOptimizedOrder(new DefaultRealMatrixPreservingVisitor() {
+                    double max = -Double.MAX_VALUE;
+
+                    @Override
+                    public void visit(int row, int column, double value) {
+                        if( value > max )
+                            max = value;
+                    }
+
+                    @Override
+                    public double end() {
+                        return max;
+                    }
+                });
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new CommonsMathBenchmarkMatrix(MatrixUtils.createRealMatrix(new double[][]{{s}}));
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface normF() {
+        return new NormF();
+    }
+
+    public static class NormF implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            RealMatrix matA = inputs[0].getOriginal();
+
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = matA.getFrobeniusNorm();
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new CommonsMathBenchmarkMatrix(MatrixUtils.createRealMatrix(new double[][]{{s}}));
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public BenchmarkMatrix createComplex(int numRows, int numCols) {
+        FieldMatrix<Complex> mat = new Array2DRowFieldMatrix<Complex>(ComplexField.getInstance(),numRows,numCols);
+        return new CommonsMathComplexBenchmarkMatrix(mat);
+    }
+
+    @Override
+    public AlgorithmInterface complexMult() {
+        return new ComplexMult();
+    }
+
+    public static class ComplexMult implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            FieldMatrix<Complex> matA = inputs[0].getOriginal();
+            FieldMatrix<Complex> matB = inputs[1].getOriginal();
+
+            FieldMatrix<Complex> result = null;
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result = matA.multiply(matB);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new CommonsMathComplexBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface complexAdd() {
+        return new ComplexAdd();
+    }
+
+    public static class ComplexAdd implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            FieldMatrix<Complex> matA = inputs[0].getOriginal();
+            FieldMatrix<Complex> matB = inputs[1].getOriginal();
+
+            FieldMatrix<Complex> result = null;
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result = matA.add(matB);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new CommonsMathComplexBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface complexTransposeConj() {
+        return new ComplexTransposeConj();
+    }
+
+    public static class ComplexTransposeConj implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            FieldMatrix<Complex> matA = inputs[0].getOriginal();
+
+            FieldMatrix<Complex> result = null;
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                // there is no conjugate transpose, so the transpose is conjugated
+                result = matA.transpose();
+                result.walkInOptimizedOrder(new DefaultFieldMatrixChangingVisitor<Complex>(Complex.ZERO) {
+                    @Override
+                    public Complex visit(int row, int column, Complex value) {
+                        return value.conjugate();
+                    }
+                });
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new CommonsMathComplexBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface complexSolve() {
+        return new ComplexSolve();
+    }
+
+    public static class ComplexSolve implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            FieldMatrix<Complex> matA = inputs[0].getOriginal();
+            FieldMatrix<Complex> matB = inputs[1].getOriginal();
+
+            FieldMatrix<Complex> result = null;
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                FieldLUDecomposition<Complex> lu = new FieldLUDecomposition<Complex>(matA);
+                result = lu.getSolver().solve(matB);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new CommonsMathComplexBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface complexEigHermitian() {
+        // eigen decomposition is only provided for real matrices
+        return null;
+    }
+
     @Override
     public BenchmarkMatrix convertToLib(DenseMatrix64F input) {
         return new CommonsMathBenchmarkMatrix(convertToBlockReal(input));
@@ -21,22 +21,38 @@ package jmbench.impl.runtime;
 
 import jmbench.impl.wrapper.EjmlBenchmarkMatrix;
 import jmbench.interfaces.AlgorithmInterface;
+import jmbench.interfaces.BatchPerformanceFactory;
 import jmbench.interfaces.BenchmarkMatrix;
 import jmbench.interfaces.DetectedException;
+import jmbench.interfaces.ElementWisePerformanceFactory;
+import jmbench.interfaces.InPlacePerformanceFactory;
+import jmbench.interfaces.MatrixStructure;
+import jmbench.interfaces.ReusePerformanceFactory;
 import jmbench.interfaces.RuntimePerformanceFactory;
+import jmbench.interfaces.StructuredPerformanceFactory;
+import jmbench.interfaces.VectorPerformanceFactory;
+import jmbench.tools.runtime.generator.AxpyGenerator;
+import jmbench.tools.runtime.generator.ElementMapGenerator;
 import jmbench.tools.runtime.generator.ScaleGenerator;
 import org.ejml.alg.dense.linsol.LinearSolverSafe;
+import org.ejml.alg.dense.mult.VectorVectorMult;
+import org.ejml.alg.fixed.FixedOps3;
 import org.ejml.data.DenseMatrix64F;
+import org.ejml.data.FixedMatrix3_64F;
+import org.ejml.data.FixedMatrix3x3_64F;
 import org.ejml.factory.*;
 import org.ejml.ops.CommonOps;
+import org.ejml.ops.ConvertMatrixType;
 import org.ejml.ops.CovarianceOps;
 import org.ejml.ops.EigenOps;
+import org.ejml.ops.NormOps;
 
 
 /**
  * @author Peter Abeles
  */
-public class EjmlAlgorithmFactory implements RuntimePerformanceFactory {
+public class EjmlAlgorithmFactory implements RuntimePerformanceFactory, BatchPerformanceFactory, InPlacePerformanceFactory, ReusePerformanceFactory,
+        StructuredPerformanceFactory, VectorPerformanceFactory, ElementWisePerformanceFactory {
 
 
     @Override
@@ -465,6 +481,551 @@ public class EjmlAlgorithmFactory implements RuntimePerformanceFactory {
         }
     }
 
+    @Override
+    public AlgorithmInterface batchMult() {
+        return new BatchMult();
+    }
+
+    public static class BatchMult implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            int N = inputs.length/2;
+            DenseMatrix64F matA[] = new DenseMatrix64F[N];
+            DenseMatrix64F matB[] = new DenseMatrix64F[N];
+            DenseMatrix64F result[] = new DenseMatrix64F[N];
+            for( int i = 0; i < N; i++ ) {
+                matA[i] = inputs[i].getOriginal();
+                matB[i] = inputs[N+i].getOriginal();
+                result[i] = new DenseMatrix64F(matA[i].numRows,matB[i].numCols);
+            }
+
+            long prev = System.nanoTime();
+
+            int j = 0;
+            for( long i = 0; i < numTrials; i++ ) {
+                CommonOps.mult(matA[j],matB[j],result[j]);
+                if( ++j == N ) j = 0;
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            for( int i = 0; i < N && i < numTrials; i++ )
+                outputs[i] = new EjmlBenchmarkMatrix(result[i]);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface batchSolve() {
+        return new BatchSolve();
+    }
+
+    public static class BatchSolve implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            int N = inputs.length/2;
+            DenseMatrix64F matA[] = new DenseMatrix64F[N];
+            DenseMatrix64F matB[] = new DenseMatrix64F[N];
+            DenseMatrix64F result[] = new DenseMatrix64F[N];
+            for( int i = 0; i < N; i++ ) {
+                matA[i] = inputs[i].getOriginal();
+                matB[i] = inputs[N+i].getOriginal();
+                result[i] = new DenseMatrix64F(matA[i].numCols,matB[i].numCols);
+            }
+
+            // all the matrices are the same size so a single solver can be used
+            LinearSolver<DenseMatrix64F> solver = LinearSolverFactory.linear(matA[0].numRows);
+            // make sure the input is not modified
+            solver = new LinearSolverSafe<DenseMatrix64F>(solver);
+
+            long prev = System.nanoTime();
+
+            int j = 0;
+            for( long i = 0; i < numTrials; i++ ) {
+                if( !solver.setA(matA[j]) )
+                    throw new DetectedException("Bad A");
+
+                solver.solve(matB[j],result[j]);
+                if( ++j == N ) j = 0;
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            for( int i = 0; i < N && i < numTrials; i++ )
+                outputs[i] = new EjmlBenchmarkMatrix(result[i]);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface batchMultFixed2() {
+        // there are no operations for 2x2 fixed matrices
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface batchMultFixed3() {
+        return new BatchMultFixed3();
+    }
+
+    public static class BatchMultFixed3 implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            int N = inputs.length/2;
+            FixedMatrix3x3_64F matA[] = new FixedMatrix3x3_64F[N];
+            FixedMatrix3x3_64F matB[] = new FixedMatrix3x3_64F[N];
+            FixedMatrix3x3_64F result[] = new FixedMatrix3x3_64F[N];
+            for( int i = 0; i < N; i++ ) {
+                matA[i] = ConvertMatrixType.convert((DenseMatrix64F)inputs[i].getOriginal(),(FixedMatrix3x3_64F)null);
+                matB[i] = ConvertMatrixType.convert((DenseMatrix64F)inputs[N+i].getOriginal(),(FixedMatrix3x3_64F)null);
+                result[i] = new FixedMatrix3x3_64F();
+            }
+
+            long prev = System.nanoTime();
+
+            int j = 0;
+            for( long i = 0; i < numTrials; i++ ) {
+                FixedOps3.mult(matA[j],matB[j],result[j]);
+                if( ++j == N ) j = 0;
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            for( int i = 0; i < N && i < numTrials; i++ )
+                outputs[i] = new EjmlBenchmarkMatrix(ConvertMatrixType.convert(result[i],(DenseMatrix64F)null));
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface batchSolveFixed2() {
+        // there are no operations for 2x2 fixed matrices
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface batchSolveFixed3() {
+        return new BatchSolveFixed3();
+    }
+
+    /**
+     * There is no fixed size solver, so the system is solved by inverting A.
+     */
+    public static class BatchSolveFixed3 implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            int N = inputs.length/2;
+            FixedMatrix3x3_64F matA[] = new FixedMatrix3x3_64F[N];
+            FixedMatrix3_64F matB[] = new FixedMatrix3_64F[N];
+            FixedMatrix3_64F result[] = new FixedMatrix3_64F[N];
+            for( int i = 0; i < N; i++ ) {
+                matA[i] = ConvertMatrixType.convert((DenseMatrix64F)inputs[i].getOriginal(),(FixedMatrix3x3_64F)null);
+                matB[i] = ConvertMatrixType.convert((DenseMatrix64F)inputs[N+i].getOriginal(),(FixedMatrix3_64F)null);
+                result[i] = new FixedMatrix3_64F();
+            }
+            FixedMatrix3x3_64F inv = new FixedMatrix3x3_64F();
+
+            long prev = System.nanoTime();
+
+            int j = 0;
+            for( long i = 0; i < numTrials; i++ ) {
+                if( !FixedOps3.invert(matA[j],inv) )
+                    throw new DetectedException("Bad A");
+
+                FixedOps3.mult(inv,matB[j],result[j]);
+                if( ++j == N ) j = 0;
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            for( int i = 0; i < N && i < numTrials; i++ )
+                outputs[i] = new EjmlBenchmarkMatrix(ConvertMatrixType.convert(result[i],(DenseMatrix64F)null));
+            return elapsedTime;
+        }
+    }
+
+    // the regular operations already write into outputs which were allocated before the timer started
+
+    @Override
+    public AlgorithmInterface invertInto() {
+        return new Inv();
+    }
+
+    @Override
+    public AlgorithmInterface invertSymmPosDefInto() {
+        return new InvSymmPosDef();
+    }
+
+    @Override
+    public AlgorithmInterface addInto() {
+        return new Add();
+    }
+
+    @Override
+    public AlgorithmInterface multInto() {
+        return new Mult();
+    }
+
+    @Override
+    public AlgorithmInterface multTransBInto() {
+        return new MulTranB();
+    }
+
+    @Override
+    public AlgorithmInterface scaleInto() {
+        return new Scale();
+    }
+
+    @Override
+    public AlgorithmInterface solveExactInto() {
+        return new SolveExact();
+    }
+
+    @Override
+    public AlgorithmInterface solveOverInto() {
+        return new SolveOver();
+    }
+
+    @Override
+    public AlgorithmInterface transposeInto() {
+        return new Transpose();
+    }
+
+    // the decompositions and solvers are already created once and reused
+
+    @Override
+    public AlgorithmInterface cholReuse() {
+        return new Chol();
+    }
+
+    @Override
+    public AlgorithmInterface luReuse() {
+        return new LU();
+    }
+
+    @Override
+    public AlgorithmInterface svdReuse() {
+        return new SVD();
+    }
+
+    @Override
+    public AlgorithmInterface qrReuse() {
+        return new QR();
+    }
+
+    @Override
+    public AlgorithmInterface eigSymmReuse() {
+        return new MyEig();
+    }
+
+    @Override
+    public AlgorithmInterface solveExactReuse() {
+        return new SolveExact();
+    }
+
+    @Override
+    public AlgorithmInterface solveOverReuse() {
+        return new SolveOver();
+    }
+
+    // EJML only has dense matrices.  Specialized algorithms, such as triangular solvers, work on dense matrices
+
+    @Override
+    public AlgorithmInterface multStructured( MatrixStructure structure ) {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface solveExactStructured( MatrixStructure structure ) {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface detStructured( MatrixStructure structure ) {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface invertStructured( MatrixStructure structure ) {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface dot() {
+        return new Dot();
+    }
+
+    public static class Dot implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DenseMatrix64F x = inputs[0].getOriginal();
+            DenseMatrix64F y = inputs[1].getOriginal();
+
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = VectorVectorMult.innerProd(x,y);
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new EjmlBenchmarkMatrix(new DenseMatrix64F(1,1,true,s));
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface axpy() {
+        return new Axpy();
+    }
+
+    public static class Axpy implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DenseMatrix64F x = inputs[0].getOriginal();
+            DenseMatrix64F y = inputs[1].getOriginal();
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                CommonOps.addEquals(y,AxpyGenerator.ALPHA,x);
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new EjmlBenchmarkMatrix(y);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface norm2() {
+        return new Norm2();
+    }
+
+    public static class Norm2 implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DenseMatrix64F x = inputs[0].getOriginal();
+
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = NormOps.normF(x);
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new EjmlBenchmarkMatrix(new DenseMatrix64F(1,1,true,s));
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface gemv() {
+        return new Gemv();
+    }
+
+    public static class Gemv implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DenseMatrix64F A = inputs[0].getOriginal();
+            DenseMatrix64F x = inputs[1].getOriginal();
+
+            DenseMatrix64F y = new DenseMatrix64F(A.numRows,1);
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                CommonOps.mult(A,x,y);
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new EjmlBenchmarkMatrix(y);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface gemvTrans() {
+        return new GemvTrans();
+    }
+
+    public static class GemvTrans implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DenseMatrix64F A = inputs[0].getOriginal();
+            DenseMatrix64F x = inputs[1].getOriginal();
+
+            DenseMatrix64F y = new DenseMatrix64F(A.numCols,1);
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                CommonOps.multTransA(A,x,y);
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new EjmlBenchmarkMatrix(y);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementMult() {
+        return new ElementMult();
+    }
+
+    public static class ElementMult implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DenseMatrix64F matA = inputs[0].getOriginal();
+            DenseMatrix64F matB = inputs[1].getOriginal();
+
+            DenseMatrix64F result = new DenseMatrix64F(matA.numRows,matA.numCols);
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                CommonOps.elementMult(matA,matB,result);
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new EjmlBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementDiv() {
+        return new ElementDiv();
+    }
+
+    public static class ElementDiv implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DenseMatrix64F matA = inputs[0].getOriginal();
+            DenseMatrix64F matB = inputs[1].getOriginal();
+
+            DenseMatrix64F result = new DenseMatrix64F(matA.numRows,matA.numCols);
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                CommonOps.elementDiv(matA,matB,result);
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new EjmlBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementMap() {
+        // no functional API
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface elementMapLoop() {
+        return new ElementMapLoop();
+    }
+
+    public static class ElementMapLoop implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DenseMatrix64F matA = inputs[0].getOriginal();
+
+            int numRows = matA.numRows;
+            int numCols = matA.numCols;
+            DenseMatrix64F result = new DenseMatrix64F(numRows,numCols);
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                for( int row = 0; row < numRows; row++ ) {
+                    for( int col = 0; col < numCols; col++ ) {
+                        result.set(row,col,ElementMapGenerator.function(matA.get(row,col)));
+                    }
+                }
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new EjmlBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementSum() {
+        return new ElementSum();
+    }
+
+    public static class ElementSum implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DenseMatrix64F matA = inputs[0].getOriginal();
+
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = CommonOps.elementSum(matA);
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new EjmlBenchmarkMatrix(new DenseMatrix64F(1,1,true,s));
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementMax() {
+        return new ElementMax();
+    }
+
+    public static class ElementMax implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DenseMatrix64F matA = inputs[0].getOriginal();
+
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = CommonOps.elementMax(matA);
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new EjmlBenchmarkMatrix(new DenseMatrix64F(1,1,true,s));
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface normF() {
+        return new NormF();
+    }
+
+    public static class NormF implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DenseMatrix64F matA = inputs[0].getOriginal();
+
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = NormOps.normF(matA);
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new EjmlBenchmarkMatrix(new DenseMatrix64F(1,1,true,s));
+            return elapsedTime;
+        }
+    }
+
     @Override
     public BenchmarkMatrix convertToLib(DenseMatrix64F input) {
         return new EjmlBenchmarkMatrix(input);
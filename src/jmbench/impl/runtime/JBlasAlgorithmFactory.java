@@ -20,9 +20,21 @@
 package jmbench.impl.runtime;
 
 import jmbench.impl.wrapper.JBlasBenchmarkMatrix;
+import jmbench.impl.wrapper.JBlasComplexBenchmarkMatrix;
+import jmbench.impl.wrapper.JBlasFloatBenchmarkMatrix;
 import jmbench.interfaces.AlgorithmInterface;
 import jmbench.interfaces.BenchmarkMatrix;
+import jmbench.interfaces.ComplexPerformanceFactory;
+import jmbench.interfaces.ElementWisePerformanceFactory;
+import jmbench.interfaces.FloatPerformanceFactory;
+import jmbench.interfaces.InPlacePerformanceFactory;
+import jmbench.interfaces.MatrixStructure;
+import jmbench.interfaces.ReusePerformanceFactory;
 import jmbench.interfaces.RuntimePerformanceFactory;
+import jmbench.interfaces.StructuredPerformanceFactory;
+import jmbench.interfaces.VectorPerformanceFactory;
+import jmbench.tools.runtime.generator.AxpyGenerator;
+import jmbench.tools.runtime.generator.ElementMapGenerator;
 import jmbench.tools.runtime.generator.ScaleGenerator;
 import org.ejml.data.DenseMatrix64F;
 import org.jblas.*;
@@ -31,7 +43,9 @@ import org.jblas.*;
 /**
  * @author Peter Abeles
  */
-public class JBlasAlgorithmFactory implements RuntimePerformanceFactory {
+public class JBlasAlgorithmFactory implements RuntimePerformanceFactory, InPlacePerformanceFactory, ReusePerformanceFactory,
+        StructuredPerformanceFactory, VectorPerformanceFactory, ElementWisePerformanceFactory, FloatPerformanceFactory,
+        ComplexPerformanceFactory {
 
     @Override
     public BenchmarkMatrix create(int numRows, int numCols) {
@@ -377,6 +391,692 @@ public class JBlasAlgorithmFactory implements RuntimePerformanceFactory {
         }
     }
 
+    // multTransB, transpose, inverse and solve always create a new matrix
+
+    @Override
+    public AlgorithmInterface invertInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface invertSymmPosDefInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface addInto() {
+        return new AddInto();
+    }
+
+    @Override
+    public AlgorithmInterface multInto() {
+        return new MultInto();
+    }
+
+    @Override
+    public AlgorithmInterface multTransBInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface scaleInto() {
+        return new ScaleInto();
+    }
+
+    @Override
+    public AlgorithmInterface solveExactInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface solveOverInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface transposeInto() {
+        return null;
+    }
+
+    public static class AddInto implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix matA = inputs[0].getOriginal();
+            DoubleMatrix matB = inputs[1].getOriginal();
+
+            DoubleMatrix result = new DoubleMatrix(matA.rows,matA.columns);
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                matA.addi(matB,result);
+            }
+
+            long elapsed = System.nanoTime()-prev;
+            outputs[0] = new JBlasBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    public static class MultInto implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix matA = inputs[0].getOriginal();
+            DoubleMatrix matB = inputs[1].getOriginal();
+
+            DoubleMatrix result = new DoubleMatrix(matA.rows,matB.columns);
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                matA.mmuli(matB,result);
+            }
+
+            long elapsed = System.nanoTime()-prev;
+            outputs[0] = new JBlasBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    public static class ScaleInto implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix matA = inputs[0].getOriginal();
+
+            DoubleMatrix result = new DoubleMatrix(matA.rows,matA.columns);
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                matA.muli(ScaleGenerator.SCALE,result);
+            }
+
+            long elapsed = System.nanoTime()-prev;
+            outputs[0] = new JBlasBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    // JBlas always creates new matrices for the results of a decomposition
+
+    @Override
+    public AlgorithmInterface cholReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface luReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface svdReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface qrReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface eigSymmReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface solveExactReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface solveOverReuse() {
+        return null;
+    }
+
+    // jblas only has dense matrices
+
+    @Override
+    public AlgorithmInterface multStructured( MatrixStructure structure ) {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface solveExactStructured( MatrixStructure structure ) {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface detStructured( MatrixStructure structure ) {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface invertStructured( MatrixStructure structure ) {
+        return null;
+    }
+
+    // jblas doesn't distinguish between vectors and matrices with one column
+
+    @Override
+    public AlgorithmInterface dot() {
+        return new Dot();
+    }
+
+    public static class Dot implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix x = inputs[0].getOriginal();
+            DoubleMatrix y = inputs[1].getOriginal();
+
+            long prev = System.nanoTime();
+
+            double s = 0;
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = x.dot(y);
+            }
+
+            long elapsed = System.nanoTime()-prev;
+            outputs[0] = new JBlasBenchmarkMatrix(new DoubleMatrix(1,1,s));
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface axpy() {
+        return new Axpy();
+    }
+
+    public static class Axpy implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix x = inputs[0].getOriginal();
+            DoubleMatrix y = inputs[1].getOriginal();
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                SimpleBlas.axpy(AxpyGenerator.ALPHA,x,y);
+            }
+
+            long elapsed = System.nanoTime()-prev;
+            outputs[0] = new JBlasBenchmarkMatrix(y);
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface norm2() {
+        return new Norm2();
+    }
+
+    public static class Norm2 implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix x = inputs[0].getOriginal();
+
+            long prev = System.nanoTime();
+
+            double s = 0;
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = x.norm2();
+            }
+
+            long elapsed = System.nanoTime()-prev;
+            outputs[0] = new JBlasBenchmarkMatrix(new DoubleMatrix(1,1,s));
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface gemv() {
+        return new Gemv();
+    }
+
+    public static class Gemv implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix matA = inputs[0].getOriginal();
+            DoubleMatrix x = inputs[1].getOriginal();
+
+            DoubleMatrix y = new DoubleMatrix(matA.rows,1);
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                matA.mmuli(x,y);
+            }
+
+            long elapsed = System.nanoTime()-prev;
+            outputs[0] = new JBlasBenchmarkMatrix(y);
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface gemvTrans() {
+        return new GemvTrans();
+    }
+
+    /**
+     * jblas only has a high level interface for y = A*x, so BLAS is called directly
+     */
+    public static class GemvTrans implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix matA = inputs[0].getOriginal();
+            DoubleMatrix x = inputs[1].getOriginal();
+
+            DoubleMatrix y = new DoubleMatrix(matA.columns,1);
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                NativeBlas.dgemv('T',matA.rows,matA.columns,1.0,matA.data,0,matA.rows,
+                        x.data,0,1,0.0,y.data,0,1);
+            }
+
+            long elapsed = System.nanoTime()-prev;
+            outputs[0] = new JBlasBenchmarkMatrix(y);
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementMult() {
+        return new ElementMult();
+    }
+
+    public static class ElementMult implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix matA = inputs[0].getOriginal();
+            DoubleMatrix matB = inputs[1].getOriginal();
+
+            DoubleMatrix result = new DoubleMatrix(matA.rows,matA.columns);
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                matA.muli(matB,result);
+            }
+
+            long elapsed = System.nanoTime() - prev;
+            outputs[0] = new JBlasBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementDiv() {
+        return new ElementDiv();
+    }
+
+    public static class ElementDiv implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix matA = inputs[0].getOriginal();
+            DoubleMatrix matB = inputs[1].getOriginal();
+
+            DoubleMatrix result = new DoubleMatrix(matA.rows,matA.columns);
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                matA.divi(matB,result);
+            }
+
+            long elapsed = System.nanoTime() - prev;
+            outputs[0] = new JBlasBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementMap() {
+        return new ElementMap();
+    }
+
+    public static class ElementMap implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix matA = inputs[0].getOriginal();
+
+            DoubleMatrix result = new DoubleMatrix(matA.rows,matA.columns);
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                // custom functions aren't supported so it's composed from the built in functions
+                matA.muli(-1,result);
+                MatrixFunctions.expi(result);
+                result.addi(1);
+                result.rdivi(1);
+            }
+
+            long elapsed = System.nanoTime() - prev;
+            outputs[0] = new JBlasBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementMapLoop() {
+        return new ElementMapLoop();
+    }
+
+    public static class ElementMapLoop implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix matA = inputs[0].getOriginal();
+
+            int numRows = matA.rows;
+            int numCols = matA.columns;
+            DoubleMatrix result = new DoubleMatrix(numRows,numCols);
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                for( int row = 0; row < numRows; row++ ) {
+                    for( int col = 0; col < numCols; col++ ) {
+                        result.put(row,col,ElementMapGenerator.function(matA.get(row,col)));
+                    }
+                }
+            }
+
+            long elapsed = System.nanoTime() - prev;
+            outputs[0] = new JBlasBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementSum() {
+        return new ElementSum();
+    }
+
+    public static class ElementSum implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix matA = inputs[0].getOriginal();
+
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = matA.sum();
+            }
+
+            long elapsed = System.nanoTime() - prev;
+            outputs[0] = new JBlasBenchmarkMatrix(new DoubleMatrix(1,1,s));
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementMax() {
+        return new ElementMax();
+    }
+
+    public static class ElementMax implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix matA = inputs[0].getOriginal();
+
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = matA.max();
+            }
+
+            long elapsed = System.nanoTime() - prev;
+            outputs[0] = new JBlasBenchmarkMatrix(new DoubleMatrix(1,1,s));
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface normF() {
+        return new NormF();
+    }
+
+    public static class NormF implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix matA = inputs[0].getOriginal();
+
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = matA.norm2();
+            }
+
+            long elapsed = System.nanoTime() - prev;
+            outputs[0] = new JBlasBenchmarkMatrix(new DoubleMatrix(1,1,s));
+            return elapsed;
+        }
+    }
+
+    @Override
+    public BenchmarkMatrix createFloat(int numRows, int numCols) {
+        return wrapFloat(new FloatMatrix(numRows,numCols));
+    }
+
+    @Override
+    public BenchmarkMatrix wrapFloat(Object matrix) {
+        return new JBlasFloatBenchmarkMatrix((FloatMatrix)matrix);
+    }
+
+    @Override
+    public AlgorithmInterface multFloat() {
+        return new MultFloat();
+    }
+
+    public static class MultFloat implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            FloatMatrix matA = inputs[0].getOriginal();
+            FloatMatrix matB = inputs[1].getOriginal();
+
+            long prev = System.nanoTime();
+
+            FloatMatrix result = null;
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result = matA.mmul(matB);
+            }
+
+            long elapsed = System.nanoTime()-prev;
+            outputs[0] = new JBlasFloatBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface addFloat() {
+        return new AddFloat();
+    }
+
+    public static class AddFloat implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            FloatMatrix matA = inputs[0].getOriginal();
+            FloatMatrix matB = inputs[1].getOriginal();
+
+            FloatMatrix result = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result = matA.add(matB);
+            }
+
+            long elapsed = System.nanoTime()-prev;
+            outputs[0] = new JBlasFloatBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface solveExactFloat() {
+        return new SolveFloat();
+    }
+
+    public static class SolveFloat implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            FloatMatrix matA = inputs[0].getOriginal();
+            FloatMatrix matB = inputs[1].getOriginal();
+
+            FloatMatrix result = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result = Solve.solve(matA,matB);
+            }
+
+            long elapsed = System.nanoTime()-prev;
+            outputs[0] = new JBlasFloatBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface svdFloat() {
+        return new SvdFloat();
+    }
+
+    public static class SvdFloat implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            FloatMatrix matA = inputs[0].getOriginal();
+
+            FloatMatrix U = null;
+            FloatMatrix S = null;
+            FloatMatrix Vt = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                FloatMatrix[] evd = Singular.fullSVD(matA);
+                U = evd[0];
+                S = evd[1];
+                Vt = evd[2];
+            }
+
+            long elapsed = System.nanoTime()-prev;
+
+            // S is a vector, need to convert into a matrix
+            FloatMatrix SM = new FloatMatrix(U.getColumns(), Vt.getRows());
+            for( int i = 0; i < S.rows; i++ )
+                SM.put(i,i,S.get(i));
+
+            outputs[0] = new JBlasFloatBenchmarkMatrix(U);
+            outputs[1] = new JBlasFloatBenchmarkMatrix(SM);
+            outputs[2] = new JBlasFloatBenchmarkMatrix(Vt);
+            return elapsed;
+        }
+    }
+
+    @Override
+    public BenchmarkMatrix createComplex(int numRows, int numCols) {
+        return new JBlasComplexBenchmarkMatrix(new ComplexDoubleMatrix(numRows,numCols));
+    }
+
+    @Override
+    public AlgorithmInterface complexMult() {
+        return new ComplexMult();
+    }
+
+    public static class ComplexMult implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            ComplexDoubleMatrix matA = inputs[0].getOriginal();
+            ComplexDoubleMatrix matB = inputs[1].getOriginal();
+
+            long prev = System.nanoTime();
+
+            ComplexDoubleMatrix result = null;
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result = matA.mmul(matB);
+            }
+
+            long elapsed = System.nanoTime()-prev;
+            outputs[0] = new JBlasComplexBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface complexAdd() {
+        return new ComplexAdd();
+    }
+
+    public static class ComplexAdd implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            ComplexDoubleMatrix matA = inputs[0].getOriginal();
+            ComplexDoubleMatrix matB = inputs[1].getOriginal();
+
+            ComplexDoubleMatrix result = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result = matA.add(matB);
+            }
+
+            long elapsed = System.nanoTime()-prev;
+            outputs[0] = new JBlasComplexBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface complexTransposeConj() {
+        return new ComplexTransposeConj();
+    }
+
+    public static class ComplexTransposeConj implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            ComplexDoubleMatrix matA = inputs[0].getOriginal();
+
+            ComplexDoubleMatrix result = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                // the transpose is a copy, so it can be conjugated in-place
+                result = matA.transpose().conji();
+            }
+
+            long elapsed = System.nanoTime()-prev;
+            outputs[0] = new JBlasComplexBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface complexSolve() {
+        // the LAPACK solvers are only wrapped for real matrices
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface complexEigHermitian() {
+        return null;
+    }
+
     @Override
     public BenchmarkMatrix convertToLib(DenseMatrix64F input) {
         return new JBlasBenchmarkMatrix(convertToJBlas(input));
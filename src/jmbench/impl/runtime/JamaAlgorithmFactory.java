@@ -23,9 +23,18 @@ import Jama.*;
 import jmbench.impl.wrapper.EjmlBenchmarkMatrix;
 import jmbench.impl.wrapper.JamaBenchmarkMatrix;
 import jmbench.interfaces.AlgorithmInterface;
+import jmbench.interfaces.BatchPerformanceFactory;
 import jmbench.interfaces.BenchmarkMatrix;
 import jmbench.interfaces.DetectedException;
+import jmbench.interfaces.ElementWisePerformanceFactory;
+import jmbench.interfaces.InPlacePerformanceFactory;
+import jmbench.interfaces.MatrixStructure;
+import jmbench.interfaces.ReusePerformanceFactory;
 import jmbench.interfaces.RuntimePerformanceFactory;
+import jmbench.interfaces.StructuredPerformanceFactory;
+import jmbench.interfaces.VectorPerformanceFactory;
+import jmbench.tools.runtime.generator.AxpyGenerator;
+import jmbench.tools.runtime.generator.ElementMapGenerator;
 import jmbench.tools.runtime.generator.ScaleGenerator;
 import org.ejml.data.DenseMatrix64F;
 import org.ejml.ops.SpecializedOps;
@@ -34,7 +43,8 @@ import org.ejml.ops.SpecializedOps;
 /**
  * @author Peter Abeles
  */
-public class JamaAlgorithmFactory implements RuntimePerformanceFactory {
+public class JamaAlgorithmFactory implements RuntimePerformanceFactory, BatchPerformanceFactory, InPlacePerformanceFactory, ReusePerformanceFactory,
+        StructuredPerformanceFactory, VectorPerformanceFactory, ElementWisePerformanceFactory {
 
     @Override
     public BenchmarkMatrix create(int numRows, int numCols) {
@@ -427,6 +437,445 @@ public class JamaAlgorithmFactory implements RuntimePerformanceFactory {
         }
     }
 
+    @Override
+    public AlgorithmInterface batchMult() {
+        return new BatchMult();
+    }
+
+    public static class BatchMult implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            int N = inputs.length/2;
+            Matrix matA[] = new Matrix[N];
+            Matrix matB[] = new Matrix[N];
+            Matrix result[] = new Matrix[N];
+            for( int i = 0; i < N; i++ ) {
+                matA[i] = inputs[i].getOriginal();
+                matB[i] = inputs[N+i].getOriginal();
+            }
+
+            long prev = System.nanoTime();
+
+            int j = 0;
+            for( long i = 0; i < numTrials; i++ ) {
+                result[j] = matA[j].times(matB[j]);
+                if( ++j == N ) j = 0;
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            for( int i = 0; i < N && i < numTrials; i++ )
+                outputs[i] = new JamaBenchmarkMatrix(result[i]);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface batchSolve() {
+        return new BatchSolve();
+    }
+
+    public static class BatchSolve implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            int N = inputs.length/2;
+            Matrix matA[] = new Matrix[N];
+            Matrix matB[] = new Matrix[N];
+            Matrix result[] = new Matrix[N];
+            for( int i = 0; i < N; i++ ) {
+                matA[i] = inputs[i].getOriginal();
+                matB[i] = inputs[N+i].getOriginal();
+            }
+
+            long prev = System.nanoTime();
+
+            int j = 0;
+            for( long i = 0; i < numTrials; i++ ) {
+                result[j] = matA[j].solve(matB[j]);
+                if( ++j == N ) j = 0;
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            for( int i = 0; i < N && i < numTrials; i++ )
+                outputs[i] = new JamaBenchmarkMatrix(result[i]);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface batchMultFixed2() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface batchMultFixed3() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface batchSolveFixed2() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface batchSolveFixed3() {
+        return null;
+    }
+
+    // JAMA always creates a new matrix for the results
+
+    @Override
+    public AlgorithmInterface invertInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface invertSymmPosDefInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface addInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface multInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface multTransBInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface scaleInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface solveExactInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface solveOverInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface transposeInto() {
+        return null;
+    }
+
+    // JAMA computes a decomposition in its constructor, so a new one is always created
+
+    @Override
+    public AlgorithmInterface cholReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface luReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface svdReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface qrReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface eigSymmReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface solveExactReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface solveOverReuse() {
+        return null;
+    }
+
+    // Jama only has dense matrices
+
+    @Override
+    public AlgorithmInterface multStructured( MatrixStructure structure ) {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface solveExactStructured( MatrixStructure structure ) {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface detStructured( MatrixStructure structure ) {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface invertStructured( MatrixStructure structure ) {
+        return null;
+    }
+
+    // Jama doesn't have a vector type, so vectors are matrices with one column
+
+    @Override
+    public AlgorithmInterface dot() {
+        return new Dot();
+    }
+
+    public static class Dot implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            Matrix x = inputs[0].getOriginal();
+            Matrix y = inputs[1].getOriginal();
+
+            long prev = System.nanoTime();
+
+            double s = 0;
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = x.transpose().times(y).get(0,0);
+            }
+
+            long elapsed = System.nanoTime()-prev;
+            outputs[0] = new JamaBenchmarkMatrix(new Matrix(1,1,s));
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface axpy() {
+        return new Axpy();
+    }
+
+    public static class Axpy implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            Matrix x = inputs[0].getOriginal();
+            Matrix y = inputs[1].getOriginal();
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                y.plusEquals(x.times(AxpyGenerator.ALPHA));
+            }
+
+            long elapsed = System.nanoTime()-prev;
+            outputs[0] = new JamaBenchmarkMatrix(y);
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface norm2() {
+        return new Norm2();
+    }
+
+    /**
+     * Matrix.norm2() computes the SVD, so the Frobenius norm is used instead.  They are the same for a vector.
+     */
+    public static class Norm2 implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            Matrix x = inputs[0].getOriginal();
+
+            long prev = System.nanoTime();
+
+            double s = 0;
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = x.normF();
+            }
+
+            long elapsed = System.nanoTime()-prev;
+            outputs[0] = new JamaBenchmarkMatrix(new Matrix(1,1,s));
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface gemv() {
+        return new Gemv();
+    }
+
+    public static class Gemv implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            Matrix A = inputs[0].getOriginal();
+            Matrix x = inputs[1].getOriginal();
+
+            long prev = System.nanoTime();
+
+            Matrix y = null;
+
+            for( long i = 0; i < numTrials; i++ ) {
+                y = A.times(x);
+            }
+
+            long elapsed = System.nanoTime()-prev;
+            outputs[0] = new JamaBenchmarkMatrix(y);
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface gemvTrans() {
+        return new GemvTrans();
+    }
+
+    public static class GemvTrans implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            Matrix A = inputs[0].getOriginal();
+            Matrix x = inputs[1].getOriginal();
+
+            long prev = System.nanoTime();
+
+            Matrix y = null;
+
+            for( long i = 0; i < numTrials; i++ ) {
+                y = A.transpose().times(x);
+            }
+
+            long elapsed = System.nanoTime()-prev;
+            outputs[0] = new JamaBenchmarkMatrix(y);
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementMult() {
+        return new ElementMult();
+    }
+
+    public static class ElementMult implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            Matrix matA = inputs[0].getOriginal();
+            Matrix matB = inputs[1].getOriginal();
+
+            Matrix result = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result = matA.arrayTimes(matB);
+            }
+
+            long elapsed = System.nanoTime() - prev;
+            outputs[0] = new JamaBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementDiv() {
+        return new ElementDiv();
+    }
+
+    public static class ElementDiv implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            Matrix matA = inputs[0].getOriginal();
+            Matrix matB = inputs[1].getOriginal();
+
+            Matrix result = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result = matA.arrayRightDivide(matB);
+            }
+
+            long elapsed = System.nanoTime() - prev;
+            outputs[0] = new JamaBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementMap() {
+        // no functional API
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface elementMapLoop() {
+        return new ElementMapLoop();
+    }
+
+    public static class ElementMapLoop implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            Matrix matA = inputs[0].getOriginal();
+
+            int numRows = matA.getRowDimension();
+            int numCols = matA.getColumnDimension();
+            Matrix result = new Matrix(numRows,numCols);
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                for( int row = 0; row < numRows; row++ ) {
+                    for( int col = 0; col < numCols; col++ ) {
+                        result.set(row,col,ElementMapGenerator.function(matA.get(row,col)));
+                    }
+                }
+            }
+
+            long elapsed = System.nanoTime() - prev;
+            outputs[0] = new JamaBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementSum() {
+        // not supported
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface elementMax() {
+        // not supported
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface normF() {
+        return new NormF();
+    }
+
+    public static class NormF implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            Matrix matA = inputs[0].getOriginal();
+
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = matA.normF();
+            }
+
+            long elapsed = System.nanoTime() - prev;
+            outputs[0] = new JamaBenchmarkMatrix(new Matrix(1,1,s));
+            return elapsed;
+        }
+    }
+
     @Override
     public BenchmarkMatrix convertToLib(DenseMatrix64F input) {
         return new JamaBenchmarkMatrix(convertToJama(input));
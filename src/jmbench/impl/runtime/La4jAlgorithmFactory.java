@@ -21,25 +21,45 @@ package jmbench.impl.runtime;
 
 import jmbench.impl.wrapper.La4jBenchmarkMatrix;
 import jmbench.interfaces.AlgorithmInterface;
+import jmbench.interfaces.BatchPerformanceFactory;
 import jmbench.interfaces.BenchmarkMatrix;
+import jmbench.interfaces.ElementWisePerformanceFactory;
+import jmbench.interfaces.InPlacePerformanceFactory;
+import jmbench.interfaces.MatrixStructure;
+import jmbench.interfaces.ReusePerformanceFactory;
 import jmbench.interfaces.RuntimePerformanceFactory;
+import jmbench.interfaces.SparseFormat;
+import jmbench.interfaces.SparseRuntimePerformanceFactory;
+import jmbench.interfaces.SparseTriplets;
+import jmbench.interfaces.StructuredPerformanceFactory;
+import jmbench.interfaces.VectorPerformanceFactory;
+import jmbench.tools.runtime.generator.AxpyGenerator;
+import jmbench.tools.runtime.generator.ElementMapGenerator;
 import jmbench.tools.runtime.generator.ScaleGenerator;
 import org.ejml.data.DenseMatrix64F;
 import org.la4j.LinearAlgebra;
 import org.la4j.decomposition.MatrixDecompositor;
 import org.la4j.inversion.MatrixInverter;
 import org.la4j.linear.LinearSystemSolver;
+import org.la4j.matrix.Matrices;
 import org.la4j.matrix.Matrix;
 import org.la4j.matrix.dense.Basic2DMatrix;
+import org.la4j.matrix.functor.MatrixFunction;
+import org.la4j.matrix.functor.MatrixProcedure;
+import org.la4j.matrix.sparse.CCSMatrix;
+import org.la4j.matrix.sparse.CRSMatrix;
 import org.la4j.vector.Vector;
 
+import java.util.Arrays;
+
 /**
  * Wrapper around la4j
  *
  * @author Peter Abels
  * @author Vladimir Kostyukov
  */
-public class La4jAlgorithmFactory implements RuntimePerformanceFactory {
+public class La4jAlgorithmFactory implements RuntimePerformanceFactory, BatchPerformanceFactory, InPlacePerformanceFactory, ReusePerformanceFactory,
+        StructuredPerformanceFactory, SparseRuntimePerformanceFactory, VectorPerformanceFactory, ElementWisePerformanceFactory {
     @Override
     public AlgorithmInterface chol() {
         return new Chol();
@@ -402,6 +422,653 @@ public class La4jAlgorithmFactory implements RuntimePerformanceFactory {
         return new La4jBenchmarkMatrix((Matrix)matrix);
     }
 
+    @Override
+    public AlgorithmInterface batchMult() {
+        return new BatchMult();
+    }
+
+    public static class BatchMult implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            int N = inputs.length/2;
+            Matrix matA[] = new Matrix[N];
+            Matrix matB[] = new Matrix[N];
+            Matrix result[] = new Matrix[N];
+            for( int i = 0; i < N; i++ ) {
+                matA[i] = inputs[i].getOriginal();
+                matB[i] = inputs[N+i].getOriginal();
+            }
+
+            long prev = System.nanoTime();
+
+            int j = 0;
+            for( long i = 0; i < numTrials; i++ ) {
+                result[j] = matA[j].multiply(matB[j]);
+                if( ++j == N ) j = 0;
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            for( int i = 0; i < N && i < numTrials; i++ )
+                outputs[i] = new La4jBenchmarkMatrix(result[i]);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface batchSolve() {
+        return new BatchSolve();
+    }
+
+    public static class BatchSolve implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            int N = inputs.length/2;
+            Matrix matA[] = new Matrix[N];
+            Vector matB[] = new Vector[N];
+            Vector result[] = new Vector[N];
+            for( int i = 0; i < N; i++ ) {
+                matA[i] = inputs[i].getOriginal();
+                matB[i] = La4jBenchmarkMatrix.toVector((Matrix)inputs[N+i].getOriginal());
+            }
+
+            long prev = System.nanoTime();
+
+            int j = 0;
+            for( long i = 0; i < numTrials; i++ ) {
+                result[j] = matA[j].withSolver(LinearAlgebra.SOLVER).solve(matB[j]);
+                if( ++j == N ) j = 0;
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            for( int i = 0; i < N && i < numTrials; i++ )
+                outputs[i] = new La4jBenchmarkMatrix(La4jBenchmarkMatrix.toMatrix(result[i]));
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface batchMultFixed2() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface batchMultFixed3() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface batchSolveFixed2() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface batchSolveFixed3() {
+        return null;
+    }
+
+    // la4j always creates a new matrix for the results
+
+    @Override
+    public AlgorithmInterface invertInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface invertSymmPosDefInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface addInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface multInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface multTransBInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface scaleInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface solveExactInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface solveOverInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface transposeInto() {
+        return null;
+    }
+
+    // la4j decompositors always create new matrices for the results
+
+    @Override
+    public AlgorithmInterface cholReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface luReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface svdReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface qrReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface eigSymmReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface solveExactReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface solveOverReuse() {
+        return null;
+    }
+
+    // la4j can detect structures, but has no types for them
+
+    @Override
+    public AlgorithmInterface multStructured( MatrixStructure structure ) {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface solveExactStructured( MatrixStructure structure ) {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface detStructured( MatrixStructure structure ) {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface invertStructured( MatrixStructure structure ) {
+        return null;
+    }
+
+    // la4j has compressed row (CRS) and compressed column (CCS) matrices
+
+    @Override
+    public BenchmarkMatrix createSparse( SparseTriplets triplets , SparseFormat format ) {
+        int N = triplets.length;
+        if( format == SparseFormat.CSR ) {
+            return new La4jBenchmarkMatrix(new CRSMatrix(triplets.numRows,triplets.numCols,N,
+                    Arrays.copyOf(triplets.values,N),Arrays.copyOf(triplets.cols,N),triplets.rowPointers()));
+        } else if( format == SparseFormat.CSC ) {
+            // sorted by column with the row and column swapped
+            SparseTriplets t = triplets.transpose();
+            return new La4jBenchmarkMatrix(new CCSMatrix(triplets.numRows,triplets.numCols,N,
+                    t.values,t.cols,t.rowPointers()));
+        }
+        return null;
+    }
+
+    @Override
+    public long countNonZeros( BenchmarkMatrix A ) {
+        Matrix m = A.getOriginal();
+        final long total[] = new long[1];
+        m.eachNonZero(new MatrixProcedure() {
+            @Override
+            public void apply(int i, int j, double value) {
+                if( value != 0 )
+                    total[0]++;
+            }
+        });
+        return total[0];
+    }
+
+    private static boolean isSparseSupported( SparseFormat format ) {
+        return format == SparseFormat.CSR || format == SparseFormat.CSC;
+    }
+
+    @Override
+    public AlgorithmInterface sparseMultDense( SparseFormat format ) {
+        return isSparseSupported(format) ? new SparseMultDense() : null;
+    }
+
+    public static class SparseMultDense implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            Matrix a = inputs[0].getOriginal();
+            Matrix b = inputs[1].getOriginal();
+
+            Matrix C = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                C = a.multiply(b,LinearAlgebra.DENSE_FACTORY);
+            }
+
+            long elapsed = System.nanoTime() - prev;
+            outputs[0] = new La4jBenchmarkMatrix(C);
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface sparseMultSparse( SparseFormat format ) {
+        return isSparseSupported(format) ? new SparseMultSparse() : null;
+    }
+
+    public static class SparseMultSparse implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            Matrix a = inputs[0].getOriginal();
+            Matrix b = inputs[1].getOriginal();
+
+            Matrix C = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                C = a.multiply(b);
+            }
+
+            long elapsed = System.nanoTime() - prev;
+            outputs[0] = new La4jBenchmarkMatrix(C);
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface sparseMultVector( SparseFormat format ) {
+        return isSparseSupported(format) ? new SparseMultVector() : null;
+    }
+
+    public static class SparseMultVector implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            Matrix a = inputs[0].getOriginal();
+            Vector x = La4jBenchmarkMatrix.toVector((Matrix) inputs[1].getOriginal());
+
+            Vector y = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                y = a.multiply(x,LinearAlgebra.DENSE_FACTORY);
+            }
+
+            long elapsed = System.nanoTime() - prev;
+            outputs[0] = new La4jBenchmarkMatrix(La4jBenchmarkMatrix.toMatrix(y));
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface sparseTranspose( SparseFormat format ) {
+        return isSparseSupported(format) ? new Transpose() : null;
+    }
+
+    @Override
+    public AlgorithmInterface sparseAdd( SparseFormat format ) {
+        return isSparseSupported(format) ? new Add() : null;
+    }
+
+    // vectors are converted into la4j vectors before the timer starts
+
+    @Override
+    public AlgorithmInterface dot() {
+        return new Dot();
+    }
+
+    public static class Dot implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            Vector x = toVector(inputs[0]);
+            Vector y = toVector(inputs[1]);
+
+            long prev = System.nanoTime();
+
+            double s = 0;
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = x.innerProduct(y);
+            }
+
+            long elapsed = System.nanoTime() - prev;
+            outputs[0] = new La4jBenchmarkMatrix(new Basic2DMatrix(new double[][]{{s}}));
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface axpy() {
+        return new Axpy();
+    }
+
+    /**
+     * la4j doesn't have an in place axpy, so new vectors are created each time
+     */
+    public static class Axpy implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            Vector x = toVector(inputs[0]);
+            Vector y = toVector(inputs[1]);
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                y = y.add(x.multiply(AxpyGenerator.ALPHA));
+            }
+
+            long elapsed = System.nanoTime() - prev;
+            outputs[0] = toMatrix(y);
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface norm2() {
+        return new Norm2();
+    }
+
+    public static class Norm2 implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            Vector x = toVector(inputs[0]);
+
+            long prev = System.nanoTime();
+
+            double s = 0;
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = x.norm();
+            }
+
+            long elapsed = System.nanoTime() - prev;
+            outputs[0] = new La4jBenchmarkMatrix(new Basic2DMatrix(new double[][]{{s}}));
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface gemv() {
+        return new Gemv();
+    }
+
+    public static class Gemv implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            Matrix a = inputs[0].getOriginal();
+            Vector x = toVector(inputs[1]);
+
+            long prev = System.nanoTime();
+
+            Vector y = null;
+
+            for( long i = 0; i < numTrials; i++ ) {
+                y = a.multiply(x);
+            }
+
+            long elapsed = System.nanoTime() - prev;
+            outputs[0] = toMatrix(y);
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface gemvTrans() {
+        return new GemvTrans();
+    }
+
+    /**
+     * x<sup>T</sup>*A is the transpose of A<sup>T</sup>*x
+     */
+    public static class GemvTrans implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            Matrix a = inputs[0].getOriginal();
+            Vector x = toVector(inputs[1]);
+
+            long prev = System.nanoTime();
+
+            Vector y = null;
+
+            for( long i = 0; i < numTrials; i++ ) {
+                y = x.multiply(a);
+            }
+
+            long elapsed = System.nanoTime() - prev;
+            outputs[0] = toMatrix(y);
+            return elapsed;
+        }
+    }
+
+    private static Vector toVector( BenchmarkMatrix m ) {
+        Matrix orig = m.getOriginal();
+        return orig.getColumn(0);
+    }
+
+    private static BenchmarkMatrix toMatrix( Vector v ) {
+        Matrix ret = new Basic2DMatrix(v.length(),1);
+        ret.setColumn(0,v);
+        return new La4jBenchmarkMatrix(ret);
+    }
+
+    @Override
+    public AlgorithmInterface elementMult() {
+        return new ElementMult();
+    }
+
+    public static class ElementMult implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            Matrix matA = inputs[0].getOriginal();
+            Matrix matB = inputs[1].getOriginal();
+
+            Matrix result = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result = matA.hadamardProduct(matB);
+            }
+
+            long elapsed = System.nanoTime() - prev;
+            outputs[0] = new La4jBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementDiv() {
+        return new ElementDiv();
+    }
+
+    public static class ElementDiv implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            Matrix matA = inputs[0].getOriginal();
+            final Matrix matB = inputs[1].getOriginal();
+
+            Matrix result = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                // there is no element-wise division, so a functor is used instead
+                result = matA.transform(new MatrixFunction() {
+                    @Override
+                    public double evaluate(int i, int j, double value) {
+                        return value/matB.get(i,j);
+                    }
+                });
+            }
+
+            long elapsed = System.nanoTime() - prev;
+            outputs[0] = new La4jBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementMap() {
+        return new ElementMap();
+    }
+
+    public static class ElementMap implements AlgorithmInterface {
+        private static final MatrixFunction FUNCTION = new MatrixFunction() {
+            @Override
+            public double evaluate(int i, int j, double value) {
+                return ElementMapGenerator.function(value);
+            }
+        };
+
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            Matrix matA = inputs[0].getOriginal();
+
+            Matrix result = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result = matA.transform(FUNCTION);
+            }
+
+            long elapsed = System.nanoTime() - prev;
+            outputs[0] = new La4jBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementMapLoop() {
+        return new ElementMapLoop();
+    }
+
+    public static class ElementMapLoop implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            Matrix matA = inputs[0].getOriginal();
+
+            int numRows = matA.rows();
+            int numCols = matA.columns();
+            Matrix result = new Basic2DMatrix(numRows,numCols);
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                for( int row = 0; row < numRows; row++ ) {
+                    for( int col = 0; col < numCols; col++ ) {
+                        result.set(row,col,ElementMapGenerator.function(matA.get(row,col)));
+                    }
+                }
+            }
+
+            long elapsed = System.nanoTime() - prev;
+            outputs[0] = new La4jBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementSum() {
+        return new ElementSum();
+    }
+
+    public static class ElementSum implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            Matrix matA = inputs[0].getOriginal();
+
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = matA.sum();
+            }
+
+            long elapsed = System.nanoTime() - prev;
+            outputs[0] = new La4jBenchmarkMatrix(new Basic2DMatrix(new double[][]{{s}}));
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementMax() {
+        return new ElementMax();
+    }
+
+    public static class ElementMax implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            Matrix matA = inputs[0].getOriginal();
+
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = matA.max();
+            }
+
+            long elapsed = System.nanoTime() - prev;
+            outputs[0] = new La4jBenchmarkMatrix(new Basic2DMatrix(new double[][]{{s}}));
+            return elapsed;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface normF() {
+        return new NormF();
+    }
+
+    public static class NormF implements AlgorithmInterface {
+        private static final MatrixFunction SQUARE = new MatrixFunction() {
+            @Override
+            public double evaluate(int i, int j, double value) {
+                return value*value;
+            }
+        };
+
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            Matrix matA = inputs[0].getOriginal();
+
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = Math.sqrt(matA.fold(Matrices.asSumFunctionAccumulator(0,SQUARE)));
+            }
+
+            long elapsed = System.nanoTime() - prev;
+            outputs[0] = new La4jBenchmarkMatrix(new Basic2DMatrix(new double[][]{{s}}));
+            return elapsed;
+        }
+    }
+
     @Override
     public BenchmarkMatrix convertToLib(DenseMatrix64F input) {
         return new La4jBenchmarkMatrix(ejmlToLa4j(input));
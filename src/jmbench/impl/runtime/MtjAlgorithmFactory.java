@@ -24,9 +24,31 @@ import jmbench.impl.wrapper.MtjBenchmarkMatrix;
 import jmbench.interfaces.AlgorithmInterface;
 import jmbench.interfaces.BenchmarkMatrix;
 import jmbench.interfaces.DetectedException;
+import jmbench.interfaces.ElementWisePerformanceFactory;
+import jmbench.interfaces.InPlacePerformanceFactory;
+import jmbench.interfaces.MatrixStructure;
+import jmbench.interfaces.ReusePerformanceFactory;
+import jmbench.interfaces.IterativeSolver;
+import jmbench.interfaces.IterativeSolverPerformanceFactory;
 import jmbench.interfaces.RuntimePerformanceFactory;
+import jmbench.interfaces.SparseFormat;
+import jmbench.interfaces.SparseTriplets;
+import jmbench.interfaces.StructuredPerformanceFactory;
+import jmbench.interfaces.VectorPerformanceFactory;
+import jmbench.tools.runtime.generator.AxpyGenerator;
+import jmbench.tools.runtime.generator.ElementMapGenerator;
 import jmbench.tools.runtime.generator.ScaleGenerator;
 import no.uib.cipr.matrix.*;
+import no.uib.cipr.matrix.sparse.AbstractIterativeSolver;
+import no.uib.cipr.matrix.sparse.BiCGstab;
+import no.uib.cipr.matrix.sparse.CG;
+import no.uib.cipr.matrix.sparse.CompColMatrix;
+import no.uib.cipr.matrix.sparse.CompRowMatrix;
+import no.uib.cipr.matrix.sparse.DefaultIterationMonitor;
+import no.uib.cipr.matrix.sparse.FlexCompColMatrix;
+import no.uib.cipr.matrix.sparse.FlexCompRowMatrix;
+import no.uib.cipr.matrix.sparse.GMRES;
+import no.uib.cipr.matrix.sparse.IterativeSolverNotConvergedException;
 import org.ejml.data.DenseMatrix64F;
 import org.ejml.ops.CommonOps;
 
@@ -34,7 +56,8 @@ import org.ejml.ops.CommonOps;
 /**
  * @author Peter Abeles
  */
-public class MtjAlgorithmFactory implements RuntimePerformanceFactory {
+public class MtjAlgorithmFactory implements RuntimePerformanceFactory, InPlacePerformanceFactory, ReusePerformanceFactory,
+        StructuredPerformanceFactory, IterativeSolverPerformanceFactory, VectorPerformanceFactory, ElementWisePerformanceFactory {
 
     @Override
     public BenchmarkMatrix create(int numRows, int numCols) {
@@ -449,6 +472,840 @@ public class MtjAlgorithmFactory implements RuntimePerformanceFactory {
         }
     }
 
+    // except for invertSymmPosDef the regular operations already write into preallocated outputs
+
+    @Override
+    public AlgorithmInterface invertInto() {
+        return new Inv();
+    }
+
+    @Override
+    public AlgorithmInterface invertSymmPosDefInto() {
+        return new InvSymmPosDefInto();
+    }
+
+    @Override
+    public AlgorithmInterface addInto() {
+        return new Add();
+    }
+
+    @Override
+    public AlgorithmInterface multInto() {
+        return new Mult();
+    }
+
+    @Override
+    public AlgorithmInterface multTransBInto() {
+        return new MulTranB();
+    }
+
+    @Override
+    public AlgorithmInterface scaleInto() {
+        return new Scale();
+    }
+
+    @Override
+    public AlgorithmInterface solveExactInto() {
+        return new Solve();
+    }
+
+    @Override
+    public AlgorithmInterface solveOverInto() {
+        return new Solve();
+    }
+
+    @Override
+    public AlgorithmInterface transposeInto() {
+        return new Transpose();
+    }
+
+    /**
+     * The identity matrix is copied into the preallocated output, which is then overwritten by the solution.
+     */
+    public static class InvSymmPosDefInto implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DenseMatrix matA = inputs[0].getOriginal();
+
+            DenseCholesky cholesky = new DenseCholesky(matA.numRows(),false);
+            LowerSPDDenseMatrix uspd = new LowerSPDDenseMatrix(matA);
+
+            DenseMatrix I = Matrices.identity(matA.numColumns());
+            DenseMatrix result = new DenseMatrix(matA.numColumns(),matA.numColumns());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                // the input matrix is over written
+                uspd.set(matA);
+                if( !cholesky.factor(uspd).isSPD() ) {
+                    throw new RuntimeException("Is not SPD");
+                }
+
+                result.set(I);
+                cholesky.solve(result);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new MtjBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    // chol, lu, svd and qr already create the decomposition once.  There is no reusable least squares solver
+
+    @Override
+    public AlgorithmInterface cholReuse() {
+        return new Chol();
+    }
+
+    @Override
+    public AlgorithmInterface luReuse() {
+        return new LU();
+    }
+
+    @Override
+    public AlgorithmInterface svdReuse() {
+        return new MySVD();
+    }
+
+    @Override
+    public AlgorithmInterface qrReuse() {
+        return new QR();
+    }
+
+    @Override
+    public AlgorithmInterface eigSymmReuse() {
+        return new EigReuse();
+    }
+
+    @Override
+    public AlgorithmInterface solveExactReuse() {
+        return new SolveReuse();
+    }
+
+    @Override
+    public AlgorithmInterface solveOverReuse() {
+        return null;
+    }
+
+    public static class EigReuse implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DenseMatrix matA = inputs[0].getOriginal();
+
+            SymmDenseEVD evd = new SymmDenseEVD(matA.numRows(),true);
+            UpperSymmDenseMatrix tmp = new UpperSymmDenseMatrix(matA.numRows());
+
+            DenseMatrix V = null;
+            double []D = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                try {
+                    // the input matrix is over written
+                    tmp.set(matA);
+                    SymmDenseEVD e = evd.factor(tmp);
+                    V = e.getEigenvectors();
+                    D = e.getEigenvalues();
+                } catch (NotConvergedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new EjmlBenchmarkMatrix(CommonOps.diag(D));
+            outputs[1] = new MtjBenchmarkMatrix(V);
+            return elapsedTime;
+        }
+    }
+
+    public static class SolveReuse implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DenseMatrix matA = inputs[0].getOriginal();
+            DenseMatrix matB = inputs[1].getOriginal();
+
+            DenseLU lu = new DenseLU(matA.numRows(),matA.numColumns());
+            DenseMatrix tmp = new DenseMatrix(matA.numRows(),matA.numColumns());
+            DenseMatrix result = new DenseMatrix(matB.numRows(),matB.numColumns());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                // the input matrix is over written
+                tmp.set(matA);
+                lu.factor(tmp);
+                if( lu.isSingular() )
+                    throw new DetectedException("Singular matrix");
+
+                // the solution is written into the right hand side
+                result.set(matB);
+                lu.solve(result);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new MtjBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    // Diagonal matrices are stored as a band matrix.  There is no identity matrix type and none of the
+    // structured types compute the determinant
+
+    @Override
+    public AlgorithmInterface multStructured( MatrixStructure structure ) {
+        if( structure == MatrixStructure.IDENTITY )
+            return null;
+        return new MultStructured(structure);
+    }
+
+    @Override
+    public AlgorithmInterface solveExactStructured( MatrixStructure structure ) {
+        if( structure == MatrixStructure.IDENTITY )
+            return null;
+        return new SolveStructured(structure);
+    }
+
+    @Override
+    public AlgorithmInterface detStructured( MatrixStructure structure ) {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface invertStructured( MatrixStructure structure ) {
+        if( structure == MatrixStructure.IDENTITY )
+            return null;
+        return new InvStructured(structure);
+    }
+
+    public static class MultStructured implements AlgorithmInterface {
+        MatrixStructure structure;
+
+        public MultStructured(MatrixStructure structure) {
+            this.structure = structure;
+        }
+
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            Matrix matA = convertStructured((DenseMatrix)inputs[0].getOriginal(),structure);
+            DenseMatrix matB = inputs[1].getOriginal();
+
+            DenseMatrix result = new DenseMatrix(matA.numRows(),matB.numColumns());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                matA.mult(matB,result);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new MtjBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    public static class SolveStructured implements AlgorithmInterface {
+        MatrixStructure structure;
+
+        public SolveStructured(MatrixStructure structure) {
+            this.structure = structure;
+        }
+
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            Matrix matA = convertStructured((DenseMatrix)inputs[0].getOriginal(),structure);
+            DenseMatrix matB = inputs[1].getOriginal();
+
+            DenseMatrix result = new DenseMatrix(matA.numColumns(),matB.numColumns());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                matA.solve(matB,result);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new MtjBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    public static class InvStructured implements AlgorithmInterface {
+        MatrixStructure structure;
+
+        public InvStructured(MatrixStructure structure) {
+            this.structure = structure;
+        }
+
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            Matrix matA = convertStructured((DenseMatrix)inputs[0].getOriginal(),structure);
+
+            DenseMatrix I = Matrices.identity(matA.numColumns());
+            DenseMatrix inv = new DenseMatrix(matA.numColumns(),matA.numColumns());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                matA.solve(I,inv);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new MtjBenchmarkMatrix(inv);
+            return elapsedTime;
+        }
+    }
+
+    /**
+     * Copies a dense matrix into the type MTJ has for the structure
+     */
+    public static Matrix convertStructured( DenseMatrix A , MatrixStructure structure ) {
+        switch( structure ) {
+            case DIAGONAL:
+                return new BandMatrix(A,0,0);
+
+            case UPPER_TRIANGULAR:
+                return new UpperTriangDenseMatrix(A);
+
+            case LOWER_TRIANGULAR:
+                return new LowerTriangDenseMatrix(A);
+
+            case TRIDIAGONAL:
+                return new TridiagMatrix(A);
+
+            case SYMMETRIC:
+                return new UpperSymmDenseMatrix(A);
+        }
+        throw new IllegalArgumentException("No specialized type for "+structure);
+    }
+
+    // MTJ has compressed row and column matrices, which have a fixed structure, and flexible row and column
+    // matrices, which are made up of sparse vectors.  Results of sparse operations are stored in the flexible
+    // types.  There is no sparse-sparse product, the generic one adds every element in the output
+
+    @Override
+    public BenchmarkMatrix createSparse( SparseTriplets triplets , SparseFormat format ) {
+        Matrix ret;
+        switch( format ) {
+            case CSR:
+                ret = new CompRowMatrix(triplets.numRows,triplets.numCols,nonZeroIndexes(triplets));
+                break;
+
+            case CSC:
+                ret = new CompColMatrix(triplets.numRows,triplets.numCols,nonZeroIndexes(triplets.transpose()));
+                break;
+
+            case ROW:
+                ret = new FlexCompRowMatrix(triplets.numRows,triplets.numCols);
+                break;
+
+            case COLUMN:
+                ret = new FlexCompColMatrix(triplets.numRows,triplets.numCols);
+                break;
+
+            default:
+                return null;
+        }
+
+        for( int i = 0; i < triplets.length; i++ ) {
+            ret.set(triplets.rows[i],triplets.cols[i],triplets.values[i]);
+        }
+
+        return new MtjBenchmarkMatrix(ret);
+    }
+
+    @Override
+    public long countNonZeros( BenchmarkMatrix A ) {
+        Matrix m = A.getOriginal();
+        long total = 0;
+        for( MatrixEntry e : m ) {
+            if( e.get() != 0 )
+                total++;
+        }
+        return total;
+    }
+
+    /**
+     * Column indexes of the non-zero elements in each row
+     */
+    private static int[][] nonZeroIndexes( SparseTriplets triplets ) {
+        int pointers[] = triplets.rowPointers();
+
+        int ret[][] = new int[ triplets.numRows ][];
+        for( int i = 0; i < triplets.numRows; i++ ) {
+            ret[i] = new int[ pointers[i+1]-pointers[i] ];
+            System.arraycopy(triplets.cols,pointers[i],ret[i],0,ret[i].length);
+        }
+        return ret;
+    }
+
+    /**
+     * Copies the matrix into the flexible type with the same orientation as the format
+     */
+    private static Matrix copyFlexible( Matrix A , SparseFormat format ) {
+        if( format == SparseFormat.CSC || format == SparseFormat.COLUMN )
+            return new FlexCompColMatrix(A);
+        return new FlexCompRowMatrix(A);
+    }
+
+    private static boolean isSparseSupported( SparseFormat format ) {
+        return format != SparseFormat.COORDINATE;
+    }
+
+    @Override
+    public AlgorithmInterface sparseMultDense( SparseFormat format ) {
+        return isSparseSupported(format) ? new SparseMultDense() : null;
+    }
+
+    public static class SparseMultDense implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            Matrix matA = inputs[0].getOriginal();
+            DenseMatrix matB = inputs[1].getOriginal();
+
+            DenseMatrix result = new DenseMatrix(matA.numRows(),matB.numColumns());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                matA.mult(matB,result);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new MtjBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface sparseMultSparse( SparseFormat format ) {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface sparseMultVector( SparseFormat format ) {
+        return isSparseSupported(format) ? new SparseMultVector() : null;
+    }
+
+    public static class SparseMultVector implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            Matrix matA = inputs[0].getOriginal();
+            DenseMatrix matX = inputs[1].getOriginal();
+
+            DenseVector x = new DenseVector(matX.getData(),false);
+            DenseVector y = new DenseVector(matA.numRows());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                matA.mult(x,y);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new MtjBenchmarkMatrix(new DenseMatrix(y));
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface sparseTranspose( SparseFormat format ) {
+        return isSparseSupported(format) ? new SparseTranspose(format) : null;
+    }
+
+    public static class SparseTranspose implements AlgorithmInterface {
+        SparseFormat format;
+
+        public SparseTranspose(SparseFormat format) {
+            this.format = format;
+        }
+
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            Matrix matA = inputs[0].getOriginal();
+
+            Matrix result = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                if( format == SparseFormat.CSC || format == SparseFormat.COLUMN )
+                    result = new FlexCompColMatrix(matA.numColumns(),matA.numRows());
+                else
+                    result = new FlexCompRowMatrix(matA.numColumns(),matA.numRows());
+                matA.transpose(result);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new MtjBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface sparseAdd( SparseFormat format ) {
+        return isSparseSupported(format) ? new SparseAdd(format) : null;
+    }
+
+    public static class SparseAdd implements AlgorithmInterface {
+        SparseFormat format;
+
+        public SparseAdd(SparseFormat format) {
+            this.format = format;
+        }
+
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            Matrix matA = inputs[0].getOriginal();
+            Matrix matB = inputs[1].getOriginal();
+
+            Matrix result = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result = copyFlexible(matA,format);
+                result.add(matB);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new MtjBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public IterativeSolver solveCG( SparseFormat format ) {
+        return isSparseSupported(format) ? new SolveCG() : null;
+    }
+
+    @Override
+    public IterativeSolver solveBiCGStab( SparseFormat format ) {
+        return isSparseSupported(format) ? new SolveBiCGStab() : null;
+    }
+
+    @Override
+    public IterativeSolver solveGMRES( SparseFormat format ) {
+        return isSparseSupported(format) ? new SolveGMRES() : null;
+    }
+
+    public static class SolveCG extends IterativeSolve {
+        @Override
+        protected AbstractIterativeSolver createSolver( Vector template ) {
+            return new CG(template);
+        }
+    }
+
+    public static class SolveBiCGStab extends IterativeSolve {
+        @Override
+        protected AbstractIterativeSolver createSolver( Vector template ) {
+            return new BiCGstab(template);
+        }
+    }
+
+    public static class SolveGMRES extends IterativeSolve {
+        @Override
+        protected AbstractIterativeSolver createSolver( Vector template ) {
+            return new GMRES(template);
+        }
+    }
+
+    /**
+     * Solves the system from x = 0 each trial using the library's iteration monitor
+     */
+    public static abstract class IterativeSolve implements IterativeSolver {
+        double tolerance;
+        int maxIterations;
+        int iterations;
+
+        protected abstract AbstractIterativeSolver createSolver( Vector template );
+
+        @Override
+        public void setConvergence( double tolerance , int maxIterations ) {
+            this.tolerance = tolerance;
+            this.maxIterations = maxIterations;
+        }
+
+        @Override
+        public int getIterations() {
+            return iterations;
+        }
+
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            Matrix matA = inputs[0].getOriginal();
+            DenseMatrix matB = inputs[1].getOriginal();
+
+            DenseVector b = new DenseVector(matB.getData(),false);
+            DenseVector x = new DenseVector(matA.numColumns());
+
+            DefaultIterationMonitor monitor = new DefaultIterationMonitor();
+            monitor.setRelativeTolerance(tolerance);
+            monitor.setMaxIterations(maxIterations);
+
+            AbstractIterativeSolver solver = createSolver(x);
+            solver.setIterationMonitor(monitor);
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                x.zero();
+                try {
+                    solver.solve(matA,b,x);
+                } catch (IterativeSolverNotConvergedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            iterations = monitor.iterations();
+            outputs[0] = new MtjBenchmarkMatrix(new DenseMatrix(x));
+            return elapsedTime;
+        }
+    }
+
+    // vectors are matrices with one column.  DenseVector is wrapped around the matrix's data
+
+    @Override
+    public AlgorithmInterface dot() {
+        return new Dot();
+    }
+
+    public static class Dot implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DenseMatrix matX = inputs[0].getOriginal();
+            DenseMatrix matY = inputs[1].getOriginal();
+
+            DenseVector x = new DenseVector(matX.getData(),false);
+            DenseVector y = new DenseVector(matY.getData(),false);
+
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = x.dot(y);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new MtjBenchmarkMatrix(new DenseMatrix(new double[][]{{s}}));
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface axpy() {
+        return new Axpy();
+    }
+
+    public static class Axpy implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DenseMatrix matX = inputs[0].getOriginal();
+            DenseMatrix matY = inputs[1].getOriginal();
+
+            DenseVector x = new DenseVector(matX.getData(),false);
+            DenseVector y = new DenseVector(matY.getData(),false);
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                y.add(AxpyGenerator.ALPHA,x);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new MtjBenchmarkMatrix(matY);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface norm2() {
+        return new Norm2();
+    }
+
+    public static class Norm2 implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DenseMatrix matX = inputs[0].getOriginal();
+
+            DenseVector x = new DenseVector(matX.getData(),false);
+
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = x.norm(Vector.Norm.Two);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new MtjBenchmarkMatrix(new DenseMatrix(new double[][]{{s}}));
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface gemv() {
+        return new Gemv();
+    }
+
+    public static class Gemv implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DenseMatrix matA = inputs[0].getOriginal();
+            DenseMatrix matX = inputs[1].getOriginal();
+
+            DenseVector x = new DenseVector(matX.getData(),false);
+            DenseVector y = new DenseVector(matA.numRows());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                matA.mult(x,y);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new MtjBenchmarkMatrix(new DenseMatrix(y));
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface gemvTrans() {
+        return new GemvTrans();
+    }
+
+    public static class GemvTrans implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DenseMatrix matA = inputs[0].getOriginal();
+            DenseMatrix matX = inputs[1].getOriginal();
+
+            DenseVector x = new DenseVector(matX.getData(),false);
+            DenseVector y = new DenseVector(matA.numColumns());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                matA.transMult(x,y);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new MtjBenchmarkMatrix(new DenseMatrix(y));
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementMult() {
+        // not supported
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface elementDiv() {
+        // not supported
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface elementMap() {
+        return new ElementMap();
+    }
+
+    public static class ElementMap implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DenseMatrix matA = inputs[0].getOriginal();
+
+            DenseMatrix result = new DenseMatrix(matA.numRows(),matA.numColumns());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                // there are no functors, but each element can be modified through the matrix's iterator
+                result.set(matA);
+                for( MatrixEntry e : result ) {
+                    e.set(ElementMapGenerator.function(e.get()));
+                }
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new MtjBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementMapLoop() {
+        return new ElementMapLoop();
+    }
+
+    public static class ElementMapLoop implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DenseMatrix matA = inputs[0].getOriginal();
+
+            int numRows = matA.numRows();
+            int numCols = matA.numColumns();
+            DenseMatrix result = new DenseMatrix(numRows,numCols);
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                for( int row = 0; row < numRows; row++ ) {
+                    for( int col = 0; col < numCols; col++ ) {
+                        result.set(row,col,ElementMapGenerator.function(matA.get(row,col)));
+                    }
+                }
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new MtjBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementSum() {
+        // not supported
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface elementMax() {
+        // not supported
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface normF() {
+        return new NormF();
+    }
+
+    public static class NormF implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DenseMatrix matA = inputs[0].getOriginal();
+
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = matA.norm(Matrix.Norm.Frobenius);
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new MtjBenchmarkMatrix(new DenseMatrix(new double[][]{{s}}));
+            return elapsedTime;
+        }
+    }
+
     @Override
     public BenchmarkMatrix convertToLib(DenseMatrix64F input) {
         return new MtjBenchmarkMatrix(convertToMtj(input));
@@ -22,26 +22,43 @@ package jmbench.impl.runtime;
 import jmbench.PackageMatrixConversion;
 import jmbench.impl.wrapper.EjmlBenchmarkMatrix;
 import jmbench.impl.wrapper.OjAlgoBenchmarkMatrix;
+import jmbench.impl.wrapper.OjAlgoComplexBenchmarkMatrix;
 import jmbench.interfaces.AlgorithmInterface;
+import jmbench.interfaces.BatchPerformanceFactory;
 import jmbench.interfaces.BenchmarkMatrix;
+import jmbench.interfaces.ComplexPerformanceFactory;
 import jmbench.interfaces.DetectedException;
+import jmbench.interfaces.ElementWisePerformanceFactory;
+import jmbench.interfaces.InPlacePerformanceFactory;
+import jmbench.interfaces.MatrixStructure;
+import jmbench.interfaces.ReusePerformanceFactory;
 import jmbench.interfaces.RuntimePerformanceFactory;
+import jmbench.interfaces.StructuredPerformanceFactory;
+import jmbench.interfaces.VectorPerformanceFactory;
+import jmbench.tools.runtime.generator.AxpyGenerator;
+import jmbench.tools.runtime.generator.ElementMapGenerator;
 import jmbench.tools.runtime.generator.ScaleGenerator;
 import org.ejml.data.DenseMatrix64F;
 import org.ejml.ops.SpecializedOps;
+import org.ojalgo.function.ComplexFunction;
 import org.ojalgo.function.PrimitiveFunction;
+import org.ojalgo.function.UnaryFunction;
+import org.ojalgo.function.aggregator.Aggregator;
 import org.ojalgo.matrix.decomposition.*;
+import org.ojalgo.matrix.store.ComplexDenseStore;
 import org.ojalgo.matrix.store.MatrixStore;
 import org.ojalgo.matrix.store.PhysicalStore;
 import org.ojalgo.matrix.store.PrimitiveDenseStore;
 import org.ojalgo.matrix.store.TransposedStore;
+import org.ojalgo.scalar.ComplexNumber;
 
 /**
  * @author Peter Abeles
  * @author Anders Peterson (apete)
  */
 @SuppressWarnings({ "unchecked" })
-public class OjAlgoAlgorithmFactory implements RuntimePerformanceFactory {
+public class OjAlgoAlgorithmFactory implements RuntimePerformanceFactory, BatchPerformanceFactory, InPlacePerformanceFactory, ReusePerformanceFactory,
+        StructuredPerformanceFactory, VectorPerformanceFactory, ElementWisePerformanceFactory, ComplexPerformanceFactory {
 
     public static class OpAdd implements AlgorithmInterface {
 
@@ -64,6 +81,95 @@ public class OjAlgoAlgorithmFactory implements RuntimePerformanceFactory {
         }
     }
 
+    public static class OpAxpy implements AlgorithmInterface {
+
+        public long process(final BenchmarkMatrix[] inputs, final BenchmarkMatrix[] outputs, final long numTrials) {
+
+            final MatrixStore<Double> vecX = inputs[0].getOriginal();
+            final PrimitiveDenseStore vecY = inputs[1].getOriginal();
+
+            final long prev = System.nanoTime();
+
+            for (long i = 0; i < numTrials; i++) {
+                vecY.maxpy(AxpyGenerator.ALPHA, vecX);
+            }
+
+            final long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new OjAlgoBenchmarkMatrix(vecY);
+            return elapsedTime;
+        }
+    }
+
+    public static class OpBatchMult implements AlgorithmInterface {
+
+        public long process(final BenchmarkMatrix[] inputs, final BenchmarkMatrix[] outputs, final long numTrials) {
+
+            final int N = inputs.length / 2;
+            final MatrixStore<Double>[] matA = new MatrixStore[N];
+            final MatrixStore<Double>[] matB = new MatrixStore[N];
+            final PrimitiveDenseStore[] result = new PrimitiveDenseStore[N];
+            for (int i = 0; i < N; i++) {
+                matA[i] = inputs[i].getOriginal();
+                matB[i] = inputs[N + i].getOriginal();
+                result[i] = FACTORY.makeZero(matA[i].countRows(), matB[i].countColumns());
+            }
+
+            final long prev = System.nanoTime();
+
+            int j = 0;
+            for (long i = 0; i < numTrials; i++) {
+                result[j].fillByMultiplying(matA[j], matB[j]);
+                if (++j == N) {
+                    j = 0;
+                }
+            }
+
+            final long elapsedTime = System.nanoTime() - prev;
+            for (int i = 0; i < N && i < numTrials; i++) {
+                outputs[i] = new OjAlgoBenchmarkMatrix(result[i]);
+            }
+            return elapsedTime;
+        }
+    }
+
+    public static class OpBatchSolve implements AlgorithmInterface {
+
+        public long process(final BenchmarkMatrix[] inputs, final BenchmarkMatrix[] outputs, final long numTrials) {
+
+            final int N = inputs.length / 2;
+            final PrimitiveDenseStore[] matA = new PrimitiveDenseStore[N];
+            final PrimitiveDenseStore[] matB = new PrimitiveDenseStore[N];
+            final MatrixStore<Double>[] result = new MatrixStore[N];
+            for (int i = 0; i < N; i++) {
+                matA[i] = inputs[i].getOriginal();
+                matB[i] = inputs[N + i].getOriginal();
+            }
+
+            // every matrix in the batch has the same shape so the decomposition and its work space are shared
+            final LU<Double> lu = LUDecomposition.make(matA[0]);
+            final DecompositionStore<Double> tmpAlloc = lu.preallocate(matA[0], matB[0]);
+
+            final long prev = System.nanoTime();
+
+            int j = 0;
+            for (long i = 0; i < numTrials; i++) {
+                lu.compute(matA[j]);
+                result[j] = lu.solve(matB[j], tmpAlloc);
+                if (++j == N) {
+                    j = 0;
+                }
+            }
+
+            final long elapsedTime = System.nanoTime() - prev;
+            // the last solution of each element is computed again since the work space is shared
+            for (int i = 0; i < N && i < numTrials; i++) {
+                lu.compute(matA[i]);
+                outputs[i] = new OjAlgoBenchmarkMatrix(FACTORY.copy(lu.solve(matB[i], tmpAlloc)));
+            }
+            return elapsedTime;
+        }
+    }
+
     public static class OpChol implements AlgorithmInterface {
 
         public long process(final BenchmarkMatrix[] inputs, final BenchmarkMatrix[] outputs, final long numTrials) {
@@ -90,6 +196,120 @@ public class OjAlgoAlgorithmFactory implements RuntimePerformanceFactory {
         }
     }
 
+    public static class OpComplexAdd implements AlgorithmInterface {
+
+        public long process(final BenchmarkMatrix[] inputs, final BenchmarkMatrix[] outputs, final long numTrials) {
+
+            final MatrixStore<ComplexNumber> matA = inputs[0].getOriginal();
+            final MatrixStore<ComplexNumber> matB = inputs[1].getOriginal();
+
+            final ComplexDenseStore result = COMPLEX_FACTORY.makeZero(matA.countRows(), matA.countColumns());
+
+            final long prev = System.nanoTime();
+
+            for (long i = 0; i < numTrials; i++) {
+                result.fillMatching(matA, ComplexFunction.ADD, matB);
+            }
+
+            final long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new OjAlgoComplexBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    public static class OpComplexEigHermitian implements AlgorithmInterface {
+
+        public long process(final BenchmarkMatrix[] inputs, final BenchmarkMatrix[] outputs, final long numTrials) {
+
+            final MatrixStore<ComplexNumber> matA = inputs[0].getOriginal();
+
+            MatrixStore<ComplexNumber> D = null;
+            MatrixStore<ComplexNumber> V = null;
+            final Eigenvalue<ComplexNumber> eig = EigenvalueDecomposition.makeComplex();
+
+            final long prev = System.nanoTime();
+
+            for (long i = 0; i < numTrials; i++) {
+                if (!eig.compute(matA)) {
+                    throw new DetectedException("Decomposition failed");
+                }
+                D = eig.getD();
+                V = eig.getV();
+            }
+
+            final long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new OjAlgoComplexBenchmarkMatrix(D);
+            outputs[1] = new OjAlgoComplexBenchmarkMatrix(V);
+            return elapsedTime;
+        }
+    }
+
+    public static class OpComplexMult implements AlgorithmInterface {
+
+        public long process(final BenchmarkMatrix[] inputs, final BenchmarkMatrix[] outputs, final long numTrials) {
+
+            final MatrixStore<ComplexNumber> matA = inputs[0].getOriginal();
+            final MatrixStore<ComplexNumber> matB = inputs[1].getOriginal();
+
+            final ComplexDenseStore result = COMPLEX_FACTORY.makeZero(matA.countRows(), matB.countColumns());
+
+            final long prev = System.nanoTime();
+
+            for (long i = 0; i < numTrials; i++) {
+                result.fillByMultiplying(matA, matB);
+            }
+
+            final long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new OjAlgoComplexBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    public static class OpComplexSolve implements AlgorithmInterface {
+
+        public long process(final BenchmarkMatrix[] inputs, final BenchmarkMatrix[] outputs, final long numTrials) {
+
+            final ComplexDenseStore matA = inputs[0].getOriginal();
+            final ComplexDenseStore matB = inputs[1].getOriginal();
+
+            MatrixStore<ComplexNumber> result = null;
+            final LU<ComplexNumber> lu = LUDecomposition.makeComplex();
+            final DecompositionStore<ComplexNumber> tmpAlloc = lu.preallocate(matA, matB);
+
+            final long prev = System.nanoTime();
+
+            for (long i = 0; i < numTrials; i++) {
+                lu.compute(matA);
+                result = lu.solve(matB, tmpAlloc);
+            }
+
+            final long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new OjAlgoComplexBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    public static class OpComplexTransposeConj implements AlgorithmInterface {
+
+        public long process(final BenchmarkMatrix[] inputs, final BenchmarkMatrix[] outputs, final long numTrials) {
+
+            final ComplexDenseStore matA = inputs[0].getOriginal();
+
+            PhysicalStore<ComplexNumber> result = null;
+
+            final long prev = System.nanoTime();
+
+            for (long i = 0; i < numTrials; i++) {
+                // conjugate() is the Hermitian transpose
+                result = matA.conjugate();
+            }
+
+            final long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new OjAlgoComplexBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
     public static class OpDet implements AlgorithmInterface {
 
         public long process(final BenchmarkMatrix[] inputs, final BenchmarkMatrix[] outputs, final long numTrials) {
@@ -111,6 +331,27 @@ public class OjAlgoAlgorithmFactory implements RuntimePerformanceFactory {
         }
     }
 
+    public static class OpDot implements AlgorithmInterface {
+
+        public long process(final BenchmarkMatrix[] inputs, final BenchmarkMatrix[] outputs, final long numTrials) {
+
+            final MatrixStore<Double> vecX = inputs[0].getOriginal();
+            final MatrixStore<Double> vecY = inputs[1].getOriginal();
+
+            final PrimitiveDenseStore result = FACTORY.makeZero(1, 1);
+
+            final long prev = System.nanoTime();
+
+            for (long i = 0; i < numTrials; i++) {
+                result.fillByMultiplying(new TransposedStore<Double>(vecX), vecY);
+            }
+
+            final long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new OjAlgoBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
     public static class OpEigSymm implements AlgorithmInterface {
 
         public long process(final BenchmarkMatrix[] inputs, final BenchmarkMatrix[] outputs, final long numTrials) {
@@ -138,6 +379,192 @@ public class OjAlgoAlgorithmFactory implements RuntimePerformanceFactory {
         }
     }
 
+    public static class OpElementDiv implements AlgorithmInterface {
+
+        public long process(final BenchmarkMatrix[] inputs, final BenchmarkMatrix[] outputs, final long numTrials) {
+
+            final MatrixStore<Double> matA = inputs[0].getOriginal();
+            final MatrixStore<Double> matB = inputs[1].getOriginal();
+
+            final PrimitiveDenseStore result = FACTORY.makeZero(matA.countRows(), matA.countColumns());
+
+            final long prev = System.nanoTime();
+
+            for (long i = 0; i < numTrials; i++) {
+                result.fillMatching(matA, PrimitiveFunction.DIVIDE, matB);
+            }
+
+            final long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new OjAlgoBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    public static class OpElementMap implements AlgorithmInterface {
+
+        private static final UnaryFunction<Double> FUNCTION = new UnaryFunction<Double>() {
+
+            public double invoke(final double arg) {
+                return ElementMapGenerator.function(arg);
+            }
+
+            public Double invoke(final Double arg) {
+                return ElementMapGenerator.function(arg);
+            }
+        };
+
+        public long process(final BenchmarkMatrix[] inputs, final BenchmarkMatrix[] outputs, final long numTrials) {
+
+            final MatrixStore<Double> matA = inputs[0].getOriginal();
+
+            final PrimitiveDenseStore result = FACTORY.makeZero(matA.countRows(), matA.countColumns());
+
+            final long prev = System.nanoTime();
+
+            for (long i = 0; i < numTrials; i++) {
+                result.fillMatching(matA);
+                result.modifyAll(FUNCTION);
+            }
+
+            final long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new OjAlgoBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    public static class OpElementMapLoop implements AlgorithmInterface {
+
+        public long process(final BenchmarkMatrix[] inputs, final BenchmarkMatrix[] outputs, final long numTrials) {
+
+            final MatrixStore<Double> matA = inputs[0].getOriginal();
+
+            final int numRows = (int) matA.countRows();
+            final int numCols = (int) matA.countColumns();
+            final PrimitiveDenseStore result = FACTORY.makeZero(numRows, numCols);
+
+            final long prev = System.nanoTime();
+
+            for (long i = 0; i < numTrials; i++) {
+                for (int row = 0; row < numRows; row++) {
+                    for (int col = 0; col < numCols; col++) {
+                        result.set(row, col, ElementMapGenerator.function(matA.doubleValue(row, col)));
+                    }
+                }
+            }
+
+            final long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new OjAlgoBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    public static class OpElementMax implements AlgorithmInterface {
+
+        public long process(final BenchmarkMatrix[] inputs, final BenchmarkMatrix[] outputs, final long numTrials) {
+
+            final MatrixStore<Double> matA = inputs[0].getOriginal();
+
+            double value = 0;
+
+            final long prev = System.nanoTime();
+
+            for (long i = 0; i < numTrials; i++) {
+                value = matA.aggregateAll(Aggregator.MAXIMUM);
+            }
+
+            final long elapsedTime = System.nanoTime() - prev;
+            final PrimitiveDenseStore result = FACTORY.makeZero(1, 1);
+            result.set(0, 0, value);
+            outputs[0] = new OjAlgoBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    public static class OpElementMult implements AlgorithmInterface {
+
+        public long process(final BenchmarkMatrix[] inputs, final BenchmarkMatrix[] outputs, final long numTrials) {
+
+            final MatrixStore<Double> matA = inputs[0].getOriginal();
+            final MatrixStore<Double> matB = inputs[1].getOriginal();
+
+            final PrimitiveDenseStore result = FACTORY.makeZero(matA.countRows(), matA.countColumns());
+
+            final long prev = System.nanoTime();
+
+            for (long i = 0; i < numTrials; i++) {
+                result.fillMatching(matA, PrimitiveFunction.MULTIPLY, matB);
+            }
+
+            final long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new OjAlgoBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    public static class OpElementSum implements AlgorithmInterface {
+
+        public long process(final BenchmarkMatrix[] inputs, final BenchmarkMatrix[] outputs, final long numTrials) {
+
+            final MatrixStore<Double> matA = inputs[0].getOriginal();
+
+            double value = 0;
+
+            final long prev = System.nanoTime();
+
+            for (long i = 0; i < numTrials; i++) {
+                value = matA.aggregateAll(Aggregator.SUM);
+            }
+
+            final long elapsedTime = System.nanoTime() - prev;
+            final PrimitiveDenseStore result = FACTORY.makeZero(1, 1);
+            result.set(0, 0, value);
+            outputs[0] = new OjAlgoBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    public static class OpGemv implements AlgorithmInterface {
+
+        public long process(final BenchmarkMatrix[] inputs, final BenchmarkMatrix[] outputs, final long numTrials) {
+
+            final MatrixStore<Double> matA = inputs[0].getOriginal();
+            final MatrixStore<Double> vecX = inputs[1].getOriginal();
+
+            final PrimitiveDenseStore result = FACTORY.makeZero(matA.countRows(), 1);
+
+            final long prev = System.nanoTime();
+
+            for (long i = 0; i < numTrials; i++) {
+                result.fillByMultiplying(matA, vecX);
+            }
+
+            final long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new OjAlgoBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    public static class OpGemvTrans implements AlgorithmInterface {
+
+        public long process(final BenchmarkMatrix[] inputs, final BenchmarkMatrix[] outputs, final long numTrials) {
+
+            final MatrixStore<Double> matA = inputs[0].getOriginal();
+            final MatrixStore<Double> vecX = inputs[1].getOriginal();
+
+            final PrimitiveDenseStore result = FACTORY.makeZero(matA.countColumns(), 1);
+
+            final long prev = System.nanoTime();
+
+            for (long i = 0; i < numTrials; i++) {
+                result.fillByMultiplying(new TransposedStore<Double>(matA), vecX);
+            }
+
+            final long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new OjAlgoBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
     public static class OpInvert implements AlgorithmInterface {
 
         public long process(final BenchmarkMatrix[] inputs, final BenchmarkMatrix[] outputs, final long numTrials) {
@@ -264,6 +691,50 @@ public class OjAlgoAlgorithmFactory implements RuntimePerformanceFactory {
         }
     }
 
+    public static class OpNorm2 implements AlgorithmInterface {
+
+        public long process(final BenchmarkMatrix[] inputs, final BenchmarkMatrix[] outputs, final long numTrials) {
+
+            final MatrixStore<Double> vecX = inputs[0].getOriginal();
+
+            double norm = 0;
+
+            final long prev = System.nanoTime();
+
+            for (long i = 0; i < numTrials; i++) {
+                norm = vecX.aggregateAll(Aggregator.NORM2);
+            }
+
+            final long elapsedTime = System.nanoTime() - prev;
+            final PrimitiveDenseStore result = FACTORY.makeZero(1, 1);
+            result.set(0, 0, norm);
+            outputs[0] = new OjAlgoBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    public static class OpNormF implements AlgorithmInterface {
+
+        public long process(final BenchmarkMatrix[] inputs, final BenchmarkMatrix[] outputs, final long numTrials) {
+
+            final MatrixStore<Double> matA = inputs[0].getOriginal();
+
+            double value = 0;
+
+            final long prev = System.nanoTime();
+
+            for (long i = 0; i < numTrials; i++) {
+                value = matA.aggregateAll(Aggregator.NORM2);
+            }
+
+            final long elapsedTime = System.nanoTime() - prev;
+            final PrimitiveDenseStore result = FACTORY.makeZero(1, 1);
+            result.set(0, 0, value);
+            outputs[0] = new OjAlgoBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
     public static class OpQr implements AlgorithmInterface {
 
         public long process(final BenchmarkMatrix[] inputs, final BenchmarkMatrix[] outputs, final long numTrials) {
@@ -414,6 +885,7 @@ public class OjAlgoAlgorithmFactory implements RuntimePerformanceFactory {
     }
 
     static final PhysicalStore.Factory<Double, PrimitiveDenseStore> FACTORY = PrimitiveDenseStore.FACTORY;
+    static final PhysicalStore.Factory<ComplexNumber, ComplexDenseStore> COMPLEX_FACTORY = ComplexDenseStore.FACTORY;
 
     public static PrimitiveDenseStore convertToOjAlgo(final DenseMatrix64F orig) {
 
@@ -443,17 +915,109 @@ public class OjAlgoAlgorithmFactory implements RuntimePerformanceFactory {
         return new OpAdd();
     }
 
+    @Override
+    public AlgorithmInterface addInto() {
+        return new OpAdd();
+    }
+
+    @Override
+    public AlgorithmInterface axpy() {
+        return new OpAxpy();
+    }
+
+    @Override
+    public AlgorithmInterface batchMult() {
+        return new OpBatchMult();
+    }
+
+    @Override
+    public AlgorithmInterface batchMultFixed2() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface batchMultFixed3() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface batchSolve() {
+        return new OpBatchSolve();
+    }
+
+    @Override
+    public AlgorithmInterface batchSolveFixed2() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface batchSolveFixed3() {
+        return null;
+    }
+
     @Override
     public AlgorithmInterface chol() {
         return new OpChol();
     }
 
+    @Override
+    public AlgorithmInterface cholReuse() {
+        return new OpChol();
+    }
+
+    @Override
+    public AlgorithmInterface complexAdd() {
+        return new OpComplexAdd();
+    }
+
+    @Override
+    public AlgorithmInterface complexEigHermitian() {
+        return new OpComplexEigHermitian();
+    }
+
+    @Override
+    public AlgorithmInterface complexMult() {
+        return new OpComplexMult();
+    }
+
+    @Override
+    public AlgorithmInterface complexSolve() {
+        return new OpComplexSolve();
+    }
+
+    @Override
+    public AlgorithmInterface complexTransposeConj() {
+        return new OpComplexTransposeConj();
+    }
+
     @Override
     public DenseMatrix64F convertToEjml(final BenchmarkMatrix input) {
         final MatrixStore<Double> mat = input.getOriginal();
         return OjAlgoAlgorithmFactory.ojAlgoToEjml(mat);
     }
 
+    // the identity and triangular stores are views which fall back to the dense algorithms
+
+    @Override
+    public AlgorithmInterface multStructured( MatrixStructure structure ) {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface solveExactStructured( MatrixStructure structure ) {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface detStructured( MatrixStructure structure ) {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface invertStructured( MatrixStructure structure ) {
+        return null;
+    }
+
     @Override
     public BenchmarkMatrix convertToLib(final DenseMatrix64F input) {
         return new OjAlgoBenchmarkMatrix(OjAlgoAlgorithmFactory.convertToOjAlgo(input));
@@ -464,71 +1028,201 @@ public class OjAlgoAlgorithmFactory implements RuntimePerformanceFactory {
         return this.wrap(FACTORY.makeZero(numRows, numCols));
     }
 
+    @Override
+    public BenchmarkMatrix createComplex(final int numRows, final int numCols) {
+        return new OjAlgoComplexBenchmarkMatrix(COMPLEX_FACTORY.makeZero(numRows, numCols));
+    }
+
     @Override
     public AlgorithmInterface det() {
         return new OpDet();
     }
 
+    @Override
+    public AlgorithmInterface dot() {
+        return new OpDot();
+    }
+
     @Override
     public AlgorithmInterface eigSymm() {
         return new OpEigSymm();
     }
 
+    @Override
+    public AlgorithmInterface eigSymmReuse() {
+        return new OpEigSymm();
+    }
+
+    @Override
+    public AlgorithmInterface elementDiv() {
+        return new OpElementDiv();
+    }
+
+    @Override
+    public AlgorithmInterface elementMap() {
+        return new OpElementMap();
+    }
+
+    @Override
+    public AlgorithmInterface elementMapLoop() {
+        return new OpElementMapLoop();
+    }
+
+    @Override
+    public AlgorithmInterface elementMax() {
+        return new OpElementMax();
+    }
+
+    @Override
+    public AlgorithmInterface elementMult() {
+        return new OpElementMult();
+    }
+
+    @Override
+    public AlgorithmInterface elementSum() {
+        return new OpElementSum();
+    }
+
+    @Override
+    public AlgorithmInterface gemv() {
+        return new OpGemv();
+    }
+
+    @Override
+    public AlgorithmInterface gemvTrans() {
+        return new OpGemvTrans();
+    }
+
     @Override
     public AlgorithmInterface invert() {
         return new OpInvert();
     }
 
+    @Override
+    public AlgorithmInterface invertInto() {
+        return new OpInvert();
+    }
+
     @Override
     public AlgorithmInterface invertSymmPosDef() {
         return new OpInvertSymmPosDef();
     }
 
+    @Override
+    public AlgorithmInterface invertSymmPosDefInto() {
+        return new OpInvertSymmPosDef();
+    }
+
     @Override
     public AlgorithmInterface lu() {
         return new OpLu();
     }
 
+    @Override
+    public AlgorithmInterface luReuse() {
+        return new OpLu();
+    }
+
     @Override
     public AlgorithmInterface mult() {
         return new OpMult();
     }
 
+    @Override
+    public AlgorithmInterface multInto() {
+        return new OpMult();
+    }
+
     @Override
     public AlgorithmInterface multTransB() {
         return new OpMultTransB();
     }
 
+    @Override
+    public AlgorithmInterface multTransBInto() {
+        return new OpMultTransB();
+    }
+
+    @Override
+    public AlgorithmInterface norm2() {
+        return new OpNorm2();
+    }
+
+    @Override
+    public AlgorithmInterface normF() {
+        return new OpNormF();
+    }
+
     @Override
     public AlgorithmInterface qr() {
         return new OpQr();
     }
 
+    @Override
+    public AlgorithmInterface qrReuse() {
+        return new OpQr();
+    }
+
     @Override
     public AlgorithmInterface scale() {
         return new OpScale();
     }
 
+    @Override
+    public AlgorithmInterface scaleInto() {
+        return new OpScale();
+    }
+
     @Override
     public AlgorithmInterface solveExact() {
         return new OpSolveExact();
     }
 
+    @Override
+    public AlgorithmInterface solveExactInto() {
+        return new OpSolveExact();
+    }
+
+    @Override
+    public AlgorithmInterface solveExactReuse() {
+        return new OpSolveExact();
+    }
+
     @Override
     public AlgorithmInterface solveOver() {
         return new OpSolveOver();
     }
 
+    @Override
+    public AlgorithmInterface solveOverInto() {
+        return new OpSolveOver();
+    }
+
+    @Override
+    public AlgorithmInterface solveOverReuse() {
+        return new OpSolveOver();
+    }
+
     @Override
     public AlgorithmInterface svd() {
         return new OpSvd();
     }
 
+    @Override
+    public AlgorithmInterface svdReuse() {
+        return new OpSvd();
+    }
+
     @Override
     public AlgorithmInterface transpose() {
         return new OpTranspose();
     }
 
+    @Override
+    public AlgorithmInterface transposeInto() {
+        return new OpTranspose();
+    }
+
     @Override
     public BenchmarkMatrix wrap(final Object matrix) {
         return new OjAlgoBenchmarkMatrix((MatrixStore<?>) matrix);
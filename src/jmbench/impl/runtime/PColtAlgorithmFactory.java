@@ -19,27 +19,69 @@
 
 package jmbench.impl.runtime;
 
+import cern.colt.function.tdouble.DoubleDoubleFunction;
+import cern.colt.function.tdouble.DoubleFunction;
+import cern.colt.function.tdouble.IntIntDoubleFunction;
+import cern.colt.matrix.tdcomplex.DComplexMatrix2D;
+import cern.colt.matrix.tdcomplex.impl.DenseDComplexMatrix2D;
 import cern.colt.matrix.tdouble.DoubleFactory2D;
+import cern.colt.matrix.tdouble.DoubleMatrix1D;
 import cern.colt.matrix.tdouble.DoubleMatrix2D;
 import cern.colt.matrix.tdouble.algo.DenseDoubleAlgebra;
 import cern.colt.matrix.tdouble.algo.decomposition.*;
+import cern.colt.matrix.tdouble.algo.solver.AbstractDoubleIterativeSolver;
+import cern.colt.matrix.tdouble.algo.solver.DefaultDoubleIterationMonitor;
+import cern.colt.matrix.tdouble.algo.solver.DoubleBiCGstab;
+import cern.colt.matrix.tdouble.algo.solver.DoubleCG;
+import cern.colt.matrix.tdouble.algo.solver.DoubleGMRES;
+import cern.colt.matrix.tdouble.algo.solver.IterativeSolverDoubleNotConvergedException;
 import cern.colt.matrix.tdouble.impl.DenseDoubleMatrix2D;
+import cern.colt.matrix.tdouble.impl.SparseCCDoubleMatrix2D;
+import cern.colt.matrix.tdouble.impl.SparseDoubleMatrix2D;
+import cern.colt.matrix.tdouble.impl.SparseRCDoubleMatrix2D;
+import cern.colt.matrix.tfloat.FloatMatrix2D;
+import cern.colt.matrix.tfloat.algo.DenseFloatAlgebra;
+import cern.colt.matrix.tfloat.algo.decomposition.DenseFloatSingularValueDecomposition;
+import cern.colt.matrix.tfloat.impl.DenseFloatMatrix2D;
+import cern.jet.math.tdcomplex.DComplexFunctions;
 import cern.jet.math.tdouble.DoubleFunctions;
+import cern.jet.math.tfloat.FloatFunctions;
 import jmbench.impl.wrapper.EjmlBenchmarkMatrix;
 import jmbench.impl.wrapper.PColtBenchmarkMatrix;
+import jmbench.impl.wrapper.PColtComplexBenchmarkMatrix;
+import jmbench.impl.wrapper.PColtFloatBenchmarkMatrix;
 import jmbench.interfaces.AlgorithmInterface;
+import jmbench.interfaces.BatchPerformanceFactory;
 import jmbench.interfaces.BenchmarkMatrix;
+import jmbench.interfaces.ComplexPerformanceFactory;
 import jmbench.interfaces.DetectedException;
+import jmbench.interfaces.ElementWisePerformanceFactory;
+import jmbench.interfaces.FloatPerformanceFactory;
+import jmbench.interfaces.InPlacePerformanceFactory;
+import jmbench.interfaces.IterativeSolver;
+import jmbench.interfaces.IterativeSolverPerformanceFactory;
+import jmbench.interfaces.MatrixStructure;
+import jmbench.interfaces.ReusePerformanceFactory;
 import jmbench.interfaces.RuntimePerformanceFactory;
+import jmbench.interfaces.SparseFormat;
+import jmbench.interfaces.SparseTriplets;
+import jmbench.interfaces.StructuredPerformanceFactory;
+import jmbench.interfaces.VectorPerformanceFactory;
+import jmbench.tools.runtime.generator.AxpyGenerator;
+import jmbench.tools.runtime.generator.ElementMapGenerator;
 import jmbench.tools.runtime.generator.ScaleGenerator;
 import org.ejml.data.DenseMatrix64F;
 import org.ejml.ops.SpecializedOps;
 
+import java.util.Arrays;
+
 
 /**
  * @author Peter Abeles
  */
-public class PColtAlgorithmFactory implements RuntimePerformanceFactory {
+public class PColtAlgorithmFactory implements RuntimePerformanceFactory, BatchPerformanceFactory, InPlacePerformanceFactory, ReusePerformanceFactory,
+        StructuredPerformanceFactory, IterativeSolverPerformanceFactory, VectorPerformanceFactory, ElementWisePerformanceFactory,
+        FloatPerformanceFactory, ComplexPerformanceFactory {
 
     @Override
     public BenchmarkMatrix create(int numRows, int numCols) {
@@ -442,6 +484,1168 @@ public class PColtAlgorithmFactory implements RuntimePerformanceFactory {
         return new DenseDoubleMatrix2D( numRows , numCols );
     }
 
+    @Override
+    public AlgorithmInterface batchMult() {
+        return new BatchMult();
+    }
+
+    public static class BatchMult implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            int N = inputs.length/2;
+            DoubleMatrix2D matA[] = new DoubleMatrix2D[N];
+            DoubleMatrix2D matB[] = new DoubleMatrix2D[N];
+            DoubleMatrix2D result[] = new DoubleMatrix2D[N];
+            for( int i = 0; i < N; i++ ) {
+                matA[i] = inputs[i].getOriginal();
+                matB[i] = inputs[N+i].getOriginal();
+            }
+
+            DenseDoubleAlgebra alg = new DenseDoubleAlgebra();
+
+            long prev = System.nanoTime();
+
+            int j = 0;
+            for( long i = 0; i < numTrials; i++ ) {
+                result[j] = alg.mult(matA[j],matB[j]);
+                if( ++j == N ) j = 0;
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            for( int i = 0; i < N && i < numTrials; i++ )
+                outputs[i] = new PColtBenchmarkMatrix(result[i]);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface batchSolve() {
+        return new BatchSolve();
+    }
+
+    public static class BatchSolve implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            int N = inputs.length/2;
+            DoubleMatrix2D matA[] = new DoubleMatrix2D[N];
+            DoubleMatrix2D matB[] = new DoubleMatrix2D[N];
+            DoubleMatrix2D result[] = new DoubleMatrix2D[N];
+            for( int i = 0; i < N; i++ ) {
+                matA[i] = inputs[i].getOriginal();
+                matB[i] = inputs[N+i].getOriginal();
+            }
+
+            DenseDoubleAlgebra alg = new DenseDoubleAlgebra();
+
+            long prev = System.nanoTime();
+
+            int j = 0;
+            for( long i = 0; i < numTrials; i++ ) {
+                result[j] = alg.solve(matA[j],matB[j]);
+                if( ++j == N ) j = 0;
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            for( int i = 0; i < N && i < numTrials; i++ )
+                outputs[i] = new PColtBenchmarkMatrix(result[i]);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface batchMultFixed2() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface batchMultFixed3() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface batchSolveFixed2() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface batchSolveFixed3() {
+        return null;
+    }
+
+    // invertSymmPosDef, solveOver and transpose have no way to write into an existing matrix
+
+    @Override
+    public AlgorithmInterface invertInto() {
+        return new InvInto();
+    }
+
+    @Override
+    public AlgorithmInterface invertSymmPosDefInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface addInto() {
+        return new AddInto();
+    }
+
+    @Override
+    public AlgorithmInterface multInto() {
+        return new MultInto();
+    }
+
+    @Override
+    public AlgorithmInterface multTransBInto() {
+        return new MultTransBInto();
+    }
+
+    @Override
+    public AlgorithmInterface scaleInto() {
+        return new ScaleInto();
+    }
+
+    @Override
+    public AlgorithmInterface solveExactInto() {
+        return new SolveInto();
+    }
+
+    @Override
+    public AlgorithmInterface solveOverInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface transposeInto() {
+        return null;
+    }
+
+    public static class AddInto implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix2D matA = inputs[0].getOriginal();
+            DoubleMatrix2D matB = inputs[1].getOriginal();
+
+            DoubleMatrix2D result = new DenseDoubleMatrix2D(matA.rows(),matA.columns());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result.assign(matA);
+                result.assign(matB,DoubleFunctions.plus);
+            }
+
+            long elapsed = System.nanoTime()-prev;
+            outputs[0] = new PColtBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    public static class MultInto implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix2D matA = inputs[0].getOriginal();
+            DoubleMatrix2D matB = inputs[1].getOriginal();
+
+            DoubleMatrix2D result = new DenseDoubleMatrix2D(matA.rows(),matB.columns());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                matA.zMult(matB,result);
+            }
+
+            long elapsed = System.nanoTime()-prev;
+            outputs[0] = new PColtBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    public static class MultTransBInto implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix2D matA = inputs[0].getOriginal();
+            DoubleMatrix2D matB = inputs[1].getOriginal();
+
+            DoubleMatrix2D result = new DenseDoubleMatrix2D(matA.rows(),matB.rows());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                matA.zMult(matB,result,1.0,0.0,false,true);
+            }
+
+            long elapsed = System.nanoTime()-prev;
+            outputs[0] = new PColtBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    public static class ScaleInto implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix2D matA = inputs[0].getOriginal();
+
+            DoubleMatrix2D result = new DenseDoubleMatrix2D(matA.rows(),matA.columns());
+            DoubleFunction scale = DoubleFunctions.mult(ScaleGenerator.SCALE);
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result.assign(matA);
+                result.assign(scale);
+            }
+
+            long elapsed = System.nanoTime()-prev;
+            outputs[0] = new PColtBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    /**
+     * The LU decomposition is computed in a copy of A and the identity matrix is overwritten with the inverse.
+     */
+    public static class InvInto implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix2D matA = inputs[0].getOriginal();
+
+            DenseDoubleLUDecompositionQuick lu = new DenseDoubleLUDecompositionQuick();
+            DoubleMatrix2D tmp = new DenseDoubleMatrix2D(matA.rows(),matA.columns());
+            DoubleMatrix2D I = DoubleFactory2D.dense.identity(matA.rows());
+            DoubleMatrix2D result = new DenseDoubleMatrix2D(matA.rows(),matA.columns());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                tmp.assign(matA);
+                lu.decompose(tmp);
+                if( !lu.isNonsingular() )
+                    throw new DetectedException("Singular matrix");
+                result.assign(I);
+                lu.solve(result);
+            }
+
+            long elapsed = System.nanoTime()-prev;
+            outputs[0] = new PColtBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    /**
+     * The LU decomposition is computed in a copy of A and a copy of B is overwritten with the solution.
+     */
+    public static class SolveInto implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix2D matA = inputs[0].getOriginal();
+            DoubleMatrix2D matB = inputs[1].getOriginal();
+
+            DenseDoubleLUDecompositionQuick lu = new DenseDoubleLUDecompositionQuick();
+            DoubleMatrix2D tmp = new DenseDoubleMatrix2D(matA.rows(),matA.columns());
+            DoubleMatrix2D result = new DenseDoubleMatrix2D(matB.rows(),matB.columns());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                tmp.assign(matA);
+                lu.decompose(tmp);
+                if( !lu.isNonsingular() )
+                    throw new DetectedException("Singular matrix");
+                result.assign(matB);
+                lu.solve(result);
+            }
+
+            long elapsed = System.nanoTime()-prev;
+            outputs[0] = new PColtBenchmarkMatrix(result);
+            return elapsed;
+        }
+    }
+
+    // only LU can be reused.  The other decompositions are computed in their constructors
+
+    @Override
+    public AlgorithmInterface cholReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface luReuse() {
+        return new LU();
+    }
+
+    @Override
+    public AlgorithmInterface svdReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface qrReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface eigSymmReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface solveExactReuse() {
+        return new SolveInto();
+    }
+
+    @Override
+    public AlgorithmInterface solveOverReuse() {
+        return null;
+    }
+
+    // the diagonal matrix type only specializes matrix-vector multiplication
+
+    @Override
+    public AlgorithmInterface multStructured( MatrixStructure structure ) {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface solveExactStructured( MatrixStructure structure ) {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface detStructured( MatrixStructure structure ) {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface invertStructured( MatrixStructure structure ) {
+        return null;
+    }
+
+    // compressed row and column matrices are built on CSparse.  The hash map matrix's product with a sparse
+    // matrix is dense, so that isn't evaluated
+
+    @Override
+    public BenchmarkMatrix createSparse( SparseTriplets triplets , SparseFormat format ) {
+        int rows[] = Arrays.copyOf(triplets.rows,triplets.length);
+        int cols[] = Arrays.copyOf(triplets.cols,triplets.length);
+        double values[] = Arrays.copyOf(triplets.values,triplets.length);
+
+        DoubleMatrix2D ret;
+        switch( format ) {
+            case CSR:
+                ret = new SparseRCDoubleMatrix2D(triplets.numRows,triplets.numCols,rows,cols,values,false,false,false);
+                break;
+
+            case CSC:
+                ret = new SparseCCDoubleMatrix2D(triplets.numRows,triplets.numCols,rows,cols,values,false,false,false);
+                break;
+
+            case COORDINATE:
+                ret = new SparseDoubleMatrix2D(triplets.numRows,triplets.numCols,rows,cols,values);
+                break;
+
+            default:
+                return null;
+        }
+
+        return wrap(ret);
+    }
+
+    @Override
+    public long countNonZeros( BenchmarkMatrix A ) {
+        DoubleMatrix2D m = A.getOriginal();
+        final long total[] = new long[1];
+        m.forEachNonZero(new IntIntDoubleFunction() {
+            @Override
+            public double apply(int row, int col, double value) {
+                if( value != 0 )
+                    total[0]++;
+                // the returned value is written back into the matrix
+                return value;
+            }
+        });
+        return total[0];
+    }
+
+    private static boolean isSparseSupported( SparseFormat format ) {
+        return format == SparseFormat.CSR || format == SparseFormat.CSC || format == SparseFormat.COORDINATE;
+    }
+
+    @Override
+    public AlgorithmInterface sparseMultDense( SparseFormat format ) {
+        return isSparseSupported(format) ? new SparseMultDense() : null;
+    }
+
+    public static class SparseMultDense implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix2D matA = inputs[0].getOriginal();
+            DoubleMatrix2D matB = inputs[1].getOriginal();
+
+            DoubleMatrix2D result = new DenseDoubleMatrix2D(matA.rows(),matB.columns());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                matA.zMult(matB,result);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new PColtBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface sparseMultSparse( SparseFormat format ) {
+        if( format == SparseFormat.CSR || format == SparseFormat.CSC )
+            return new SparseMultSparse();
+        return null;
+    }
+
+    public static class SparseMultSparse implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix2D matA = inputs[0].getOriginal();
+            DoubleMatrix2D matB = inputs[1].getOriginal();
+
+            DoubleMatrix2D result = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result = matA.zMult(matB,null);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new PColtBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface sparseMultVector( SparseFormat format ) {
+        return isSparseSupported(format) ? new SparseMultVector() : null;
+    }
+
+    public static class SparseMultVector implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix2D matA = inputs[0].getOriginal();
+            DoubleMatrix2D matX = inputs[1].getOriginal();
+
+            DoubleMatrix2D result = new DenseDoubleMatrix2D(matA.rows(),1);
+            DoubleMatrix1D x = matX.viewColumn(0);
+            DoubleMatrix1D y = result.viewColumn(0);
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                matA.zMult(x,y);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new PColtBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface sparseTranspose( SparseFormat format ) {
+        return isSparseSupported(format) ? new SparseTranspose() : null;
+    }
+
+    public static class SparseTranspose implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix2D matA = inputs[0].getOriginal();
+
+            DoubleMatrix2D result = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                // the compressed formats have a specialized transpose, viewDice() is only a view
+                if( matA instanceof SparseRCDoubleMatrix2D )
+                    result = ((SparseRCDoubleMatrix2D)matA).getTranspose();
+                else if( matA instanceof SparseCCDoubleMatrix2D )
+                    result = ((SparseCCDoubleMatrix2D)matA).getTranspose();
+                else
+                    result = matA.viewDice().copy();
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new PColtBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface sparseAdd( SparseFormat format ) {
+        return isSparseSupported(format) ? new SparseAdd() : null;
+    }
+
+    public static class SparseAdd implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix2D matA = inputs[0].getOriginal();
+            DoubleMatrix2D matB = inputs[1].getOriginal();
+
+            DoubleMatrix2D result = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                // plusMultSecond is recognized by the sparse matrices, a generic function visits every element
+                result = matA.copy().assign(matB,DoubleFunctions.plusMultSecond(1));
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new PColtBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public IterativeSolver solveCG( SparseFormat format ) {
+        return isSparseSupported(format) ? new SolveCG() : null;
+    }
+
+    @Override
+    public IterativeSolver solveBiCGStab( SparseFormat format ) {
+        return isSparseSupported(format) ? new SolveBiCGStab() : null;
+    }
+
+    @Override
+    public IterativeSolver solveGMRES( SparseFormat format ) {
+        return isSparseSupported(format) ? new SolveGMRES() : null;
+    }
+
+    public static class SolveCG extends IterativeSolve {
+        @Override
+        protected AbstractDoubleIterativeSolver createSolver( DoubleMatrix1D template ) {
+            return new DoubleCG(template);
+        }
+    }
+
+    public static class SolveBiCGStab extends IterativeSolve {
+        @Override
+        protected AbstractDoubleIterativeSolver createSolver( DoubleMatrix1D template ) {
+            return new DoubleBiCGstab(template);
+        }
+    }
+
+    public static class SolveGMRES extends IterativeSolve {
+        @Override
+        protected AbstractDoubleIterativeSolver createSolver( DoubleMatrix1D template ) {
+            return new DoubleGMRES(template);
+        }
+    }
+
+    /**
+     * Solves the system from x = 0 each trial using the library's iteration monitor
+     */
+    public static abstract class IterativeSolve implements IterativeSolver {
+        double tolerance;
+        int maxIterations;
+        int iterations;
+
+        protected abstract AbstractDoubleIterativeSolver createSolver( DoubleMatrix1D template );
+
+        @Override
+        public void setConvergence( double tolerance , int maxIterations ) {
+            this.tolerance = tolerance;
+            this.maxIterations = maxIterations;
+        }
+
+        @Override
+        public int getIterations() {
+            return iterations;
+        }
+
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix2D matA = inputs[0].getOriginal();
+            DoubleMatrix2D matB = inputs[1].getOriginal();
+
+            DoubleMatrix2D result = new DenseDoubleMatrix2D(matA.columns(),1);
+            DoubleMatrix1D b = matB.viewColumn(0);
+            DoubleMatrix1D x = result.viewColumn(0);
+
+            DefaultDoubleIterationMonitor monitor = new DefaultDoubleIterationMonitor();
+            monitor.setRelativeTolerance(tolerance);
+            monitor.setMaxIterations(maxIterations);
+
+            AbstractDoubleIterativeSolver solver = createSolver(x);
+            solver.setIterationMonitor(monitor);
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                x.assign(0);
+                try {
+                    solver.solve(matA,b,x);
+                } catch (IterativeSolverDoubleNotConvergedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            iterations = monitor.iterations();
+            outputs[0] = new PColtBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    // vectors are matrices with one column.  The operations are applied to a view of the column
+
+    @Override
+    public AlgorithmInterface dot() {
+        return new Dot();
+    }
+
+    public static class Dot implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix2D matX = inputs[0].getOriginal();
+            DoubleMatrix2D matY = inputs[1].getOriginal();
+
+            DoubleMatrix1D x = matX.viewColumn(0);
+            DoubleMatrix1D y = matY.viewColumn(0);
+
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = x.zDotProduct(y);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+
+            outputs[0] = new PColtBenchmarkMatrix(new DenseDoubleMatrix2D(1,1).assign(s));
+
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface axpy() {
+        return new Axpy();
+    }
+
+    public static class Axpy implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix2D matX = inputs[0].getOriginal();
+            DoubleMatrix2D matY = inputs[1].getOriginal();
+
+            DoubleMatrix1D x = matX.viewColumn(0);
+            DoubleMatrix1D y = matY.viewColumn(0);
+
+            DoubleDoubleFunction plusMult = DoubleFunctions.plusMultSecond(AxpyGenerator.ALPHA);
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                y.assign(x,plusMult);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+
+            outputs[0] = new PColtBenchmarkMatrix(matY);
+
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface norm2() {
+        return new Norm2();
+    }
+
+    public static class Norm2 implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix2D matX = inputs[0].getOriginal();
+            DoubleMatrix1D x = matX.viewColumn(0);
+
+            DenseDoubleAlgebra alg = DenseDoubleAlgebra.DEFAULT;
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = alg.norm2(x);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+
+            outputs[0] = new PColtBenchmarkMatrix(new DenseDoubleMatrix2D(1,1).assign(s));
+
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface gemv() {
+        return new Gemv();
+    }
+
+    public static class Gemv implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix2D A = inputs[0].getOriginal();
+            DoubleMatrix2D matX = inputs[1].getOriginal();
+            DoubleMatrix1D x = matX.viewColumn(0);
+
+            DenseDoubleMatrix2D result = new DenseDoubleMatrix2D(A.rows(),1);
+            DoubleMatrix1D y = result.viewColumn(0);
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                A.zMult(x,y);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+
+            outputs[0] = new PColtBenchmarkMatrix(result);
+
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface gemvTrans() {
+        return new GemvTrans();
+    }
+
+    public static class GemvTrans implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix2D A = inputs[0].getOriginal();
+            DoubleMatrix2D matX = inputs[1].getOriginal();
+            DoubleMatrix1D x = matX.viewColumn(0);
+
+            DenseDoubleMatrix2D result = new DenseDoubleMatrix2D(A.columns(),1);
+            DoubleMatrix1D y = result.viewColumn(0);
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                A.zMult(x,y,1,0,true);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+
+            outputs[0] = new PColtBenchmarkMatrix(result);
+
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementMult() {
+        return new ElementMult();
+    }
+
+    public static class ElementMult implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix2D matA = inputs[0].getOriginal();
+            DoubleMatrix2D matB = inputs[1].getOriginal();
+
+            DoubleMatrix2D result = createMatrix(matA.rows(),matA.columns());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                // In-place operation here
+                result.assign(matA);
+                result.assign(matB, DoubleFunctions.mult);
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new PColtBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementDiv() {
+        return new ElementDiv();
+    }
+
+    public static class ElementDiv implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix2D matA = inputs[0].getOriginal();
+            DoubleMatrix2D matB = inputs[1].getOriginal();
+
+            DoubleMatrix2D result = createMatrix(matA.rows(),matA.columns());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                // In-place operation here
+                result.assign(matA);
+                result.assign(matB, DoubleFunctions.div);
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new PColtBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementMap() {
+        return new ElementMap();
+    }
+
+    public static class ElementMap implements AlgorithmInterface {
+        private static final DoubleFunction FUNCTION = new DoubleFunction() {
+            @Override
+            public double apply(double x) {
+                return ElementMapGenerator.function(x);
+            }
+        };
+
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix2D matA = inputs[0].getOriginal();
+
+            DoubleMatrix2D result = createMatrix(matA.rows(),matA.columns());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result.assign(matA);
+                result.assign(FUNCTION);
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new PColtBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementMapLoop() {
+        return new ElementMapLoop();
+    }
+
+    public static class ElementMapLoop implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix2D matA = inputs[0].getOriginal();
+
+            int numRows = matA.rows();
+            int numCols = matA.columns();
+            DoubleMatrix2D result = createMatrix(matA.rows(),matA.columns());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                for( int row = 0; row < numRows; row++ ) {
+                    for( int col = 0; col < numCols; col++ ) {
+                        result.set(row,col,ElementMapGenerator.function(matA.get(row,col)));
+                    }
+                }
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new PColtBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementSum() {
+        return new ElementSum();
+    }
+
+    public static class ElementSum implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix2D matA = inputs[0].getOriginal();
+
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = matA.zSum();
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new PColtBenchmarkMatrix(new DenseDoubleMatrix2D(new double[][]{{s}}));
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementMax() {
+        return new ElementMax();
+    }
+
+    public static class ElementMax implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix2D matA = inputs[0].getOriginal();
+
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = matA.getMaxLocation()[0];
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new PColtBenchmarkMatrix(new DenseDoubleMatrix2D(new double[][]{{s}}));
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface normF() {
+        return new NormF();
+    }
+
+    public static class NormF implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DoubleMatrix2D matA = inputs[0].getOriginal();
+
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = DenseDoubleAlgebra.DEFAULT.normF(matA);
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new PColtBenchmarkMatrix(new DenseDoubleMatrix2D(new double[][]{{s}}));
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public BenchmarkMatrix createFloat(int numRows, int numCols) {
+        return wrapFloat(new DenseFloatMatrix2D(numRows,numCols));
+    }
+
+    @Override
+    public BenchmarkMatrix wrapFloat(Object matrix) {
+        return new PColtFloatBenchmarkMatrix((FloatMatrix2D)matrix);
+    }
+
+    @Override
+    public AlgorithmInterface multFloat() {
+        return new MultFloat();
+    }
+
+    public static class MultFloat implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            FloatMatrix2D matA = inputs[0].getOriginal();
+            FloatMatrix2D matB = inputs[1].getOriginal();
+
+            DenseFloatAlgebra alg = new DenseFloatAlgebra();
+            FloatMatrix2D result = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result = alg.mult(matA,matB);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new PColtFloatBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface addFloat() {
+        return new AddFloat();
+    }
+
+    public static class AddFloat implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            FloatMatrix2D matA = inputs[0].getOriginal();
+            FloatMatrix2D matB = inputs[1].getOriginal();
+
+            FloatMatrix2D result = new DenseFloatMatrix2D(matA.rows(),matA.columns());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                // in-place operator
+                result.assign(matA);
+                result.assign(matB, FloatFunctions.plus);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new PColtFloatBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface solveExactFloat() {
+        return new SolveFloat();
+    }
+
+    public static class SolveFloat implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            FloatMatrix2D matA = inputs[0].getOriginal();
+            FloatMatrix2D matB = inputs[1].getOriginal();
+
+            DenseFloatAlgebra alg = new DenseFloatAlgebra();
+            FloatMatrix2D result = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result = alg.solve(matA,matB);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new PColtFloatBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface svdFloat() {
+        return new SvdFloat();
+    }
+
+    public static class SvdFloat implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            FloatMatrix2D matA = inputs[0].getOriginal();
+
+            DenseFloatAlgebra alg = new DenseFloatAlgebra();
+
+            FloatMatrix2D U = null;
+            FloatMatrix2D S = null;
+            FloatMatrix2D V = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                DenseFloatSingularValueDecomposition s = alg.svd(matA);
+                U = s.getU();
+                S = s.getS();
+                V = s.getV();
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new PColtFloatBenchmarkMatrix(U);
+            outputs[1] = new PColtFloatBenchmarkMatrix(S);
+            outputs[2] = new PColtFloatBenchmarkMatrix(V);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public BenchmarkMatrix createComplex(int numRows, int numCols) {
+        return new PColtComplexBenchmarkMatrix(new DenseDComplexMatrix2D(numRows,numCols));
+    }
+
+    @Override
+    public AlgorithmInterface complexMult() {
+        return new ComplexMult();
+    }
+
+    public static class ComplexMult implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DComplexMatrix2D matA = inputs[0].getOriginal();
+            DComplexMatrix2D matB = inputs[1].getOriginal();
+
+            DComplexMatrix2D result = new DenseDComplexMatrix2D(matA.rows(),matB.columns());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                matA.zMult(matB,result);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new PColtComplexBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface complexAdd() {
+        return new ComplexAdd();
+    }
+
+    public static class ComplexAdd implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DComplexMatrix2D matA = inputs[0].getOriginal();
+            DComplexMatrix2D matB = inputs[1].getOriginal();
+
+            DComplexMatrix2D result = new DenseDComplexMatrix2D(matA.rows(),matA.columns());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                // in-place operator
+                result.assign(matA);
+                result.assign(matB, DComplexFunctions.plus);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new PColtComplexBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface complexTransposeConj() {
+        return new ComplexTransposeConj();
+    }
+
+    public static class ComplexTransposeConj implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            DComplexMatrix2D matA = inputs[0].getOriginal();
+
+            DComplexMatrix2D result = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result = matA.getConjugateTranspose();
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new PColtComplexBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface complexSolve() {
+        // there are no complex decompositions
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface complexEigHermitian() {
+        return null;
+    }
+
     @Override
     public BenchmarkMatrix convertToLib(DenseMatrix64F input) {
         return new PColtBenchmarkMatrix(convertToParallelColt(input));
@@ -22,8 +22,17 @@ package jmbench.impl.runtime;
 import jmbench.impl.wrapper.EjmlBenchmarkMatrix;
 import jmbench.impl.wrapper.SejmlBenchmarkMatrix;
 import jmbench.interfaces.AlgorithmInterface;
+import jmbench.interfaces.BatchPerformanceFactory;
 import jmbench.interfaces.BenchmarkMatrix;
+import jmbench.interfaces.ElementWisePerformanceFactory;
+import jmbench.interfaces.InPlacePerformanceFactory;
+import jmbench.interfaces.MatrixStructure;
+import jmbench.interfaces.ReusePerformanceFactory;
 import jmbench.interfaces.RuntimePerformanceFactory;
+import jmbench.interfaces.StructuredPerformanceFactory;
+import jmbench.interfaces.VectorPerformanceFactory;
+import jmbench.tools.runtime.generator.AxpyGenerator;
+import jmbench.tools.runtime.generator.ElementMapGenerator;
 import jmbench.tools.runtime.generator.ScaleGenerator;
 import org.ejml.data.DenseMatrix64F;
 import org.ejml.ops.EigenOps;
@@ -35,7 +44,8 @@ import org.ejml.simple.SimpleSVD;
 /**
  * @author Peter Abeles
  */
-public class SejmlAlgorithmFactory implements RuntimePerformanceFactory {
+public class SejmlAlgorithmFactory implements RuntimePerformanceFactory, BatchPerformanceFactory, InPlacePerformanceFactory, ReusePerformanceFactory,
+        StructuredPerformanceFactory, VectorPerformanceFactory, ElementWisePerformanceFactory {
 
     @Override
     public BenchmarkMatrix create(int numRows, int numCols) {
@@ -314,6 +324,435 @@ public class SejmlAlgorithmFactory implements RuntimePerformanceFactory {
         }
     }
 
+    @Override
+    public AlgorithmInterface batchMult() {
+        return new BatchMult();
+    }
+
+    public static class BatchMult implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            int N = inputs.length/2;
+            SimpleMatrix matA[] = new SimpleMatrix[N];
+            SimpleMatrix matB[] = new SimpleMatrix[N];
+            SimpleMatrix result[] = new SimpleMatrix[N];
+            for( int i = 0; i < N; i++ ) {
+                matA[i] = inputs[i].getOriginal();
+                matB[i] = inputs[N+i].getOriginal();
+            }
+
+            long prev = System.nanoTime();
+
+            int j = 0;
+            for( long i = 0; i < numTrials; i++ ) {
+                result[j] = matA[j].mult(matB[j]);
+                if( ++j == N ) j = 0;
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            for( int i = 0; i < N && i < numTrials; i++ )
+                outputs[i] = new SejmlBenchmarkMatrix(result[i]);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface batchSolve() {
+        return new BatchSolve();
+    }
+
+    public static class BatchSolve implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            int N = inputs.length/2;
+            SimpleMatrix matA[] = new SimpleMatrix[N];
+            SimpleMatrix matB[] = new SimpleMatrix[N];
+            SimpleMatrix result[] = new SimpleMatrix[N];
+            for( int i = 0; i < N; i++ ) {
+                matA[i] = inputs[i].getOriginal();
+                matB[i] = inputs[N+i].getOriginal();
+            }
+
+            long prev = System.nanoTime();
+
+            int j = 0;
+            for( long i = 0; i < numTrials; i++ ) {
+                result[j] = matA[j].solve(matB[j]);
+                if( ++j == N ) j = 0;
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            for( int i = 0; i < N && i < numTrials; i++ )
+                outputs[i] = new SejmlBenchmarkMatrix(result[i]);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface batchMultFixed2() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface batchMultFixed3() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface batchSolveFixed2() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface batchSolveFixed3() {
+        return null;
+    }
+
+    // SimpleMatrix always creates a new matrix for the results
+
+    @Override
+    public AlgorithmInterface invertInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface invertSymmPosDefInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface addInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface multInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface multTransBInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface scaleInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface solveExactInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface solveOverInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface transposeInto() {
+        return null;
+    }
+
+    // SimpleMatrix always creates a new decomposition
+
+    @Override
+    public AlgorithmInterface cholReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface luReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface svdReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface qrReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface eigSymmReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface solveExactReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface solveOverReuse() {
+        return null;
+    }
+
+    // SimpleMatrix only has dense matrices
+
+    @Override
+    public AlgorithmInterface multStructured( MatrixStructure structure ) {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface solveExactStructured( MatrixStructure structure ) {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface detStructured( MatrixStructure structure ) {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface invertStructured( MatrixStructure structure ) {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface dot() {
+        return new Dot();
+    }
+
+    public static class Dot implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            SimpleMatrix x = inputs[0].getOriginal();
+            SimpleMatrix y = inputs[1].getOriginal();
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = x.dot(y);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new SejmlBenchmarkMatrix(new SimpleMatrix(1,1,true,s));
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface axpy() {
+        return new Axpy();
+    }
+
+    /**
+     * SimpleMatrix can't modify a matrix in place, so a new vector is created each time
+     */
+    public static class Axpy implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            SimpleMatrix x = inputs[0].getOriginal();
+            SimpleMatrix y = inputs[1].getOriginal();
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                y = y.plus(AxpyGenerator.ALPHA,x);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new SejmlBenchmarkMatrix(y);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface norm2() {
+        return new Norm2();
+    }
+
+    public static class Norm2 implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            SimpleMatrix x = inputs[0].getOriginal();
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = x.normF();
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new SejmlBenchmarkMatrix(new SimpleMatrix(1,1,true,s));
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface gemv() {
+        return new Gemv();
+    }
+
+    public static class Gemv implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            SimpleMatrix A = inputs[0].getOriginal();
+            SimpleMatrix x = inputs[1].getOriginal();
+            SimpleMatrix y = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                y = A.mult(x);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new SejmlBenchmarkMatrix(y);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface gemvTrans() {
+        return new GemvTrans();
+    }
+
+    public static class GemvTrans implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            SimpleMatrix A = inputs[0].getOriginal();
+            SimpleMatrix x = inputs[1].getOriginal();
+            SimpleMatrix y = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                y = A.transpose().mult(x);
+            }
+
+            long elapsedTime = System.nanoTime()-prev;
+            outputs[0] = new SejmlBenchmarkMatrix(y);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementMult() {
+        return new ElementMult();
+    }
+
+    public static class ElementMult implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            SimpleMatrix matA = inputs[0].getOriginal();
+            SimpleMatrix matB = inputs[1].getOriginal();
+            SimpleMatrix result = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result = matA.elementMult(matB);
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new SejmlBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementDiv() {
+        // not supported
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface elementMap() {
+        // no functional API
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface elementMapLoop() {
+        return new ElementMapLoop();
+    }
+
+    public static class ElementMapLoop implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            SimpleMatrix matA = inputs[0].getOriginal();
+
+            int numRows = matA.numRows();
+            int numCols = matA.numCols();
+            SimpleMatrix result = new SimpleMatrix(numRows,numCols);
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                for( int row = 0; row < numRows; row++ ) {
+                    for( int col = 0; col < numCols; col++ ) {
+                        result.set(row,col,ElementMapGenerator.function(matA.get(row,col)));
+                    }
+                }
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new SejmlBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementSum() {
+        return new ElementSum();
+    }
+
+    public static class ElementSum implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            SimpleMatrix matA = inputs[0].getOriginal();
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = matA.elementSum();
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new SejmlBenchmarkMatrix(new SimpleMatrix(1,1,true,s));
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementMax() {
+        // only the max absolute value is supported
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface normF() {
+        return new NormF();
+    }
+
+    public static class NormF implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            SimpleMatrix matA = inputs[0].getOriginal();
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = matA.normF();
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new SejmlBenchmarkMatrix(new SimpleMatrix(1,1,true,s));
+            return elapsedTime;
+        }
+    }
+
     @Override
     public BenchmarkMatrix convertToLib(DenseMatrix64F input) {
         return new SejmlBenchmarkMatrix(SimpleMatrix.wrap(input));
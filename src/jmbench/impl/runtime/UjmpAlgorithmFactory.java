@@ -21,20 +21,38 @@ package jmbench.impl.runtime;
 
 import jmbench.impl.wrapper.UjmpBenchmarkMatrix;
 import jmbench.interfaces.AlgorithmInterface;
+import jmbench.interfaces.BatchPerformanceFactory;
 import jmbench.interfaces.BenchmarkMatrix;
+import jmbench.interfaces.ElementWisePerformanceFactory;
+import jmbench.interfaces.FloatPerformanceFactory;
+import jmbench.interfaces.InPlacePerformanceFactory;
+import jmbench.interfaces.MatrixStructure;
+import jmbench.interfaces.ReusePerformanceFactory;
 import jmbench.interfaces.RuntimePerformanceFactory;
+import jmbench.interfaces.SparseFormat;
+import jmbench.interfaces.SparseRuntimePerformanceFactory;
+import jmbench.interfaces.SparseTriplets;
+import jmbench.interfaces.StructuredPerformanceFactory;
+import jmbench.interfaces.VectorPerformanceFactory;
+import jmbench.tools.runtime.generator.AxpyGenerator;
+import jmbench.tools.runtime.generator.ElementMapGenerator;
 import jmbench.tools.runtime.generator.ScaleGenerator;
 import org.ejml.data.DenseMatrix64F;
 import org.ujmp.core.Matrix;
 import org.ujmp.core.MatrixFactory;
 import org.ujmp.core.doublematrix.DenseDoubleMatrix2D;
+import org.ujmp.core.doublematrix.calculation.AbstractDoubleCalculation;
+import org.ujmp.core.doublematrix.impl.DefaultSparseDoubleMatrix;
+import org.ujmp.core.doublematrix.impl.DefaultSparseRowDoubleMatrix2D;
+import org.ujmp.core.floatmatrix.impl.DefaultDenseFloatMatrix2D;
 
 /**
  *
  * @author Peter Abeles
  * @author Holger Arndt
  */
-public class UjmpAlgorithmFactory implements RuntimePerformanceFactory {
+public class UjmpAlgorithmFactory implements RuntimePerformanceFactory, BatchPerformanceFactory, InPlacePerformanceFactory, ReusePerformanceFactory,
+        StructuredPerformanceFactory, SparseRuntimePerformanceFactory, VectorPerformanceFactory, ElementWisePerformanceFactory, FloatPerformanceFactory {
 
     @Override
     public BenchmarkMatrix create(int numRows, int numCols) {
@@ -425,6 +443,770 @@ public class UjmpAlgorithmFactory implements RuntimePerformanceFactory {
 		}
 	}
 
+	@Override
+	public AlgorithmInterface batchMult() {
+		return new BatchMult();
+	}
+
+	public static class BatchMult implements AlgorithmInterface {
+		@Override
+		public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs,
+				long numTrials) {
+			int N = inputs.length / 2;
+			DenseDoubleMatrix2D matA[] = new DenseDoubleMatrix2D[N];
+			DenseDoubleMatrix2D matB[] = new DenseDoubleMatrix2D[N];
+			DenseDoubleMatrix2D result[] = new DenseDoubleMatrix2D[N];
+			for (int i = 0; i < N; i++) {
+				matA[i] = inputs[i].getOriginal();
+				matB[i] = inputs[N + i].getOriginal();
+				result[i] = DenseDoubleMatrix2D.factory.zeros(matA[i]
+						.getRowCount(), matB[i].getColumnCount());
+			}
+
+			long prev = System.nanoTime();
+
+			int j = 0;
+			for (long i = 0; i < numTrials; i++) {
+				DenseDoubleMatrix2D.mtimes.calc(matA[j], matB[j], result[j]);
+				if (++j == N)
+					j = 0;
+			}
+
+			long elapsedTime = System.nanoTime() - prev;
+			for (int i = 0; i < N && i < numTrials; i++)
+				outputs[i] = new UjmpBenchmarkMatrix(result[i]);
+			return elapsedTime;
+		}
+	}
+
+	@Override
+	public AlgorithmInterface batchSolve() {
+		return new BatchSolve();
+	}
+
+	public static class BatchSolve implements AlgorithmInterface {
+		@Override
+		public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs,
+				long numTrials) {
+			int N = inputs.length / 2;
+			Matrix matA[] = new Matrix[N];
+			Matrix matB[] = new Matrix[N];
+			Matrix result[] = new Matrix[N];
+			for (int i = 0; i < N; i++) {
+				matA[i] = inputs[i].getOriginal();
+				matB[i] = inputs[N + i].getOriginal();
+			}
+
+			long prev = System.nanoTime();
+
+			int j = 0;
+			for (long i = 0; i < numTrials; i++) {
+				result[j] = matA[j].solve(matB[j]);
+				if (++j == N)
+					j = 0;
+			}
+
+			long elapsedTime = System.nanoTime() - prev;
+			for (int i = 0; i < N && i < numTrials; i++)
+				outputs[i] = new UjmpBenchmarkMatrix(result[i]);
+			return elapsedTime;
+		}
+	}
+
+	@Override
+	public AlgorithmInterface batchMultFixed2() {
+		return null;
+	}
+
+	@Override
+	public AlgorithmInterface batchMultFixed3() {
+		return null;
+	}
+
+	@Override
+	public AlgorithmInterface batchSolveFixed2() {
+		return null;
+	}
+
+	@Override
+	public AlgorithmInterface batchSolveFixed3() {
+		return null;
+	}
+
+	// add, mult, scale and transpose already write into preallocated outputs.  There is no way to write
+	// the results of the other operations into an existing matrix
+
+	@Override
+	public AlgorithmInterface invertInto() {
+		return null;
+	}
+
+	@Override
+	public AlgorithmInterface invertSymmPosDefInto() {
+		return null;
+	}
+
+	@Override
+	public AlgorithmInterface addInto() {
+		return new Add();
+	}
+
+	@Override
+	public AlgorithmInterface multInto() {
+		return new Mult();
+	}
+
+	@Override
+	public AlgorithmInterface multTransBInto() {
+		return null;
+	}
+
+	@Override
+	public AlgorithmInterface scaleInto() {
+		return new Scale();
+	}
+
+	@Override
+	public AlgorithmInterface solveExactInto() {
+		return null;
+	}
+
+	@Override
+	public AlgorithmInterface solveOverInto() {
+		return null;
+	}
+
+	@Override
+	public AlgorithmInterface transposeInto() {
+		return new Transpose();
+	}
+
+	// UJMP always creates a new decomposition
+
+	@Override
+	public AlgorithmInterface cholReuse() {
+		return null;
+	}
+
+	@Override
+	public AlgorithmInterface luReuse() {
+		return null;
+	}
+
+	@Override
+	public AlgorithmInterface svdReuse() {
+		return null;
+	}
+
+	@Override
+	public AlgorithmInterface qrReuse() {
+		return null;
+	}
+
+	@Override
+	public AlgorithmInterface eigSymmReuse() {
+		return null;
+	}
+
+	@Override
+	public AlgorithmInterface solveExactReuse() {
+		return null;
+	}
+
+	@Override
+	public AlgorithmInterface solveOverReuse() {
+		return null;
+	}
+
+	// UJMP has no specialized types for these structures
+
+	@Override
+	public AlgorithmInterface multStructured( MatrixStructure structure ) {
+		return null;
+	}
+
+	@Override
+	public AlgorithmInterface solveExactStructured( MatrixStructure structure ) {
+		return null;
+	}
+
+	@Override
+	public AlgorithmInterface detStructured( MatrixStructure structure ) {
+		return null;
+	}
+
+	@Override
+	public AlgorithmInterface invertStructured( MatrixStructure structure ) {
+		return null;
+	}
+
+	// UJMP's sparse matrices store the elements in a map by coordinate, or a map of sparse rows.  Operations on
+	// them are computed by the generic implementation
+
+	@Override
+	public BenchmarkMatrix createSparse(SparseTriplets triplets, SparseFormat format) {
+		Matrix ret;
+		if (format == SparseFormat.COORDINATE) {
+			ret = new DefaultSparseDoubleMatrix((long) triplets.numRows,
+					(long) triplets.numCols);
+		} else if (format == SparseFormat.ROW) {
+			ret = new DefaultSparseRowDoubleMatrix2D((long) triplets.numRows,
+					(long) triplets.numCols);
+		} else {
+			return null;
+		}
+
+		for (int i = 0; i < triplets.length; i++) {
+			ret.setAsDouble(triplets.values[i], triplets.rows[i],
+					triplets.cols[i]);
+		}
+
+		return new UjmpBenchmarkMatrix(ret);
+	}
+
+	@Override
+	public long countNonZeros(BenchmarkMatrix A) {
+		Matrix m = A.getOriginal();
+		long total = 0;
+		for (long[] c : m.availableCoordinates()) {
+			if (m.getAsDouble(c) != 0)
+				total++;
+		}
+		return total;
+	}
+
+	private static boolean isSparseSupported(SparseFormat format) {
+		return format == SparseFormat.COORDINATE || format == SparseFormat.ROW;
+	}
+
+	@Override
+	public AlgorithmInterface sparseMultDense(SparseFormat format) {
+		return isSparseSupported(format) ? new SparseMult() : null;
+	}
+
+	@Override
+	public AlgorithmInterface sparseMultSparse(SparseFormat format) {
+		return isSparseSupported(format) ? new SparseMult() : null;
+	}
+
+	@Override
+	public AlgorithmInterface sparseMultVector(SparseFormat format) {
+		return isSparseSupported(format) ? new SparseMult() : null;
+	}
+
+	public static class SparseMult implements AlgorithmInterface {
+		@Override
+		public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs,
+				long numTrials) {
+			Matrix matA = inputs[0].getOriginal();
+			Matrix matB = inputs[1].getOriginal();
+
+			Matrix result = null;
+
+			long prev = System.nanoTime();
+
+			for (long i = 0; i < numTrials; i++) {
+				result = matA.mtimes(matB);
+			}
+
+			long elapsedTime = System.nanoTime() - prev;
+			outputs[0] = new UjmpBenchmarkMatrix(result);
+			return elapsedTime;
+		}
+	}
+
+	@Override
+	public AlgorithmInterface sparseTranspose(SparseFormat format) {
+		// the transpose of a row matrix throws a NullPointerException when
+		// an empty row is read
+		if (format == SparseFormat.ROW)
+			return null;
+		return isSparseSupported(format) ? new SparseTranspose() : null;
+	}
+
+	public static class SparseTranspose implements AlgorithmInterface {
+		@Override
+		public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs,
+				long numTrials) {
+			Matrix matA = inputs[0].getOriginal();
+
+			Matrix result = null;
+
+			long prev = System.nanoTime();
+
+			for (long i = 0; i < numTrials; i++) {
+				result = matA.transpose();
+			}
+
+			long elapsedTime = System.nanoTime() - prev;
+			outputs[0] = new UjmpBenchmarkMatrix(result);
+			return elapsedTime;
+		}
+	}
+
+	@Override
+	public AlgorithmInterface sparseAdd(SparseFormat format) {
+		return isSparseSupported(format) ? new SparseAdd() : null;
+	}
+
+	public static class SparseAdd implements AlgorithmInterface {
+		@Override
+		public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs,
+				long numTrials) {
+			Matrix matA = inputs[0].getOriginal();
+			Matrix matB = inputs[1].getOriginal();
+
+			Matrix result = null;
+
+			long prev = System.nanoTime();
+
+			for (long i = 0; i < numTrials; i++) {
+				result = matA.plus(matB);
+			}
+
+			long elapsedTime = System.nanoTime() - prev;
+			outputs[0] = new UjmpBenchmarkMatrix(result);
+			return elapsedTime;
+		}
+	}
+
+	@Override
+	public AlgorithmInterface dot() {
+		return new Dot();
+	}
+
+	public static class Dot implements AlgorithmInterface {
+		@Override
+		public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs,
+				long numTrials) {
+			Matrix x = inputs[0].getOriginal();
+			Matrix y = inputs[1].getOriginal();
+
+			double s = 0;
+
+			long prev = System.nanoTime();
+
+			for (long i = 0; i < numTrials; i++) {
+				s = x.transpose().mtimes(y).getAsDouble(0, 0);
+			}
+
+			long elapsedTime = System.nanoTime() - prev;
+			outputs[0] = new UjmpBenchmarkMatrix(scalar(s));
+			return elapsedTime;
+		}
+	}
+
+	@Override
+	public AlgorithmInterface axpy() {
+		return new Axpy();
+	}
+
+	public static class Axpy implements AlgorithmInterface {
+		@Override
+		public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs,
+				long numTrials) {
+			DenseDoubleMatrix2D x = inputs[0].getOriginal();
+			DenseDoubleMatrix2D y = inputs[1].getOriginal();
+
+			DenseDoubleMatrix2D temp = DenseDoubleMatrix2D.factory.zeros(x
+					.getRowCount(), x.getColumnCount());
+
+			long prev = System.nanoTime();
+
+			for (long i = 0; i < numTrials; i++) {
+				DenseDoubleMatrix2D.timesScalar.calc(x, AxpyGenerator.ALPHA, temp);
+				DenseDoubleMatrix2D.plusMatrix.calc(y, temp, y);
+			}
+
+			long elapsedTime = System.nanoTime() - prev;
+			outputs[0] = new UjmpBenchmarkMatrix(y);
+			return elapsedTime;
+		}
+	}
+
+	@Override
+	public AlgorithmInterface norm2() {
+		return new Norm2();
+	}
+
+	public static class Norm2 implements AlgorithmInterface {
+		@Override
+		public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs,
+				long numTrials) {
+			Matrix x = inputs[0].getOriginal();
+
+			double s = 0;
+
+			long prev = System.nanoTime();
+
+			for (long i = 0; i < numTrials; i++) {
+				s = x.normF();
+			}
+
+			long elapsedTime = System.nanoTime() - prev;
+			outputs[0] = new UjmpBenchmarkMatrix(scalar(s));
+			return elapsedTime;
+		}
+	}
+
+	@Override
+	public AlgorithmInterface gemv() {
+		return new Gemv();
+	}
+
+	public static class Gemv implements AlgorithmInterface {
+		@Override
+		public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs,
+				long numTrials) {
+			DenseDoubleMatrix2D matA = inputs[0].getOriginal();
+			DenseDoubleMatrix2D x = inputs[1].getOriginal();
+
+			DenseDoubleMatrix2D result = DenseDoubleMatrix2D.factory.zeros(matA
+					.getRowCount(), 1);
+
+			long prev = System.nanoTime();
+
+			for (long i = 0; i < numTrials; i++) {
+				DenseDoubleMatrix2D.mtimes.calc(matA, x, result);
+			}
+
+			long elapsedTime = System.nanoTime() - prev;
+			outputs[0] = new UjmpBenchmarkMatrix(result);
+			return elapsedTime;
+		}
+	}
+
+	@Override
+	public AlgorithmInterface gemvTrans() {
+		return new GemvTrans();
+	}
+
+	public static class GemvTrans implements AlgorithmInterface {
+		@Override
+		public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs,
+				long numTrials) {
+			Matrix matA = inputs[0].getOriginal();
+			Matrix x = inputs[1].getOriginal();
+
+			long prev = System.nanoTime();
+
+			Matrix result = null;
+
+			for (long i = 0; i < numTrials; i++) {
+				result = matA.transpose().mtimes(x);
+			}
+
+			long elapsedTime = System.nanoTime() - prev;
+			outputs[0] = new UjmpBenchmarkMatrix(result);
+			return elapsedTime;
+		}
+	}
+
+	@Override
+	public AlgorithmInterface elementMult() {
+		return new ElementMult();
+	}
+
+	public static class ElementMult implements AlgorithmInterface {
+		@Override
+		public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs,
+				long numTrials) {
+			DenseDoubleMatrix2D matA = inputs[0].getOriginal();
+			DenseDoubleMatrix2D matB = inputs[1].getOriginal();
+
+			DenseDoubleMatrix2D result = DenseDoubleMatrix2D.factory.zeros(matA
+					.getRowCount(), matA.getColumnCount());
+
+			long prev = System.nanoTime();
+
+			for (long i = 0; i < numTrials; i++) {
+				DenseDoubleMatrix2D.timesMatrix.calc(matA, matB, result);
+			}
+
+			long elapsedTime = System.nanoTime() - prev;
+			outputs[0] = new UjmpBenchmarkMatrix(result);
+			return elapsedTime;
+		}
+	}
+
+	@Override
+	public AlgorithmInterface elementDiv() {
+		return new ElementDiv();
+	}
+
+	public static class ElementDiv implements AlgorithmInterface {
+		@Override
+		public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs,
+				long numTrials) {
+			DenseDoubleMatrix2D matA = inputs[0].getOriginal();
+			DenseDoubleMatrix2D matB = inputs[1].getOriginal();
+
+			DenseDoubleMatrix2D result = DenseDoubleMatrix2D.factory.zeros(matA
+					.getRowCount(), matA.getColumnCount());
+
+			long prev = System.nanoTime();
+
+			for (long i = 0; i < numTrials; i++) {
+				DenseDoubleMatrix2D.divideMatrix.calc(matA, matB, result);
+			}
+
+			long elapsedTime = System.nanoTime() - prev;
+			outputs[0] = new UjmpBenchmarkMatrix(result);
+			return elapsedTime;
+		}
+	}
+
+	@Override
+	public AlgorithmInterface elementMap() {
+		return new ElementMap();
+	}
+
+	public static class ElementMap implements AlgorithmInterface {
+		@Override
+		public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs,
+				long numTrials) {
+			DenseDoubleMatrix2D matA = inputs[0].getOriginal();
+
+			Matrix result = null;
+
+			long prev = System.nanoTime();
+
+			for (long i = 0; i < numTrials; i++) {
+				result = new ElementFunction(matA).calcNew();
+			}
+
+			long elapsedTime = System.nanoTime() - prev;
+			outputs[0] = new UjmpBenchmarkMatrix(result);
+			return elapsedTime;
+		}
+	}
+
+	@Override
+	public AlgorithmInterface elementMapLoop() {
+		return new ElementMapLoop();
+	}
+
+	public static class ElementMapLoop implements AlgorithmInterface {
+		@Override
+		public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs,
+				long numTrials) {
+			DenseDoubleMatrix2D matA = inputs[0].getOriginal();
+
+			int numRows = (int) matA.getRowCount();
+			int numCols = (int) matA.getColumnCount();
+			DenseDoubleMatrix2D result = DenseDoubleMatrix2D.factory.zeros(numRows,
+					numCols);
+
+			long prev = System.nanoTime();
+
+			for (long i = 0; i < numTrials; i++) {
+				for (int row = 0; row < numRows; row++) {
+					for (int col = 0; col < numCols; col++) {
+						result.setDouble(ElementMapGenerator.function(matA.getDouble(row,
+								col)), row, col);
+					}
+				}
+			}
+
+			long elapsedTime = System.nanoTime() - prev;
+			outputs[0] = new UjmpBenchmarkMatrix(result);
+			return elapsedTime;
+		}
+	}
+
+	@Override
+	public AlgorithmInterface elementSum() {
+		return new ElementSum();
+	}
+
+	public static class ElementSum implements AlgorithmInterface {
+		@Override
+		public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs,
+				long numTrials) {
+			DenseDoubleMatrix2D matA = inputs[0].getOriginal();
+
+			double s = 0;
+
+			long prev = System.nanoTime();
+
+			for (long i = 0; i < numTrials; i++) {
+				s = matA.getValueSum();
+			}
+
+			long elapsedTime = System.nanoTime() - prev;
+			outputs[0] = new UjmpBenchmarkMatrix(scalar(s));
+			return elapsedTime;
+		}
+	}
+
+	@Override
+	public AlgorithmInterface elementMax() {
+		return new ElementMax();
+	}
+
+	public static class ElementMax implements AlgorithmInterface {
+		@Override
+		public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs,
+				long numTrials) {
+			DenseDoubleMatrix2D matA = inputs[0].getOriginal();
+
+			double s = 0;
+
+			long prev = System.nanoTime();
+
+			for (long i = 0; i < numTrials; i++) {
+				s = matA.getMaxValue();
+			}
+
+			long elapsedTime = System.nanoTime() - prev;
+			outputs[0] = new UjmpBenchmarkMatrix(scalar(s));
+			return elapsedTime;
+		}
+	}
+
+	@Override
+	public AlgorithmInterface normF() {
+		return new NormF();
+	}
+
+	public static class NormF implements AlgorithmInterface {
+		@Override
+		public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs,
+				long numTrials) {
+			DenseDoubleMatrix2D matA = inputs[0].getOriginal();
+
+			double s = 0;
+
+			long prev = System.nanoTime();
+
+			for (long i = 0; i < numTrials; i++) {
+				s = matA.normF();
+			}
+
+			long elapsedTime = System.nanoTime() - prev;
+			outputs[0] = new UjmpBenchmarkMatrix(scalar(s));
+			return elapsedTime;
+		}
+	}
+
+	/**
+	 * Applies {@link ElementMapGenerator#function(double)} to each element using UJMP's calculation framework,
+	 * which is how its own entry-wise functions are implemented.
+	 */
+	public static class ElementFunction extends AbstractDoubleCalculation {
+		public ElementFunction(Matrix source) {
+			super(source);
+		}
+
+		@Override
+		public double getDouble(long... coordinates) {
+			return ElementMapGenerator.function(getSource().getAsDouble(
+					coordinates));
+		}
+	}
+
+	private static Matrix scalar(double value) {
+		Matrix ret = DenseDoubleMatrix2D.factory.zeros(1, 1);
+		ret.setAsDouble(value, 0, 0);
+		return ret;
+	}
+
+	@Override
+	public BenchmarkMatrix createFloat(int numRows, int numCols) {
+		return wrapFloat(new DefaultDenseFloatMatrix2D(numRows, numCols));
+	}
+
+	@Override
+	public BenchmarkMatrix wrapFloat(Object matrix) {
+		return new UjmpBenchmarkMatrix((Matrix) matrix);
+	}
+
+	// UJMP doesn't have float specific implementations of these operations.  They are computed by the
+	// generic algorithms and the results are returned as double matrices.
+	@Override
+	public AlgorithmInterface multFloat() {
+		return new MultFloat();
+	}
+
+	public static class MultFloat implements AlgorithmInterface {
+		@Override
+		public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs,
+				long numTrials) {
+			Matrix matA = inputs[0].getOriginal();
+			Matrix matB = inputs[1].getOriginal();
+
+			Matrix result = null;
+
+			long prev = System.nanoTime();
+
+			for (long i = 0; i < numTrials; i++) {
+				result = matA.mtimes(matB);
+			}
+
+			long elapsedTime = System.nanoTime() - prev;
+			outputs[0] = new UjmpBenchmarkMatrix(result);
+			return elapsedTime;
+		}
+	}
+
+	@Override
+	public AlgorithmInterface addFloat() {
+		return new AddFloat();
+	}
+
+	public static class AddFloat implements AlgorithmInterface {
+		@Override
+		public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs,
+				long numTrials) {
+			Matrix matA = inputs[0].getOriginal();
+			Matrix matB = inputs[1].getOriginal();
+
+			Matrix result = null;
+
+			long prev = System.nanoTime();
+
+			for (long i = 0; i < numTrials; i++) {
+				result = matA.plus(matB);
+			}
+
+			long elapsedTime = System.nanoTime() - prev;
+			outputs[0] = new UjmpBenchmarkMatrix(result);
+			return elapsedTime;
+		}
+	}
+
+	@Override
+	public AlgorithmInterface solveExactFloat() {
+		return new Solve();
+	}
+
+	@Override
+	public AlgorithmInterface svdFloat() {
+		return new SvdFloat();
+	}
+
+	public static class SvdFloat implements AlgorithmInterface {
+		@Override
+		public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs,
+				long numTrials) {
+			Matrix matA = inputs[0].getOriginal();
+
+			Matrix[] svd = null;
+
+			long prev = System.nanoTime();
+
+			for (long i = 0; i < numTrials; i++) {
+				svd = matA.svd();
+			}
+
+			long elapsedTime = System.nanoTime() - prev;
+			outputs[0] = new UjmpBenchmarkMatrix(svd[0]);
+			outputs[1] = new UjmpBenchmarkMatrix(svd[1]);
+			outputs[2] = new UjmpBenchmarkMatrix(svd[2]);
+			return elapsedTime;
+		}
+	}
+
     @Override
     public BenchmarkMatrix convertToLib(DenseMatrix64F input) {
         return new UjmpBenchmarkMatrix(convertToUjmp(input));
@@ -3,20 +3,61 @@ package jmbench.impl.runtime;
 import org.ejml.data.DenseMatrix64F;
 import jmbench.impl.wrapper.VectorzBenchmarkMatrix;
 import jmbench.interfaces.AlgorithmInterface;
+import jmbench.interfaces.BatchPerformanceFactory;
 import jmbench.interfaces.BenchmarkMatrix;
+import jmbench.interfaces.DetectedException;
+import jmbench.interfaces.ElementWisePerformanceFactory;
+import jmbench.interfaces.InPlacePerformanceFactory;
+import jmbench.interfaces.MatrixStructure;
+import jmbench.interfaces.ReusePerformanceFactory;
 import jmbench.interfaces.RuntimePerformanceFactory;
+import jmbench.interfaces.SparseFormat;
+import jmbench.interfaces.SparseRuntimePerformanceFactory;
+import jmbench.interfaces.SparseTriplets;
+import jmbench.interfaces.StructuredPerformanceFactory;
+import jmbench.interfaces.VectorPerformanceFactory;
+import jmbench.tools.runtime.generator.AxpyGenerator;
+import jmbench.tools.runtime.generator.ElementMapGenerator;
 import jmbench.tools.runtime.generator.ScaleGenerator;
 import mikera.matrixx.AMatrix;
 import mikera.matrixx.Matrix;
+import mikera.matrixx.Matrix22;
+import mikera.matrixx.Matrix33;
 import mikera.matrixx.algo.Multiplications;
 import mikera.matrixx.decompose.Cholesky;
+import mikera.matrixx.decompose.Eigen;
+import mikera.matrixx.decompose.ICholeskyResult;
+import mikera.matrixx.decompose.IEigenResult;
 import mikera.matrixx.decompose.ILUPResult;
 import mikera.matrixx.decompose.IQRResult;
 import mikera.matrixx.decompose.ISVDResult;
 import mikera.matrixx.decompose.LUP;
+import mikera.matrixx.decompose.impl.eigen.SymmetricQRAlgorithmDecomposition;
+import mikera.matrixx.decompose.impl.lu.AltLU;
+import mikera.matrixx.decompose.impl.lu.LUPResult;
+import mikera.matrixx.decompose.impl.qr.HouseholderQR;
+import mikera.matrixx.decompose.impl.qr.QRResult;
+import mikera.matrixx.decompose.impl.svd.SVDResult;
+import mikera.matrixx.decompose.impl.svd.SvdImplicitQr;
+import mikera.matrixx.impl.BandedMatrix;
+import mikera.matrixx.impl.DiagonalMatrix;
+import mikera.matrixx.impl.IdentityMatrix;
+import mikera.matrixx.impl.LowerTriangularMatrix;
+import mikera.matrixx.impl.SparseColumnMatrix;
+import mikera.matrixx.impl.SparseRowMatrix;
+import mikera.matrixx.impl.UpperTriangularMatrix;
 import mikera.matrixx.solve.Linear;
+import mikera.matrixx.solve.impl.CholeskySolver;
+import mikera.vectorz.AVector;
+import mikera.vectorz.Op;
+import mikera.vectorz.Vector2;
+import mikera.vectorz.Vector3;
+import mikera.vectorz.impl.SparseIndexedVector;
 
-public class VectorzAlgorithmFactory implements RuntimePerformanceFactory {
+import java.util.Arrays;
+
+public class VectorzAlgorithmFactory implements RuntimePerformanceFactory, BatchPerformanceFactory, InPlacePerformanceFactory, ReusePerformanceFactory,
+        StructuredPerformanceFactory, SparseRuntimePerformanceFactory, VectorPerformanceFactory, ElementWisePerformanceFactory {
     
     @Override
     public BenchmarkMatrix wrap(Object matrix) {
@@ -39,12 +80,18 @@ public class VectorzAlgorithmFactory implements RuntimePerformanceFactory {
         public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
             AMatrix matA = inputs[0].getOriginal();
 
-            AMatrix L = Matrix.create();
+            AMatrix tmp = Matrix.create(matA);
+            AMatrix L = null;
 
             long prev = System.nanoTime();
 
             for( long i = 0; i < numTrials; i++ ) {
-                L = Cholesky.decompose(matA).getL();
+                // the input matrix is over written
+                tmp.set(matA);
+                ICholeskyResult chol = Cholesky.decompose(tmp);
+                if( chol == null )
+                    throw new DetectedException("Is not SPD");
+                L = chol.getL();
             }
 
             long elapsedTime = System.nanoTime() - prev;
@@ -104,6 +151,8 @@ public class VectorzAlgorithmFactory implements RuntimePerformanceFactory {
 
             for( long i = 0; i < numTrials; i++ ) {
                 ISVDResult svd = mikera.matrixx.decompose.SVD.decompose(matA);
+                if( svd == null )
+                    throw new DetectedException("Decomposition failed");
                 U = svd.getU();
                 S = svd.getS();
                 V = svd.getV();
@@ -125,28 +174,47 @@ public class VectorzAlgorithmFactory implements RuntimePerformanceFactory {
     public static class MyEig implements AlgorithmInterface {
         @Override
         public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
-//            DenseMatrix64F matA = inputs[0].getOriginal();
-//
-//            EigenDecomposition<DenseMatrix64F> eig = DecompositionFactory.eig(matA.numCols, true, true);
-//
-//            long prev = System.nanoTime();
-//
-//            for( long i = 0; i < numTrials; i++ ) {
-//                if( !DecompositionFactory.decomposeSafe(eig,matA) )
-//                    throw new DetectedException("Decomposition failed");
-//                // this isn't necessary since eigenvalues and eigenvectors are always computed
-//                eig.getEigenvalue(0);
-//                eig.getEigenVector(0);
-//            }
-//
-//            long elapsedTime = System.nanoTime() - prev;
-//            outputs[0] = new EjmlBenchmarkMatrix(EigenOps.createMatrixD(eig));
-//            outputs[1] = new EjmlBenchmarkMatrix(EigenOps.createMatrixV(eig));
-//            return elapsedTime;
-            throw new UnsupportedOperationException("Not implemented yet");
+            AMatrix matA = inputs[0].getOriginal();
+
+            IEigenResult eig = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                eig = Eigen.decomposeSymmetric(matA);
+                if( eig == null )
+                    throw new DetectedException("Decomposition failed");
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new VectorzBenchmarkMatrix(eigenValues(eig));
+            outputs[1] = new VectorzBenchmarkMatrix(eigenVectors(eig));
+            return elapsedTime;
         }
     }
 
+    /**
+     * Creates a diagonal matrix from the real part of the eigenvalues
+     */
+    private static AMatrix eigenValues( IEigenResult eig ) {
+        Vector2 values[] = eig.getEigenvalues();
+        AMatrix D = Matrix.create(values.length,values.length);
+        for( int i = 0; i < values.length; i++ )
+            D.set(i,i,values[i].x);
+        return D;
+    }
+
+    /**
+     * Creates a matrix with the eigenvectors as its columns
+     */
+    private static AMatrix eigenVectors( IEigenResult eig ) {
+        AVector vectors[] = eig.getEigenVectors();
+        AMatrix V = Matrix.create(vectors.length,vectors.length);
+        for( int i = 0; i < vectors.length; i++ )
+            V.setColumn(i,vectors[i]);
+        return V;
+    }
+
     @Override
     public AlgorithmInterface qr() {
         return new QR();
@@ -230,12 +298,15 @@ public class VectorzAlgorithmFactory implements RuntimePerformanceFactory {
         public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
             AMatrix matA = inputs[0].getOriginal();
 
-            AMatrix result = Matrix.create();
+            CholeskySolver solver = new CholeskySolver();
+            AMatrix result = null;
 
             long prev = System.nanoTime();
 
             for( long i = 0; i < numTrials; i++ ) {
-                result = matA.inverse();
+                if( !solver.setA(matA) )
+                    throw new DetectedException("Is not SPD");
+                result = solver.invert();
             }
 
             long elapsedTime = System.nanoTime() - prev;
@@ -360,6 +431,8 @@ public class VectorzAlgorithmFactory implements RuntimePerformanceFactory {
 
             for( long i = 0; i < numTrials; i++ ) {
                 result = Linear.solve(matA, matB);
+                if( result == null )
+                    throw new DetectedException("Singular matrix");
             }
 
             long elapsedTime = System.nanoTime() - prev;
@@ -385,6 +458,8 @@ public class VectorzAlgorithmFactory implements RuntimePerformanceFactory {
 
             for( long i = 0; i < numTrials; i++ ) {
                 result = Linear.solveLeastSquares(matA, matB);
+                if( result == null )
+                    throw new DetectedException("Solve failed");
             }
 
             long elapsedTime = System.nanoTime() - prev;
@@ -417,6 +492,1104 @@ public class VectorzAlgorithmFactory implements RuntimePerformanceFactory {
         }
     }
 
+    @Override
+    public AlgorithmInterface batchMult() {
+        return new BatchMult();
+    }
+
+    public static class BatchMult implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            int N = inputs.length/2;
+            AMatrix matA[] = new AMatrix[N];
+            AMatrix matB[] = new AMatrix[N];
+            AMatrix result[] = new AMatrix[N];
+            for( int i = 0; i < N; i++ ) {
+                matA[i] = inputs[i].getOriginal();
+                matB[i] = inputs[N+i].getOriginal();
+            }
+
+            long prev = System.nanoTime();
+
+            int j = 0;
+            for( long i = 0; i < numTrials; i++ ) {
+                result[j] = Multiplications.multiply(matA[j],matB[j]);
+                if( ++j == N ) j = 0;
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            for( int i = 0; i < N && i < numTrials; i++ )
+                outputs[i] = new VectorzBenchmarkMatrix(result[i]);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface batchSolve() {
+        return new BatchSolve();
+    }
+
+    public static class BatchSolve implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            int N = inputs.length/2;
+            AMatrix matA[] = new AMatrix[N];
+            AMatrix matB[] = new AMatrix[N];
+            AMatrix result[] = new AMatrix[N];
+            for( int i = 0; i < N; i++ ) {
+                matA[i] = inputs[i].getOriginal();
+                matB[i] = inputs[N+i].getOriginal();
+            }
+
+            long prev = System.nanoTime();
+
+            int j = 0;
+            for( long i = 0; i < numTrials; i++ ) {
+                result[j] = Linear.solve(matA[j],matB[j]);
+                if( result[j] == null )
+                    throw new DetectedException("Singular matrix");
+                if( ++j == N ) j = 0;
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            for( int i = 0; i < N && i < numTrials; i++ )
+                outputs[i] = new VectorzBenchmarkMatrix(result[i]);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface batchMultFixed2() {
+        return new BatchMultFixed2();
+    }
+
+    public static class BatchMultFixed2 implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            int N = inputs.length/2;
+            Matrix22 matA[] = new Matrix22[N];
+            Matrix22 matB[] = new Matrix22[N];
+            Matrix22 result[] = new Matrix22[N];
+            for( int i = 0; i < N; i++ ) {
+                matA[i] = new Matrix22((AMatrix)inputs[i].getOriginal());
+                matB[i] = new Matrix22((AMatrix)inputs[N+i].getOriginal());
+            }
+
+            long prev = System.nanoTime();
+
+            int j = 0;
+            for( long i = 0; i < numTrials; i++ ) {
+                result[j] = matA[j].innerProduct(matB[j]);
+                if( ++j == N ) j = 0;
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            for( int i = 0; i < N && i < numTrials; i++ )
+                outputs[i] = new VectorzBenchmarkMatrix(result[i]);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface batchMultFixed3() {
+        return new BatchMultFixed3();
+    }
+
+    public static class BatchMultFixed3 implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            int N = inputs.length/2;
+            Matrix33 matA[] = new Matrix33[N];
+            Matrix33 matB[] = new Matrix33[N];
+            Matrix33 result[] = new Matrix33[N];
+            for( int i = 0; i < N; i++ ) {
+                matA[i] = new Matrix33((AMatrix)inputs[i].getOriginal());
+                matB[i] = new Matrix33((AMatrix)inputs[N+i].getOriginal());
+            }
+
+            long prev = System.nanoTime();
+
+            int j = 0;
+            for( long i = 0; i < numTrials; i++ ) {
+                result[j] = matA[j].innerProduct(matB[j]);
+                if( ++j == N ) j = 0;
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            for( int i = 0; i < N && i < numTrials; i++ )
+                outputs[i] = new VectorzBenchmarkMatrix(result[i]);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface batchSolveFixed2() {
+        return new BatchSolveFixed2();
+    }
+
+    /**
+     * There is no fixed size solver, so the system is solved by inverting A.
+     */
+    public static class BatchSolveFixed2 implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            int N = inputs.length/2;
+            Matrix22 matA[] = new Matrix22[N];
+            Vector2 matB[] = new Vector2[N];
+            Vector2 result[] = new Vector2[N];
+            for( int i = 0; i < N; i++ ) {
+                AMatrix b = inputs[N+i].getOriginal();
+                matA[i] = new Matrix22((AMatrix)inputs[i].getOriginal());
+                matB[i] = new Vector2(b.get(0,0),b.get(1,0));
+            }
+
+            long prev = System.nanoTime();
+
+            int j = 0;
+            for( long i = 0; i < numTrials; i++ ) {
+                result[j] = matA[j].inverse().transform(matB[j]);
+                if( ++j == N ) j = 0;
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            for( int i = 0; i < N && i < numTrials; i++ )
+                outputs[i] = new VectorzBenchmarkMatrix(toColumn(result[i]));
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface batchSolveFixed3() {
+        return new BatchSolveFixed3();
+    }
+
+    /**
+     * There is no fixed size solver, so the system is solved by inverting A.
+     */
+    public static class BatchSolveFixed3 implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            int N = inputs.length/2;
+            Matrix33 matA[] = new Matrix33[N];
+            Vector3 matB[] = new Vector3[N];
+            Vector3 result[] = new Vector3[N];
+            for( int i = 0; i < N; i++ ) {
+                AMatrix b = inputs[N+i].getOriginal();
+                matA[i] = new Matrix33((AMatrix)inputs[i].getOriginal());
+                matB[i] = new Vector3(b.get(0,0),b.get(1,0),b.get(2,0));
+            }
+
+            long prev = System.nanoTime();
+
+            int j = 0;
+            for( long i = 0; i < numTrials; i++ ) {
+                result[j] = matA[j].inverse().transform(matB[j]);
+                if( ++j == N ) j = 0;
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            for( int i = 0; i < N && i < numTrials; i++ )
+                outputs[i] = new VectorzBenchmarkMatrix(toColumn(result[i]));
+            return elapsedTime;
+        }
+    }
+
+    // there is no way to write a product, inverse or solution into an existing matrix
+
+    @Override
+    public AlgorithmInterface invertInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface invertSymmPosDefInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface addInto() {
+        return new AddInto();
+    }
+
+    @Override
+    public AlgorithmInterface multInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface multTransBInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface scaleInto() {
+        return new ScaleInto();
+    }
+
+    @Override
+    public AlgorithmInterface solveExactInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface solveOverInto() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface transposeInto() {
+        return new TransposeInto();
+    }
+
+    public static class AddInto implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            AMatrix matA = inputs[0].getOriginal();
+            AMatrix matB = inputs[1].getOriginal();
+
+            AMatrix result = Matrix.create(matA.rowCount(),matA.columnCount());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result.set(matA);
+                result.add(matB);
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new VectorzBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    public static class ScaleInto implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            AMatrix matA = inputs[0].getOriginal();
+
+            AMatrix result = Matrix.create(matA.rowCount(),matA.columnCount());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result.set(matA);
+                result.multiply(ScaleGenerator.SCALE);
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new VectorzBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    public static class TransposeInto implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            AMatrix matA = inputs[0].getOriginal();
+
+            AMatrix result = Matrix.create(matA.columnCount(),matA.rowCount());
+            AMatrix view = matA.getTransposeView();
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result.set(view);
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new VectorzBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    /**
+     * Converts a vector into a column matrix
+     */
+    private static AMatrix toColumn( AVector v ) {
+        AMatrix ret = Matrix.create(v.length(),1);
+        for( int i = 0; i < v.length(); i++ )
+            ret.set(i,0,v.get(i));
+        return ret;
+    }
+
+    // LU, SVD, QR and the symmetric eigen decomposition can be reused.  Cholesky and the solvers create a new one each time
+
+    @Override
+    public AlgorithmInterface cholReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface luReuse() {
+        return new LUReuse();
+    }
+
+    @Override
+    public AlgorithmInterface svdReuse() {
+        return new SVDReuse();
+    }
+
+    @Override
+    public AlgorithmInterface qrReuse() {
+        return new QRReuse();
+    }
+
+    @Override
+    public AlgorithmInterface eigSymmReuse() {
+        return new EigReuse();
+    }
+
+    @Override
+    public AlgorithmInterface solveExactReuse() {
+        return null;
+    }
+
+    @Override
+    public AlgorithmInterface solveOverReuse() {
+        return null;
+    }
+
+    public static class LUReuse implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            AMatrix matA = inputs[0].getOriginal();
+
+            AltLU alg = new AltLU();
+
+            AMatrix L = null;
+            AMatrix U = null;
+            AMatrix P = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                LUPResult lu = alg._decompose(matA);
+
+                L = lu.getL();
+                U = lu.getU();
+                P = lu.getP();
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new VectorzBenchmarkMatrix(L);
+            outputs[1] = new VectorzBenchmarkMatrix(U);
+            outputs[2] = new VectorzBenchmarkMatrix(P);
+            return elapsedTime;
+        }
+    }
+
+    public static class SVDReuse implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            AMatrix matA = inputs[0].getOriginal();
+
+            SvdImplicitQr alg = new SvdImplicitQr(false);
+
+            AMatrix U = null;
+            AMatrix S = null;
+            AMatrix V = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                SVDResult svd = alg._decompose(matA);
+                if( svd == null )
+                    throw new DetectedException("Decomposition failed");
+                U = svd.getU();
+                S = svd.getS();
+                V = svd.getV();
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new VectorzBenchmarkMatrix(U);
+            outputs[1] = new VectorzBenchmarkMatrix(S);
+            outputs[2] = new VectorzBenchmarkMatrix(V);
+            return elapsedTime;
+        }
+    }
+
+    public static class EigReuse implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            AMatrix matA = inputs[0].getOriginal();
+
+            SymmetricQRAlgorithmDecomposition alg = new SymmetricQRAlgorithmDecomposition(true);
+
+            IEigenResult eig = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                eig = alg.decompose(matA);
+                if( eig == null )
+                    throw new DetectedException("Decomposition failed");
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new VectorzBenchmarkMatrix(eigenValues(eig));
+            outputs[1] = new VectorzBenchmarkMatrix(eigenVectors(eig));
+            return elapsedTime;
+        }
+    }
+
+    public static class QRReuse implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            AMatrix matA = inputs[0].getOriginal();
+
+            HouseholderQR alg = new HouseholderQR(false);
+
+            AMatrix Q = null;
+            AMatrix R = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                QRResult qr = alg.decompose(matA);
+
+                Q = qr.getQ();
+                R = qr.getR();
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new VectorzBenchmarkMatrix(Q);
+            outputs[1] = new VectorzBenchmarkMatrix(R);
+            return elapsedTime;
+        }
+    }
+
+    // Symmetric matrices have no specialized type and the banded type doesn't have a specialized determinant.
+    // Only the identity matrix can be solved and inverted without falling back to the dense algorithms, since
+    // DiagonalMatrix.inverse() in this version takes the reciprocal of an empty array instead of the diagonal
+
+    @Override
+    public AlgorithmInterface multStructured( MatrixStructure structure ) {
+        if( structure == MatrixStructure.SYMMETRIC )
+            return null;
+        return new MultStructured(structure);
+    }
+
+    @Override
+    public AlgorithmInterface solveExactStructured( MatrixStructure structure ) {
+        if( structure != MatrixStructure.IDENTITY )
+            return null;
+        return new SolveStructured(structure);
+    }
+
+    @Override
+    public AlgorithmInterface detStructured( MatrixStructure structure ) {
+        if( structure == MatrixStructure.SYMMETRIC || structure == MatrixStructure.TRIDIAGONAL )
+            return null;
+        return new DetStructured(structure);
+    }
+
+    @Override
+    public AlgorithmInterface invertStructured( MatrixStructure structure ) {
+        if( structure != MatrixStructure.IDENTITY )
+            return null;
+        return new InvStructured(structure);
+    }
+
+    public static class MultStructured implements AlgorithmInterface {
+        MatrixStructure structure;
+
+        public MultStructured(MatrixStructure structure) {
+            this.structure = structure;
+        }
+
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            AMatrix matA = convertStructured((AMatrix)inputs[0].getOriginal(),structure);
+            AMatrix matB = inputs[1].getOriginal();
+
+            AMatrix result = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result = matA.innerProduct(matB);
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new VectorzBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    public static class SolveStructured implements AlgorithmInterface {
+        MatrixStructure structure;
+
+        public SolveStructured(MatrixStructure structure) {
+            this.structure = structure;
+        }
+
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            AMatrix matA = convertStructured((AMatrix)inputs[0].getOriginal(),structure);
+            AMatrix matB = inputs[1].getOriginal();
+
+            AMatrix result = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result = matA.inverse().innerProduct(matB);
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new VectorzBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    public static class DetStructured implements AlgorithmInterface {
+        MatrixStructure structure;
+
+        public DetStructured(MatrixStructure structure) {
+            this.structure = structure;
+        }
+
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            AMatrix matA = convertStructured((AMatrix)inputs[0].getOriginal(),structure);
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                matA.determinant();
+            }
+
+            return System.nanoTime() - prev;
+        }
+    }
+
+    public static class InvStructured implements AlgorithmInterface {
+        MatrixStructure structure;
+
+        public InvStructured(MatrixStructure structure) {
+            this.structure = structure;
+        }
+
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            AMatrix matA = convertStructured((AMatrix)inputs[0].getOriginal(),structure);
+
+            AMatrix result = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result = matA.inverse();
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new VectorzBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    /**
+     * Copies a dense matrix into the type Vectorz has for the structure
+     */
+    public static AMatrix convertStructured( AMatrix A , MatrixStructure structure ) {
+        switch( structure ) {
+            case IDENTITY:
+                return IdentityMatrix.create(A.rowCount());
+
+            case DIAGONAL:
+                return DiagonalMatrix.create(A);
+
+            case UPPER_TRIANGULAR:
+                return UpperTriangularMatrix.createFrom(A);
+
+            case LOWER_TRIANGULAR:
+                return LowerTriangularMatrix.createFrom(A);
+
+            case TRIDIAGONAL:
+                return BandedMatrix.create(A);
+        }
+        throw new IllegalArgumentException("No specialized type for "+structure);
+    }
+
+    // Sparse matrices are stored as a sparse vector for each row or column.  Sums and products of sparse
+    // matrices are often returned as dense matrices
+
+    @Override
+    public BenchmarkMatrix createSparse( SparseTriplets triplets , SparseFormat format ) {
+        if( format == SparseFormat.ROW ) {
+            return wrap(SparseRowMatrix.wrap(sparseVectors(triplets),triplets.numRows,triplets.numCols));
+        } else if( format == SparseFormat.COLUMN ) {
+            // the transpose is sorted by column
+            AVector columns[] = sparseVectors(triplets.transpose());
+            return wrap(SparseColumnMatrix.wrap(columns,triplets.numRows,triplets.numCols));
+        }
+        return null;
+    }
+
+    @Override
+    public long countNonZeros( BenchmarkMatrix A ) {
+        AMatrix m = A.getOriginal();
+        return m.nonZeroCount();
+    }
+
+    /**
+     * Creates a sparse vector for each row
+     */
+    private static AVector[] sparseVectors( SparseTriplets triplets ) {
+        int pointers[] = triplets.rowPointers();
+
+        AVector ret[] = new AVector[ triplets.numRows ];
+        for( int i = 0; i < triplets.numRows; i++ ) {
+            int indexes[] = Arrays.copyOfRange(triplets.cols,pointers[i],pointers[i+1]);
+            double values[] = Arrays.copyOfRange(triplets.values,pointers[i],pointers[i+1]);
+            ret[i] = SparseIndexedVector.wrap(triplets.numCols,indexes,values);
+        }
+        return ret;
+    }
+
+    private static boolean isSparseSupported( SparseFormat format ) {
+        return format == SparseFormat.ROW || format == SparseFormat.COLUMN;
+    }
+
+    @Override
+    public AlgorithmInterface sparseMultDense( SparseFormat format ) {
+        return isSparseSupported(format) ? new SparseMult() : null;
+    }
+
+    @Override
+    public AlgorithmInterface sparseMultSparse( SparseFormat format ) {
+        return isSparseSupported(format) ? new SparseMult() : null;
+    }
+
+    /**
+     * Multiplications.multiply() treats sparse matrices as dense, innerProduct() takes advantage of them
+     */
+    public static class SparseMult implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            AMatrix matA = inputs[0].getOriginal();
+            AMatrix matB = inputs[1].getOriginal();
+
+            AMatrix result = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result = matA.innerProduct(matB);
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new VectorzBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface sparseMultVector( SparseFormat format ) {
+        return isSparseSupported(format) ? new SparseMultVector() : null;
+    }
+
+    public static class SparseMultVector implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            AMatrix matA = inputs[0].getOriginal();
+            AVector x = ((AMatrix)inputs[1].getOriginal()).asVector();
+
+            AVector result = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result = matA.innerProduct(x);
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new VectorzBenchmarkMatrix(toColumn(result));
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface sparseTranspose( SparseFormat format ) {
+        return isSparseSupported(format) ? new SparseTranspose() : null;
+    }
+
+    /**
+     * The transpose of a sparse row matrix is a sparse column matrix which shares the same vectors, so a
+     * sparse copy is made from the view.
+     */
+    public static class SparseTranspose implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            AMatrix matA = inputs[0].getOriginal();
+
+            AMatrix result = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result = matA.getTransposeView().sparseClone();
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new VectorzBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface sparseAdd( SparseFormat format ) {
+        return isSparseSupported(format) ? new SparseAdd() : null;
+    }
+
+    public static class SparseAdd implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            AMatrix matA = inputs[0].getOriginal();
+            AMatrix matB = inputs[1].getOriginal();
+
+            AMatrix result = null;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result = matA.sparseClone();
+                result.add(matB);
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new VectorzBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    // vectors are matrices with one column.  The operations are applied to a vector view of the matrix
+
+    @Override
+    public AlgorithmInterface dot() {
+        return new Dot();
+    }
+
+    public static class Dot implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            AMatrix matX = inputs[0].getOriginal();
+            AMatrix matY = inputs[1].getOriginal();
+
+            AVector x = matX.asVector();
+            AVector y = matY.asVector();
+
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = x.dotProduct(y);
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new VectorzBenchmarkMatrix(Matrix.wrap(1,1,new double[]{s}));
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface axpy() {
+        return new Axpy();
+    }
+
+    public static class Axpy implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            AMatrix matX = inputs[0].getOriginal();
+            AMatrix matY = inputs[1].getOriginal();
+
+            AVector x = matX.asVector();
+            AVector y = matY.asVector();
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                y.addMultiple(x,AxpyGenerator.ALPHA);
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new VectorzBenchmarkMatrix(matY);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface norm2() {
+        return new Norm2();
+    }
+
+    public static class Norm2 implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            AMatrix matX = inputs[0].getOriginal();
+
+            AVector x = matX.asVector();
+
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = x.magnitude();
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new VectorzBenchmarkMatrix(Matrix.wrap(1,1,new double[]{s}));
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface gemv() {
+        return new Gemv();
+    }
+
+    public static class Gemv implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            AMatrix matA = inputs[0].getOriginal();
+            AMatrix matX = inputs[1].getOriginal();
+
+            AVector x = matX.asVector();
+            Matrix result = Matrix.create(matA.rowCount(),1);
+            AVector y = result.asVector();
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                matA.transform(x,y);
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new VectorzBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface gemvTrans() {
+        return new GemvTrans();
+    }
+
+    public static class GemvTrans implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            AMatrix matA = inputs[0].getOriginal();
+            AMatrix matX = inputs[1].getOriginal();
+
+            AVector x = matX.asVector();
+            Matrix result = Matrix.create(matA.columnCount(),1);
+            AVector y = result.asVector();
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                matA.getTransposeView().transform(x,y);
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new VectorzBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementMult() {
+        return new ElementMult();
+    }
+
+    public static class ElementMult implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            AMatrix matA = inputs[0].getOriginal();
+            AMatrix matB = inputs[1].getOriginal();
+
+            AMatrix result = Matrix.create(matA.rowCount(),matA.columnCount());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result.set(matA);
+                result.elementMul(matB);
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new VectorzBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementDiv() {
+        return new ElementDiv();
+    }
+
+    public static class ElementDiv implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            AMatrix matA = inputs[0].getOriginal();
+            AMatrix matB = inputs[1].getOriginal();
+
+            AMatrix result = Matrix.create(matA.rowCount(),matA.columnCount());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result.set(matA);
+                result.divide(matB);
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new VectorzBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementMap() {
+        return new ElementMap();
+    }
+
+    public static class ElementMap implements AlgorithmInterface {
+        private static final Op FUNCTION = new Op() {
+            @Override
+            public double apply(double x) {
+                return ElementMapGenerator.function(x);
+            }
+
+            @Override
+            public double averageValue() {
+                return 0.5;
+            }
+        };
+
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            AMatrix matA = inputs[0].getOriginal();
+
+            AMatrix result = Matrix.create(matA.rowCount(),matA.columnCount());
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                result.set(matA);
+                result.applyOp(FUNCTION);
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new VectorzBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementMapLoop() {
+        return new ElementMapLoop();
+    }
+
+    public static class ElementMapLoop implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            AMatrix matA = inputs[0].getOriginal();
+
+            int numRows = matA.rowCount();
+            int numCols = matA.columnCount();
+            AMatrix result = Matrix.create(numRows,numCols);
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                for( int row = 0; row < numRows; row++ ) {
+                    for( int col = 0; col < numCols; col++ ) {
+                        result.set(row,col,ElementMapGenerator.function(matA.get(row,col)));
+                    }
+                }
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new VectorzBenchmarkMatrix(result);
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementSum() {
+        return new ElementSum();
+    }
+
+    public static class ElementSum implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            AMatrix matA = inputs[0].getOriginal();
+
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = matA.elementSum();
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new VectorzBenchmarkMatrix(Matrix.wrap(1,1,new double[]{s}));
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface elementMax() {
+        return new ElementMax();
+    }
+
+    public static class ElementMax implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            AMatrix matA = inputs[0].getOriginal();
+
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = matA.elementMax();
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new VectorzBenchmarkMatrix(Matrix.wrap(1,1,new double[]{s}));
+            return elapsedTime;
+        }
+    }
+
+    @Override
+    public AlgorithmInterface normF() {
+        return new NormF();
+    }
+
+    public static class NormF implements AlgorithmInterface {
+        @Override
+        public long process(BenchmarkMatrix[] inputs, BenchmarkMatrix[] outputs, long numTrials) {
+            AMatrix matA = inputs[0].getOriginal();
+
+            double s = 0;
+
+            long prev = System.nanoTime();
+
+            for( long i = 0; i < numTrials; i++ ) {
+                s = Math.sqrt(matA.elementSquaredSum());
+            }
+
+            long elapsedTime = System.nanoTime() - prev;
+            outputs[0] = new VectorzBenchmarkMatrix(Matrix.wrap(1,1,new double[]{s}));
+            return elapsedTime;
+        }
+    }
+
     @Override
     public BenchmarkMatrix convertToLib(DenseMatrix64F input) {
         return new VectorzBenchmarkMatrix(convertToVectorz(input));
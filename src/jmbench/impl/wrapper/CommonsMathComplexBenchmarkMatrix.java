@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package jmbench.impl.wrapper;
+
+import jmbench.interfaces.BenchmarkMatrix;
+import org.apache.commons.math3.complex.Complex;
+import org.apache.commons.math3.linear.FieldMatrix;
+
+
+/**
+ * Complex matrix with the real and imaginary components interleaved along each row.
+ * See {@link jmbench.interfaces.ComplexPerformanceFactory}.
+ *
+ * @author Peter Abeles
+ */
+public class CommonsMathComplexBenchmarkMatrix implements BenchmarkMatrix {
+
+    FieldMatrix<Complex> mat;
+
+    public CommonsMathComplexBenchmarkMatrix(FieldMatrix<Complex> mat) {
+        this.mat = mat;
+    }
+
+    @Override
+    public double get(int row, int col) {
+        Complex c = mat.getEntry(row,col/2);
+        return col % 2 == 0 ? c.getReal() : c.getImaginary();
+    }
+
+    @Override
+    public void set(int row, int col, double value) {
+        Complex c = mat.getEntry(row,col/2);
+        if( col % 2 == 0 )
+            mat.setEntry(row,col/2,new Complex(value,c.getImaginary()));
+        else
+            mat.setEntry(row,col/2,new Complex(c.getReal(),value));
+    }
+
+    @Override
+    public int numRows() {
+        return mat.getRowDimension();
+    }
+
+    @Override
+    public int numCols() {
+        return mat.getColumnDimension()*2;
+    }
+
+    @Override
+    public <T> T getOriginal() {
+        return (T)mat;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package jmbench.impl.wrapper;
+
+import jmbench.interfaces.BenchmarkMatrix;
+import org.jblas.ComplexDouble;
+import org.jblas.ComplexDoubleMatrix;
+
+
+/**
+ * Complex matrix with the real and imaginary components interleaved along each row.
+ * See {@link jmbench.interfaces.ComplexPerformanceFactory}.
+ *
+ * @author Peter Abeles
+ */
+public class JBlasComplexBenchmarkMatrix implements BenchmarkMatrix {
+
+    ComplexDoubleMatrix mat;
+
+    public JBlasComplexBenchmarkMatrix(ComplexDoubleMatrix mat) {
+        this.mat = mat;
+    }
+
+    @Override
+    public double get(int row, int col) {
+        ComplexDouble c = mat.get(row,col/2);
+        return col % 2 == 0 ? c.real() : c.imag();
+    }
+
+    @Override
+    public void set(int row, int col, double value) {
+        ComplexDouble c = mat.get(row,col/2);
+        if( col % 2 == 0 )
+            mat.put(row,col/2,new ComplexDouble(value,c.imag()));
+        else
+            mat.put(row,col/2,new ComplexDouble(c.real(),value));
+    }
+
+    @Override
+    public int numRows() {
+        return mat.getRows();
+    }
+
+    @Override
+    public int numCols() {
+        return mat.getColumns()*2;
+    }
+
+    @Override
+    public <T> T getOriginal() {
+        return (T)mat;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package jmbench.impl.wrapper;
+
+import jmbench.interfaces.BenchmarkMatrix;
+import org.ojalgo.matrix.store.MatrixStore;
+import org.ojalgo.matrix.store.PhysicalStore;
+import org.ojalgo.scalar.ComplexNumber;
+
+
+/**
+ * Complex matrix with the real and imaginary components interleaved along each row.
+ * See {@link jmbench.interfaces.ComplexPerformanceFactory}.
+ *
+ * @author Peter Abeles
+ */
+public class OjAlgoComplexBenchmarkMatrix implements BenchmarkMatrix {
+
+    MatrixStore<ComplexNumber> mat;
+
+    public OjAlgoComplexBenchmarkMatrix(MatrixStore<ComplexNumber> mat) {
+        this.mat = mat;
+    }
+
+    @Override
+    public double get(int row, int col) {
+        ComplexNumber c = mat.get(row,col/2);
+        return col % 2 == 0 ? c.getReal() : c.getImaginary();
+    }
+
+    @Override
+    public void set(int row, int col, double value) {
+        ComplexNumber c = mat.get(row,col/2);
+        if( col % 2 == 0 )
+            c = ComplexNumber.makeRectangular(value,c.getImaginary());
+        else
+            c = ComplexNumber.makeRectangular(c.getReal(),value);
+        ((PhysicalStore<ComplexNumber>)mat).set(row,col/2,c);
+    }
+
+    @Override
+    public int numRows() {
+        return (int)mat.countRows();
+    }
+
+    @Override
+    public int numCols() {
+        return (int)mat.countColumns()*2;
+    }
+
+    @Override
+    public <T> T getOriginal() {
+        return (T)mat;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package jmbench.impl.wrapper;
+
+import cern.colt.matrix.tdcomplex.DComplexMatrix2D;
+import jmbench.interfaces.BenchmarkMatrix;
+
+
+/**
+ * Complex matrix with the real and imaginary components interleaved along each row.
+ * See {@link jmbench.interfaces.ComplexPerformanceFactory}.
+ *
+ * @author Peter Abeles
+ */
+public class PColtComplexBenchmarkMatrix implements BenchmarkMatrix {
+
+    DComplexMatrix2D mat;
+
+    public PColtComplexBenchmarkMatrix(DComplexMatrix2D mat) {
+        this.mat = mat;
+    }
+
+    @Override
+    public double get(int row, int col) {
+        return mat.get(row,col/2)[col % 2];
+    }
+
+    @Override
+    public void set(int row, int col, double value) {
+        double c[] = mat.get(row,col/2);
+        c[col % 2] = value;
+        mat.set(row,col/2,c);
+    }
+
+    @Override
+    public int numRows() {
+        return mat.rows();
+    }
+
+    @Override
+    public int numCols() {
+        return mat.columns()*2;
+    }
+
+    @Override
+    public <T> T getOriginal() {
+        return (T)mat;
+    }
+}
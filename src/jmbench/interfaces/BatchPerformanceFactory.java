@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.interfaces;
+
+
+/**
+ * <p>
+ * Operations which process a large batch of small independent matrices, e.g. millions of 3x3 multiplications
+ * a second.  Implemented by libraries in addition to {@link RuntimePerformanceFactory}.
+ * </p>
+ *
+ * <p>
+ * The inputs are the batch of first arguments followed by the batch of second arguments, e.g. for
+ * multiplication A<sub>0</sub> ... A<sub>n-1</sub>,B<sub>0</sub> ... B<sub>n-1</sub>, and there is one output
+ * for each element in the batch.  Each trial processes one element and the algorithm cycles through the batch,
+ * so that operations per second is the number of matrices processed per second and the inputs don't stay
+ * in the cache.  Outputs are only written for elements which were processed.
+ * </p>
+ *
+ * <p>
+ * Fixed size variants use the library's fixed size matrix types instead of its regular matrix.  The inputs are
+ * converted before the timer starts.  null is returned if the library has no type for that size.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public interface BatchPerformanceFactory extends LibraryFactory {
+
+    /**
+     * C<sub>i</sub> = A<sub>i</sub>*B<sub>i</sub>
+     */
+    AlgorithmInterface batchMult();
+
+    /**
+     * Solves A<sub>i</sub>*x<sub>i</sub> = b<sub>i</sub> where A<sub>i</sub> is square.
+     */
+    AlgorithmInterface batchSolve();
+
+    /**
+     * {@link #batchMult()} using a fixed 2x2 matrix type.
+     */
+    AlgorithmInterface batchMultFixed2();
+
+    /**
+     * {@link #batchMult()} using a fixed 3x3 matrix type.
+     */
+    AlgorithmInterface batchMultFixed3();
+
+    /**
+     * {@link #batchSolve()} using fixed 2x2 matrix and 2 vector types.
+     */
+    AlgorithmInterface batchSolveFixed2();
+
+    /**
+     * {@link #batchSolve()} using fixed 3x3 matrix and 3 vector types.
+     */
+    AlgorithmInterface batchSolveFixed3();
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package jmbench.interfaces;
+
+
+/**
+ * <p>
+ * Operations on dense complex matrices.  Implemented by libraries which have a complex matrix type, in addition
+ * to {@link RuntimePerformanceFactory}.
+ * </p>
+ *
+ * <p>
+ * Complex matrices are accessed through {@link BenchmarkMatrix} with the real and imaginary components of each
+ * element interleaved along the row, i.e. element (i,j) is stored at columns 2*j and 2*j+1.  An N by M complex
+ * matrix will have M*2 columns.  This allows the inputs to be randomized and the outputs checked by the regular
+ * tools.  If the library doesn't support an operation, null is returned and it is recorded as not supported.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public interface ComplexPerformanceFactory extends LibraryFactory {
+
+    /**
+     * Creates a complex matrix filled with zeros.  The number of rows and columns are of the complex matrix.
+     */
+    BenchmarkMatrix createComplex( int numRows , int numCols );
+
+    /**
+     * C = A*B
+     */
+    AlgorithmInterface complexMult();
+
+    /**
+     * C = A + B
+     */
+    AlgorithmInterface complexAdd();
+
+    /**
+     * B = A<sup>H</sup>.  The conjugate transpose must be copied into a new matrix and not a view.
+     */
+    AlgorithmInterface complexTransposeConj();
+
+    /**
+     * x = b/A where A is square
+     */
+    AlgorithmInterface complexSolve();
+
+    /**
+     * [D,V] = eig(A) where A is Hermitian.  D is a diagonal matrix with the eigenvalues and V contains the
+     * eigenvectors as its columns.
+     */
+    AlgorithmInterface complexEigHermitian();
+}
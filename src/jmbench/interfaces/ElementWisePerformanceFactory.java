@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.interfaces;
+
+
+/**
+ * <p>
+ * Element-wise operations and reductions on dense matrices.  Implemented by libraries in addition to
+ * {@link RuntimePerformanceFactory}.  Like the BLAS level-1 operations they do very little work per element.
+ * </p>
+ *
+ * <p>
+ * Applying a function is implemented twice.  {@link #elementMap()} uses the library's own functional API, if it
+ * has one, and {@link #elementMapLoop()} uses a naive loop which calls get() and set() on each element.  This
+ * shows how much the functional API costs, or saves, compared to the obvious approach.  Scalar outputs are
+ * returned as a 1x1 matrix.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public interface ElementWisePerformanceFactory extends LibraryFactory {
+
+    /**
+     * C = A .* B
+     */
+    AlgorithmInterface elementMult();
+
+    /**
+     * C = A ./ B
+     */
+    AlgorithmInterface elementDiv();
+
+    /**
+     * B = f(A) using the library's functional API, where f is
+     * {@link jmbench.tools.runtime.generator.ElementMapGenerator#function(double)}
+     */
+    AlgorithmInterface elementMap();
+
+    /**
+     * B = f(A) computed by looping through each element with get() and set()
+     */
+    AlgorithmInterface elementMapLoop();
+
+    /**
+     * s = sum of all elements in A
+     */
+    AlgorithmInterface elementSum();
+
+    /**
+     * s = max of all elements in A
+     */
+    AlgorithmInterface elementMax();
+
+    /**
+     * s = ||A||<sub>F</sub>
+     */
+    AlgorithmInterface normF();
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package jmbench.interfaces;
+
+
+/**
+ * <p>
+ * Operations on dense single precision matrices.  Implemented by libraries which have a float matrix type, in
+ * addition to {@link RuntimePerformanceFactory}.  The same operations are also benchmarked in double precision,
+ * which allows the speedup of switching to single precision to be measured.
+ * </p>
+ *
+ * <p>
+ * Float inputs and outputs are accessed through {@link BenchmarkMatrix} as doubles, which allows the regular
+ * generators to check the results against a double precision reference.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public interface FloatPerformanceFactory extends LibraryFactory {
+
+    /**
+     * Creates a single precision matrix filled with zeros.
+     */
+    BenchmarkMatrix createFloat( int numRows , int numCols );
+
+    /**
+     * Wraps a single precision matrix from the library.
+     */
+    BenchmarkMatrix wrapFloat( Object matrix );
+
+    /**
+     * C = A*B
+     */
+    AlgorithmInterface multFloat();
+
+    /**
+     * C = A + B
+     */
+    AlgorithmInterface addFloat();
+
+    /**
+     * x = b/A where A is square
+     */
+    AlgorithmInterface solveExactFloat();
+
+    /**
+     * [U,S,V] = svd(A)
+     */
+    AlgorithmInterface svdFloat();
+}
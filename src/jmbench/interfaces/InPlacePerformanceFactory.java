@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.interfaces;
+
+
+/**
+ * <p>
+ * Variants of the operations in {@link RuntimePerformanceFactory} which write their results into outputs that
+ * were allocated before the timer started, instead of creating new matrices each iteration.  Comparing the two
+ * shows which libraries can run in a tight loop without allocating memory.
+ * </p>
+ *
+ * <p>
+ * If the library's regular implementation already writes into a preallocated output the same algorithm can be
+ * returned.  Libraries which have no API for writing into an existing matrix return null, which is recorded as
+ * not supported.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public interface InPlacePerformanceFactory extends LibraryFactory {
+
+    /**
+     * {@link RuntimePerformanceFactory#invert()} written into a preallocated matrix.
+     */
+    AlgorithmInterface invertInto();
+
+    /**
+     * {@link RuntimePerformanceFactory#invertSymmPosDef()} written into a preallocated matrix.
+     */
+    AlgorithmInterface invertSymmPosDefInto();
+
+    /**
+     * {@link RuntimePerformanceFactory#add()} written into a preallocated matrix.
+     */
+    AlgorithmInterface addInto();
+
+    /**
+     * {@link RuntimePerformanceFactory#mult()} written into a preallocated matrix.
+     */
+    AlgorithmInterface multInto();
+
+    /**
+     * {@link RuntimePerformanceFactory#multTransB()} written into a preallocated matrix.
+     */
+    AlgorithmInterface multTransBInto();
+
+    /**
+     * {@link RuntimePerformanceFactory#scale()} written into a preallocated matrix.
+     */
+    AlgorithmInterface scaleInto();
+
+    /**
+     * {@link RuntimePerformanceFactory#solveExact()} written into a preallocated matrix.
+     */
+    AlgorithmInterface solveExactInto();
+
+    /**
+     * {@link RuntimePerformanceFactory#solveOver()} written into a preallocated matrix.
+     */
+    AlgorithmInterface solveOverInto();
+
+    /**
+     * {@link RuntimePerformanceFactory#transpose()} written into a preallocated matrix.
+     */
+    AlgorithmInterface transposeInto();
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.interfaces;
+
+
+/**
+ * An algorithm which iteratively solves A*x = b, starting from x = 0, until the residual is small enough.
+ * Inputs are the sparse matrix A and the vector b, and the output is the vector x.
+ *
+ * @author Peter Abeles
+ */
+public interface IterativeSolver extends AlgorithmInterface {
+
+    /**
+     * Specifies when the solver stops.  Must be called before it's processed.
+     *
+     * @param tolerance It has converged once ||b - A*x|| &le; tolerance*||b||
+     * @param maxIterations If it hasn't converged after this many iterations an exception is thrown
+     */
+    void setConvergence( double tolerance , int maxIterations );
+
+    /**
+     * Number of iterations the most recent solve took to converge.
+     */
+    int getIterations();
+}
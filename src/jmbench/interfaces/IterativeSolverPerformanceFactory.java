@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.interfaces;
+
+
+/**
+ * <p>
+ * Iterative solvers for large sparse linear systems.  Implemented by libraries which have iterative solvers, in
+ * addition to {@link SparseRuntimePerformanceFactory}, which is used to create the sparse matrix.
+ * </p>
+ *
+ * <p>
+ * Solvers are used without a preconditioner so that the same algorithm is compared across libraries.  If the
+ * library doesn't support the format, or doesn't have the solver, null is returned and it is recorded as not
+ * supported.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public interface IterativeSolverPerformanceFactory extends SparseRuntimePerformanceFactory {
+
+    /**
+     * Conjugate gradient.  A must be symmetric positive definite.
+     */
+    IterativeSolver solveCG( SparseFormat format );
+
+    /**
+     * Biconjugate gradient stabilized.
+     */
+    IterativeSolver solveBiCGStab( SparseFormat format );
+
+    /**
+     * Restarted generalized minimal residual, with the library's default restart.
+     */
+    IterativeSolver solveGMRES( SparseFormat format );
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package jmbench.interfaces;
+
+
+/**
+ * Structure of a square matrix which a library can take advantage of by using a specialized representation.
+ * See {@link StructuredPerformanceFactory}.
+ *
+ * @author Peter Abeles
+ */
+public enum MatrixStructure {
+    IDENTITY("Identity"),
+    DIAGONAL("Diagonal"),
+    UPPER_TRIANGULAR("Upper"),
+    LOWER_TRIANGULAR("Lower"),
+    TRIDIAGONAL("Tridiagonal"),
+    SYMMETRIC("Symmetric");
+
+    // short name used in operation and file names
+    private String name;
+
+    MatrixStructure(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
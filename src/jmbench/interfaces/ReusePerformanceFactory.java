@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.interfaces;
+
+
+/**
+ * <p>
+ * Variants of the decompositions and solvers in {@link RuntimePerformanceFactory} which create the decomposition
+ * or solver once, before the timer starts, and reuse it to process the same matrix each iteration.  This is the
+ * steady state cost when matrices of the same shape are decomposed in a loop, while many of the regular
+ * implementations measure the cost of constructing a new decomposition each time.
+ * </p>
+ *
+ * <p>
+ * If the library's regular implementation already reuses the decomposition the same algorithm can be returned.
+ * Libraries which can only create a new decomposition for each matrix return null, which is recorded as
+ * not supported.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public interface ReusePerformanceFactory extends LibraryFactory {
+
+    /**
+     * {@link RuntimePerformanceFactory#chol()} reusing the decomposition.
+     */
+    AlgorithmInterface cholReuse();
+
+    /**
+     * {@link RuntimePerformanceFactory#lu()} reusing the decomposition.
+     */
+    AlgorithmInterface luReuse();
+
+    /**
+     * {@link RuntimePerformanceFactory#svd()} reusing the decomposition.
+     */
+    AlgorithmInterface svdReuse();
+
+    /**
+     * {@link RuntimePerformanceFactory#qr()} reusing the decomposition.
+     */
+    AlgorithmInterface qrReuse();
+
+    /**
+     * {@link RuntimePerformanceFactory#eigSymm()} reusing the decomposition.
+     */
+    AlgorithmInterface eigSymmReuse();
+
+    /**
+     * {@link RuntimePerformanceFactory#solveExact()} reusing the solver.
+     */
+    AlgorithmInterface solveExactReuse();
+
+    /**
+     * {@link RuntimePerformanceFactory#solveOver()} reusing the solver.
+     */
+    AlgorithmInterface solveOverReuse();
+}
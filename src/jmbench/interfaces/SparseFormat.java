@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package jmbench.interfaces;
+
+
+/**
+ * Storage format of a sparse matrix.  See {@link SparseRuntimePerformanceFactory}.
+ *
+ * @author Peter Abeles
+ */
+public enum SparseFormat {
+    /** Compressed sparse row.  Non-zero elements are stored in one array, sorted by row */
+    CSR("CSR"),
+    /** Compressed sparse column.  Non-zero elements are stored in one array, sorted by column */
+    CSC("CSC"),
+    /** Each row is a separate sparse vector */
+    ROW("Row"),
+    /** Each column is a separate sparse vector */
+    COLUMN("Column"),
+    /** Non-zero elements are looked up by their coordinate, e.g. in a hash map */
+    COORDINATE("Coordinate");
+
+    // short name used in operation and file names
+    private String name;
+
+    SparseFormat(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
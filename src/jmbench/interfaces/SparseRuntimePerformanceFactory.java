@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package jmbench.interfaces;
+
+
+/**
+ * <p>
+ * Operations on large sparse matrices.  Implemented by libraries which have sparse matrix types, in addition
+ * to {@link RuntimePerformanceFactory}.
+ * </p>
+ *
+ * <p>
+ * Sparse inputs are created by {@link #createSparse} in the specified format before the timer starts.  Dense
+ * inputs, vectors and dense outputs are created by the library's regular {@link MatrixFactory}.  Vectors are
+ * stored as a matrix with one column.  Sparse outputs can be in whatever format the library produces.
+ * </p>
+ *
+ * <p>
+ * If the library doesn't support the format, or the operation in that format, null is returned and it is
+ * recorded as not supported.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public interface SparseRuntimePerformanceFactory extends LibraryFactory {
+
+    /**
+     * Creates a sparse matrix in the specified format which contains the non-zero elements.
+     *
+     * @return The matrix or null if the format isn't supported.
+     */
+    BenchmarkMatrix createSparse( SparseTriplets triplets , SparseFormat format );
+
+    /**
+     * Number of elements in a matrix returned by this library which are not zero.  Elements which are
+     * stored but equal to zero aren't counted.  Should use the library's own count or iterator over the
+     * non-zero elements, so that it is fast on large sparse matrices.  Used to check sparse outputs.
+     */
+    long countNonZeros( BenchmarkMatrix A );
+
+    /**
+     * C = A*B where A is sparse and B is dense.
+     */
+    AlgorithmInterface sparseMultDense( SparseFormat format );
+
+    /**
+     * C = A*B where A and B are sparse.
+     */
+    AlgorithmInterface sparseMultSparse( SparseFormat format );
+
+    /**
+     * y = A*x where A is sparse and x is a dense vector.
+     */
+    AlgorithmInterface sparseMultVector( SparseFormat format );
+
+    /**
+     * B = A<sup>T</sup> where A is sparse.  The transpose must be copied into a new matrix and not a view.
+     */
+    AlgorithmInterface sparseTranspose( SparseFormat format );
+
+    /**
+     * C = A + B where A and B are sparse.
+     */
+    AlgorithmInterface sparseAdd( SparseFormat format );
+}
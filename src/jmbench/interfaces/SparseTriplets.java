@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package jmbench.interfaces;
+
+import java.io.Serializable;
+
+
+/**
+ * <p>
+ * Library independent description of a sparse matrix, used to create sparse inputs and to compute the expected
+ * results of sparse operations.  Non-zero elements are stored as (row,column,value) triplets sorted by row and
+ * then by column, without duplicates.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SparseTriplets implements Serializable {
+    public int numRows;
+    public int numCols;
+
+    // number of non-zero elements
+    public int length;
+
+    public int rows[];
+    public int cols[];
+    public double values[];
+
+    public SparseTriplets( int numRows , int numCols , int maxLength ) {
+        this.numRows = numRows;
+        this.numCols = numCols;
+        rows = new int[ maxLength ];
+        cols = new int[ maxLength ];
+        values = new double[ maxLength ];
+    }
+
+    public SparseTriplets(){}
+
+    /**
+     * Adds an element to the end.  Elements must be added in sorted order.
+     */
+    public void add( int row , int col , double value ) {
+        if( length == rows.length ) {
+            int N = Math.max(16,length*2);
+            rows = grow(rows,N);
+            cols = grow(cols,N);
+            double tmp[] = new double[ N ];
+            System.arraycopy(values,0,tmp,0,length);
+            values = tmp;
+        }
+        rows[length] = row;
+        cols[length] = col;
+        values[length] = value;
+        length++;
+    }
+
+    private static int[] grow( int a[] , int N ) {
+        int tmp[] = new int[ N ];
+        System.arraycopy(a,0,tmp,0,a.length);
+        return tmp;
+    }
+
+    /**
+     * Index of the first element in each row.  The last element is the number of non-zero elements, so
+     * row i is stored from ret[i] to ret[i+1]-1.
+     */
+    public int[] rowPointers() {
+        int ret[] = new int[ numRows+1 ];
+        for( int i = 0; i < length; i++ ) {
+            ret[rows[i]+1]++;
+        }
+        for( int i = 0; i < numRows; i++ ) {
+            ret[i+1] += ret[i];
+        }
+        return ret;
+    }
+
+    /**
+     * Number of non-zero elements in each row.
+     */
+    public int[] rowCounts() {
+        int ret[] = new int[ numRows ];
+        for( int i = 0; i < length; i++ ) {
+            ret[rows[i]]++;
+        }
+        return ret;
+    }
+
+    /**
+     * Returns A<sup>T</sup>.  Since the result is sorted by row, it's also the elements of A sorted by
+     * column, which is what compressed column formats need.
+     */
+    public SparseTriplets transpose() {
+        SparseTriplets ret = new SparseTriplets(numCols,numRows,length);
+
+        int offsets[] = new int[ numCols+1 ];
+        for( int i = 0; i < length; i++ ) {
+            offsets[cols[i]+1]++;
+        }
+        for( int i = 0; i < numCols; i++ ) {
+            offsets[i+1] += offsets[i];
+        }
+
+        // the elements are sorted by row, so each column is filled in sorted order too
+        for( int i = 0; i < length; i++ ) {
+            int index = offsets[cols[i]]++;
+            ret.rows[index] = cols[i];
+            ret.cols[index] = rows[i];
+            ret.values[index] = values[i];
+        }
+        ret.length = length;
+
+        return ret;
+    }
+
+    /**
+     * Returns this * B, computed one row at a time.
+     */
+    public SparseTriplets mult( SparseTriplets B ) {
+        if( numCols != B.numRows )
+            throw new IllegalArgumentException("Incompatible matrix shapes");
+
+        SparseTriplets ret = new SparseTriplets(numRows,B.numCols,length);
+
+        int pointersA[] = rowPointers();
+        int pointersB[] = B.rowPointers();
+
+        double row[] = new double[ B.numCols ];
+        boolean used[] = new boolean[ B.numCols ];
+        for( int i = 0; i < numRows; i++ ) {
+            for( int indexA = pointersA[i]; indexA < pointersA[i+1]; indexA++ ) {
+                int k = cols[indexA];
+                double a = values[indexA];
+                for( int indexB = pointersB[k]; indexB < pointersB[k+1]; indexB++ ) {
+                    row[B.cols[indexB]] += a*B.values[indexB];
+                    used[B.cols[indexB]] = true;
+                }
+            }
+            ret.addRow(i,row,used);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Returns this + B
+     */
+    public SparseTriplets add( SparseTriplets B ) {
+        if( numRows != B.numRows || numCols != B.numCols )
+            throw new IllegalArgumentException("Incompatible matrix shapes");
+
+        SparseTriplets ret = new SparseTriplets(numRows,numCols,length+B.length);
+
+        int pointersA[] = rowPointers();
+        int pointersB[] = B.rowPointers();
+
+        double row[] = new double[ numCols ];
+        boolean used[] = new boolean[ numCols ];
+        for( int i = 0; i < numRows; i++ ) {
+            for( int index = pointersA[i]; index < pointersA[i+1]; index++ ) {
+                row[cols[index]] += values[index];
+                used[cols[index]] = true;
+            }
+            for( int index = pointersB[i]; index < pointersB[i+1]; index++ ) {
+                row[B.cols[index]] += B.values[index];
+                used[B.cols[index]] = true;
+            }
+            ret.addRow(i,row,used);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Adds the elements in a dense row which are marked as used and then clears the row.
+     */
+    private void addRow( int row , double values[] , boolean used[] ) {
+        for( int j = 0; j < values.length; j++ ) {
+            if( used[j] ) {
+                add(row,j,values[j]);
+                values[j] = 0;
+                used[j] = false;
+            }
+        }
+    }
+
+    public int getNumRows() {
+        return numRows;
+    }
+
+    public int getNumCols() {
+        return numCols;
+    }
+
+    public int getLength() {
+        return length;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package jmbench.interfaces;
+
+
+/**
+ * <p>
+ * Operations where the first input has a known {@link MatrixStructure}, such as diagonal or triangular, and the
+ * library processes it using its specialized representation for that structure.  The input is converted into the
+ * specialized type before the timer starts.  The same inputs are also processed by the regular operations in
+ * {@link RuntimePerformanceFactory}, which treat them as dense matrices, so that the two can be compared.
+ * </p>
+ *
+ * <p>
+ * If the library has no specialized type for the structure, or the type doesn't support the operation, null is
+ * returned and it is recorded as not supported.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public interface StructuredPerformanceFactory extends LibraryFactory {
+
+    /**
+     * {@link RuntimePerformanceFactory#mult()} where A has the specified structure.
+     */
+    AlgorithmInterface multStructured( MatrixStructure structure );
+
+    /**
+     * {@link RuntimePerformanceFactory#solveExact()} where A has the specified structure.
+     */
+    AlgorithmInterface solveExactStructured( MatrixStructure structure );
+
+    /**
+     * {@link RuntimePerformanceFactory#det()} where A has the specified structure.
+     */
+    AlgorithmInterface detStructured( MatrixStructure structure );
+
+    /**
+     * {@link RuntimePerformanceFactory#invert()} where A has the specified structure.
+     */
+    AlgorithmInterface invertStructured( MatrixStructure structure );
+}
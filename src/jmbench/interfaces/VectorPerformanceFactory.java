@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.interfaces;
+
+
+/**
+ * <p>
+ * BLAS level-1 and level-2 operations on vectors.  Implemented by libraries in addition to
+ * {@link RuntimePerformanceFactory}.  These operations do very little work per element, so their performance
+ * is limited by memory bandwidth instead of floating point throughput.
+ * </p>
+ *
+ * <p>
+ * Vectors are created by {@link MatrixFactory} as matrices with a single column.  If the library has a vector
+ * type the inputs are converted into it before the timer starts.  Scalar outputs are returned as a 1x1 matrix.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public interface VectorPerformanceFactory extends LibraryFactory {
+
+    /**
+     * s = x<sup>T</sup>*y
+     */
+    AlgorithmInterface dot();
+
+    /**
+     * y = &alpha;*x + y.  y is modified in place and is the output.
+     */
+    AlgorithmInterface axpy();
+
+    /**
+     * s = ||x||<sub>2</sub>
+     */
+    AlgorithmInterface norm2();
+
+    /**
+     * y = A*x
+     */
+    AlgorithmInterface gemv();
+
+    /**
+     * y = A<sup>T</sup>*x
+     */
+    AlgorithmInterface gemvTrans();
+}
@@ -20,9 +20,12 @@
 package jmbench.misc;
 
 import jmbench.interfaces.BenchmarkMatrix;
+import jmbench.interfaces.MatrixStructure;
+import jmbench.interfaces.SparseTriplets;
 import org.ejml.data.DenseMatrix64F;
 import org.ejml.ops.RandomMatrices;
 
+import java.util.Arrays;
 import java.util.Random;
 
 
@@ -55,6 +58,29 @@ public class RandomizeMatrices {
         }
     }
 
+    /**
+     * Fills in a complex Hermitian matrix.  The real and imaginary components are interleaved along each row,
+     * see {@link jmbench.interfaces.ComplexPerformanceFactory}.
+     */
+    public static void hermitian( BenchmarkMatrix input , double min , double max , Random rand ) {
+
+        double range = max-min;
+
+        int N = input.numRows();
+        for( int i = 0; i < N; i++ ) {
+            input.set(i,i*2,rand.nextDouble()*range+min);
+            input.set(i,i*2+1,0);
+            for( int j = i+1; j < N; j++ ) {
+                double real = rand.nextDouble()*range+min;
+                double imag = rand.nextDouble()*range+min;
+                input.set(i,j*2,real);
+                input.set(i,j*2+1,imag);
+                input.set(j,i*2,real);
+                input.set(j,i*2+1,-imag);
+            }
+        }
+    }
+
     public static void symmPosDef( BenchmarkMatrix input , Random rand ) {
 
         DenseMatrix64F spd = RandomMatrices.createSymmPosDef(input.numRows(),rand);
@@ -66,6 +92,87 @@ public class RandomizeMatrices {
         }
     }
 
+    /**
+     * Fills in a square matrix which has the specified structure.  Elements outside of the structure are zero.
+     * Other than symmetric matrices the diagonal elements are between 1 and 2 and the matrix is diagonally
+     * dominant, so that it is well conditioned no matter how large it is.
+     */
+    public static void structured( BenchmarkMatrix input , MatrixStructure structure , Random rand ) {
+        if( structure == MatrixStructure.SYMMETRIC ) {
+            symmetric(input,-1,1,rand);
+            return;
+        }
+
+        int N = input.numRows();
+        // off diagonal elements of a triangular matrix are scaled so that their sum is less than the diagonal
+        double offDiag = 1.0/N;
+
+        for( int i = 0; i < N; i++ ) {
+            for( int j = 0; j < N; j++ ) {
+                double v = 0;
+                if( i == j ) {
+                    v = structure == MatrixStructure.IDENTITY ? 1 : 1 + rand.nextDouble();
+                } else if( structure == MatrixStructure.UPPER_TRIANGULAR && j > i ) {
+                    v = (rand.nextDouble()*2-1)*offDiag;
+                } else if( structure == MatrixStructure.LOWER_TRIANGULAR && j < i ) {
+                    v = (rand.nextDouble()*2-1)*offDiag;
+                } else if( structure == MatrixStructure.TRIDIAGONAL && Math.abs(i-j) == 1 ) {
+                    v = rand.nextDouble()-0.5;
+                }
+                input.set(i,j,v);
+            }
+        }
+    }
+
+    /**
+     * Creates a random sparse matrix.  Each row has the same number of non-zero elements, see
+     * {@link #sparseRowLength}, in randomly selected columns.  Values are between -1 and 1.
+     *
+     * @param density Fraction of the elements which are not zero.
+     */
+    public static SparseTriplets sparse( int numRows , int numCols , double density , Random rand ) {
+        int rowLength = sparseRowLength(numCols,density);
+
+        SparseTriplets ret = new SparseTriplets(numRows,numCols,numRows*rowLength);
+
+        // the first rowLength elements are shuffled each row to select the columns
+        int columns[] = new int[ numCols ];
+        for( int i = 0; i < numCols; i++ )
+            columns[i] = i;
+        int selected[] = new int[ rowLength ];
+
+        for( int i = 0; i < numRows; i++ ) {
+            for( int j = 0; j < rowLength; j++ ) {
+                int k = j + rand.nextInt(numCols-j);
+                int tmp = columns[j];
+                columns[j] = columns[k];
+                columns[k] = tmp;
+                selected[j] = columns[j];
+            }
+            Arrays.sort(selected);
+            for( int j = 0; j < rowLength; j++ ) {
+                ret.add(i,selected[j],rand.nextDouble()*2-1);
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Number of non-zero elements in each row of a matrix created by {@link #sparse}.  There is always
+     * at least one.
+     */
+    public static int sparseRowLength( int numCols , double density ) {
+        return Math.min(numCols,Math.max(1,(int)Math.round(density*numCols)));
+    }
+
+    /**
+     * Number of non-zero elements in a square matrix created by {@link #sparse}.
+     */
+    public static long sparseNonZeros( int size , double density ) {
+        return (long)size*sparseRowLength(size,density);
+    }
+
     public static DenseMatrix64F convertToEjml( BenchmarkMatrix a ) {
         DenseMatrix64F ret = new DenseMatrix64F(a.numRows(),a.numCols());
 
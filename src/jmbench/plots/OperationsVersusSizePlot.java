@@ -54,9 +54,14 @@ public class OperationsVersusSizePlot
     java.util.List<String> dataNames = new ArrayList<String>();
 
     public OperationsVersusSizePlot( String title, String ylabel)
+    {
+        this(title,"Matrix Size",ylabel);
+    }
+
+    public OperationsVersusSizePlot( String title, String xlabel , String ylabel)
     {
         chart = ChartFactory.createXYLineChart(title,
-                "Matrix Size",
+                xlabel,
                 ylabel,
                 null,
                 PlotOrientation.VERTICAL,
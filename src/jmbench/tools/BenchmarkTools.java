@@ -19,11 +19,10 @@
 
 package jmbench.tools;
 
-import jmbench.tools.stability.UtilXmlSerialization;
+import jmbench.impl.LibraryConfigure;
 
 import java.io.*;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
 import java.util.Random;
 
@@ -64,6 +63,25 @@ public class BenchmarkTools {
     // arguments passed to slave jvm
     String []params;
 
+    // if not null slaves are reused across tests instead of launching a new jvm each time
+    SlavePool pool;
+
+    // working directory of the slave.  if null the current directory is used
+    File workDirectory;
+    // if not null the slave is pinned to this list of CPUs using taskset, e.g. "0,1"
+    String cpuAffinity;
+
+    // maximum number of threads native libraries can use.  <= 0 for no limit
+    int threadBudget;
+
+    // additional flags passed to the slave's JavaVM
+    String jreFlags[] = new String[0];
+
+    // if true and perf is installed slaves are launched with 'perf stat' to read hardware counters
+    boolean perfStat;
+    // where perf writes the counters for the current slave.  null if perf isn't being used
+    File perfOutput;
+
     public BenchmarkTools(){}
 
     public BenchmarkTools( int numTrials , long baseMemory , long memoryScale , List<String> jarNames ){
@@ -106,6 +124,24 @@ public class BenchmarkTools {
         return System.getProperty("java.class.path")+extraJars;
     }
 
+    /**
+     * Class path with every entry converted into an absolute path, so that it still works when the
+     * slave is launched from a different directory.
+     */
+    public String getAbsoluteClassPath() {
+        String sep = System.getProperty("path.separator");
+
+        String ret = "";
+        for( String s : getClassPath().split(sep) ) {
+            if( s.length() == 0 )
+                continue;
+            if( ret.length() > 0 )
+                ret += sep;
+            ret += new File(s).getAbsolutePath();
+        }
+        return ret;
+    }
+
     public void setFrozenDefaultTime(long frozenDefaultTime) {
         this.frozenDefaultTime = frozenDefaultTime;
     }
@@ -114,9 +150,107 @@ public class BenchmarkTools {
         this.overrideMemory = overrideMemory;
     }
 
+    /**
+     * Specifies the directory the slave is launched in.  Any files the slave or library create, such as
+     * crash logs, will end up in here.  If null the current directory is used.
+     */
+    public void setWorkDirectory(File workDirectory) {
+        this.workDirectory = workDirectory;
+    }
+
+    public File getWorkDirectory() {
+        return workDirectory;
+    }
+
+    /**
+     * Pins the slave to the specified CPUs using taskset.  The list is in the format taskset expects,
+     * e.g. "0,1" or "4-7".  If null the slave is not pinned.
+     */
+    public void setCpuAffinity(String cpuAffinity) {
+        this.cpuAffinity = cpuAffinity;
+    }
+
+    public String getCpuAffinity() {
+        return cpuAffinity;
+    }
+
+    /**
+     * Limits the number of threads native libraries in the slave can use by setting OPENBLAS_NUM_THREADS,
+     * OMP_NUM_THREADS and MKL_NUM_THREADS.  Java libraries are limited through
+     * {@link jmbench.impl.LibraryConfigure#setThreadBudget(int)}.
+     *
+     * @param threadBudget Maximum number of threads.  If <= 0 the environment isn't changed.
+     */
+    public void setThreadBudget(int threadBudget) {
+        this.threadBudget = threadBudget;
+    }
+
+    public int getThreadBudget() {
+        return threadBudget;
+    }
+
+    /**
+     * Flags which are passed to the slave's JavaVM, e.g. to select the garbage collector.  Typically the
+     * library's {@link LibraryConfigure#getJreFlags()} followed by a {@link jmbench.tools.runtime.JvmFlagProfile}.
+     */
+    public void setJreFlags( String ...jreFlags ) {
+        this.jreFlags = jreFlags.clone();
+    }
+
+    public String[] getJreFlags() {
+        return jreFlags;
+    }
+
+    /**
+     * Creates an instance of the library's configuration and returns the flags it wants passed to the JavaVM.
+     */
+    public static String[] lookupJreFlags( Class<LibraryConfigure> classConfigure ) {
+        try {
+            String flags[] = classConfigure.newInstance().getJreFlags();
+            return flags == null ? new String[0] : flags;
+        } catch (InstantiationException e) {
+            throw new RuntimeException(e);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * If true the slave is launched with 'perf stat' so that cycles, instructions and cache misses are added
+     * to {@link EvaluatorSlave.Results#counters}.  perf only writes the counters when the slave exits, so it is
+     * ignored if there is a {@link SlavePool} or perf isn't installed.
+     */
+    public void setPerfStat(boolean perfStat) {
+        this.perfStat = perfStat;
+    }
+
+    public boolean isPerfStat() {
+        return perfStat;
+    }
+
+    /**
+     * Specifies a pool of slaves which are to be reused.  If null a new slave is launched for each test.
+     */
+    public void setSlavePool(SlavePool pool) {
+        this.pool = pool;
+    }
+
+    public SlavePool getSlavePool() {
+        return pool;
+    }
+
+    /**
+     * Kills all the slaves that are being kept alive in the pool, if there is one.
+     */
+    public void shutdownSlaves() {
+        if( pool != null )
+            pool.shutdown();
+    }
+
     /**
      * Spawns a new java vm to run {@link EvaluatorSlave} which will compute the ops
-     * per second for the specified test.
+     * per second for the specified test.  If there is a {@link SlavePool} then an existing
+     * slave might be used instead.
      *
      * @param test A description of which is to be tested by the slave
      * @return The results of the experiment.
@@ -133,20 +267,15 @@ public class BenchmarkTools {
         }
 
         try {
-            Runtime rt = Runtime.getRuntime();
-            Process pr = rt.exec(params);
+            SlaveConnection slave = pool != null ?
+                    pool.acquire(params,workDirectory) : new SlaveConnection(params,workDirectory);
 
-            if( System.in == pr.getInputStream() ) {
-                System.out.println("Egads");
-            }
-
-            BufferedReader input = new BufferedReader(new InputStreamReader(pr.getInputStream()));
-            BufferedReader error = new BufferedReader(new InputStreamReader(pr.getErrorStream()));
+            slave.submit(requestID,numTrials,test);
 
             // print the output from the slave
-            boolean frozen = monitorSlave(test, pr, input, error);
+            boolean frozen = monitorSlave(test, slave);
 
-            return processSlaveResults(frozen, pr, input, error);
+            return processSlaveResults(frozen, slave);
         } catch (IOException e) {
             throw new RuntimeException(e);
         } catch (InterruptedException e) {
@@ -182,15 +311,12 @@ public class BenchmarkTools {
     }
 
     /**
-     * Writes out an xml file that tells the slave what to run and puts together the runtime
-     * parameters that are passed on to it.
+     * Puts together the runtime parameters that are used to launch the slave.  What the slave
+     * should process is sent to it after it has started.
      */
     public String[] setupJvmParam(EvaluationTest test) {
-        // write out a file describing what the slave should process.
-        UtilXmlSerialization.serializeXml(test, "case.xml");
-
         // grab the current classpath and add some additional jars
-        String classPath = getClassPath();
+        String classPath = workDirectory == null ? getClassPath() : getAbsoluteClassPath();
         String app = System.getProperty("java.home")+"/bin/java";
 
         // compute required memory in mega bytes
@@ -199,171 +325,127 @@ public class BenchmarkTools {
         if(verbose)
             System.out.println("Memory = "+allocatedMemory+" MB");
 
-        String []params = new String[10];
-        params[0] = app;
-        params[1] = "-server";
-        params[2] = "-Xms"+allocatedMemory+"M";
-        params[3] = "-Xmx"+allocatedMemory+"M";
-        params[4] = "-classpath";
-        params[5] = classPath;
-        params[6] = "jmbench.tools.EvaluatorSlave";
-        params[7] = "case.xml";
-        params[8] = Integer.toString(numTrials);
-        params[9] = Long.toString(requestID);
-        return params;
+        List<String> params = new ArrayList<String>();
+        if( threadBudget > 0 ) {
+            params.add("env");
+            params.add("OPENBLAS_NUM_THREADS="+threadBudget);
+            params.add("OMP_NUM_THREADS="+threadBudget);
+            params.add("MKL_NUM_THREADS="+threadBudget);
+        }
+        if( cpuAffinity != null ) {
+            params.add("taskset");
+            params.add("-c");
+            params.add(cpuAffinity);
+        }
+        perfOutput = null;
+        if( perfStat && pool == null && ProcessProbe.isPerfAvailable() ) {
+            try {
+                perfOutput = File.createTempFile("perf",".txt",workDirectory);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            params.addAll(ProcessProbe.createPerfCommand(perfOutput));
+        }
+        params.add(app);
+        params.add("-server");
+        params.add("-Xms"+allocatedMemory+"M");
+        params.add("-Xmx"+allocatedMemory+"M");
+        for( String flag : jreFlags )
+            params.add(flag);
+        params.add("-classpath");
+        params.add(classPath);
+        params.add("jmbench.tools.EvaluatorSlave");
+        return params.toArray(new String[params.size()]);
     }
 
     /**
-     * Prints out the standard out and error from the slave and checks its health.  Exits if
-     * the slave has finished or is declared frozen.
+     * Blocks until the slave has finished its job, stopped talking, or is declared frozen.  While it waits
+     * anything the slave prints is copied by {@link SlaveSupervisor}.
      */
-    private boolean monitorSlave(EvaluationTest test, Process pr,
-                                 BufferedReader input, BufferedReader error)
-            throws IOException, InterruptedException {
+    private boolean monitorSlave(EvaluationTest test, SlaveConnection slave )
+            throws InterruptedException {
 
-        // flush the input buffer
-        System.in.skip(System.in.available());
+        SlaveSupervisor supervisor = SlaveSupervisor.getInstance();
+        supervisor.watchKeyboard();
 
         // If the total amount of time allocated to the slave exceeds the maximum number of trials multiplied
         // by the maximum runtime plus some fudge factor the slave is declared as frozen
         long mustBeFrozenTime = test.getMaximumRuntime() > 0 ?
                 test.getMaximumRuntime()*(numTrials+2) : frozenDefaultTime;
 
-        boolean frozen = false;
-
         long startTime = System.currentTimeMillis();
-        long lastAliveMessage = startTime;
-        for(;;) {
-            while( System.in.available() > 0 ) {
-                if( System.in.read() == 'q' ) {
-                    System.out.println("User requested for the application to quit by pressing 'q'");
-                    System.exit(0);
-                }
-            }
-
-            printError(error);
 
-            if( input.ready() ) {
-                printInputBuffer(input);
-            } else {
-                Thread.sleep(500);
-            }
-
-            try {
-                // exit value throws an exception is the process has yet to stop
-                pr.exitValue();
-                break;
-            } catch( IllegalThreadStateException e) {
-                // check to see if the process is frozen
-                if(System.currentTimeMillis() - startTime > mustBeFrozenTime ) {
-                    frozen = true;
-                    break;
-                }
-
-                // let everyone know its still alive
-                if( System.currentTimeMillis() - lastAliveMessage > 60000 ) {
-                    System.out.println("\nMaster is still alive: "+new Date()+"  Press 'q' and enter to quit.");
-                    lastAliveMessage = System.currentTimeMillis();
-                }
-            }
+        // once the slave's output has closed it has either exited or can't send results any more
+        boolean frozen;
+        supervisor.beginWaiting();
+        try {
+            frozen = !slave.waitForJob(mustBeFrozenTime);
+        } finally {
+            supervisor.endWaiting();
         }
+
         durationMilli = System.currentTimeMillis()-startTime;
         return frozen;
     }
 
-    private void printError(BufferedReader error) throws IOException {
-        while( error.ready() ) {
-            int val = error.read();
-            if( val < 0 ) break;
-
-            System.out.print(Character.toChars(val));
-        }
-    }
-
-    private void printInputBuffer(BufferedReader input) throws IOException {
-
-        while( input.ready() ) {
-            int val = input.read();
-            if( val < 0 ) break;
-
-            System.out.print(Character.toChars(val));
-        }
-    }
-
     /**
-     * Cleans up after the slave and compiles the results that are returned.
+     * Cleans up after the slave and compiles the results that are returned.  Pooled slaves are
+     * returned to the pool, otherwise the slave is told to exit.
      */
-    private EvaluatorSlave.Results processSlaveResults(boolean frozen,
-                                                       Process pr,
-                                                       BufferedReader input, BufferedReader error)
-            throws InterruptedException, IOException {
+    private EvaluatorSlave.Results processSlaveResults( boolean frozen , SlaveConnection slave ) {
         EvaluatorSlave.Results ret;
 
-        // flush whatever is left
-        printInputBuffer(input);
-        printError(error);
-
         // now look to see what happened
         if( !frozen ) {
-            // see if it exited normally
-            int exitVal = pr.waitFor();
+            ret = slave.getResults();
 
-            if( exitVal != 0 ) {
-                errorStream.println("None 0 exit value returned by the slave. val = "+exitVal);
+            if( ret == null ) {
+                if( slave.getProtocolError() != null )
+                    errorStream.println("Bad message from slave: "+slave.getProtocolError());
+                else
+                    errorStream.println("Slave stopped before it finished its job.");
+            }
 
-                // see if the user terminated the slave
-                ret = UtilXmlSerialization.deserializeXml("slave_results.xml");
-                if( ret == null || ret.getRequestID() != requestID ) {
-                    ret = null;
-                }
+            if( pool != null ) {
+                pool.release(slave,ret);
             } else {
-                // read in the results from the slave
-                ret = UtilXmlSerialization.deserializeXml("slave_results.xml");
-
-                // make sure these results are not stale
-                if( ret == null ) {
-                    errorStream.println("exitVal = "+exitVal+"  Can't found slave_results.xml!");
-                    ret = null;
-                } else if( ret.getRequestID() != requestID ) {
-                    errorStream.println("exitVal = "+exitVal+"  Stale request ID");
-                    ret = null;
+                // shutdown waits for the slave to exit so everything it printed will have been copied
+                slave.shutdown();
+                int exitVal = slave.getProcess().exitValue();
+                if( exitVal != 0 ) {
+                    errorStream.println("None 0 exit value returned by the slave. val = "+exitVal);
                 }
+                if( ret != null )
+                    readPerfCounters(ret);
             }
         } else {
             errorStream.println("BenchmarkTools: Killing a frozen slave.");
             System.out.println("BenchmarkTools: Killing a frozen slave.");
             // kill the frozen process
-            pr.destroy();
-            pr.waitFor();
+            slave.kill();
 
             // report that there is no results because the slave froze
             System.out.println("Frozen slave is dead.");
             ret = new EvaluatorSlave.Results();
             ret.failed = EvaluatorSlave.FailReason.FROZEN;
         }
-        
-        // close the IO streams
-        input.close();
-        error.close();
-        pr.getOutputStream().close();
 
-        // delete temporary files
-        cleanup();
+        if( perfOutput != null )
+            perfOutput.delete();
 
         return ret;
     }
 
     /**
-     * Delete temporary files that it created to pass information between the master and the slave.
+     * Adds the hardware counters written by 'perf stat' to the results, if the slave was launched with perf
      */
-    private static void cleanup() {
-        if( !new File("case.xml").delete() ) {
-            System.out.println("Couldn't delete case.xml");
-        }
+    private void readPerfCounters( EvaluatorSlave.Results results ) {
+        if( perfOutput == null )
+            return;
 
-        if( !new File("slave_results.xml").delete() ) {
-            System.out.println("Couldn't delete slave_results.xml");
-        }
+        ProcessCounters counters = results.counters != null ? results.counters : new ProcessCounters();
+        if( ProcessProbe.readPerf(perfOutput,counters) )
+            results.counters = counters;
     }
 
     /**
@@ -19,19 +19,15 @@
 
 package jmbench.tools;
 
-import jmbench.tools.stability.UtilXmlSerialization;
-
-import java.io.FileNotFoundException;
-import java.io.Serializable;
-import java.util.ArrayList;
+import java.io.*;
 import java.util.List;
 
 
 /**
  * <p>
  * EvaluatorSlave is a class that evaluates the performance of an algorithm for a specific
- * operation against random inputs of different sizes.  The results are output as an xml
- * file.
+ * operation against random inputs of different sizes.  The results are sent back to the master
+ * as they are computed.
  * </p>
  * <p>
  * Processing can stop if: 1) All the trials have been processed.  2) A single trial takes too long.
@@ -46,6 +42,12 @@ import java.util.List;
  * other trials will also take too long.  The max time is to prevent pathological cases where any single
  * trial doesn't take the max time, but running through everything just is too slow.
  * </p>
+ * <p>
+ * The slave talks to the master using {@link SlaveProtocol}.  Jobs are read from standard in and results
+ * are written to standard out as soon as each trial finishes.  Anything printed by the slave or the library
+ * being tested is redirected to standard error so that it can't corrupt the protocol.  The slave keeps
+ * processing jobs until the master tells it to quit, which allows {@link SlavePool} to reuse it.
+ * </p>
  *
  * @author Peter Abeles
  */
@@ -53,43 +55,81 @@ public class EvaluatorSlave {
 
     private static final boolean VERBOSE = false;
 
-    private static long requestID;
-
-    public static void main( String args[] ) throws FileNotFoundException {
+    public static void main( String args[] ) throws IOException {
         // catch control-c
 //        install("INT");
 //        install("TERM");
 
-        // parse the input arguments
-        if( args.length != 3 ) {
-            throw new IllegalArgumentException("Unexpected number of arguments");
+        // standard out is reserved for talking to the master
+        ObjectOutputStream out = new ObjectOutputStream(
+                new BufferedOutputStream(new FileOutputStream(FileDescriptor.out)));
+        System.setOut(System.err);
+
+        SlaveProtocol.writeHeader(out);
+        ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(System.in));
+        SlaveProtocol.readHeader(in);
+
+        try {
+            processJobs(in, out);
+        } catch( EOFException e ) {
+            // the master went away
         }
-        String fileName = args[0];
-        int numTrials = Integer.parseInt(args[1]);
-        requestID = Long.parseLong(args[2]);
 
-        // load the plan
-        EvaluationTest eval = UtilXmlSerialization.deserializeXml(fileName);
+        // by calling this exit function the slave will terminate even if a library is poorly
+        // written and has a dangling thread.
+        System.exit(0);
+    }
 
-        if( eval == null ) {
-            System.out.println("Can't deserialize input");
-            writeOutFailure(requestID,FailReason.READ_CONFIG_FILE,null);
-            return;
+    /**
+     * Reads jobs from the master until it is told to quit or the master goes away.
+     */
+    static void processJobs( ObjectInputStream in , ObjectOutputStream out ) throws IOException {
+        while( true ) {
+            byte type = in.readByte();
+
+            if( type == SlaveProtocol.QUIT )
+                break;
+            if( type != SlaveProtocol.JOB )
+                throw new IOException("Unexpected message type "+type);
+
+            long requestID = in.readLong();
+            int numTrials = in.readInt();
+
+            EvaluationTest eval;
+            try {
+                eval = (EvaluationTest)in.readObject();
+            } catch( Exception e ) {
+                // the stream can't be trusted after this
+                System.out.println("Can't deserialize input: "+e);
+                SlaveProtocol.writeFinished(out,requestID,FailReason.READ_CONFIG_FILE,e.toString(),null);
+                break;
+            }
+
+            processJob(eval, numTrials, requestID, out);
         }
+    }
 
+    /**
+     * Evaluates the test and sends the results to the master.
+     */
+    private static void processJob( EvaluationTest eval , int numTrials ,
+                                    long requestID , ObjectOutputStream out ) throws IOException {
         if( VERBOSE ) {
             System.out.println("numTrials = "+numTrials);
             eval.printInfo();
         }
 
+        // what the operating system was doing before the job started
+        ProcessCounters before = ProcessProbe.readSelf();
+
         // evalute
         try {
-            Results r = evaluationLoop(numTrials, eval);
+            FailReason fail = evaluationLoop(numTrials, eval, requestID, out);
 
-            // save the results
             if( VERBOSE ) System.out.println("Slave done");
-            r.requestID = requestID;
-            UtilXmlSerialization.serializeXml(r,"slave_results.xml");
+            SlaveProtocol.writeFinished(out,requestID,fail,null,jobCounters(before));
+        } catch( IOException e ) {
+            throw e;
         } catch( Exception e ) {
             e.printStackTrace();
             String message = e.toString() +"\n";
@@ -97,15 +137,21 @@ public class EvaluatorSlave {
             for( StackTraceElement s : stack ) {
                 message += s.toString()+"\n";
             }
-            writeOutFailure(requestID,FailReason.MISC_EXCEPTION,message);
+            SlaveProtocol.writeFinished(out,requestID,FailReason.MISC_EXCEPTION,message,null);
         } catch( OutOfMemoryError e ) {
             if( VERBOSE) System.out.println("OutOfMemoryError: Slave is out of memory!");
-            writeOutFailure(requestID,FailReason.OUT_OF_MEMORY,null);
+            SlaveProtocol.writeFinished(out,requestID,FailReason.OUT_OF_MEMORY,null,null);
         }
+    }
 
-        // by calling this exit function the slave will terminate even if a library is poorly
-        // written and has a dangling thread.
-        System.exit(0);
+    /**
+     * Operating system counters for what happened since 'before' was read.  null if they aren't available.
+     */
+    private static ProcessCounters jobCounters( ProcessCounters before ) {
+        ProcessCounters after = ProcessProbe.readSelf();
+        if( before == null || after == null )
+            return null;
+        return after.difference(before);
     }
 
 //    public static MySignalHandler install(String signalName) {
@@ -149,26 +195,19 @@ public class EvaluatorSlave {
 //        }
 //    }
 
-    private static void writeOutFailure( long requestID , FailReason reason , String message ) throws FileNotFoundException {
-        Results r = new Results();
-        r.failed = reason;
-        r.requestID = requestID;
-        r.detailedError = message;
-        UtilXmlSerialization.serializeXml(r,"slave_results.xml");
-    }
-
     /**
-     * Evaluate each algorithm several times and result the results.
+     * Evaluate each algorithm several times and send the results to the master as they are computed.
+     *
+     * @return Why it stopped early or null if all the trials were processed
      */
-    private static Results evaluationLoop(int numTrials, EvaluationTest eval) {
+    private static FailReason evaluationLoop( int numTrials, EvaluationTest eval ,
+                                              long requestID , ObjectOutputStream out ) throws IOException {
         // make sure it is in the correct state
         eval.init();
 
         // How long does it allow each test to run for
         long maximumRuntime = eval.getMaximumRuntime();
 
-        List<TestResults> results = new ArrayList<TestResults>();
-
         FailReason fail = null;
 
         for( int i = 0; i < numTrials; i++ ) {
@@ -181,7 +220,7 @@ public class EvaluatorSlave {
             long after = System.currentTimeMillis();
 
             if( VERBOSE ) System.out.print("  results = "+r);
-            results.add(r);
+            SlaveProtocol.writeResult(out,requestID,r);
 
             if( maximumRuntime > -1 && (after-before) > maximumRuntime) {
                 fail = FailReason.TOO_SLOW;
@@ -195,11 +234,7 @@ public class EvaluatorSlave {
             if( VERBOSE ) System.out.println("  DT = "+(after-before));
         }
 
-        Results r = new Results();
-        r.results = results;
-        r.failed = fail;
-
-        return r;
+        return fail;
     }
 
     /**
@@ -219,6 +254,9 @@ public class EvaluatorSlave {
 
         public String detailedError;
 
+        // what the operating system says the slave did while processing the job.  null if unknown
+        public ProcessCounters counters;
+
         public List<TestResults> getResults() {
             return results;
         }
@@ -250,6 +288,14 @@ public class EvaluatorSlave {
         public void setDetailedError(String detailedError) {
             this.detailedError = detailedError;
         }
+
+        public ProcessCounters getCounters() {
+            return counters;
+        }
+
+        public void setCounters(ProcessCounters counters) {
+            this.counters = counters;
+        }
     }
 
     public static enum FailReason
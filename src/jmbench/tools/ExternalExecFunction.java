@@ -22,9 +22,9 @@ package jmbench.tools;
 import java.io.*;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.Date;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.Future;
 
 /**
  * Launches a new VM to call a function and returns the result.  Useful when a jar should not be loaded
@@ -52,10 +52,7 @@ public class ExternalExecFunction {
             Runtime rt = Runtime.getRuntime();
             Process pr = rt.exec(createParams(functionName,fileName));
 
-            BufferedReader input = new BufferedReader(new InputStreamReader(pr.getInputStream()));
-            BufferedReader error = new BufferedReader(new InputStreamReader(pr.getErrorStream()));
-
-            if( !monitorSlave(pr,input,error) )
+            if( !monitorSlave(pr) )
                 throw new RuntimeException("Slave failed.");
 
             return (T)readResult(fileName);
@@ -86,56 +83,27 @@ public class ExternalExecFunction {
 
 
     /**
-     * Prints out the standard out and error from the slave and checks its health.  Exits if
-     * the slave has finished or is declared frozen.
+     * Copies the standard out and error from the slave while waiting for it to finish.  If it takes too long
+     * it is declared frozen.
      *
      * @rewturn true of successful
      */
-    private boolean monitorSlave(Process pr, BufferedReader input, BufferedReader error)
-            throws IOException, InterruptedException {
+    private boolean monitorSlave(Process pr) throws IOException, InterruptedException {
 
         long mustBeFrozenTime = 5000;
 
-        boolean frozen = false;
-
-        long startTime = System.currentTimeMillis();
-        long lastAliveMessage = startTime;
-        for(;;) {
-
-            printBuffer(error);
+        SlaveSupervisor supervisor = SlaveSupervisor.getInstance();
 
-            if( input.ready() ) {
-                printBuffer(input);
-            } else {
-                Thread.sleep(500);
-            }
+        Future<?> input = supervisor.pump(pr.getInputStream(),System.out);
+        Future<?> error = supervisor.pump(pr.getErrorStream(),System.out);
 
-            try {
-                // exit value throws an exception is the process has yet to stop
-                pr.exitValue();
-                break;
-            } catch( IllegalThreadStateException e) {
-                // check to see if the process is frozen
-                if(System.currentTimeMillis() - startTime > mustBeFrozenTime ) {
-                    frozen = true;
-                    break;
-                }
-
-                // let everyone know its still alive
-                if( System.currentTimeMillis() - lastAliveMessage > 60000 ) {
-                    System.out.println("\nMaster is still alive: "+new Date());
-                    lastAliveMessage = System.currentTimeMillis();
-                }
-            }
-        }
+        boolean frozen = !supervisor.waitForExit(pr,mustBeFrozenTime);
 
         boolean errorFlag = frozen;
 
         // clean up
-        printBuffer(input);
-        printBuffer(error);
-        input.close();
-        error.close();
+        SlaveSupervisor.drain(input,1000);
+        SlaveSupervisor.drain(error,1000);
         pr.getOutputStream().close();
 
         // see if it exited normally
@@ -147,16 +115,6 @@ public class ExternalExecFunction {
         return !errorFlag;
     }
 
-    private void printBuffer(BufferedReader input) throws IOException {
-
-        while( input.ready() ) {
-            int val = input.read();
-            if( val < 0 ) break;
-
-            System.out.print(Character.toChars(val));
-        }
-    }
-
     protected String[] createParams( String functionName , String fileName  ) {
         String app = System.getProperty("java.home")+"/bin/java";
 
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.tools;
+
+import java.io.Serializable;
+
+
+/**
+ * <p>
+ * Operating system counters for a slave process, as read by {@link ProcessProbe}.  Depending on where they came
+ * from they are either a snapshot or the difference between two snapshots.  Counters which could not be read
+ * are set to -1.
+ * </p>
+ *
+ * <p>
+ * Page faults, CPU time and migrations are from the kernel and describe what happened while the job was being
+ * processed.  Cycles, instructions and cache misses come from 'perf stat' and describe the slave's entire life,
+ * including starting up the JavaVM.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ProcessCounters implements Serializable {
+    // page faults which didn't and did require reading from the disk
+    public long minorFaults = -1;
+    public long majorFaults = -1;
+    // context switches summed across all the threads which are still alive
+    public long voluntarySwitches = -1;
+    public long involuntarySwitches = -1;
+    // number of times threads were moved to a different CPU, summed across live threads
+    public long migrations = -1;
+    // CPU time spent in user and kernel space in milliseconds
+    public long userTime = -1;
+    public long systemTime = -1;
+    // number of threads in the process.  This is never differenced, it's the number at the end.
+    public int numThreads = -1;
+
+    // hardware counters from perf
+    public long cycles = -1;
+    public long instructions = -1;
+    public long cacheMisses = -1;
+
+    /**
+     * Returns the counters in 'this' minus the counters in 'before'.  If either is unknown so is the difference.
+     */
+    public ProcessCounters difference( ProcessCounters before ) {
+        ProcessCounters ret = new ProcessCounters();
+        ret.minorFaults = diff(minorFaults,before.minorFaults);
+        ret.majorFaults = diff(majorFaults,before.majorFaults);
+        ret.voluntarySwitches = diff(voluntarySwitches,before.voluntarySwitches);
+        ret.involuntarySwitches = diff(involuntarySwitches,before.involuntarySwitches);
+        ret.migrations = diff(migrations,before.migrations);
+        ret.userTime = diff(userTime,before.userTime);
+        ret.systemTime = diff(systemTime,before.systemTime);
+        ret.numThreads = numThreads;
+        ret.cycles = diff(cycles,before.cycles);
+        ret.instructions = diff(instructions,before.instructions);
+        ret.cacheMisses = diff(cacheMisses,before.cacheMisses);
+        return ret;
+    }
+
+    private static long diff( long after , long before ) {
+        if( after < 0 || before < 0 )
+            return -1;
+        return after - before;
+    }
+
+    /**
+     * Instructions per cycle or -1 if perf wasn't available
+     */
+    public double getInstructionsPerCycle() {
+        if( cycles <= 0 || instructions < 0 )
+            return -1;
+        return (double)instructions/cycles;
+    }
+
+    @Override
+    public String toString() {
+        String ret = "faults "+minorFaults+"/"+majorFaults+" switches "+voluntarySwitches+"/"+involuntarySwitches+
+                " migrations "+migrations+" user "+userTime+" ms system "+systemTime+" ms threads "+numThreads;
+        if( cycles >= 0 )
+            ret += " cycles "+cycles+" instructions "+instructions+" cache misses "+cacheMisses;
+        return ret;
+    }
+
+    public long getMinorFaults() {
+        return minorFaults;
+    }
+
+    public void setMinorFaults(long minorFaults) {
+        this.minorFaults = minorFaults;
+    }
+
+    public long getMajorFaults() {
+        return majorFaults;
+    }
+
+    public void setMajorFaults(long majorFaults) {
+        this.majorFaults = majorFaults;
+    }
+
+    public long getVoluntarySwitches() {
+        return voluntarySwitches;
+    }
+
+    public void setVoluntarySwitches(long voluntarySwitches) {
+        this.voluntarySwitches = voluntarySwitches;
+    }
+
+    public long getInvoluntarySwitches() {
+        return involuntarySwitches;
+    }
+
+    public void setInvoluntarySwitches(long involuntarySwitches) {
+        this.involuntarySwitches = involuntarySwitches;
+    }
+
+    public long getMigrations() {
+        return migrations;
+    }
+
+    public void setMigrations(long migrations) {
+        this.migrations = migrations;
+    }
+
+    public long getUserTime() {
+        return userTime;
+    }
+
+    public void setUserTime(long userTime) {
+        this.userTime = userTime;
+    }
+
+    public long getSystemTime() {
+        return systemTime;
+    }
+
+    public void setSystemTime(long systemTime) {
+        this.systemTime = systemTime;
+    }
+
+    public int getNumThreads() {
+        return numThreads;
+    }
+
+    public void setNumThreads(int numThreads) {
+        this.numThreads = numThreads;
+    }
+
+    public long getCycles() {
+        return cycles;
+    }
+
+    public void setCycles(long cycles) {
+        this.cycles = cycles;
+    }
+
+    public long getInstructions() {
+        return instructions;
+    }
+
+    public void setInstructions(long instructions) {
+        this.instructions = instructions;
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses;
+    }
+
+    public void setCacheMisses(long cacheMisses) {
+        this.cacheMisses = cacheMisses;
+    }
+}
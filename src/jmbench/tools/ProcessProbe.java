@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.tools;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * <p>
+ * Reads operating system counters for a process from Linux's /proc file system.  /proc/&lt;pid&gt;/stat
+ * provides page faults and CPU time, /proc/&lt;pid&gt;/status the number of threads and context switches,
+ * and /proc/&lt;pid&gt;/sched the number of CPU migrations.  Context switches and migrations are tracked for
+ * each thread, so they are summed across all the threads in /proc/&lt;pid&gt;/task.
+ * </p>
+ *
+ * <p>
+ * Hardware counters are read by launching the slave with 'perf stat', see {@link #createPerfCommand}.
+ * On systems without /proc or perf the counters are simply not available and the benchmark runs as usual.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ProcessProbe {
+
+    // Units /proc reports CPU time in.  The kernel always uses 100 for the value exported to user space.
+    public static final int CLOCK_TICKS = 100;
+
+    // events perf is asked to count
+    public static final String PERF_EVENTS = "cycles,instructions,cache-misses";
+
+    // is perf installed.  null if it hasn't been checked yet
+    private static Boolean perfAvailable;
+
+    /**
+     * Reads the counters for the process which is calling this function.
+     */
+    public static ProcessCounters readSelf() {
+        return read("self");
+    }
+
+    /**
+     * Reads the counters of a process.
+     *
+     * @param pid The process's ID or "self"
+     * @return The counters or null if they could not be read, e.g. not running on Linux.
+     */
+    public static ProcessCounters read( String pid ) {
+        File dir = new File("/proc",pid);
+        if( !dir.isDirectory() )
+            return null;
+
+        ProcessCounters ret = new ProcessCounters();
+        try {
+            readStat(new File(dir,"stat"),ret);
+
+            String threads = findValue(new File(dir,"status"),"Threads:");
+            if( threads != null )
+                ret.numThreads = Integer.parseInt(threads);
+
+            // context switches in status and migrations in sched are for a single thread
+            File tasks[] = new File(dir,"task").listFiles();
+            if( tasks == null )
+                tasks = new File[]{dir};
+
+            ret.voluntarySwitches = 0;
+            ret.involuntarySwitches = 0;
+            ret.migrations = 0;
+            for( File t : tasks ) {
+                ret.voluntarySwitches += parseLong(findValue(new File(t,"status"),"voluntary_ctxt_switches:"));
+                ret.involuntarySwitches += parseLong(findValue(new File(t,"status"),"nonvoluntary_ctxt_switches:"));
+                ret.migrations += parseLong(findValue(new File(t,"sched"),"se.nr_migrations"));
+            }
+        } catch( IOException e ) {
+            return null;
+        } catch( RuntimeException e ) {
+            // the format wasn't what was expected
+            return null;
+        }
+
+        return ret;
+    }
+
+    /**
+     * Reads page faults and CPU time from /proc/&lt;pid&gt;/stat.  The process's name can contain spaces
+     * so fields are counted from the closing bracket after the name.
+     */
+    private static void readStat( File file , ProcessCounters counters ) throws IOException {
+        List<String> lines = readLines(file);
+        if( lines.isEmpty() )
+            throw new IOException("Empty stat file");
+
+        String line = lines.get(0);
+        String fields[] = line.substring(line.lastIndexOf(')')+2).split(" ");
+
+        // index 0 is field 3 in the proc man page
+        counters.minorFaults = Long.parseLong(fields[7]);
+        counters.majorFaults = Long.parseLong(fields[9]);
+        counters.userTime = Long.parseLong(fields[11])*1000/CLOCK_TICKS;
+        counters.systemTime = Long.parseLong(fields[12])*1000/CLOCK_TICKS;
+    }
+
+    /**
+     * Finds the line which starts with the key and returns what comes after it, with any ':' removed.
+     *
+     * @return The value or null if the file doesn't exist or the key wasn't found
+     */
+    private static String findValue( File file , String key ) throws IOException {
+        if( !file.exists() )
+            return null;
+
+        for( String line : readLines(file) ) {
+            if( line.startsWith(key) ) {
+                String value = line.substring(key.length()).trim();
+                if( value.startsWith(":") )
+                    value = value.substring(1).trim();
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private static long parseLong( String value ) {
+        if( value == null )
+            return 0;
+        return Long.parseLong(value);
+    }
+
+    private static List<String> readLines( File file ) throws IOException {
+        List<String> ret = new ArrayList<String>();
+        BufferedReader reader = new BufferedReader(new FileReader(file));
+        try {
+            String line;
+            while( (line = reader.readLine()) != null ) {
+                ret.add(line);
+            }
+        } finally {
+            reader.close();
+        }
+        return ret;
+    }
+
+    /**
+     * Checks to see if perf can be launched.  This is only checked the first time it's called.
+     */
+    public static synchronized boolean isPerfAvailable() {
+        if( perfAvailable == null ) {
+            try {
+                Process p = Runtime.getRuntime().exec(new String[]{"perf","--version"});
+                p.getOutputStream().close();
+                perfAvailable = p.waitFor() == 0;
+            } catch( IOException e ) {
+                perfAvailable = false;
+            } catch( InterruptedException e ) {
+                perfAvailable = false;
+            }
+        }
+        return perfAvailable;
+    }
+
+    /**
+     * Arguments which are put in front of a command to have 'perf stat' count hardware events while it runs.
+     *
+     * @param output File perf writes the counters to once the command has exited.
+     */
+    public static List<String> createPerfCommand( File output ) {
+        List<String> ret = new ArrayList<String>();
+        ret.add("perf");
+        ret.add("stat");
+        ret.add("-x");
+        ret.add(",");
+        ret.add("-o");
+        ret.add(output.getAbsolutePath());
+        ret.add("-e");
+        ret.add(PERF_EVENTS);
+        ret.add("--");
+        return ret;
+    }
+
+    /**
+     * Reads the CSV output of 'perf stat -x ,' and saves the counters.  Events perf couldn't count, e.g. because
+     * the hardware or kernel doesn't allow it, are left as unknown.
+     *
+     * @return true if the file could be read.
+     */
+    public static boolean readPerf( File file , ProcessCounters counters ) {
+        if( !file.exists() )
+            return false;
+
+        try {
+            for( String line : readLines(file) ) {
+                if( line.length() == 0 || line.startsWith("#") )
+                    continue;
+                String fields[] = line.split(",");
+                if( fields.length < 3 )
+                    continue;
+
+                long value;
+                try {
+                    value = Long.parseLong(fields[0].trim());
+                } catch( NumberFormatException e ) {
+                    // <not counted> or <not supported>
+                    continue;
+                }
+
+                // event names can have a modifier at the end, e.g. cycles:u
+                String event = fields[2].split(":")[0].trim();
+                if( event.equals("cycles") )
+                    counters.cycles = value;
+                else if( event.equals("instructions") )
+                    counters.instructions = value;
+                else if( event.equals("cache-misses") )
+                    counters.cacheMisses = value;
+            }
+        } catch( IOException e ) {
+            return false;
+        }
+        return true;
+    }
+}
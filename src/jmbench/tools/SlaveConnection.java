@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package jmbench.tools;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+
+/**
+ * <p>
+ * Master side of the connection to a {@link EvaluatorSlave} process.  Jobs are sent through the slave's
+ * standard in and results are read from its standard out by a background thread using {@link SlaveProtocol}.
+ * Anything the slave prints is sent to its standard error, which is copied to the master's standard out
+ * by {@link SlaveSupervisor} as soon as it arrives.
+ * </p>
+ *
+ * <p>
+ * A connection can process several jobs, one at a time, which is how {@link SlavePool} reuses slaves.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SlaveConnection {
+    // arguments that were used to launch the JavaVM
+    String[] command;
+    // the slave's working directory.  null for the current directory
+    File directory;
+
+    Process process;
+    // copies the slave's standard error
+    Future<?> errorPump;
+    // used to send jobs to the slave
+    ObjectOutputStream control;
+    // reads messages from the slave
+    Thread reader;
+
+    // number of jobs it has been given
+    int numJobs;
+
+    //------------ The state of the current job.  Synchronized on this
+    long requestID;
+    List<TestResults> results = new ArrayList<TestResults>();
+    boolean finished;
+    EvaluatorSlave.FailReason failed;
+    String detailedError;
+    // operating system counters for the job
+    ProcessCounters counters;
+    // true if the slave's output has been closed
+    boolean closed;
+    // description of what went wrong if the slave sent something it shouldn't have
+    String protocolError;
+
+    public SlaveConnection( String[] command , File directory ) throws IOException {
+        this(command,directory,System.out);
+    }
+
+    /**
+     * Launches a new slave.
+     *
+     * @param command Command used to launch the JavaVM.
+     * @param directory The slave's working directory.  null for the current directory.
+     * @param outputs Where text printed by the slave is written to.
+     */
+    public SlaveConnection( String[] command , File directory , PrintStream ...outputs ) throws IOException {
+        this.command = command.clone();
+        this.directory = directory;
+
+        process = Runtime.getRuntime().exec(command,null,directory);
+
+        errorPump = SlaveSupervisor.getInstance().pump(process.getErrorStream(),outputs);
+        connect(process.getInputStream(),process.getOutputStream());
+    }
+
+    /**
+     * Talks to a slave through the provided streams instead of launching a new one.  Used for testing.
+     *
+     * @param slaveOutput The slave's standard out
+     * @param slaveInput The slave's standard in
+     */
+    SlaveConnection( InputStream slaveOutput , OutputStream slaveInput ) throws IOException {
+        connect(slaveOutput,slaveInput);
+    }
+
+    private void connect( final InputStream slaveOutput , OutputStream slaveInput ) throws IOException {
+        control = new ObjectOutputStream(new BufferedOutputStream(slaveInput));
+        SlaveProtocol.writeHeader(control);
+
+        reader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                readLoop(slaveOutput);
+            }
+        },"slave-reader");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * Tells the slave to start processing a job.  Results from any previous job are discarded.
+     */
+    public void submit( long requestID , int numTrials , EvaluationTest test ) throws IOException {
+        synchronized( this ) {
+            this.requestID = requestID;
+            results = new ArrayList<TestResults>();
+            finished = false;
+            failed = null;
+            detailedError = null;
+            counters = null;
+            numJobs++;
+        }
+        SlaveProtocol.writeJob(control,requestID,numTrials,test);
+    }
+
+    /**
+     * Reads messages from the slave until its output is closed.  Messages which don't belong to the current
+     * job are stale and ignored.
+     */
+    private void readLoop( InputStream slaveOutput ) {
+        try {
+            ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(slaveOutput));
+            SlaveProtocol.readHeader(in);
+
+            while( true ) {
+                byte type = in.readByte();
+                long id = in.readLong();
+
+                if( type == SlaveProtocol.RESULT ) {
+                    TestResults r = (TestResults)in.readObject();
+                    synchronized( this ) {
+                        if( id == requestID )
+                            results.add(r);
+                    }
+                } else if( type == SlaveProtocol.FINISHED ) {
+                    EvaluatorSlave.FailReason reason = (EvaluatorSlave.FailReason)in.readObject();
+                    String message = (String)in.readObject();
+                    ProcessCounters c = (ProcessCounters)in.readObject();
+                    synchronized( this ) {
+                        if( id == requestID ) {
+                            failed = reason;
+                            detailedError = message;
+                            counters = c;
+                            finished = true;
+                            notifyAll();
+                        }
+                    }
+                } else {
+                    throw new IOException("Unknown message type "+type);
+                }
+            }
+        } catch( EOFException ignore ) {
+        } catch( Exception e ) {
+            synchronized( this ) {
+                protocolError = e.toString();
+            }
+        } finally {
+            synchronized( this ) {
+                closed = true;
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Returns true if the slave has finished the current job
+     */
+    public synchronized boolean isJobFinished() {
+        return finished;
+    }
+
+    /**
+     * Blocks until the slave has finished its current job, stopped sending messages, or the timeout elapsed.
+     *
+     * @param timeout Maximum amount of time it will wait in milliseconds.
+     * @return true if the job is finished or the slave stopped, false if it timed out.
+     */
+    public boolean waitForJob( long timeout ) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeout;
+
+        synchronized( this ) {
+            while( !finished && !closed ) {
+                long remaining = deadline - System.currentTimeMillis();
+                if( remaining <= 0 )
+                    return false;
+                wait(remaining);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Waits for everything the slave has printed to be copied.  Returns once the slave has closed its
+     * standard error or the timeout has elapsed.
+     */
+    public void drainOutput( long timeout ) {
+        SlaveSupervisor.drain(errorPump,timeout);
+    }
+
+    /**
+     * Returns true if the slave is no longer sending anything
+     */
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Returns the results of the current job or null if it has yet to finish.
+     */
+    public synchronized EvaluatorSlave.Results getResults() {
+        if( !finished )
+            return null;
+
+        EvaluatorSlave.Results ret = new EvaluatorSlave.Results();
+        ret.requestID = requestID;
+        ret.failed = failed;
+        ret.detailedError = detailedError;
+        ret.counters = counters;
+        // measurements up to the point it became too slow are still valid
+        if( failed == null || failed == EvaluatorSlave.FailReason.TOO_SLOW )
+            ret.results = results;
+        return ret;
+    }
+
+    /**
+     * Results which have been streamed back by the slave for the current job so far.
+     */
+    public synchronized List<TestResults> getPartialResults() {
+        return new ArrayList<TestResults>(results);
+    }
+
+    public synchronized String getProtocolError() {
+        return protocolError;
+    }
+
+    public boolean isAlive() {
+        try {
+            process.exitValue();
+            return false;
+        } catch( IllegalThreadStateException e ) {
+            return true;
+        }
+    }
+
+    /**
+     * Politely asks the slave to exit, giving it a chance to clean up, and kills it if it doesn't.
+     */
+    public void shutdown() {
+        try {
+            SlaveProtocol.writeQuit(control);
+        } catch( IOException ignore ) {
+            // it's probably already dead
+        }
+        try {
+            SlaveSupervisor.getInstance().waitForExit(process,1000);
+        } catch (InterruptedException ignore) {}
+        kill();
+    }
+
+    /**
+     * Forcibly kills the slave and closes its streams.
+     */
+    public void kill() {
+        process.destroy();
+        try {
+            process.waitFor();
+            reader.join(1000);
+            drainOutput(1000);
+            control.close();
+        } catch (InterruptedException ignore) {
+        } catch (IOException ignore) {
+        }
+    }
+
+    public Process getProcess() {
+        return process;
+    }
+
+    public int getNumJobs() {
+        return numJobs;
+    }
+
+    public String[] getCommand() {
+        return command;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+}
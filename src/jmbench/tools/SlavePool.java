@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package jmbench.tools;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * <p>
+ * Keeps a small number of long lived {@link EvaluatorSlave} processes around so that they can be reused
+ * across blocks.  Slaves are only reused if they were launched with the exact same JavaVM arguments,
+ * e.g. same classpath and heap size, in the same directory.  Jobs are sent to a slave through
+ * its {@link SlaveConnection}.
+ * </p>
+ *
+ * <p>
+ * After each job the {@link SlaveRecyclePolicy} is checked to see if the slave can still be trusted.
+ * If not it is killed and a new one will be launched the next time one is requested.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SlavePool {
+
+    // maximum number of slaves which can be alive at any one time
+    private int maxSlaves;
+
+    // decides when a slave should be thrown away
+    private SlaveRecyclePolicy policy;
+
+    // slaves which are alive and not processing a job
+    private List<SlaveConnection> idle = new ArrayList<SlaveConnection>();
+
+    public SlavePool( int maxSlaves , SlaveRecyclePolicy policy ) {
+        if( maxSlaves <= 0 )
+            throw new IllegalArgumentException("Must be able to have at least one slave");
+
+        this.maxSlaves = maxSlaves;
+        this.policy = policy == null ? SlaveRecyclePolicy.createDefault() : policy;
+    }
+
+    /**
+     * Returns a slave which was launched with the specified command.  If no idle slave matches then a
+     * new one is launched.  If the pool is full the oldest idle slave is killed first.
+     *
+     * @param command Command used to launch the JavaVM.
+     * @param directory The slave's working directory.  null for the current directory.
+     * @return A slave which is ready to process a job.
+     */
+    public SlaveConnection acquire( String[] command , File directory ) throws IOException {
+        for( int i = 0; i < idle.size(); i++ ) {
+            SlaveConnection w = idle.get(i);
+            if( Arrays.equals(w.command, command) && sameDirectory(w.directory,directory) ) {
+                idle.remove(i);
+                if( w.isAlive() && !w.isClosed() )
+                    return w;
+                w.kill();
+                break;
+            }
+        }
+
+        // make room for the new slave
+        while( idle.size() >= maxSlaves ) {
+            idle.remove(0).shutdown();
+        }
+
+        return new SlaveConnection(command,directory);
+    }
+
+    private static boolean sameDirectory( File a , File b ) {
+        if( a == null || b == null )
+            return a == b;
+        return a.getAbsoluteFile().equals(b.getAbsoluteFile());
+    }
+
+    /**
+     * Returns the slave to the pool once it is done with its job.  Depending on how the job went
+     * it might be killed instead of being reused.
+     *
+     * @param w The slave.
+     * @param results Results from the job it just finished.  null if there are no results.
+     */
+    public void release( SlaveConnection w , EvaluatorSlave.Results results ) {
+        if( !w.isAlive() || w.isClosed() ) {
+            w.kill();
+        } else if( policy.shouldRecycle(w.numJobs, results) ) {
+            w.shutdown();
+        } else {
+            idle.add(w);
+        }
+    }
+
+    /**
+     * Kills all the slaves in the pool
+     */
+    public void shutdown() {
+        for( SlaveConnection w : idle ) {
+            w.shutdown();
+        }
+        idle.clear();
+    }
+
+    public SlaveRecyclePolicy getPolicy() {
+        return policy;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package jmbench.tools;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+
+/**
+ * <p>
+ * Binary protocol used by the master and {@link EvaluatorSlave} to talk to each other.  The master writes
+ * to the slave's standard in and the slave writes to its standard out.  Both directions are Java object
+ * streams which start with {@link #MAGIC} and {@link #VERSION}, followed by messages.  Each message is a
+ * single byte which identifies its type and then its contents.
+ * </p>
+ *
+ * <p>
+ * Master to slave:
+ * <DL>
+ * <DT> {@link #JOB}
+ *   <DD> requestID (long), number of trials (int), {@link EvaluationTest}
+ * <DT> {@link #QUIT}
+ *   <DD> no contents.  The slave exits.
+ * </DL>
+ * Slave to master:
+ * <DL>
+ * <DT> {@link #RESULT}
+ *   <DD> requestID (long), {@link TestResults}.  Sent as soon as each trial is done.
+ * <DT> {@link #FINISHED}
+ *   <DD> requestID (long), {@link EvaluatorSlave.FailReason} or null, detailed error or null,
+ *        {@link ProcessCounters} for the job or null.
+ * </DL>
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SlaveProtocol {
+
+    public static final int MAGIC = 0x4A4D4253;
+    public static final int VERSION = 2;
+
+    public static final byte JOB = 1;
+    public static final byte QUIT = 2;
+    public static final byte RESULT = 10;
+    public static final byte FINISHED = 11;
+
+    public static void writeHeader( ObjectOutputStream out ) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.flush();
+    }
+
+    /**
+     * Reads the header and makes sure the other end is speaking the same version of the protocol.
+     */
+    public static void readHeader( ObjectInputStream in ) throws IOException {
+        int magic = in.readInt();
+        int version = in.readInt();
+
+        if( magic != MAGIC )
+            throw new IOException("Not a slave protocol stream");
+        if( version != VERSION )
+            throw new IOException("Unsupported protocol version "+version+".  Expected "+VERSION);
+    }
+
+    public static void writeJob( ObjectOutputStream out , long requestID , int numTrials , EvaluationTest test )
+            throws IOException
+    {
+        // the same test instance is sent several times with different settings, don't let the stream
+        // replace it with a reference to the old copy
+        out.reset();
+        out.writeByte(JOB);
+        out.writeLong(requestID);
+        out.writeInt(numTrials);
+        out.writeObject(test);
+        out.flush();
+    }
+
+    public static void writeQuit( ObjectOutputStream out ) throws IOException {
+        out.writeByte(QUIT);
+        out.flush();
+    }
+
+    public static void writeResult( ObjectOutputStream out , long requestID , TestResults results )
+            throws IOException
+    {
+        out.reset();
+        out.writeByte(RESULT);
+        out.writeLong(requestID);
+        out.writeObject(results);
+        out.flush();
+    }
+
+    public static void writeFinished( ObjectOutputStream out , long requestID ,
+                                      EvaluatorSlave.FailReason reason , String detailedError ,
+                                      ProcessCounters counters )
+            throws IOException
+    {
+        out.reset();
+        out.writeByte(FINISHED);
+        out.writeLong(requestID);
+        out.writeObject(reason);
+        out.writeObject(detailedError);
+        out.writeObject(counters);
+        out.flush();
+    }
+}
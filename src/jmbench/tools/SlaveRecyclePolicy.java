@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package jmbench.tools;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Specifies when a pooled slave should be thrown away and replaced by a new JavaVM.  Reusing a slave
+ * avoids startup and warm up costs, but after a failure the state of the slave can no longer be trusted.
+ *
+ * @author Peter Abeles
+ */
+public class SlaveRecyclePolicy implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    // a slave is discarded after it has processed this many jobs.  if <= 0 there is no limit
+    public int maxJobs;
+
+    // a slave is discarded if a job fails for any of these reasons
+    public List<EvaluatorSlave.FailReason> recycleOn = new ArrayList<EvaluatorSlave.FailReason>();
+
+    /**
+     * Default policy.  Slaves are recycled after 50 jobs or if anything goes wrong.
+     */
+    public static SlaveRecyclePolicy createDefault() {
+        SlaveRecyclePolicy ret = new SlaveRecyclePolicy();
+        ret.maxJobs = 50;
+        for( EvaluatorSlave.FailReason r : EvaluatorSlave.FailReason.values() ) {
+            ret.recycleOn.add(r);
+        }
+        return ret;
+    }
+
+    /**
+     * Checks to see if the slave should be discarded after it finished a job.
+     *
+     * @param numJobs Number of jobs the slave has processed.
+     * @param results Results from the most recent job.  null if no results could be read.
+     * @return true if the slave should be discarded.
+     */
+    public boolean shouldRecycle( int numJobs , EvaluatorSlave.Results results ) {
+        if( results == null )
+            return true;
+
+        if( maxJobs > 0 && numJobs >= maxJobs )
+            return true;
+
+        return results.failed != null && recycleOn.contains(results.failed);
+    }
+
+    public int getMaxJobs() {
+        return maxJobs;
+    }
+
+    public void setMaxJobs(int maxJobs) {
+        this.maxJobs = maxJobs;
+    }
+
+    public List<EvaluatorSlave.FailReason> getRecycleOn() {
+        return recycleOn;
+    }
+
+    public void setRecycleOn(List<EvaluatorSlave.FailReason> recycleOn) {
+        this.recycleOn = recycleOn;
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package jmbench.tools;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.Date;
+import java.util.concurrent.*;
+
+
+/**
+ * <p>
+ * Supervises all the slave processes launched by the master.  Instead of polling, output from slaves is
+ * copied by stream pump threads as soon as it arrives and the master blocks until a slave exits or a deadline
+ * passes.  A single instance is shared by everything which launches slaves, so it can supervise several
+ * slaves running at the same time.
+ * </p>
+ *
+ * <p>
+ * While any slave is being waited on a message is periodically printed to let the user know the master is still
+ * alive.  Once {@link #watchKeyboard()} has been called pressing 'q' and enter will exit the application.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SlaveSupervisor {
+
+    // how often it lets the user know it's still alive, in milliseconds
+    public static final long ALIVE_PERIOD = 60000;
+
+    private static SlaveSupervisor instance;
+
+    // runs the stream pumps and waits for processes to exit
+    private ExecutorService workers;
+    // prints the alive message
+    private ScheduledExecutorService scheduler;
+
+    // number of slaves which are being waited on
+    private int numWaiting;
+
+    // has the keyboard thread been started
+    private boolean watchingKeyboard;
+
+    public static synchronized SlaveSupervisor getInstance() {
+        if( instance == null )
+            instance = new SlaveSupervisor();
+        return instance;
+    }
+
+    private SlaveSupervisor() {
+        workers = Executors.newCachedThreadPool(new DaemonFactory("slave-supervisor"));
+        scheduler = Executors.newSingleThreadScheduledExecutor(new DaemonFactory("slave-alive"));
+
+        scheduler.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                if( getNumWaiting() > 0 )
+                    System.out.println("\nMaster is still alive: "+new Date()+"  Press 'q' and enter to quit.");
+            }
+        },ALIVE_PERIOD,ALIVE_PERIOD,TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Starts a thread which reads from the input stream until it is closed and writes everything it reads to
+     * the outputs.
+     *
+     * @return Used to wait for the pump to finish.
+     */
+    public Future<?> pump( final InputStream in , final PrintStream ...outputs ) {
+        return workers.submit(new Runnable() {
+            @Override
+            public void run() {
+                byte buffer[] = new byte[1024];
+                try {
+                    int length;
+                    while( (length = in.read(buffer)) >= 0 ) {
+                        for( PrintStream out : outputs ) {
+                            out.write(buffer,0,length);
+                            out.flush();
+                        }
+                    }
+                } catch( IOException ignore ) {
+                    // the stream was closed
+                }
+            }
+        });
+    }
+
+    /**
+     * Waits for a pump started by {@link #pump} to finish copying.
+     *
+     * @param timeout How long it will wait in milliseconds.
+     */
+    public static void drain( Future<?> pump , long timeout ) {
+        try {
+            pump.get(timeout,TimeUnit.MILLISECONDS);
+        } catch( InterruptedException ignore ) {
+        } catch( ExecutionException ignore ) {
+        } catch( TimeoutException ignore ) {
+        }
+    }
+
+    /**
+     * Blocks until the process exits or the timeout has elapsed.
+     *
+     * @param timeout Maximum amount of time it will wait in milliseconds.  If <= 0 it waits forever.
+     * @return true if the process exited or false if it timed out
+     */
+    public boolean waitForExit( final Process process , long timeout ) throws InterruptedException {
+        final CountDownLatch exited = new CountDownLatch(1);
+
+        workers.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    process.waitFor();
+                } catch( InterruptedException ignore ) {
+                }
+                exited.countDown();
+            }
+        });
+
+        beginWaiting();
+        try {
+            if( timeout <= 0 ) {
+                exited.await();
+                return true;
+            }
+            return exited.await(timeout,TimeUnit.MILLISECONDS);
+        } finally {
+            endWaiting();
+        }
+    }
+
+    /**
+     * Starts a thread which reads the keyboard and exits the application if 'q' is pressed.  Only one thread
+     * is started no matter how many times this is called.
+     */
+    public synchronized void watchKeyboard() {
+        if( watchingKeyboard )
+            return;
+        watchingKeyboard = true;
+
+        Thread t = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    int c;
+                    while( (c = System.in.read()) >= 0 ) {
+                        if( c == 'q' ) {
+                            System.out.println("User requested for the application to quit by pressing 'q'");
+                            System.exit(0);
+                        }
+                    }
+                } catch( IOException ignore ) {
+                }
+            }
+        },"keyboard");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /**
+     * Called when the master starts waiting on a slave
+     */
+    public synchronized void beginWaiting() {
+        numWaiting++;
+    }
+
+    /**
+     * Called when the master is done waiting on a slave
+     */
+    public synchronized void endWaiting() {
+        numWaiting--;
+    }
+
+    public synchronized int getNumWaiting() {
+        return numWaiting;
+    }
+
+    /**
+     * Creates daemon threads so that the supervisor doesn't stop the application from exiting.
+     */
+    private static class DaemonFactory implements ThreadFactory {
+        String name;
+        int count;
+
+        private DaemonFactory(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public synchronized Thread newThread(Runnable r) {
+            Thread t = new Thread(r,name+"-"+(count++));
+            t.setDaemon(true);
+            return t;
+        }
+    }
+}
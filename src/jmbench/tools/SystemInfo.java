@@ -29,6 +29,8 @@ import java.io.Serializable;
  */
 public class SystemInfo implements Serializable {
 
+    private static final long serialVersionUID = 1L;
+
     // The start time according to System.currentTimeMillis()
     private long time;
 
@@ -22,6 +22,7 @@ package jmbench.tools.memory;
 import jmbench.impl.FactoryLibraryDescriptions;
 import jmbench.impl.LibraryDescription;
 import jmbench.tools.SystemInfo;
+import jmbench.tools.stability.UtilBinarySerialization;
 import jmbench.tools.stability.UtilXmlSerialization;
 
 import java.io.File;
@@ -58,8 +59,8 @@ public class MemoryBenchmark {
         SystemInfo info = new SystemInfo();
         info.grabCurrentInfo();
 
-        UtilXmlSerialization.serializeXml(info,directorySave+"/info.xml");
-        UtilXmlSerialization.serializeXml(config,directorySave+"/config.xml");
+        UtilBinarySerialization.saveArtifact(info,directorySave+"/info");
+        UtilBinarySerialization.saveArtifact(config,directorySave+"/config");
 
         long startTime = System.currentTimeMillis();
 
@@ -120,8 +121,8 @@ public class MemoryBenchmark {
     {
         for( LibraryDescription desc : libs ) {
 
-            String outputFile = directorySave+"/"+desc.location.getSaveDirName()+".xml";
-            UtilXmlSerialization.serializeXml(desc,outputFile);
+            String outputFile = directorySave+"/"+desc.location.getSaveDirName();
+            UtilBinarySerialization.saveArtifact(desc,outputFile);
         }
     }
 
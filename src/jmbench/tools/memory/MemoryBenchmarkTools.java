@@ -21,13 +21,14 @@ package jmbench.tools.memory;
 
 import jmbench.tools.EvaluationTest;
 import jmbench.tools.EvaluatorSlave;
+import jmbench.tools.SlaveConnection;
+import jmbench.tools.SlaveSupervisor;
 import jmbench.tools.TestResults;
-import jmbench.tools.stability.UtilXmlSerialization;
 
 import java.io.*;
-import java.util.Date;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.Future;
 
 
 /**
@@ -138,24 +139,23 @@ public class MemoryBenchmarkTools {
         }
 
         try {
-            Runtime rt = Runtime.getRuntime();
-            Process pr = rt.exec(params);
+            SlaveConnection slave = new SlaveConnection(params,null,System.out,errorStream);
 
             long processID = getProcessID("EvaluatorSlave");
 
             if( processID < 0 ) {
                 System.out.println("Get Process ID failed");
                 errorStream.println("  get process ID failed.");
+                slave.kill();
                 return -1;
             }
 
-            BufferedReader input = new BufferedReader(new InputStreamReader(pr.getInputStream()));
-            BufferedReader error = new BufferedReader(new InputStreamReader(pr.getErrorStream()));
+            slave.submit(requestID,1,test);
 
             // print the output from the slave
-            froze = monitorSlave2(test, pr, input, error,processID);
+            froze = monitorSlave2(test, slave, processID);
 
-            cleanUp(froze, pr, input, error, test.getNameOperation());
+            cleanUp(froze, slave, test.getNameOperation());
 
             return memoryUsage;
         } catch (IOException e) {
@@ -166,52 +166,39 @@ public class MemoryBenchmarkTools {
     }
 
     /**
-     * Prints out the standard out and error from the slave and checks its health.  Exits if
-     * the slave has finished or is declared frozen.
+     * Samples the slave's memory usage until it has finished or is declared frozen.  Anything the slave
+     * prints is copied by {@link SlaveSupervisor}.
      */
-    private boolean monitorSlave2(EvaluationTest test, Process pr,
-                                 BufferedReader input, BufferedReader error ,
-                                 long PID )
-            throws IOException, InterruptedException {
+    private boolean monitorSlave2(EvaluationTest test, SlaveConnection slave , long PID )
+            throws InterruptedException {
+
+        SlaveSupervisor supervisor = SlaveSupervisor.getInstance();
 
         boolean frozen = false;
 
         long startTime = System.currentTimeMillis();
-        long lastAliveMessage = startTime;
 
         memoryUsage = 0;
 
-        for(;;) {
-
-            long mem = getMemoryForPid(PID);
-            if( mem > memoryUsage )
-                memoryUsage = mem;
-
-            printError(error);
+        supervisor.beginWaiting();
+        try {
+            for(;;) {
+                long mem = getMemoryForPid(PID);
+                if( mem > memoryUsage )
+                    memoryUsage = mem;
 
-            if( input.ready() ) {
-                printInputBuffer(input);
-            } else {
-                Thread.sleep(samplePeriod);
-            }
+                // wakes up as soon as the slave is done, otherwise it samples again
+                if( slave.waitForJob(samplePeriod) )
+                    break;
 
-            try {
-                // exit value throws an exception is the process has yet to stop
-                pr.exitValue();
-                break;
-            } catch( IllegalThreadStateException e) {
                 // check to see if the process is frozen
                 if(System.currentTimeMillis() - startTime > frozenDefaultTime ) {
                     frozen = true;
                     break;
                 }
-
-                // let everyone know its still alive
-                if( System.currentTimeMillis() - lastAliveMessage > 60000 ) {
-                    System.out.println("\nMaster is still alive: "+new Date());
-                    lastAliveMessage = System.currentTimeMillis();
-                }
             }
+        } finally {
+            supervisor.endWaiting();
         }
         durationMilli = System.currentTimeMillis()-startTime;
         return frozen;
@@ -388,56 +375,33 @@ public class MemoryBenchmarkTools {
     }
 
     private static boolean getProcessInput( Process pr, StringBuffer buff) throws IOException, InterruptedException {
-        long startTime = System.currentTimeMillis();
-
-        BufferedReader input = new BufferedReader(new InputStreamReader(pr.getInputStream()));
+        SlaveSupervisor supervisor = SlaveSupervisor.getInstance();
 
-        boolean worked = true;
-
-        for(;;) {
-            if( input.ready() ) {
-                while( input.ready() ) {
-                    buff.append((char)input.read());
-                }
-            } else {
-                Thread.sleep(50);
-            }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Future<?> pump = supervisor.pump(pr.getInputStream(),new PrintStream(bytes));
 
-            try {
-                // exit value throws an exception is the process has yet to stop
-                pr.exitValue();
-                pr.waitFor();
-                break;
-            } catch( IllegalThreadStateException e) {
-                // check to see if the process is frozen
-                if(System.currentTimeMillis() - startTime > 500 ) {
-                    pr.destroy();
-                    pr.waitFor();
-                    worked = false;
-                    break;
-                }
-            }
+        boolean worked = supervisor.waitForExit(pr,500);
+        if( !worked ) {
+            pr.destroy();
+            pr.waitFor();
         }
 
         // clean up
-        while( input.ready() ) {
-            buff.append((char)input.read());
-        }
+        SlaveSupervisor.drain(pump,500);
         pr.getOutputStream().close();
         pr.getErrorStream().close();
-        input.close();
+        pr.getInputStream().close();
+
+        buff.append(bytes.toString());
         return worked;
     }
 
 
     /**
-     * Writes out an xml file that tells the slave what to run and puts together the runtime
-     * parameters that are passed on to it.
+     * Puts together the runtime parameters that are used to launch the slave.  What the slave
+     * should process is sent to it after it has started.
      */
     private String[] setupSlave(EvaluationTest test) {
-        // write out a file describing what the slave should process.
-        UtilXmlSerialization.serializeXml(test,"case.xml");
-
         // grab the current classpath and add some additional jars
         String classPath = getClassPath();
         String app = System.getProperty("java.home")+"/bin/java";
@@ -445,7 +409,7 @@ public class MemoryBenchmarkTools {
         if(verbose)
             System.out.println("Memory = "+memoryMax+" MB");
 
-        params = new String[10];
+        params = new String[7];
         params[0] = app;
         params[1] = "-server";
         params[2] = "-Xms"+memoryMin+"M";
@@ -453,91 +417,53 @@ public class MemoryBenchmarkTools {
         params[4] = "-classpath";
         params[5] = classPath;
         params[6] = "jmbench.tools.EvaluatorSlave";
-        params[7] = "case.xml";
-        params[8] = Integer.toString(1);
-        params[9] = Long.toString(requestID);
         return params;
     }
 
-    private void printError(BufferedReader error) throws IOException {
-        while( error.ready() ) {
-            int val = error.read();
-            if( val < 0 ) break;
-
-            char []message = Character.toChars(val);
-            System.out.print(message);
-            errorStream.print(message);
-        }
-    }
-
-    private void printInputBuffer(BufferedReader input) throws IOException {
-
-        while( input.ready() ) {
-            int val = input.read();
-            if( val < 0 ) break;
-
-            System.out.print(Character.toChars(val));
-        }
-    }
-
     /**
      * Cleans up after the slave and compiles the results that are returned.
      */
-    private void cleanUp(boolean frozen,
-                         Process pr,
-                         BufferedReader input, BufferedReader error, String nameOp )
-            throws InterruptedException, IOException {
-
-        // flush whatever is left
-        printInputBuffer(input);
-        printError(error);
+    private void cleanUp(boolean frozen, SlaveConnection slave, String nameOp ) {
 
         // now look to see what happened
         if( !frozen ) {
-            // see if it exited normally
-            int exitVal = pr.waitFor();
+            EvaluatorSlave.Results results = slave.getResults();
+
+            slave.shutdown();
 
-            if( exitVal != 0 ) {
-                errorStream.println("None 0 exit value returned by the slave. val = "+exitVal);
+            if( results == null ) {
+                errorStream.println("Slave stopped before it finished its job. exit value = "+
+                        slave.getProcess().exitValue());
+                if( slave.getProtocolError() != null )
+                    errorStream.println("Bad message from slave: "+slave.getProtocolError());
                 failed = true;
-            } else {
-                EvaluatorSlave.Results results = UtilXmlSerialization.deserializeXml("slave_results.xml");
-
-                // make sure these results are not stale
-                if( results == null ) {
-                    errorStream.println("Can't find slave_results.xml");
-                    failed = true;
-                } if( results.getRequestID() != requestID ) {
-                    errorStream.println("Stale request ID");
-                    failed = true;
-                } else if( results.failed != null ) {
-                    if( results.failed == EvaluatorSlave.FailReason.USER_REQUESTED ) {
-                        errorStream.println("    Slave was killed by the user/OS.  Stopping the benchmark.");
-                        errorStream.println("    error message: "+results.detailedError);
-                        System.out.println("  Slave was killed by the user/OS.  Stopping the benchmark.");
-                        System.out.println("    error message: "+results.detailedError);
-                        System.exit(0);
-                    } else if( results.failed != EvaluatorSlave.FailReason.OUT_OF_MEMORY ) {
-                        // don't log out of memory errors since they happen intentionally a lot
-                        errorStream.println("Failed! op = "+nameOp+" reason "+results.failed);
-                        errorStream.println(results.detailedError);
-                        System.out.println("Failed! op = "+nameOp+" reason "+results.failed);
-                        System.out.println(results.detailedError);
-                    }
-                    failed = true;
-                }  else {
-                    // See if the slave caught an error.  Typically this will be the operation isn't supported or
-                    // sanity check failed
-                    for( TestResults tr : results.getResults() ) {
-                        MemoryTest.Results rm = (MemoryTest.Results)tr;
-
-                        if( rm.elapsedTime < 0 ) {
-                            String message = "    Case failed: Operation Not Supported: "+nameOp;
-                            errorStream.println(message);
-                            System.out.println(message);
-                            memoryUsage = -1;
-                            break;
-                        }
+            } else if( results.failed != null ) {
+                if( results.failed == EvaluatorSlave.FailReason.USER_REQUESTED ) {
+                    errorStream.println("    Slave was killed by the user/OS.  Stopping the benchmark.");
+                    errorStream.println("    error message: "+results.detailedError);
+                    System.out.println("  Slave was killed by the user/OS.  Stopping the benchmark.");
+                    System.out.println("    error message: "+results.detailedError);
+                    System.exit(0);
+                } else if( results.failed != EvaluatorSlave.FailReason.OUT_OF_MEMORY ) {
+                    // don't log out of memory errors since they happen intentionally a lot
+                    errorStream.println("Failed! op = "+nameOp+" reason "+results.failed);
+                    errorStream.println(results.detailedError);
+                    System.out.println("Failed! op = "+nameOp+" reason "+results.failed);
+                    System.out.println(results.detailedError);
+                }
+                failed = true;
+            }  else {
+                // See if the slave caught an error.  Typically this will be the operation isn't supported or
+                // sanity check failed
+                for( TestResults tr : results.getResults() ) {
+                    MemoryTest.Results rm = (MemoryTest.Results)tr;
+
+                    if( rm.elapsedTime < 0 ) {
+                        String message = "    Case failed: Operation Not Supported: "+nameOp;
+                        errorStream.println(message);
+                        System.out.println(message);
+                        memoryUsage = -1;
+                        break;
                     }
                 }
             }
@@ -545,34 +471,12 @@ public class MemoryBenchmarkTools {
             errorStream.println("BenchmarkTools: Killing a frozen slave.");
             System.out.println("BenchmarkTools: Killing a frozen slave.");
             // kill the frozen process
-            pr.destroy();
-            pr.waitFor();
+            slave.kill();
 
             // report that there is no results because the slave froze
             System.out.println("Frozen slave is dead.");
             failed = true;
         }
-        
-        // close the IO streams
-        input.close();
-        error.close();
-        pr.getOutputStream().close();
-
-        // delete temporary files
-        cleanup();
-    }
-
-    /**
-     * Delete temporary files that it created to pass information between the master and the slave.
-     */
-    private static void cleanup() {
-        if( !new File("case.xml").delete() ) {
-            System.out.println("Couldn't delete case.xml");
-        }
-
-        if( !new File("slave_results.xml").delete() ) {
-            System.out.println("Couldn't delete slave_results.xml");
-        }
     }
 
     /**
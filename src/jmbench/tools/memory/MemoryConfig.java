@@ -22,13 +22,16 @@ package jmbench.tools.memory;
 import jmbench.impl.FactoryLibraryDescriptions;
 import jmbench.impl.LibraryDescription;
 
+import java.io.Serializable;
 import java.util.List;
 
 
 /**
  * @author Peter Abeles
  */
-public class MemoryConfig {
+public class MemoryConfig implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     // random seed
     public long seed;
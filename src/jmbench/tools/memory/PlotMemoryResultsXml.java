@@ -21,6 +21,7 @@ package jmbench.tools.memory;
 
 import jmbench.plots.MemoryRelativeBarPlot;
 import jmbench.tools.runtime.evaluation.PlotRuntimeResults;
+import jmbench.tools.stability.UtilBinarySerialization;
 import jmbench.tools.stability.UtilXmlSerialization;
 
 import java.io.*;
@@ -57,7 +58,7 @@ public class PlotMemoryResultsXml {
     }
 
     public void plot() {
-        config = UtilXmlSerialization.deserializeXml(directory.getAbsolutePath()+"/../config.xml");
+        config = UtilBinarySerialization.loadArtifact(directory.getAbsolutePath()+"/../config");
         if( config == null )
             throw new RuntimeException("Couldn't load saved benchmark config file");
 
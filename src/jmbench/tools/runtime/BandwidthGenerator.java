@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.tools.runtime;
+
+
+/**
+ * Implemented by generators of operations whose performance is limited by memory bandwidth, such as the BLAS
+ * level-1 and level-2 operations.  The number of bytes which must be transferred is used to convert operations
+ * per second into GB/s, which can be compared against the hardware's peak bandwidth.
+ *
+ * @author Peter Abeles
+ */
+public interface BandwidthGenerator extends InputOutputGenerator {
+
+    /**
+     * The minimum number of bytes a single operation has to read from and write to memory.
+     *
+     * @param size The size of the matrices or vectors.
+     * @return Number of bytes.
+     */
+    public long getBytesPerOp( int size );
+}
@@ -20,7 +20,19 @@
 package jmbench.tools.runtime;
 
 import jmbench.impl.LibraryConfigure;
+import jmbench.interfaces.BatchPerformanceFactory;
+import jmbench.interfaces.ComplexPerformanceFactory;
+import jmbench.interfaces.ElementWisePerformanceFactory;
+import jmbench.interfaces.FloatPerformanceFactory;
+import jmbench.interfaces.InPlacePerformanceFactory;
+import jmbench.interfaces.IterativeSolverPerformanceFactory;
+import jmbench.interfaces.MatrixStructure;
+import jmbench.interfaces.ReusePerformanceFactory;
 import jmbench.interfaces.RuntimePerformanceFactory;
+import jmbench.interfaces.SparseFormat;
+import jmbench.interfaces.SparseRuntimePerformanceFactory;
+import jmbench.interfaces.StructuredPerformanceFactory;
+import jmbench.interfaces.VectorPerformanceFactory;
 import jmbench.tools.runtime.generator.*;
 
 import java.util.ArrayList;
@@ -31,6 +43,11 @@ import java.util.List;
  * @author Peter Abeles
  */
 public class FactoryRuntimeEvaluationCase {
+    // sizes of the fixed size batch operations
+    public static final int FIXED_SIZES[] = new int[]{2,3};
+    // number of columns in the dense matrix a sparse matrix is multiplied by
+    public static final int SPARSE_DENSE_COLUMNS = 20;
+
     Class<LibraryConfigure> configure;
     Class<RuntimePerformanceFactory> factory;
 
@@ -83,13 +100,185 @@ public class FactoryRuntimeEvaluationCase {
 
         if( config.eigSymm ) ret.add( createEigSymm(configure,factory));
 
+        // variants which write into preallocated outputs
+        if( config.inPlace && InPlacePerformanceFactory.class.isAssignableFrom(factory) ) {
+            if( config.mult ) ret.add( inPlace(createMatrixMult(configure,factory)));
+
+            if( config.add ) ret.add( inPlace(createMatrixAdd(configure,factory)));
+
+            if( config.transposeSquare ) ret.add( inPlace(createTransposeSquare(configure,factory)));
+
+            if( config.scale ) ret.add( inPlace(createScale(configure,factory)));
+
+            if( config.invert ) ret.add( inPlace(createInvert(configure,factory)));
+
+            if( config.invertSymmPosDef ) ret.add( inPlace(createInvertSymmPosDef(configure,factory)));
+
+            if( config.multTransB ) ret.add( inPlace(createMultTranB(configure,factory)));
+
+            if( config.solveExact ) ret.add( inPlace(createSolveEq(configure,factory)));
+
+            if( config.solveOver ) ret.add( inPlace(createSolveOver(configure,factory)));
+        }
+
+        // variants which reuse the decomposition
+        if( config.reuse && ReusePerformanceFactory.class.isAssignableFrom(factory) ) {
+            if( config.chol ) ret.add( reuse(createCholesky(configure,factory)));
+
+            if( config.lu ) ret.add( reuse(createLU(configure,factory)));
+
+            if( config.svd ) ret.add( reuse(createSVD(configure,factory)));
+
+            if( config.qr ) ret.add( reuse(createQR(configure,factory)));
+
+            if( config.eigSymm ) ret.add( reuse(createEigSymm(configure,factory)));
+
+            if( config.solveExact ) ret.add( reuse(createSolveEq(configure,factory)));
+
+            if( config.solveOver ) ret.add( reuse(createSolveOver(configure,factory)));
+        }
+
+        // structured inputs processed as dense matrices and using the library's specialized representation
+        if( config.structured && StructuredPerformanceFactory.class.isAssignableFrom(factory) ) {
+            for( MatrixStructure structure : MatrixStructure.values() ) {
+                if( config.mult ) {
+                    ret.add( structured(createMatrixMult(configure,factory,structure),structure,false));
+                    ret.add( structured(createMatrixMult(configure,factory,structure),structure,true));
+                }
+
+                if( config.solveExact ) {
+                    ret.add( structured(createSolveEq(configure,factory,structure),structure,false));
+                    ret.add( structured(createSolveEq(configure,factory,structure),structure,true));
+                }
+
+                if( config.det ) {
+                    ret.add( structured(createDeterminant(configure,factory,structure),structure,false));
+                    ret.add( structured(createDeterminant(configure,factory,structure),structure,true));
+                }
+
+                if( config.invert ) {
+                    ret.add( structured(createInvert(configure,factory,structure),structure,false));
+                    ret.add( structured(createInvert(configure,factory,structure),structure,true));
+                }
+            }
+        }
+
+        // operations on large sparse matrices in each format
+        if( config.sparse && SparseRuntimePerformanceFactory.class.isAssignableFrom(factory) ) {
+            for( SparseFormat format : SparseFormat.values() ) {
+                ret.add( createSparseMultDense(configure,factory,format));
+
+                ret.add( createSparseMultSparse(configure,factory,format));
+
+                ret.add( createSparseMultVector(configure,factory,format));
+
+                ret.add( createSparseTranspose(configure,factory,format));
+
+                ret.add( createSparseAdd(configure,factory,format));
+            }
+        }
+
+        // iterative solvers for large sparse systems.  CG requires a symmetric positive definite matrix
+        if( config.iterative && IterativeSolverPerformanceFactory.class.isAssignableFrom(factory) ) {
+            for( SparseFormat format : SparseFormat.values() ) {
+                IterativeSolverGenerator poisson = new PoissonGenerator(format,
+                        config.iterativeTolerance,config.iterativeMaxIterations);
+                IterativeSolverGenerator convection = new ConvectionDiffusionGenerator(format,
+                        config.iterativeTolerance,config.iterativeMaxIterations);
+
+                ret.add( createIterativeSolve(configure,factory,"CG","solveCG",poisson));
+                ret.add( createIterativeSolve(configure,factory,"BiCGStab","solveBiCGStab",poisson));
+                ret.add( createIterativeSolve(configure,factory,"GMRES","solveGMRES",poisson));
+
+                ret.add( createIterativeSolve(configure,factory,"BiCGStab","solveBiCGStab",convection));
+                ret.add( createIterativeSolve(configure,factory,"GMRES","solveGMRES",convection));
+            }
+        }
+
+        // BLAS level-1 and level-2 operations, which are limited by memory bandwidth
+        if( config.blas && VectorPerformanceFactory.class.isAssignableFrom(factory) ) {
+            ret.add( createDot(configure,factory));
+
+            ret.add( createAxpy(configure,factory));
+
+            ret.add( createNorm2(configure,factory));
+
+            ret.add( createGemv(configure,factory));
+
+            ret.add( createGemvTrans(configure,factory));
+        }
+
+        // element-wise operations and reductions
+        if( config.elementWise && ElementWisePerformanceFactory.class.isAssignableFrom(factory) ) {
+            ret.add( createElementMult(configure,factory));
+
+            ret.add( createElementDiv(configure,factory));
+
+            ret.add( createElementMap(configure,factory));
+
+            ret.add( createElementMapLoop(configure,factory));
+
+            ret.add( createElementSum(configure,factory));
+
+            ret.add( createElementMax(configure,factory));
+
+            ret.add( createNormF(configure,factory));
+        }
+
+        // single precision versions of common operations, compared against double precision when plotted
+        if( config.singlePrecision && FloatPerformanceFactory.class.isAssignableFrom(factory) ) {
+            ret.add( createMultFloat(configure,factory));
+
+            ret.add( createAddFloat(configure,factory));
+
+            ret.add( createSolveExactFloat(configure,factory));
+
+            ret.add( createSvdFloat(configure,factory));
+        }
+
+        // operations on complex matrices
+        if( config.complex && ComplexPerformanceFactory.class.isAssignableFrom(factory) ) {
+            ret.add( createComplexMult(configure,factory));
+
+            ret.add( createComplexAdd(configure,factory));
+
+            ret.add( createComplexTransposeConj(configure,factory));
+
+            ret.add( createComplexSolve(configure,factory));
+
+            ret.add( createComplexEigHermitian(configure,factory));
+        }
+
+        // batch operations are only evaluated for libraries which implement them
+        if( BatchPerformanceFactory.class.isAssignableFrom(factory) ) {
+            if( config.batchMult ) ret.add( createBatchMult(configure,factory));
+
+            if( config.batchSolve ) ret.add( createBatchSolve(configure,factory));
+
+            if( config.batchFixed ) {
+                for( int size : FIXED_SIZES ) {
+                    if( config.batchMult ) ret.add( createBatchMultFixed(configure,factory,size));
+
+                    if( config.batchSolve ) ret.add( createBatchSolveFixed(configure,factory,size));
+                }
+            }
+        }
+
         return ret;
     }
 
 
     public RuntimeEvaluationCase createMatrixMult( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ) {
+        return createMatrixMult(configure,factory,null);
+    }
+
+    /**
+     * @param structure Structure of the first input.  null for a dense matrix.
+     */
+    public RuntimeEvaluationCase createMatrixMult( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ,
+                                                   MatrixStructure structure ) {
 
-        InputOutputGenerator generator = new MultGenerator();
+        InputOutputGenerator generator = new MultGenerator(structure);
 
         int matDimen[] = createDimenList(config.minMatrixSize, config.maxMatrixSize);
 
@@ -148,8 +337,13 @@ public class FactoryRuntimeEvaluationCase {
     }
 
     public RuntimeEvaluationCase createDeterminant( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ) {
+        return createDeterminant(configure,factory,null);
+    }
+
+    public RuntimeEvaluationCase createDeterminant( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ,
+                                                    MatrixStructure structure ) {
 
-        InputOutputGenerator generator = new DeterminantGenerator();
+        InputOutputGenerator generator = new DeterminantGenerator(structure);
 
         int matDimen[] = createDimenList(config.minMatrixSize, config.maxMatrixSize);
 
@@ -158,8 +352,13 @@ public class FactoryRuntimeEvaluationCase {
     }
 
     public RuntimeEvaluationCase createInvert( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ) {
+        return createInvert(configure,factory,null);
+    }
+
+    public RuntimeEvaluationCase createInvert( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ,
+                                               MatrixStructure structure ) {
 
-        InputOutputGenerator generator = new InvertGenerator();
+        InputOutputGenerator generator = new InvertGenerator(structure);
 
         int matDimen[] = createDimenList(config.minMatrixSize, config.maxMatrixSize);
 
@@ -211,8 +410,13 @@ public class FactoryRuntimeEvaluationCase {
      * The number of unknowns matches the number of equations.
      */
     public RuntimeEvaluationCase createSolveEq( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ) {
+        return createSolveEq(configure,factory,null);
+    }
+
+    public RuntimeEvaluationCase createSolveEq( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ,
+                                                MatrixStructure structure ) {
 
-        InputOutputGenerator generator = new SolveEqGenerator();
+        InputOutputGenerator generator = new SolveEqGenerator(structure);
 
         int matDimen[] = createDimenList(config.minMatrixSize, config.maxMatrixSize);
 
@@ -262,6 +466,385 @@ public class FactoryRuntimeEvaluationCase {
                 factory,generator);
     }
 
+    public RuntimeEvaluationCase createBatchMult( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ) {
+
+        InputOutputGenerator generator = new BatchMultGenerator(config.batchLength);
+
+        int matDimen[] = createDimenRange(config.minBatchMatrixSize, config.maxBatchMatrixSize);
+
+        return new RuntimeEvaluationCase("Batch Mult c=a*b","batchMult",matDimen,configure,
+                factory,generator);
+    }
+
+    public RuntimeEvaluationCase createBatchSolve( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ) {
+
+        InputOutputGenerator generator = new BatchSolveGenerator(config.batchLength);
+
+        int matDimen[] = createDimenRange(config.minBatchMatrixSize, config.maxBatchMatrixSize);
+
+        return new RuntimeEvaluationCase("Batch Solve m=n","batchSolve",matDimen,configure,
+                factory,generator);
+    }
+
+    /**
+     * Fixed size types only exist for a single size, so each size is its own operation.
+     */
+    public RuntimeEvaluationCase createBatchMultFixed( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ,
+                                                       int size ) {
+
+        InputOutputGenerator generator = new BatchMultGenerator(config.batchLength);
+
+        return new RuntimeEvaluationCase("Batch Mult Fixed "+size+"x"+size,"batchMultFixed"+size,new int[]{size},
+                configure,factory,generator);
+    }
+
+    public RuntimeEvaluationCase createBatchSolveFixed( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ,
+                                                        int size ) {
+
+        InputOutputGenerator generator = new BatchSolveGenerator(config.batchLength);
+
+        return new RuntimeEvaluationCase("Batch Solve Fixed "+size+"x"+size,"batchSolveFixed"+size,new int[]{size},
+                configure,factory,generator);
+    }
+
+    public RuntimeEvaluationCase createSparseMultDense( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ,
+                                                        SparseFormat format ) {
+
+        InputOutputGenerator generator = new SparseMultDenseGenerator(format,config.sparseDensity,SPARSE_DENSE_COLUMNS);
+
+        int matDimen[] = createDimenList(config.minSparseSize, config.maxSparseSize);
+
+        return sparse(new RuntimeEvaluationCase("Sparse Mult Dense C=A*B","sparseMultDense",matDimen,configure,
+                factory,generator),format);
+    }
+
+    public RuntimeEvaluationCase createSparseMultSparse( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ,
+                                                         SparseFormat format ) {
+
+        InputOutputGenerator generator = new SparseMultSparseGenerator(format,config.sparseDensity);
+
+        int matDimen[] = createDimenList(config.minSparseSize, config.maxSparseSize);
+
+        return sparse(new RuntimeEvaluationCase("Sparse Mult Sparse C=A*B","sparseMultSparse",matDimen,configure,
+                factory,generator),format);
+    }
+
+    public RuntimeEvaluationCase createSparseMultVector( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ,
+                                                         SparseFormat format ) {
+
+        InputOutputGenerator generator = new SparseMultDenseGenerator(format,config.sparseDensity,1);
+
+        int matDimen[] = createDimenList(config.minSparseSize, config.maxSparseSize);
+
+        return sparse(new RuntimeEvaluationCase("Sparse Mult Vector y=A*x","sparseMultVector",matDimen,configure,
+                factory,generator),format);
+    }
+
+    public RuntimeEvaluationCase createSparseTranspose( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ,
+                                                        SparseFormat format ) {
+
+        InputOutputGenerator generator = new SparseTransposeGenerator(format,config.sparseDensity);
+
+        int matDimen[] = createDimenList(config.minSparseSize, config.maxSparseSize);
+
+        return sparse(new RuntimeEvaluationCase("Sparse Transpose B=A^T","sparseTranspose",matDimen,configure,
+                factory,generator),format);
+    }
+
+    public RuntimeEvaluationCase createSparseAdd( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ,
+                                                  SparseFormat format ) {
+
+        InputOutputGenerator generator = new SparseAddGenerator(format,config.sparseDensity);
+
+        int matDimen[] = createDimenList(config.minSparseSize, config.maxSparseSize);
+
+        return sparse(new RuntimeEvaluationCase("Sparse Add C=A+B","sparseAdd",matDimen,configure,
+                factory,generator),format);
+    }
+
+    public RuntimeEvaluationCase createDot( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ) {
+
+        InputOutputGenerator generator = new DotGenerator();
+
+        int matDimen[] = createDimenList(config.minVectorSize, config.maxVectorSize);
+
+        return new RuntimeEvaluationCase("Dot s=x^T*y","dot",matDimen,configure,
+                factory,generator);
+    }
+
+    public RuntimeEvaluationCase createAxpy( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ) {
+
+        InputOutputGenerator generator = new AxpyGenerator();
+
+        int matDimen[] = createDimenList(config.minVectorSize, config.maxVectorSize);
+
+        return new RuntimeEvaluationCase("Axpy y=alpha*x+y","axpy",matDimen,configure,
+                factory,generator);
+    }
+
+    public RuntimeEvaluationCase createNorm2( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ) {
+
+        InputOutputGenerator generator = new Norm2Generator();
+
+        int matDimen[] = createDimenList(config.minVectorSize, config.maxVectorSize);
+
+        return new RuntimeEvaluationCase("Norm2 s=||x||","norm2",matDimen,configure,
+                factory,generator);
+    }
+
+    public RuntimeEvaluationCase createGemv( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ) {
+
+        InputOutputGenerator generator = new GemvGenerator(false);
+
+        int matDimen[] = createDimenList(config.minMatrixSize, config.maxMatrixSize);
+
+        return new RuntimeEvaluationCase("Gemv y=A*x","gemv",matDimen,configure,
+                factory,generator);
+    }
+
+    public RuntimeEvaluationCase createGemvTrans( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ) {
+
+        InputOutputGenerator generator = new GemvGenerator(true);
+
+        int matDimen[] = createDimenList(config.minMatrixSize, config.maxMatrixSize);
+
+        return new RuntimeEvaluationCase("Gemv y=A^T*x","gemvTrans",matDimen,configure,
+                factory,generator);
+    }
+
+    public RuntimeEvaluationCase createElementMult( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ) {
+
+        InputOutputGenerator generator = new ElementMultGenerator(false);
+
+        int matDimen[] = createDimenList(config.minMatrixSize, config.maxMatrixSize);
+
+        return new RuntimeEvaluationCase("Element Mult C=A.*B","elementMult",matDimen,configure,
+                factory,generator);
+    }
+
+    public RuntimeEvaluationCase createElementDiv( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ) {
+
+        InputOutputGenerator generator = new ElementMultGenerator(true);
+
+        int matDimen[] = createDimenList(config.minMatrixSize, config.maxMatrixSize);
+
+        return new RuntimeEvaluationCase("Element Div C=A./B","elementDiv",matDimen,configure,
+                factory,generator);
+    }
+
+    public RuntimeEvaluationCase createElementMap( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ) {
+
+        InputOutputGenerator generator = new ElementMapGenerator();
+
+        int matDimen[] = createDimenList(config.minMatrixSize, config.maxMatrixSize);
+
+        return new RuntimeEvaluationCase("Element Map B=f(A)","elementMap",matDimen,configure,
+                factory,generator);
+    }
+
+    public RuntimeEvaluationCase createElementMapLoop( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ) {
+
+        InputOutputGenerator generator = new ElementMapGenerator();
+
+        int matDimen[] = createDimenList(config.minMatrixSize, config.maxMatrixSize);
+
+        return new RuntimeEvaluationCase("Element Map Loop B=f(A)","elementMapLoop",matDimen,configure,
+                factory,generator);
+    }
+
+    public RuntimeEvaluationCase createElementSum( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ) {
+
+        InputOutputGenerator generator = new ElementReduceGenerator(ElementReduceGenerator.Reduction.SUM);
+
+        int matDimen[] = createDimenList(config.minMatrixSize, config.maxMatrixSize);
+
+        return new RuntimeEvaluationCase("Element Sum s=sum(A)","elementSum",matDimen,configure,
+                factory,generator);
+    }
+
+    public RuntimeEvaluationCase createElementMax( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ) {
+
+        InputOutputGenerator generator = new ElementReduceGenerator(ElementReduceGenerator.Reduction.MAX);
+
+        int matDimen[] = createDimenList(config.minMatrixSize, config.maxMatrixSize);
+
+        return new RuntimeEvaluationCase("Element Max s=max(A)","elementMax",matDimen,configure,
+                factory,generator);
+    }
+
+    public RuntimeEvaluationCase createNormF( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ) {
+
+        InputOutputGenerator generator = new ElementReduceGenerator(ElementReduceGenerator.Reduction.NORMF);
+
+        int matDimen[] = createDimenList(config.minMatrixSize, config.maxMatrixSize);
+
+        return new RuntimeEvaluationCase("NormF s=||A||_F","normF",matDimen,configure,
+                factory,generator);
+    }
+
+    public RuntimeEvaluationCase createMultFloat( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ) {
+
+        InputOutputGenerator generator = new FloatGenerator(new MultGenerator());
+
+        int matDimen[] = createDimenList(config.minMatrixSize, config.maxMatrixSize);
+
+        return new RuntimeEvaluationCase("Mult Float c=a*b","multFloat",matDimen,configure,
+                factory,generator);
+    }
+
+    public RuntimeEvaluationCase createAddFloat( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ) {
+
+        InputOutputGenerator generator = new FloatGenerator(new AddGenerator());
+
+        int matDimen[] = createDimenList(config.minMatrixSize, config.maxMatrixSize);
+
+        return new RuntimeEvaluationCase("Add Float c=a+b","addFloat",matDimen,configure,
+                factory,generator);
+    }
+
+    public RuntimeEvaluationCase createSolveExactFloat( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ) {
+
+        InputOutputGenerator generator = new FloatGenerator(new SolveEqGenerator());
+
+        int matDimen[] = createDimenList(config.minMatrixSize, config.maxMatrixSize);
+
+        return new RuntimeEvaluationCase("Solve Float m=n","solveExactFloat",matDimen,configure,
+                factory,generator);
+    }
+
+    public RuntimeEvaluationCase createSvdFloat( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ) {
+
+        InputOutputGenerator generator = new FloatGenerator(new SvdGenerator());
+
+        int matDimen[] = createDimenList(config.minMatrixSize, config.maxMatrixSize);
+
+        return new RuntimeEvaluationCase("SVD Float","svdFloat",matDimen,configure,
+                factory,generator);
+    }
+
+    public RuntimeEvaluationCase createComplexMult( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ) {
+
+        InputOutputGenerator generator = new ComplexMultGenerator();
+
+        int matDimen[] = createDimenList(config.minMatrixSize, config.maxMatrixSize);
+
+        return new RuntimeEvaluationCase("Complex Mult c=a*b","complexMult",matDimen,configure,
+                factory,generator);
+    }
+
+    public RuntimeEvaluationCase createComplexAdd( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ) {
+
+        InputOutputGenerator generator = new ComplexAddGenerator();
+
+        int matDimen[] = createDimenList(config.minMatrixSize, config.maxMatrixSize);
+
+        return new RuntimeEvaluationCase("Complex Add c=a+b","complexAdd",matDimen,configure,
+                factory,generator);
+    }
+
+    public RuntimeEvaluationCase createComplexTransposeConj( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ) {
+
+        InputOutputGenerator generator = new ComplexTransposeConjGenerator();
+
+        int matDimen[] = createDimenList(config.minMatrixSize, config.maxMatrixSize);
+
+        return new RuntimeEvaluationCase("Complex Transpose b=a^H","complexTransposeConj",matDimen,configure,
+                factory,generator);
+    }
+
+    public RuntimeEvaluationCase createComplexSolve( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ) {
+
+        InputOutputGenerator generator = new ComplexSolveGenerator();
+
+        int matDimen[] = createDimenList(config.minMatrixSize, config.maxMatrixSize);
+
+        return new RuntimeEvaluationCase("Complex Solve m=n","complexSolve",matDimen,configure,
+                factory,generator);
+    }
+
+    public RuntimeEvaluationCase createComplexEigHermitian( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ) {
+
+        InputOutputGenerator generator = new ComplexEigHermitianGenerator();
+
+        int matDimen[] = createDimenList(config.minMatrixSize, config.maxMatrixSize);
+
+        return new RuntimeEvaluationCase("Complex Eigen Hermitian","complexEigHermitian",matDimen,configure,
+                factory,generator);
+    }
+
+    /**
+     * Solves a large sparse system with an iterative solver.  The size is the number of unknowns.
+     */
+    public RuntimeEvaluationCase createIterativeSolve( Class<LibraryConfigure> configure , Class<RuntimePerformanceFactory> factory ,
+                                                       String solverName , String nameAlgorithm ,
+                                                       IterativeSolverGenerator generator ) {
+
+        int matDimen[] = createDimenList(config.minIterativeSize, config.maxIterativeSize);
+
+        RuntimeEvaluationCase e = new RuntimeEvaluationCase("Iterative "+solverName+" "+generator.getProblemName(),
+                nameAlgorithm,matDimen,configure,factory,generator);
+        e.setSparseFormat(generator.getFormat());
+        e.setOpName(generator.getFormat().getName()+" "+e.getOpName());
+        return e;
+    }
+
+    /**
+     * Changes the case so that it evaluates the variant which writes into preallocated outputs.
+     */
+    private static RuntimeEvaluationCase inPlace( RuntimeEvaluationCase e ) {
+        e.setOpName(e.getOpName()+" Into");
+        e.setNameAlgorithm(e.getNameAlgorithm()+"Into");
+        return e;
+    }
+
+    /**
+     * Changes the case so that it evaluates the variant which reuses the decomposition.
+     */
+    private static RuntimeEvaluationCase reuse( RuntimeEvaluationCase e ) {
+        e.setOpName(e.getOpName()+" Reuse");
+        e.setNameAlgorithm(e.getNameAlgorithm()+"Reuse");
+        return e;
+    }
+
+    /**
+     * Changes the case so that its first input has the specified structure.  If specialized it evaluates the
+     * variant which uses the library's representation for the structure, otherwise the input is processed as a
+     * dense matrix.  The structure's name is added to the operation and file name.
+     */
+    private static RuntimeEvaluationCase structured( RuntimeEvaluationCase e , MatrixStructure structure ,
+                                                     boolean specialized ) {
+        e.setStructure(structure);
+        if( specialized ) {
+            e.setOpName(structure.getName()+" "+e.getOpName());
+            e.setNameAlgorithm(e.getNameAlgorithm()+"Structured");
+        } else {
+            e.setOpName(structure.getName()+" "+e.getOpName()+" Dense");
+        }
+        return e;
+    }
+
+    /**
+     * Changes the case so that its inputs are sparse and in the specified format.  The format's name is added
+     * to the operation and file name.
+     */
+    private RuntimeEvaluationCase sparse( RuntimeEvaluationCase e , SparseFormat format ) {
+        e.setSparseFormat(format);
+        e.setSparseDensity(config.sparseDensity);
+        e.setOpName(format.getName()+" "+e.getOpName());
+        return e;
+    }
+
+    /**
+     * Every size from min to max, inclusive.
+     */
+    private static int[] createDimenRange( int min , int max ) {
+        int ret[] = new int[ max-min+1 ];
+        for( int i = 0; i < ret.length; i++ ) {
+            ret[i] = min+i;
+        }
+        return ret;
+    }
+
     private static int[] createDimenList( int min , int max ) {
         List<Integer> a = new ArrayList<Integer>();
 
@@ -23,6 +23,7 @@ import jmbench.interfaces.BenchmarkMatrix;
 import jmbench.interfaces.MatrixFactory;
 import jmbench.tools.OutputError;
 
+import java.io.Serializable;
 import java.util.Random;
 
 
@@ -35,7 +36,7 @@ import java.util.Random;
  *
  * @author Peter Abeles
  */
-public interface InputOutputGenerator {
+public interface InputOutputGenerator extends Serializable {
 
     /**
      * Creates a set of inputs for each library to process.
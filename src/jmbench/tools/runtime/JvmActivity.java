@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.tools.runtime;
+
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+
+/**
+ * Snapshot of JavaVM activity which can disrupt a measurement: garbage collection, JIT compilation and
+ * class loading.  The difference between a snapshot taken before and after a measurement tells what
+ * happened while it was being timed.
+ *
+ * @author Peter Abeles
+ */
+public class JvmActivity {
+    // total number of garbage collections and the time they took in milliseconds
+    public long gcCount;
+    public long gcTime;
+    // total time spent compiling in milliseconds.  -1 if not supported
+    public long compileTime;
+    // total number of classes loaded
+    public long classesLoaded;
+
+    private static final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    /**
+     * Returns the total number of bytes allocated by the current thread.  Only supported by JavaVMs which provide
+     * com.sun.management.ThreadMXBean, such as HotSpot.
+     *
+     * @return Number of bytes or -1 if not supported
+     */
+    public static long threadAllocatedBytes() {
+        if( !(threads instanceof com.sun.management.ThreadMXBean) )
+            return -1;
+
+        com.sun.management.ThreadMXBean t = (com.sun.management.ThreadMXBean)threads;
+        if( !t.isThreadAllocatedMemorySupported() || !t.isThreadAllocatedMemoryEnabled() )
+            return -1;
+
+        return t.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Reads the current values from the JavaVM
+     */
+    public static JvmActivity capture() {
+        JvmActivity ret = new JvmActivity();
+
+        for( GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans() ) {
+            // -1 is returned if it isn't known
+            ret.gcCount += Math.max(0,gc.getCollectionCount());
+            ret.gcTime += Math.max(0,gc.getCollectionTime());
+        }
+
+        CompilationMXBean compiler = ManagementFactory.getCompilationMXBean();
+        if( compiler != null && compiler.isCompilationTimeMonitoringSupported() )
+            ret.compileTime = compiler.getTotalCompilationTime();
+        else
+            ret.compileTime = -1;
+
+        ClassLoadingMXBean classes = ManagementFactory.getClassLoadingMXBean();
+        ret.classesLoaded = classes.getTotalLoadedClassCount();
+
+        return ret;
+    }
+
+    /**
+     * Returns what happened between the two snapshots
+     */
+    public static JvmActivity difference( JvmActivity before , JvmActivity after ) {
+        JvmActivity ret = new JvmActivity();
+        ret.gcCount = after.gcCount - before.gcCount;
+        ret.gcTime = after.gcTime - before.gcTime;
+        ret.compileTime = before.compileTime < 0 ? -1 : after.compileTime - before.compileTime;
+        ret.classesLoaded = after.classesLoaded - before.classesLoaded;
+        return ret;
+    }
+
+    /**
+     * Checks to see if garbage collection or compilation took up a significant amount of the time while an
+     * operation was being timed.  Operations which allocate their output will often trigger a short GC, which
+     * isn't enough to contaminate the measurement by itself.
+     *
+     * @param elapsedNano How long the measurement took in nanoseconds
+     * @param gcFraction GC which took more than this fraction of the elapsed time is significant
+     * @param compileFraction Compilation which took more than this fraction of the elapsed time is significant
+     */
+    public boolean isContaminated( long elapsedNano , double gcFraction , double compileFraction ) {
+        if( gcTime > 0 && gcTime*1e6 > gcFraction*elapsedNano )
+            return true;
+        return compileTime > 0 && compileTime*1e6 > compileFraction*elapsedNano;
+    }
+
+    /**
+     * Returns true if the same number of garbage collections happened in both.  If a rerun has the same
+     * GC pattern then the operation itself is causing them and running it again won't help.
+     */
+    public boolean sameGcPattern( JvmActivity other ) {
+        return gcCount > 0 && gcCount == other.gcCount;
+    }
+}
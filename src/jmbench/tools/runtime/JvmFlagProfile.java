@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.tools.runtime;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * A named set of flags which are passed to the slave's JavaVM.  When profiles are specified in
+ * {@link RuntimeBenchmarkConfig#jvmProfiles} the benchmark is repeated with each one and the results are saved
+ * in their own directory, so that the effect of garbage collectors and JIT settings can be compared.
+ *
+ * @author Peter Abeles
+ */
+public class JvmFlagProfile implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // name of the profile.  Used to name the directory its results are saved in
+    public String name;
+    // flags passed to the JavaVM
+    public String flags[];
+
+    public JvmFlagProfile( String name , String ...flags ) {
+        this.name = name;
+        this.flags = flags;
+    }
+
+    public JvmFlagProfile() {
+    }
+
+    /**
+     * Profiles for commonly tuned settings.  The first one doesn't change anything and is the baseline.
+     */
+    public static List<JvmFlagProfile> createStandard() {
+        List<JvmFlagProfile> ret = new ArrayList<JvmFlagProfile>();
+
+        ret.add(new JvmFlagProfile("Default"));
+        ret.add(new JvmFlagProfile("ParallelGC","-XX:+UseParallelGC"));
+        ret.add(new JvmFlagProfile("G1","-XX:+UseG1GC"));
+        ret.add(new JvmFlagProfile("ZGC","-XX:+UseZGC"));
+        ret.add(new JvmFlagProfile("NoTiered","-XX:-TieredCompilation"));
+        ret.add(new JvmFlagProfile("LargePages","-XX:+UseLargePages"));
+        ret.add(new JvmFlagProfile("PreTouch","-XX:+AlwaysPreTouch"));
+        ret.add(new JvmFlagProfile("MaxInline70","-XX:MaxInlineSize=70"));
+
+        return ret;
+    }
+
+    /**
+     * Parses a profile from a string in the format "name:flag0,flag1,...".
+     */
+    public static JvmFlagProfile parse( String text ) {
+        int split = text.indexOf(':');
+        if( split <= 0 )
+            throw new IllegalArgumentException("Expected name:flags, not "+text);
+
+        String name = text.substring(0,split);
+        String flags = text.substring(split+1);
+
+        if( flags.length() == 0 )
+            return new JvmFlagProfile(name);
+        return new JvmFlagProfile(name,flags.split(","));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String[] getFlags() {
+        return flags;
+    }
+
+    public void setFlags(String[] flags) {
+        this.flags = flags;
+    }
+
+    @Override
+    public String toString() {
+        String ret = name+":";
+        for( int i = 0; i < flags.length; i++ ) {
+            if( i > 0 )
+                ret += ",";
+            ret += flags[i];
+        }
+        return ret;
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.tools.runtime;
+
+import java.io.Serializable;
+
+
+/**
+ * <p>
+ * Compact histogram of how long individual operations took.  Values in nanoseconds are put into
+ * logarithmic buckets.  Each power of two is split into {@link #SUB_BUCKETS} linear buckets, so the
+ * relative error of any percentile is less than 1/{@link #SUB_BUCKETS}, no matter how large the value is.
+ * </p>
+ *
+ * <p>
+ * Only buckets up to the largest recorded value are stored.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class LatencyHistogram implements Serializable {
+
+    // number of linear buckets each power of two is split into.  Must be a power of two
+    public static final int SUB_BUCKETS = 16;
+    // log2 of SUB_BUCKETS
+    private static final int SUB_BITS = 4;
+
+    // number of values in each bucket
+    public long counts[] = new long[0];
+    // total number of values
+    public long total;
+
+    public LatencyHistogram() {
+    }
+
+    /**
+     * Adds a value to the histogram
+     *
+     * @param nano Duration in nanoseconds
+     */
+    public void record( long nano ) {
+        if( nano < 0 )
+            nano = 0;
+
+        int index = bucketIndex(nano);
+        if( index >= counts.length ) {
+            long tmp[] = new long[ index+1 ];
+            System.arraycopy(counts,0,tmp,0,counts.length);
+            counts = tmp;
+        }
+        counts[index]++;
+        total++;
+    }
+
+    /**
+     * Adds all the values in another histogram to this one
+     */
+    public void add( LatencyHistogram h ) {
+        if( h.counts.length > counts.length ) {
+            long tmp[] = new long[ h.counts.length ];
+            System.arraycopy(counts,0,tmp,0,counts.length);
+            counts = tmp;
+        }
+        for( int i = 0; i < h.counts.length; i++ )
+            counts[i] += h.counts[i];
+        total += h.total;
+    }
+
+    /**
+     * Returns the value at the specified percentile.  The middle of the bucket the percentile falls in
+     * is returned.
+     *
+     * @param percentile From 0 to 100
+     * @return Duration in nanoseconds or NaN if it is empty
+     */
+    public double getPercentile( double percentile ) {
+        if( total == 0 )
+            return Double.NaN;
+
+        long target = (long)Math.ceil(total*percentile/100.0);
+        if( target < 1 )
+            target = 1;
+
+        long sum = 0;
+        for( int i = 0; i < counts.length; i++ ) {
+            sum += counts[i];
+            if( sum >= target )
+                return (bucketLower(i)+bucketLower(i+1))/2.0;
+        }
+        return bucketLower(counts.length);
+    }
+
+    /**
+     * Returns which bucket the value belongs in
+     */
+    public static int bucketIndex( long value ) {
+        if( value < SUB_BUCKETS )
+            return (int)value;
+
+        // position of the highest bit, which is at least SUB_BITS
+        int exponent = 63-Long.numberOfLeadingZeros(value);
+        int shift = exponent-SUB_BITS;
+        int sub = (int)(value >>> shift) - SUB_BUCKETS;
+
+        return (shift+1)*SUB_BUCKETS + sub;
+    }
+
+    /**
+     * The smallest value which will be put into the specified bucket
+     */
+    public static double bucketLower( int index ) {
+        if( index < SUB_BUCKETS )
+            return index;
+
+        int shift = index/SUB_BUCKETS - 1;
+        int sub = index % SUB_BUCKETS;
+
+        return (double)(SUB_BUCKETS + sub)*(1L << shift);
+    }
+
+    /**
+     * Encodes the histogram as a single token with no white space.  Only non-zero buckets are saved,
+     * e.g. "18:5,19:120"
+     */
+    public String encode() {
+        StringBuilder s = new StringBuilder();
+        for( int i = 0; i < counts.length; i++ ) {
+            if( counts[i] == 0 )
+                continue;
+            if( s.length() > 0 )
+                s.append(',');
+            s.append(i).append(':').append(counts[i]);
+        }
+        return s.length() == 0 ? "0:0" : s.toString();
+    }
+
+    /**
+     * Decodes a histogram created by {@link #encode()}
+     */
+    public static LatencyHistogram decode( String text ) {
+        LatencyHistogram h = new LatencyHistogram();
+        for( String pair : text.split(",") ) {
+            String s[] = pair.split(":");
+            int index = Integer.parseInt(s[0]);
+            long count = Long.parseLong(s[1]);
+            if( count == 0 )
+                continue;
+            if( index >= h.counts.length ) {
+                long tmp[] = new long[ index+1 ];
+                System.arraycopy(h.counts,0,tmp,0,h.counts.length);
+                h.counts = tmp;
+            }
+            h.counts[index] += count;
+            h.total += count;
+        }
+        return h;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long[] getCounts() {
+        return counts;
+    }
+
+    public void setCounts(long[] counts) {
+        this.counts = counts;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+}
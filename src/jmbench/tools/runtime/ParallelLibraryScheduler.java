@@ -0,0 +1,426 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package jmbench.tools.runtime;
+
+import jmbench.impl.LibraryDescription;
+import jmbench.tools.stability.UtilBinarySerialization;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+
+/**
+ * <p>
+ * Benchmarks several libraries at the same time.  Each library is run by its own {@link RuntimeBenchmarkLibrary}
+ * and its slaves are pinned with taskset to a set of CPUs which no other library is using.  Single threaded
+ * libraries are packed densely, {@link RuntimeBenchmarkConfig#parallelCoresPerSlave} CPUs each, while
+ * libraries which are {@link LibraryDescription#multiThreaded multi-threaded} are given an entire socket.
+ * </p>
+ *
+ * <p>
+ * A library is only started if the memory its slaves can use fits in what's left of the physical memory.
+ * Libraries are considered largest memory first, but a smaller one is started if the largest doesn't fit.
+ * If a library needs more memory than the system has it is run by itself.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ParallelLibraryScheduler {
+
+    // memory in megabytes used by a slave JavaVM outside of its heap
+    public static final long SLAVE_OVERHEAD = 64;
+    // the heap is increased by this factor when a slave runs out of memory and the case is tried again
+    public static final long RETRY_HEADROOM = 2;
+
+    // where the results be saved to
+    private String directorySave;
+
+    private RuntimeBenchmarkConfig config;
+
+    // list of CPUs in each socket
+    private List<int[]> sockets;
+    // which CPUs are being used.  Indexed by socket then by location in the socket
+    private List<boolean[]> busy = new ArrayList<boolean[]>();
+
+    // total memory available to the slaves in megabytes
+    private long memoryTotal;
+    // memory reserved by libraries which are running
+    private long memoryInUse;
+
+    // can it pin slaves to CPUs
+    private boolean pinning;
+    // flags passed to every slave's JavaVM
+    private String jvmFlags[] = new String[0];
+
+    // libraries which are being benchmarked
+    private List<Job> running = new ArrayList<Job>();
+    // first exception thrown by a library.
+    private Throwable failure;
+
+    public ParallelLibraryScheduler( String directorySave , RuntimeBenchmarkConfig config ) {
+        this.directorySave = directorySave;
+        this.config = config;
+
+        int numCpu = Runtime.getRuntime().availableProcessors();
+        sockets = config.parallelCoresPerSocket > 0 ?
+                splitIntoSockets(numCpu,config.parallelCoresPerSocket) : detectSockets(numCpu);
+        for( int[] s : sockets ) {
+            busy.add(new boolean[s.length]);
+        }
+
+        memoryTotal = config.parallelMemory > 0 ? config.parallelMemory : detectPhysicalMemory()*9/10;
+
+        pinning = isTasksetAvailable();
+        if( !pinning ) {
+            System.out.println("WARNING: taskset could not be found.  Slaves will not be pinned to CPUs.");
+        }
+
+        System.out.println("Parallel libraries: sockets = "+sockets.size()+" CPUs = "+numCpu+" memory = "+memoryTotal+" MB");
+    }
+
+    /**
+     * Flags which are passed to every slave's JavaVM.  See {@link RuntimeBenchmarkLibrary#setJvmFlags(String...)}.
+     */
+    public void setJvmFlags( String ...jvmFlags ) {
+        this.jvmFlags = jvmFlags.clone();
+    }
+
+    /**
+     * Benchmarks all the libraries and returns when they have all finished.
+     */
+    public void process( List<LibraryDescription> libs ) {
+        List<Job> pending = new ArrayList<Job>();
+        for( LibraryDescription desc : libs ) {
+            pending.add(new Job(desc,estimateMemory(desc,config)));
+        }
+
+        // first fit decreasing.  The libraries which need the most memory are the hardest to fit in
+        Collections.sort(pending,new Comparator<Job>() {
+            @Override
+            public int compare(Job a, Job b) {
+                return a.memory < b.memory ? 1 : (a.memory > b.memory ? -1 : 0);
+            }
+        });
+
+        synchronized( this ) {
+            while( !pending.isEmpty() || !running.isEmpty() ) {
+                if( failure != null )
+                    break;
+
+                boolean started = false;
+                for( int i = 0; i < pending.size(); ) {
+                    Job j = pending.get(i);
+                    if( reserve(j,false) ) {
+                        pending.remove(i);
+                        start(j);
+                        started = true;
+                    } else {
+                        i++;
+                    }
+                }
+
+                // nothing is running and nothing fits, so it needs the whole system to itself
+                if( !started && running.isEmpty() && !pending.isEmpty() ) {
+                    Job j = pending.remove(0);
+                    System.out.println("WARNING: "+j.desc.location.getPlotName()+" might need more memory than is available. "+
+                            j.memory+" MB");
+                    reserve(j,true);
+                    start(j);
+                }
+
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+
+            // let the libraries which are still running finish before reporting the error
+            while( !running.isEmpty() ) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+
+        if( failure != null )
+            throw new RuntimeException(failure);
+    }
+
+    /**
+     * Attempts to reserve memory and CPUs for the library.
+     *
+     * @param force If true memory limits are ignored
+     * @return true if it could reserve what the library needs
+     */
+    private boolean reserve( Job j , boolean force ) {
+        if( !force && memoryInUse + j.memory > memoryTotal )
+            return false;
+
+        int found[] = reserveCpus(busy,j.desc.multiThreaded,config.parallelCoresPerSlave);
+        if( found == null )
+            return false;
+
+        j.socket = found[0];
+        j.start = found[1];
+        j.length = found[2];
+        memoryInUse += j.memory;
+        return true;
+    }
+
+    /**
+     * Finds CPUs for a library in the first socket with enough free CPUs and marks them as busy.  A multi-threaded
+     * library gets an entire socket to itself.  Otherwise it gets a block of coresPerSlave CPUs, packed next
+     * to the CPUs which are already in use.
+     *
+     * @param busy Which CPUs are in use, for each socket.  Modified.
+     * @return socket, index of the first CPU in the socket, and number of CPUs.  null if there isn't room.
+     */
+    static int[] reserveCpus( List<boolean[]> busy , boolean multiThreaded , int coresPerSlave ) {
+        for( int socket = 0; socket < busy.size(); socket++ ) {
+            boolean[] b = busy.get(socket);
+
+            int length = multiThreaded ? b.length : Math.min(b.length,Math.max(1,coresPerSlave));
+
+            int start = findFree(b,length);
+            if( start < 0 )
+                continue;
+
+            for( int i = 0; i < length; i++ ) {
+                b[start+i] = true;
+            }
+            return new int[]{socket,start,length};
+        }
+
+        return null;
+    }
+
+    private synchronized void release( Job j ) {
+        boolean[] b = busy.get(j.socket);
+        for( int i = 0; i < j.length; i++ ) {
+            b[j.start+i] = false;
+        }
+        memoryInUse -= j.memory;
+        running.remove(j);
+        notifyAll();
+    }
+
+    /**
+     * Finds the first block of free CPUs with the specified length.  Returns -1 if there is none.
+     */
+    static int findFree( boolean[] busy , int length ) {
+        int run = 0;
+        for( int i = 0; i < busy.length; i++ ) {
+            run = busy[i] ? 0 : run+1;
+            if( run == length )
+                return i-length+1;
+        }
+        return -1;
+    }
+
+    private void start( final Job j ) {
+        final String libOutputDir = directorySave+"/"+j.desc.location.getSaveDirName();
+
+        // save the description so that where this came from can be easily extracted
+        UtilBinarySerialization.saveArtifact(j.desc,libOutputDir);
+
+        final String cpus = createCpuList(sockets.get(j.socket),j.start,j.length);
+        System.out.println("Starting "+j.desc.location.getPlotName()+" on CPUs "+cpus+" memory = "+j.memory+" MB");
+
+        running.add(j);
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    RuntimeBenchmarkLibrary benchmark = new RuntimeBenchmarkLibrary(libOutputDir,j.desc,config);
+                    benchmark.setJvmFlags(jvmFlags);
+                    if( pinning )
+                        benchmark.setCpuAffinity(cpus);
+                    benchmark.performBenchmark();
+                } catch( Throwable e ) {
+                    e.printStackTrace();
+                    synchronized( ParallelLibraryScheduler.this ) {
+                        if( failure == null )
+                            failure = e;
+                    }
+                } finally {
+                    System.out.println("Finished "+j.desc.location.getPlotName());
+                    release(j);
+                }
+            }
+        },"benchmark-"+j.desc.location.getSaveDirName());
+        thread.start();
+    }
+
+    /**
+     * Estimates the most memory in megabytes which the slaves for this library will use at any one time.  The
+     * heap is computed the same way as {@link jmbench.tools.BenchmarkTools} does, with room for the slave being
+     * relaunched with more memory after running out.
+     */
+    public static long estimateMemory( LibraryDescription desc , RuntimeBenchmarkConfig config ) {
+        long heap = config.memoryTrial;
+
+        if( heap <= 0 ) {
+            List<RuntimeEvaluationCase> cases =
+                    new FactoryRuntimeEvaluationCase(desc.configure,desc.factoryRuntime,config).createCases();
+
+            for( RuntimeEvaluationCase c : cases ) {
+                int dimens[] = c.getDimens();
+                if( dimens.length == 0 )
+                    continue;
+                long required = c.getGenerator().getRequiredMemory(dimens[dimens.length-1])/1024/1024+config.memorySlaveBase;
+                heap = Math.max(heap,required);
+            }
+            heap *= Math.max(1,config.memorySlaveScale)*RETRY_HEADROOM;
+        }
+
+        long numSlaves = config.slavePool ? Math.max(1,config.slavePoolSize) : 1;
+
+        return (heap+SLAVE_OVERHEAD)*numSlaves;
+    }
+
+    /**
+     * Creates a list of CPUs in the format used by taskset.
+     */
+    public static String createCpuList( int[] cpus , int start , int length ) {
+        String ret = "";
+        for( int i = 0; i < length; i++ ) {
+            if( i > 0 )
+                ret += ",";
+            ret += cpus[start+i];
+        }
+        return ret;
+    }
+
+    /**
+     * Breaks the CPUs up into sockets of equal size.
+     */
+    public static List<int[]> splitIntoSockets( int numCpu , int cpusPerSocket ) {
+        List<int[]> ret = new ArrayList<int[]>();
+
+        for( int i = 0; i < numCpu; i += cpusPerSocket ) {
+            int s[] = new int[ Math.min(cpusPerSocket,numCpu-i) ];
+            for( int j = 0; j < s.length; j++ ) {
+                s[j] = i+j;
+            }
+            ret.add(s);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Reads which socket each CPU belongs to from /sys.  If that isn't possible all the CPUs are put
+     * in a single socket.
+     */
+    public static List<int[]> detectSockets( int numCpu ) {
+        List<Integer> ids = new ArrayList<Integer>();
+        List<List<Integer>> members = new ArrayList<List<Integer>>();
+
+        for( int cpu = 0; cpu < numCpu; cpu++ ) {
+            File f = new File("/sys/devices/system/cpu/cpu"+cpu+"/topology/physical_package_id");
+            int id;
+            try {
+                BufferedReader reader = new BufferedReader(new FileReader(f));
+                id = Integer.parseInt(reader.readLine().trim());
+                reader.close();
+            } catch( IOException e ) {
+                return splitIntoSockets(numCpu,numCpu);
+            } catch( RuntimeException e ) {
+                return splitIntoSockets(numCpu,numCpu);
+            }
+
+            int index = ids.indexOf(id);
+            if( index < 0 ) {
+                index = ids.size();
+                ids.add(id);
+                members.add(new ArrayList<Integer>());
+            }
+            members.get(index).add(cpu);
+        }
+
+        List<int[]> ret = new ArrayList<int[]>();
+        for( List<Integer> m : members ) {
+            int s[] = new int[ m.size() ];
+            for( int i = 0; i < s.length; i++ ) {
+                s[i] = m.get(i);
+            }
+            ret.add(s);
+        }
+        return ret;
+    }
+
+    /**
+     * Returns the amount of physical memory in megabytes.
+     */
+    public static long detectPhysicalMemory() {
+        // Linux
+        try {
+            BufferedReader reader = new BufferedReader(new FileReader("/proc/meminfo"));
+            String line;
+            while( (line = reader.readLine()) != null ) {
+                if( line.startsWith("MemTotal:") ) {
+                    reader.close();
+                    String words[] = line.split("\\s+");
+                    return Long.parseLong(words[1])/1024;
+                }
+            }
+            reader.close();
+        } catch( IOException ignore ) {
+        }
+
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if( os instanceof com.sun.management.OperatingSystemMXBean ) {
+            return ((com.sun.management.OperatingSystemMXBean)os).getTotalPhysicalMemorySize()/1024/1024;
+        }
+
+        throw new RuntimeException("Can't determine the amount of physical memory.  Specify it in the config.");
+    }
+
+    private static boolean isTasksetAvailable() {
+        return new File("/usr/bin/taskset").exists() || new File("/bin/taskset").exists();
+    }
+
+    /**
+     * A library and the resources it has been given.
+     */
+    private static class Job {
+        LibraryDescription desc;
+        // memory in megabytes
+        long memory;
+
+        // the CPUs it was assigned
+        int socket;
+        int start;
+        int length;
+
+        private Job(LibraryDescription desc, long memory) {
+            this.desc = desc;
+            this.memory = memory;
+        }
+    }
+}
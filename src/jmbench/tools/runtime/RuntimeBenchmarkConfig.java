@@ -21,8 +21,10 @@ package jmbench.tools.runtime;
 
 import jmbench.impl.FactoryLibraryDescriptions;
 import jmbench.impl.LibraryDescription;
+import jmbench.tools.SlaveRecyclePolicy;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 
 
@@ -34,6 +36,8 @@ import java.util.List;
  */
 public class RuntimeBenchmarkConfig implements Serializable {
 
+    private static final long serialVersionUID = 1L;
+
     // random seed used to create matrices used as inputs
     public long seed;
 
@@ -59,6 +63,51 @@ public class RuntimeBenchmarkConfig implements Serializable {
     public boolean transposeTall;
     public boolean transposeWide;
 
+    // operations on batches of small independent matrices.  See BatchPerformanceFactory
+    public boolean batchMult;
+    public boolean batchSolve;
+    // should the batch operations also be evaluated using the library's fixed size matrix types
+    public boolean batchFixed;
+    // number of matrices in each batch
+    public int batchLength;
+    // range of matrix sizes the batch operations are evaluated at
+    public int minBatchMatrixSize;
+    public int maxBatchMatrixSize;
+
+    // should the selected operations also be evaluated writing into preallocated outputs.  See InPlacePerformanceFactory
+    public boolean inPlace;
+    // should the decompositions and solvers also be evaluated reusing the decomposition.  See ReusePerformanceFactory
+    public boolean reuse;
+    // should mult, solve, det and invert also be evaluated with structured inputs.  See StructuredPerformanceFactory
+    public boolean structured;
+    // should operations on large sparse matrices be evaluated.  See SparseRuntimePerformanceFactory
+    public boolean sparse;
+    // fraction of the elements in the sparse inputs which are not zero
+    public double sparseDensity;
+    // range of matrix sizes the sparse operations are evaluated at
+    public int minSparseSize;
+    public int maxSparseSize;
+    // should iterative solvers for large sparse systems be evaluated.  See IterativeSolverPerformanceFactory
+    public boolean iterative;
+    // relative residual the iterative solvers stop at
+    public double iterativeTolerance;
+    // an iterative solver fails if it hasn't converged after this many iterations
+    public int iterativeMaxIterations;
+    // range of the number of unknowns the iterative solvers are evaluated at
+    public int minIterativeSize;
+    public int maxIterativeSize;
+    // should BLAS level-1 and level-2 vector operations be evaluated.  See VectorPerformanceFactory
+    public boolean blas;
+    // range of vector lengths the level-1 operations are evaluated at
+    public int minVectorSize;
+    public int maxVectorSize;
+    // should element-wise operations and reductions be evaluated.  See ElementWisePerformanceFactory
+    public boolean elementWise;
+    // should single precision operations be evaluated.  See FloatPerformanceFactory
+    public boolean singlePrecision;
+    // should operations on complex matrices be evaluated.  See ComplexPerformanceFactory
+    public boolean complex;
+
     // which libraries are to be evaluated
     public List<LibraryDescription> targets;
 
@@ -66,6 +115,12 @@ public class RuntimeBenchmarkConfig implements Serializable {
     public int numBlockTrials;
     // it will stop processing a matrix size if this number of trials has been exceeded
     public int maxTrials;
+    // if true it will move on to the next matrix size once the median's confidence interval is small enough
+    public boolean adaptiveTrials;
+    // when adaptive, the minimum number of trials for each matrix size
+    public int minTrials;
+    // when adaptive, the target width of the median's confidence interval relative to the median
+    public double targetIntervalWidth;
     // the minimum amount of time each trials should last for
     public int trialTime;
     // the maximum amount of time a trial can last for
@@ -90,6 +145,65 @@ public class RuntimeBenchmarkConfig implements Serializable {
     // really doing what it should be doing.
     public boolean sanityCheck;
 
+    // if true slave JavaVMs are kept alive and reused across blocks instead of launching a new one each time
+    public boolean slavePool;
+    // maximum number of live slaves that are kept around for each library
+    public int slavePoolSize;
+    // specifies when a pooled slave is discarded and replaced with a new one
+    public SlaveRecyclePolicy slaveRecycle;
+
+    // if true several libraries are benchmarked at the same time, each pinned to its own set of CPUs
+    public boolean parallelLibraries;
+    // number of CPUs given to each single threaded library.  multi-threaded libraries get an entire socket
+    public int parallelCoresPerSlave;
+    // number of CPUs in each socket.  if <= 0 it is read from the operating system
+    public int parallelCoresPerSocket;
+    // total memory in megabytes that slaves running at the same time can use.
+    // if <= 0 it is computed from the amount of physical memory
+    public int parallelMemory;
+
+    // Before a trial is measured the operation is run in batches until the throughput of the most recent
+    // batches has a coefficient of variation less than this.  if <= 0 there is no warm-up
+    public double warmupTolerance;
+    // number of consecutive batches the coefficient of variation is computed from
+    public int warmupBatches;
+    // the most time in milliseconds which will be spent warming up
+    public int warmupMaxTime;
+
+    // how many times a measurement is repeated if GC or JIT compilation took up a significant part of it
+    public int contaminationReruns;
+
+    // after each trial the latency of individual operations is sampled for this many milliseconds.  0 = off
+    public int latencySampleTime;
+
+    // if more than one, the benchmark is repeated with 1, 2, 4, ... up to this many threads calling each
+    // operation at the same time.  The results for each number of threads are saved in their own directory
+    public int concurrentThreads;
+
+    // maximum number of threads each library can use internally.  <= 0 for the library's default
+    public int libraryThreads;
+    // if true and libraryThreads > 0 the benchmark is repeated with 1, 2, 4, ... up to libraryThreads
+    // threads.  The results for each number of threads are saved in their own directory
+    public boolean libraryThreadSweep;
+
+    // if true slaves are launched with 'perf stat' to count cycles, instructions and cache misses.
+    // ignored if perf isn't installed or slaves are pooled
+    public boolean perfStat;
+
+    // if not empty the benchmark is repeated with each set of JavaVM flags and the results for each are saved
+    // in their own directory.  Profiles which the JavaVM doesn't support are skipped
+    public List<JvmFlagProfile> jvmProfiles;
+
+    // if true the benchmark is run using JMH instead of EvaluatorSlave
+    public boolean jmhBackend;
+    // number of JavaVMs JMH forks for each matrix size
+    public int jmhForks;
+    // number of warm-up and measured iterations in each fork
+    public int jmhWarmupIterations;
+    public int jmhIterations;
+    // how long each JMH iteration lasts for in milliseconds
+    public int jmhIterationTime;
+
     /**
      * This config will process everything
      *
@@ -101,6 +215,9 @@ public class RuntimeBenchmarkConfig implements Serializable {
         config.seed = 0xDEADBEEF;//new Random().nextLong();
         config.numBlockTrials = 5;
         config.maxTrials = 25;
+        config.adaptiveTrials = false;
+        config.minTrials = 5;
+        config.targetIntervalWidth = 0.01;
         config.trialTime = 3000;
         config.maxTrialTime = 600000;
         config.memoryTrial = 0;
@@ -110,13 +227,47 @@ public class RuntimeBenchmarkConfig implements Serializable {
         config.maxMatrixSize = 10000;
         config.minMatrixSize = 2;
         config.sanityCheck = false;
-
-//        config.chol = true;
-//        config.lu = true;
-//        config.qr = true;
+        config.slavePool = false;
+        config.slavePoolSize = 2;
+        config.slaveRecycle = SlaveRecyclePolicy.createDefault();
+        config.parallelLibraries = false;
+        config.parallelCoresPerSlave = 2;
+        config.parallelCoresPerSocket = 0;
+        config.parallelMemory = 0;
+        config.warmupTolerance = 0.02;
+        config.warmupBatches = 3;
+        config.warmupMaxTime = 10000;
+        config.contaminationReruns = 2;
+        config.latencySampleTime = 0;
+        config.perfStat = false;
+        config.concurrentThreads = 1;
+        config.libraryThreads = 0;
+        config.libraryThreadSweep = false;
+        config.jvmProfiles = new ArrayList<JvmFlagProfile>();
+        config.jmhBackend = false;
+        config.jmhForks = 2;
+        config.jmhWarmupIterations = 5;
+        config.jmhIterations = 5;
+        config.jmhIterationTime = 1000;
+        config.batchLength = 10000;
+        config.minBatchMatrixSize = 2;
+        config.maxBatchMatrixSize = 10;
+        config.sparseDensity = 0.001;
+        config.minSparseSize = 1000;
+        config.maxSparseSize = 20000;
+        config.iterativeTolerance = 1e-8;
+        config.iterativeMaxIterations = 20000;
+        config.minIterativeSize = 1000;
+        config.maxIterativeSize = 1000000;
+        config.minVectorSize = 1000;
+        config.maxVectorSize = 10000000;
+
+        config.chol = true;
+        config.lu = true;
+        config.qr = true;
 //        config.transposeTall = true;
 //        config.transposeWide = true;
-        
+
         config.svd = true;
         config.eigSymm = true;
         config.det = true;
@@ -271,6 +422,198 @@ public class RuntimeBenchmarkConfig implements Serializable {
         this.transposeWide = transposeWide;
     }
 
+    public boolean isBatchMult() {
+        return batchMult;
+    }
+
+    public void setBatchMult(boolean batchMult) {
+        this.batchMult = batchMult;
+    }
+
+    public boolean isBatchSolve() {
+        return batchSolve;
+    }
+
+    public void setBatchSolve(boolean batchSolve) {
+        this.batchSolve = batchSolve;
+    }
+
+    public boolean isBatchFixed() {
+        return batchFixed;
+    }
+
+    public void setBatchFixed(boolean batchFixed) {
+        this.batchFixed = batchFixed;
+    }
+
+    public int getBatchLength() {
+        return batchLength;
+    }
+
+    public void setBatchLength(int batchLength) {
+        this.batchLength = batchLength;
+    }
+
+    public int getMinBatchMatrixSize() {
+        return minBatchMatrixSize;
+    }
+
+    public void setMinBatchMatrixSize(int minBatchMatrixSize) {
+        this.minBatchMatrixSize = minBatchMatrixSize;
+    }
+
+    public int getMaxBatchMatrixSize() {
+        return maxBatchMatrixSize;
+    }
+
+    public void setMaxBatchMatrixSize(int maxBatchMatrixSize) {
+        this.maxBatchMatrixSize = maxBatchMatrixSize;
+    }
+
+    public boolean isInPlace() {
+        return inPlace;
+    }
+
+    public void setInPlace(boolean inPlace) {
+        this.inPlace = inPlace;
+    }
+
+    public boolean isReuse() {
+        return reuse;
+    }
+
+    public void setReuse(boolean reuse) {
+        this.reuse = reuse;
+    }
+
+    public boolean isStructured() {
+        return structured;
+    }
+
+    public void setStructured(boolean structured) {
+        this.structured = structured;
+    }
+
+    public boolean isSparse() {
+        return sparse;
+    }
+
+    public void setSparse(boolean sparse) {
+        this.sparse = sparse;
+    }
+
+    public double getSparseDensity() {
+        return sparseDensity;
+    }
+
+    public void setSparseDensity(double sparseDensity) {
+        this.sparseDensity = sparseDensity;
+    }
+
+    public int getMinSparseSize() {
+        return minSparseSize;
+    }
+
+    public void setMinSparseSize(int minSparseSize) {
+        this.minSparseSize = minSparseSize;
+    }
+
+    public int getMaxSparseSize() {
+        return maxSparseSize;
+    }
+
+    public void setMaxSparseSize(int maxSparseSize) {
+        this.maxSparseSize = maxSparseSize;
+    }
+
+    public boolean isIterative() {
+        return iterative;
+    }
+
+    public void setIterative(boolean iterative) {
+        this.iterative = iterative;
+    }
+
+    public double getIterativeTolerance() {
+        return iterativeTolerance;
+    }
+
+    public void setIterativeTolerance(double iterativeTolerance) {
+        this.iterativeTolerance = iterativeTolerance;
+    }
+
+    public int getIterativeMaxIterations() {
+        return iterativeMaxIterations;
+    }
+
+    public void setIterativeMaxIterations(int iterativeMaxIterations) {
+        this.iterativeMaxIterations = iterativeMaxIterations;
+    }
+
+    public int getMinIterativeSize() {
+        return minIterativeSize;
+    }
+
+    public void setMinIterativeSize(int minIterativeSize) {
+        this.minIterativeSize = minIterativeSize;
+    }
+
+    public int getMaxIterativeSize() {
+        return maxIterativeSize;
+    }
+
+    public void setMaxIterativeSize(int maxIterativeSize) {
+        this.maxIterativeSize = maxIterativeSize;
+    }
+
+    public boolean isBlas() {
+        return blas;
+    }
+
+    public void setBlas(boolean blas) {
+        this.blas = blas;
+    }
+
+    public int getMinVectorSize() {
+        return minVectorSize;
+    }
+
+    public void setMinVectorSize(int minVectorSize) {
+        this.minVectorSize = minVectorSize;
+    }
+
+    public int getMaxVectorSize() {
+        return maxVectorSize;
+    }
+
+    public void setMaxVectorSize(int maxVectorSize) {
+        this.maxVectorSize = maxVectorSize;
+    }
+
+    public boolean isElementWise() {
+        return elementWise;
+    }
+
+    public void setElementWise(boolean elementWise) {
+        this.elementWise = elementWise;
+    }
+
+    public boolean isSinglePrecision() {
+        return singlePrecision;
+    }
+
+    public void setSinglePrecision(boolean singlePrecision) {
+        this.singlePrecision = singlePrecision;
+    }
+
+    public boolean isComplex() {
+        return complex;
+    }
+
+    public void setComplex(boolean complex) {
+        this.complex = complex;
+    }
+
     public List<LibraryDescription> getTargets() {
         return targets;
     }
@@ -303,6 +646,30 @@ public class RuntimeBenchmarkConfig implements Serializable {
         this.maxTrials = maxTrials;
     }
 
+    public boolean isAdaptiveTrials() {
+        return adaptiveTrials;
+    }
+
+    public void setAdaptiveTrials(boolean adaptiveTrials) {
+        this.adaptiveTrials = adaptiveTrials;
+    }
+
+    public int getMinTrials() {
+        return minTrials;
+    }
+
+    public void setMinTrials(int minTrials) {
+        this.minTrials = minTrials;
+    }
+
+    public double getTargetIntervalWidth() {
+        return targetIntervalWidth;
+    }
+
+    public void setTargetIntervalWidth(double targetIntervalWidth) {
+        this.targetIntervalWidth = targetIntervalWidth;
+    }
+
     public int getTrialTime() {
         return trialTime;
     }
@@ -374,4 +741,180 @@ public class RuntimeBenchmarkConfig implements Serializable {
     public void setSanityCheck(boolean sanityCheck) {
         this.sanityCheck = sanityCheck;
     }
+
+    public boolean isSlavePool() {
+        return slavePool;
+    }
+
+    public void setSlavePool(boolean slavePool) {
+        this.slavePool = slavePool;
+    }
+
+    public int getSlavePoolSize() {
+        return slavePoolSize;
+    }
+
+    public void setSlavePoolSize(int slavePoolSize) {
+        this.slavePoolSize = slavePoolSize;
+    }
+
+    public SlaveRecyclePolicy getSlaveRecycle() {
+        return slaveRecycle;
+    }
+
+    public void setSlaveRecycle(SlaveRecyclePolicy slaveRecycle) {
+        this.slaveRecycle = slaveRecycle;
+    }
+
+    public boolean isParallelLibraries() {
+        return parallelLibraries;
+    }
+
+    public void setParallelLibraries(boolean parallelLibraries) {
+        this.parallelLibraries = parallelLibraries;
+    }
+
+    public int getParallelCoresPerSlave() {
+        return parallelCoresPerSlave;
+    }
+
+    public void setParallelCoresPerSlave(int parallelCoresPerSlave) {
+        this.parallelCoresPerSlave = parallelCoresPerSlave;
+    }
+
+    public int getParallelCoresPerSocket() {
+        return parallelCoresPerSocket;
+    }
+
+    public void setParallelCoresPerSocket(int parallelCoresPerSocket) {
+        this.parallelCoresPerSocket = parallelCoresPerSocket;
+    }
+
+    public int getParallelMemory() {
+        return parallelMemory;
+    }
+
+    public void setParallelMemory(int parallelMemory) {
+        this.parallelMemory = parallelMemory;
+    }
+
+    public double getWarmupTolerance() {
+        return warmupTolerance;
+    }
+
+    public void setWarmupTolerance(double warmupTolerance) {
+        this.warmupTolerance = warmupTolerance;
+    }
+
+    public int getWarmupBatches() {
+        return warmupBatches;
+    }
+
+    public void setWarmupBatches(int warmupBatches) {
+        this.warmupBatches = warmupBatches;
+    }
+
+    public int getWarmupMaxTime() {
+        return warmupMaxTime;
+    }
+
+    public void setWarmupMaxTime(int warmupMaxTime) {
+        this.warmupMaxTime = warmupMaxTime;
+    }
+
+    public int getContaminationReruns() {
+        return contaminationReruns;
+    }
+
+    public void setContaminationReruns(int contaminationReruns) {
+        this.contaminationReruns = contaminationReruns;
+    }
+
+    public int getLatencySampleTime() {
+        return latencySampleTime;
+    }
+
+    public void setLatencySampleTime(int latencySampleTime) {
+        this.latencySampleTime = latencySampleTime;
+    }
+
+    public int getConcurrentThreads() {
+        return concurrentThreads;
+    }
+
+    public void setConcurrentThreads(int concurrentThreads) {
+        this.concurrentThreads = concurrentThreads;
+    }
+
+    public int getLibraryThreads() {
+        return libraryThreads;
+    }
+
+    public void setLibraryThreads(int libraryThreads) {
+        this.libraryThreads = libraryThreads;
+    }
+
+    public boolean isLibraryThreadSweep() {
+        return libraryThreadSweep;
+    }
+
+    public void setLibraryThreadSweep(boolean libraryThreadSweep) {
+        this.libraryThreadSweep = libraryThreadSweep;
+    }
+
+    public boolean isPerfStat() {
+        return perfStat;
+    }
+
+    public void setPerfStat(boolean perfStat) {
+        this.perfStat = perfStat;
+    }
+
+    public List<JvmFlagProfile> getJvmProfiles() {
+        return jvmProfiles;
+    }
+
+    public void setJvmProfiles(List<JvmFlagProfile> jvmProfiles) {
+        this.jvmProfiles = jvmProfiles;
+    }
+
+    public boolean isJmhBackend() {
+        return jmhBackend;
+    }
+
+    public void setJmhBackend(boolean jmhBackend) {
+        this.jmhBackend = jmhBackend;
+    }
+
+    public int getJmhForks() {
+        return jmhForks;
+    }
+
+    public void setJmhForks(int jmhForks) {
+        this.jmhForks = jmhForks;
+    }
+
+    public int getJmhWarmupIterations() {
+        return jmhWarmupIterations;
+    }
+
+    public void setJmhWarmupIterations(int jmhWarmupIterations) {
+        this.jmhWarmupIterations = jmhWarmupIterations;
+    }
+
+    public int getJmhIterations() {
+        return jmhIterations;
+    }
+
+    public void setJmhIterations(int jmhIterations) {
+        this.jmhIterations = jmhIterations;
+    }
+
+    public int getJmhIterationTime() {
+        return jmhIterationTime;
+    }
+
+    public void setJmhIterationTime(int jmhIterationTime) {
+        this.jmhIterationTime = jmhIterationTime;
+    }
 }
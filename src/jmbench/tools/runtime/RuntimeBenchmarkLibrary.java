@@ -27,6 +27,10 @@ import jmbench.interfaces.RuntimePerformanceFactory;
 import jmbench.tools.BenchmarkTools;
 import jmbench.tools.EvaluationTest;
 import jmbench.tools.EvaluatorSlave;
+import jmbench.tools.OutputError;
+import jmbench.tools.ProcessCounters;
+import jmbench.tools.ProcessProbe;
+import jmbench.tools.SlavePool;
 import jmbench.tools.TestResults;
 import jmbench.tools.runtime.evaluation.RuntimeResultsCsvIO;
 import jmbench.tools.version.PrintLibraryVersion;
@@ -68,6 +72,13 @@ import java.util.Random;
  * <p>
  * For each block a new javavm is spawned.  To allow these tests to run on computers with less resources
  * the amount of memory allocated to the VM is dynamically computed based on the size of the input matrices.
+ * If {@link RuntimeBenchmarkConfig#slavePool} is true then slaves are instead kept alive and reused
+ * between blocks, see {@link SlavePool}.
+ * </p>
+ *
+ * <p>
+ * Operating system counters for each block, such as page faults and context switches, are appended to
+ * {@link #PROCESS_FILE} in the output directory.  See {@link ProcessCounters}.
  * </p>
  *
  *
@@ -75,6 +86,9 @@ import java.util.Random;
  */
 public class RuntimeBenchmarkLibrary {
 
+    // name of the file operating system counters for each block are written to
+    public static final String PROCESS_FILE = "process.txt";
+
     // used to randomize the order of processes
     private Random rand;
 
@@ -90,6 +104,8 @@ public class RuntimeBenchmarkLibrary {
 
     // true if an evaluation case failed
     private boolean caseFailed;
+    // true if the library doesn't support the operation being evaluated
+    private boolean notSupported;
     // is it too slow to continue testing
     private boolean tooSlow;
 
@@ -105,6 +121,13 @@ public class RuntimeBenchmarkLibrary {
     // the most memory that it allocated to java without any issues
     private long maxMemoryAllocated;
 
+    // number of threads which call each operation at the same time
+    private int concurrentThreads = 1;
+    // maximum number of threads the library can use internally.  <= 0 for no limit
+    private int libraryThreads;
+    // flags the library wants passed to the slave's JavaVM
+    private String libraryJreFlags[];
+
     // should it spawn a slave to run the benchmark or do it in the same java instance as this class
     private static final boolean SPAWN_SLAVE = true;
 
@@ -134,6 +157,21 @@ public class RuntimeBenchmarkLibrary {
         tools = new BenchmarkTools(config.numBlockTrials,config.memorySlaveBase,config.memorySlaveScale,
                 desc.location.listOfJarFilePaths());
         tools.setVerbose(false);
+        libraryJreFlags = BenchmarkTools.lookupJreFlags(desc.configure);
+        tools.setJreFlags(libraryJreFlags);
+        setLibraryThreads(config.libraryThreads);
+        // slaves are launched inside the output directory so that anything they write stays with the results
+        tools.setWorkDirectory(d);
+        if( config.slavePool ) {
+            tools.setSlavePool(new SlavePool(Math.max(1,config.slavePoolSize),config.slaveRecycle));
+        }
+        if( config.perfStat ) {
+            if( config.slavePool )
+                System.out.println("perf stat can't be used with pooled slaves and will be ignored.");
+            else if( !ProcessProbe.isPerfAvailable() )
+                System.out.println("perf isn't installed.  Hardware counters will not be recorded.");
+            tools.setPerfStat(true);
+        }
 
         this.libraryType = desc.location;
 
@@ -146,6 +184,40 @@ public class RuntimeBenchmarkLibrary {
             throw new RuntimeException(e);        }
     }
 
+    /**
+     * Pins all the slaves to the specified CPUs.  See {@link BenchmarkTools#setCpuAffinity(String)}.
+     */
+    public void setCpuAffinity( String cpus ) {
+        tools.setCpuAffinity(cpus);
+    }
+
+    /**
+     * Limits the number of threads the library can use internally.  Overrides
+     * {@link RuntimeBenchmarkConfig#libraryThreads}.
+     */
+    public void setLibraryThreads( int numThreads ) {
+        this.libraryThreads = numThreads;
+        tools.setThreadBudget(numThreads);
+    }
+
+    /**
+     * Passes additional flags to the slave's JavaVM, after the library's own flags.  See {@link JvmFlagProfile}.
+     */
+    public void setJvmFlags( String ...flags ) {
+        String combined[] = new String[ libraryJreFlags.length + flags.length ];
+        System.arraycopy(libraryJreFlags,0,combined,0,libraryJreFlags.length);
+        System.arraycopy(flags,0,combined,libraryJreFlags.length,flags.length);
+        tools.setJreFlags(combined);
+    }
+
+    /**
+     * Has each operation called by several threads at the same time and measures their total throughput.
+     * See {@link RuntimeEvaluationTest#setNumThreads(int)}.
+     */
+    public void setConcurrentThreads( int numThreads ) {
+        this.concurrentThreads = numThreads;
+    }
+
     /**
      * Perform the benchmark tests against all the different algortihms
      */
@@ -179,6 +251,7 @@ public class RuntimeBenchmarkLibrary {
 
             System.out.println("Total processing time = "+(System.currentTimeMillis()-startTime)/1000.0);
 
+            tools.shutdownSlaves();
             logStream.close();
         }
     }
@@ -191,7 +264,7 @@ public class RuntimeBenchmarkLibrary {
 
         for( RuntimeEvaluationCase c : cases ) {
             // see if the file already exists
-            File f = new File(directorySave+"/"+c.getNameAlgorithm()+".csv");
+            File f = new File(directorySave+"/"+c.getFileName()+".csv");
 
             if( f.exists() ) {
                 // if it exists read it in and see if it finished
@@ -211,9 +284,8 @@ public class RuntimeBenchmarkLibrary {
                         cs.matrixIndex--;
                         List<RuntimeMeasurement> rawResults = cs.score[cs.matrixIndex].getRawResults();
 
-                        // TODO have a single function evaluate if its done processing matrix size
                         // see if it has enough trials to move on to the next matrix size
-                        if( rawResults.size() >= config.maxTrials ) {
+                        if( isSizeFinished(cs.score[cs.matrixIndex],config) ) {
                             cs.matrixIndex++;
                         } else {
                             // see if any of the current results are too long and it should move on
@@ -306,7 +378,7 @@ public class RuntimeBenchmarkLibrary {
         boolean done = tooSlow || caseFailed;
 
         // increment the number of blocks
-        if( !done && state.results.size() >= config.maxTrials ) {
+        if( !done && isSizeFinished(score[state.matrixIndex],config) ) {
             state.results.clear();
             state.matrixIndex++;
 
@@ -320,12 +392,38 @@ public class RuntimeBenchmarkLibrary {
         r.complete = done;
 
         // save the current state of the test
-        RuntimeResultsCsvIO.write(r,directorySave+"/"+e.getNameAlgorithm()+".csv");
+        RuntimeResultsCsvIO.write(r,directorySave+"/"+e.getFileName()+".csv");
 //        UtilXmlSerialization.serializeXml(r,directorySave+"/"+e.getFileName()+".xml");
 
         return done;
     }
 
+    /**
+     * Checks to see if enough trials have been collected for a matrix size.  It is finished once
+     * {@link RuntimeBenchmarkConfig#maxTrials} have been collected.  If adaptive trials are turned on it can
+     * finish sooner, once there are at least {@link RuntimeBenchmarkConfig#minTrials} and the median's
+     * confidence interval is smaller than {@link RuntimeBenchmarkConfig#targetIntervalWidth}.  This is only
+     * checked after each block, so the number of trials will be a multiple of the block size.
+     */
+    static boolean isSizeFinished( RuntimeEvaluationMetrics score , RuntimeBenchmarkConfig config ) {
+        if( score == null )
+            return false;
+
+        int numTrials = score.getRawResults().size();
+        if( numTrials >= config.maxTrials )
+            return true;
+
+        if( !config.adaptiveTrials || numTrials == 0 || numTrials < config.minTrials )
+            return false;
+
+        double width = score.getRelativeMedianInterval();
+        if( width <= config.targetIntervalWidth ) {
+            System.out.printf("  Median interval width %.4f after %d trials, moving on to the next size.\n",width,numTrials);
+            return true;
+        }
+        return false;
+    }
+
     /**
      * Computes the current results
      */
@@ -342,15 +440,28 @@ public class RuntimeBenchmarkLibrary {
             System.out.println("      ---- ***** -----");
         } else {
             rawResults.addAll(opsPerSecond);
+
+            for( RuntimeMeasurement m : opsPerSecond ) {
+                if( m.isContaminated() ) {
+                    logStream.println("Contaminated measurement: op = "+e.getOpName()+" matrix size = "+e.getDimens()[matrixIndex]+
+                            " gc count = "+m.getGcCount()+" gc time = "+m.getGcTime()+" compile time = "+m.getCompileTime());
+                }
+            }
         }
 
         // see if there are any results to save
         if( !rawResults.isEmpty() ) {
             score[matrixIndex] = new RuntimeEvaluationMetrics(rawResults);
+            if( e.getGenerator() instanceof BandwidthGenerator ) {
+                int size = e.getDimens()[matrixIndex];
+                score[matrixIndex].bytesPerOp = ((BandwidthGenerator)e.getGenerator()).getBytesPerOp(size);
+            }
         }
 
         RuntimeResults results = new RuntimeResults(e.getOpName(),
                 libraryType.getPlotName(),e.getDimens(),score);
+        results.notSupported = notSupported;
+        results.density = e.getSparseDensity();
 
         return results;
     }
@@ -371,8 +482,7 @@ public class RuntimeBenchmarkLibrary {
      */
     @SuppressWarnings({"RedundantCast", "unchecked"})
     private List<RuntimeMeasurement> evaluateCaseDynamic( RuntimeEvaluationCase e , long seed , int indexDimen, int numTrials) {
-        EvaluationTest test = e.createTest(numTrials,indexDimen,config.trialTime,config.maxTrialTime,config.sanityCheck);
-        test.setRandomSeed(seed);
+        EvaluationTest test = createTest(e,seed,indexDimen,numTrials);
 
         int matrixSize = e.getDimens()[indexDimen];
 
@@ -426,8 +536,7 @@ public class RuntimeBenchmarkLibrary {
     @SuppressWarnings({"RedundantCast", "unchecked"})
     private List<RuntimeMeasurement> evaluateCaseFixedMemory( RuntimeEvaluationCase e ,
                                                           long seed , int indexDimen, int numTrials ) {
-        EvaluationTest test = e.createTest(numTrials,indexDimen,config.trialTime,config.maxTrialTime,config.sanityCheck);
-        test.setRandomSeed(seed);
+        EvaluationTest test = createTest(e,seed,indexDimen,numTrials);
 
         int matrixSize = e.getDimens()[indexDimen];
 
@@ -442,9 +551,21 @@ public class RuntimeBenchmarkLibrary {
         return (List<RuntimeMeasurement>)((List)r.results);
     }
 
+    private EvaluationTest createTest( RuntimeEvaluationCase e , long seed , int indexDimen, int numTrials ) {
+        RuntimeEvaluationTest test = e.createTest(numTrials,indexDimen,config.trialTime,config.maxTrialTime,config.sanityCheck);
+        test.setWarmup(config.warmupTolerance,config.warmupBatches,config.warmupMaxTime);
+        test.setLatencySampleTime(config.latencySampleTime);
+        test.setContaminationReruns(config.contaminationReruns);
+        test.setNumThreads(concurrentThreads);
+        test.setThreadBudget(libraryThreads);
+        test.setRandomSeed(seed);
+        return test;
+    }
+
     private EvaluatorSlave.Results callRunTest(RuntimeEvaluationCase e, EvaluationTest test, int matrixSize) {
         tooSlow = false;
         caseFailed = false;
+        notSupported = false;
         EvaluatorSlave.Results r;
         if( SPAWN_SLAVE )
             r = tools.runTest(test);
@@ -467,6 +588,7 @@ public class RuntimeBenchmarkLibrary {
                 logStream.println("    error message: "+r.detailedError);
                 System.out.println("  Slave was killed by the user/OS.  Stopping the benchmark.");
                 System.out.println("    error message: "+r.detailedError);
+                tools.shutdownSlaves();
                 System.exit(0);
             } else if( r.failed == EvaluatorSlave.FailReason.TOO_SLOW ) {
                 logStream.println("    Case was too slow: op = "+e.getOpName()+" matrix size = "+matrixSize+" memory = "+tools.getAllocatedMemory()+" mb");
@@ -485,12 +607,15 @@ public class RuntimeBenchmarkLibrary {
                 caseFailed = true;
             }
         } else {
+            saveProcessCounters(e,matrixSize,r);
+
             // See if the slave caught an error.  Typically this will be the operation isn't supported or
             // sanity check failed
             for( TestResults tr : r.getResults() ) {
                 RuntimeMeasurement rm = (RuntimeMeasurement)tr;
 
                 if( rm.error != null ) {
+                    notSupported = rm.error == OutputError.NOT_SUPPORTED;
                     String message = "    Case failed Slave: op = "+e.getOpName()+" reason "+rm.error+" matrix size = "+matrixSize+" memory = "+tools.getAllocatedMemory()+" mb";
                     logStream.println(message);
                     System.out.println(message);
@@ -502,6 +627,33 @@ public class RuntimeBenchmarkLibrary {
         return r;
     }
 
+    /**
+     * Appends the operating system counters for a block to {@link #PROCESS_FILE}.  Each line is the operation,
+     * matrix size, number of trials, and then the counters.  Unknown counters are -1.
+     */
+    private void saveProcessCounters( RuntimeEvaluationCase e , int matrixSize , EvaluatorSlave.Results r ) {
+        ProcessCounters c = r.counters;
+        if( c == null )
+            return;
+
+        File file = new File(directorySave,PROCESS_FILE);
+        boolean header = !file.exists();
+        try {
+            PrintStream out = new PrintStream(new FileOutputStream(file,true));
+            if( header ) {
+                out.println("# op size trials minorFaults majorFaults voluntarySwitches involuntarySwitches " +
+                        "migrations userTime(ms) systemTime(ms) threads cycles instructions cacheMisses");
+            }
+            out.println("\""+e.getOpName()+"\" "+matrixSize+" "+r.getResults().size()+" "+
+                    c.minorFaults+" "+c.majorFaults+" "+c.voluntarySwitches+" "+c.involuntarySwitches+" "+
+                    c.migrations+" "+c.userTime+" "+c.systemTime+" "+c.numThreads+" "+
+                    c.cycles+" "+c.instructions+" "+c.cacheMisses);
+            out.close();
+        } catch (FileNotFoundException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
     private static List<Double> convertToDoubleList( List<TestResults> l ){
         List<Double> ret = new ArrayList<Double>(l.size());
 
@@ -21,12 +21,18 @@ package jmbench.tools.runtime;
 
 import jmbench.impl.FactoryLibraryDescriptions;
 import jmbench.impl.LibraryDescription;
+import jmbench.tools.SlaveRecyclePolicy;
 import jmbench.tools.SystemInfo;
+import jmbench.tools.runtime.jmh.JmhLibraryLauncher;
+import jmbench.tools.stability.UtilBinarySerialization;
 import jmbench.tools.stability.UtilXmlSerialization;
 
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 
@@ -38,11 +44,32 @@ import java.util.List;
  * returned by System.currentTimeMillis().  In addition information on the system the test was run on
  * and error logs are all saved.
  * </p>
+ *
+ * <p>
+ * If {@link RuntimeBenchmarkConfig#concurrentThreads} is more than one then the whole benchmark is repeated for
+ * each number of concurrent threads and the results are saved in {@link #CONCURRENT_DIR}N, where N is the number
+ * of threads.  Similarly, if {@link RuntimeBenchmarkConfig#libraryThreadSweep} is true the number of threads
+ * each library can use internally is swept and saved in {@link #LIBRARY_THREADS_DIR}N.
+ * Use {@link jmbench.tools.runtime.evaluation.PlotScalingResults} to see how well they scale.
+ * </p>
+ *
+ * <p>
+ * If {@link RuntimeBenchmarkConfig#jvmProfiles} isn't empty then everything above is repeated for each set of
+ * JavaVM flags and saved in {@link #PROFILE_DIR}name.  The profiles can be overlaid using
+ * {@link jmbench.tools.runtime.evaluation.ComparePlatformResults} and its --Profiles option.
+ * </p>
  * 
  * @author Peter Abeles
  */
 public class RuntimeBenchmarkMaster {
 
+    // prefix of the directories results with several threads calling each operation are saved in
+    public static final String CONCURRENT_DIR = "concurrent";
+    // prefix of the directories results for each library thread budget are saved in
+    public static final String LIBRARY_THREADS_DIR = "threads";
+    // prefix of the directories results for each JVM flag profile are saved in
+    public static final String PROFILE_DIR = "profile_";
+
     // where should the results be saved to
     private String directorySave;
 
@@ -63,25 +90,95 @@ public class RuntimeBenchmarkMaster {
 
         long startTime = System.currentTimeMillis();
 
-        processLibraries(config.getTargets(),config);
+        if( config.jvmProfiles != null && config.jvmProfiles.size() > 0 ) {
+            processProfiles(config.getTargets(),config);
+        } else {
+            processLibraries(config.getTargets(),config,directorySave,new String[0]);
+        }
 
         double seconds = (System.currentTimeMillis()-startTime)/1000.0;
         double days = seconds/60.0/60.0/24.0;
         System.out.println("Total processing time = "+seconds+" (s) or "+days+" days");
     }
 
-    private void processLibraries( List<LibraryDescription> libs, RuntimeBenchmarkConfig config ) {
+    /**
+     * Repeats the whole benchmark for each {@link JvmFlagProfile} and saves each in {@link #PROFILE_DIR}name.
+     */
+    private void processProfiles( List<LibraryDescription> libs, RuntimeBenchmarkConfig config ) {
+        for( JvmFlagProfile profile : config.jvmProfiles ) {
+            if( !isSupported(profile.flags) ) {
+                System.out.println("Skipping JVM profile "+profile+" since this JavaVM doesn't support it.");
+                continue;
+            }
+
+            System.out.println("JVM profile = "+profile);
+            String dir = createDirectory(directorySave,PROFILE_DIR+profile.name);
+            processLibraries(libs,config,dir,profile.flags);
+        }
+    }
+
+    /**
+     * Benchmarks all the libraries, sweeping the number of threads if requested.
+     *
+     * @param directory Where the results are saved
+     * @param jvmFlags Flags passed to each slave's JavaVM
+     */
+    private void processLibraries( List<LibraryDescription> libs, RuntimeBenchmarkConfig config ,
+                                   String directory , String[] jvmFlags ) {
+
+        if( config.concurrentThreads > 1 ) {
+            processConcurrent(libs,config,directory,jvmFlags);
+            return;
+        }
+
+        if( config.libraryThreadSweep && config.libraryThreads > 0 ) {
+            processLibraryThreads(libs,config,directory,jvmFlags);
+            return;
+        }
+
+        if( config.jmhBackend ) {
+            for( LibraryDescription desc : libs ) {
+                String libOutputDir = directory+"/"+desc.location.getSaveDirName();
+                UtilBinarySerialization.saveArtifact(desc,libOutputDir);
+                JmhLibraryLauncher launcher = new JmhLibraryLauncher(libOutputDir,directorySave+"/config",desc);
+                launcher.setJvmFlags(jvmFlags);
+                launcher.performBenchmark();
+            }
+            return;
+        }
+
+        if( config.parallelLibraries ) {
+            ParallelLibraryScheduler scheduler = new ParallelLibraryScheduler(directory,config);
+            scheduler.setJvmFlags(jvmFlags);
+            scheduler.process(libs);
+            return;
+        }
 
+        processSequential(libs,config,directory,jvmFlags,1,config.libraryThreads);
+    }
 
+    /**
+     * Benchmarks each library one after the other.
+     *
+     * @param directory Where the results are saved
+     * @param jvmFlags Flags passed to each slave's JavaVM
+     * @param numThreads Number of threads which call each operation at the same time
+     * @param libraryThreads Number of threads each library can use internally
+     */
+    private void processSequential( List<LibraryDescription> libs, RuntimeBenchmarkConfig config ,
+                                    String directory , String[] jvmFlags ,
+                                    int numThreads , int libraryThreads ) {
         for( LibraryDescription desc : libs ) {
 
-            String libOutputDir = directorySave+"/"+desc.location.getSaveDirName();
+            String libOutputDir = directory+"/"+desc.location.getSaveDirName();
 
             // save the description so that where this came from can be easily extracted
-            String outputFile = libOutputDir+".xml";
-            UtilXmlSerialization.serializeXml(desc,outputFile);
+            UtilBinarySerialization.saveArtifact(desc,libOutputDir);
 
             RuntimeBenchmarkLibrary benchmark = new RuntimeBenchmarkLibrary(libOutputDir,desc,config);
+            benchmark.setConcurrentThreads(numThreads);
+            benchmark.setLibraryThreads(libraryThreads);
+            benchmark.setJvmFlags(jvmFlags);
 
             try {
                 benchmark.performBenchmark();
@@ -91,6 +188,80 @@ public class RuntimeBenchmarkMaster {
         }
     }
 
+    /**
+     * Repeats the benchmark with more and more threads calling each operation at the same time.
+     */
+    private void processConcurrent( List<LibraryDescription> libs, RuntimeBenchmarkConfig config ,
+                                    String directory , String[] jvmFlags ) {
+        if( config.jmhBackend || config.parallelLibraries )
+            System.out.println("JMH and parallel libraries are not used when measuring concurrent threads.");
+
+        for( int numThreads : createThreadSweep(config.concurrentThreads) ) {
+            String dir = createDirectory(directory,CONCURRENT_DIR+numThreads);
+
+            System.out.println("Concurrent threads = "+numThreads);
+            processSequential(libs,config,dir,jvmFlags,numThreads,config.libraryThreads);
+        }
+    }
+
+    /**
+     * Repeats the benchmark with more and more threads available to each library.
+     */
+    private void processLibraryThreads( List<LibraryDescription> libs, RuntimeBenchmarkConfig config ,
+                                        String directory , String[] jvmFlags ) {
+        if( config.jmhBackend || config.parallelLibraries )
+            System.out.println("JMH and parallel libraries are not used when sweeping library threads.");
+
+        for( int numThreads : createThreadSweep(config.libraryThreads) ) {
+            String dir = createDirectory(directory,LIBRARY_THREADS_DIR+numThreads);
+
+            System.out.println("Library threads = "+numThreads);
+            processSequential(libs,config,dir,jvmFlags,1,numThreads);
+        }
+    }
+
+    private static String createDirectory( String parent , String name ) {
+        String dir = parent+"/"+name;
+        if( !new File(dir).exists() && !new File(dir).mkdirs() )
+            throw new IllegalArgumentException("Can't make directory "+dir);
+        return dir;
+    }
+
+    /**
+     * Checks to see if the JavaVM will start with the specified flags.  Unknown flags, or garbage collectors
+     * that aren't in this JavaVM, cause it to exit with an error.
+     */
+    public static boolean isSupported( String[] jvmFlags ) {
+        List<String> command = new ArrayList<String>();
+        command.add(System.getProperty("java.home")+"/bin/java");
+        command.addAll(Arrays.asList(jvmFlags));
+        command.add("-version");
+
+        try {
+            Process pr = new ProcessBuilder(command).redirectErrorStream(true).start();
+            // the version is printed and discarded so that the process can't block on a full buffer
+            InputStream in = pr.getInputStream();
+            while( in.read() >= 0 ) {}
+            return pr.waitFor() == 0;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Number of threads in a sweep: 1, 2, 4, ... and then the maximum.
+     */
+    public static List<Integer> createThreadSweep( int maxThreads ) {
+        List<Integer> ret = new ArrayList<Integer>();
+        for( int i = 1; i < maxThreads; i *= 2 ) {
+            ret.add(i);
+        }
+        ret.add(maxThreads);
+        return ret;
+    }
+
     /**
      * Collects information of the system that this is being run on.  Allows for a better understanding
      * of the results.  Not all relevant information can be gathered since this is java.
@@ -108,8 +279,8 @@ public class RuntimeBenchmarkMaster {
             }
         }
 
-        UtilXmlSerialization.serializeXml(info,directorySave+"/info.xml");
-        UtilXmlSerialization.serializeXml(config,directorySave+"/config.xml");
+        UtilBinarySerialization.saveArtifact(info,directorySave+"/info");
+        UtilBinarySerialization.saveArtifact(config,directorySave+"/config");
     }
 
     public static void printHelp() {
@@ -127,6 +298,44 @@ public class RuntimeBenchmarkMaster {
         System.out.println("                           |  then the memory is dynamically determined.  It is recommended that a fixed amount be used.");
         System.out.println("                           |  specified since the dynamic algorithm will slow down the benchmark and has some known issues.");
         System.out.println("  --SanityCheck=<boolean>  |  Should it check the output for correctness?  Adds time and memory.");
+        System.out.println("  --SlavePool=<boolean>    |  Reuse slave JavaVMs across blocks instead of launching a new one for each block.");
+        System.out.println("  --SlaveMaxJobs=<number>  |  A pooled slave is replaced after it has processed this many blocks.  0 = no limit.");
+        System.out.println("  --Parallel=<boolean>     |  Benchmark several libraries at once, each pinned to its own CPUs with taskset.");
+        System.out.println("  --ParallelCores=<number> |  Number of CPUs given to each single threaded library when run in parallel.");
+        System.out.println("  --ParallelMemory=<MB>    |  Total memory libraries running in parallel can use.  0 = 90% of physical memory.");
+        System.out.println("  --Latency=<ms>           |  After each trial sample the latency of individual operations for this long.");
+        System.out.println("  --Concurrent=<threads>   |  Repeat with 1, 2, 4, ... up to this many threads calling each operation at once.");
+        System.out.println("                           |  0 = number of CPUs.");
+        System.out.println("  --LibraryThreads=<number>|  Maximum number of threads each library can use internally.  0 = no limit.");
+        System.out.println("  --LibraryThreadSweep=<boolean>");
+        System.out.println("                           |  Repeat with 1, 2, 4, ... up to LibraryThreads threads for each library.");
+        System.out.println("  --Batch=<boolean>        |  Evaluate batches of small independent matrices, including fixed size types.");
+        System.out.println("  --BatchLength=<number>   |  Number of matrices in each batch.");
+        System.out.println("  --InPlace=<boolean>      |  Also evaluate each operation writing into preallocated outputs.");
+        System.out.println("  --Reuse=<boolean>        |  Also evaluate decompositions and solvers reusing the decomposition.");
+        System.out.println("  --Structured=<boolean>   |  Also evaluate diagonal, triangular, tridiagonal, symmetric and identity inputs.");
+        System.out.println("  --Sparse=<boolean>       |  Evaluate operations on large sparse matrices in each sparse format.");
+        System.out.println("  --SparseDensity=<frac>   |  Fraction of the elements in sparse matrices which are not zero.");
+        System.out.println("  --SparseSize=min:max     |  Range of sparse matrix sizes.");
+        System.out.println("  --Iterative=<boolean>    |  Evaluate CG, BiCGStab and GMRES on large sparse systems in each sparse format.");
+        System.out.println("  --IterativeTolerance=<x> |  Relative residual the iterative solvers stop at.");
+        System.out.println("  --IterativeSize=min:max  |  Range of the number of unknowns in the iterative solvers.");
+        System.out.println("  --Blas=<boolean>         |  Evaluate dot, axpy, norm and matrix-vector multiplication.  Reports GB/s.");
+        System.out.println("  --VectorSize=min:max     |  Range of vector lengths for dot, axpy and norm.");
+        System.out.println("  --ElementWise=<boolean>  |  Evaluate element-wise multiply, divide, function and reductions.");
+        System.out.println("  --Float=<boolean>        |  Evaluate single precision mult, add, solve and SVD.");
+        System.out.println("  --Complex=<boolean>      |  Evaluate complex mult, add, conjugate transpose, solve and eigen.");
+        System.out.println("  --JvmProfiles=standard   |  Repeat with the standard JavaVM flag profiles, e.g. ParallelGC, G1, ZGC.");
+        System.out.println("  --JvmProfile=name:flags  |  Add a JavaVM flag profile.  Flags are separated by commas, e.g.");
+        System.out.println("                           |  --JvmProfile=G1:-XX:+UseG1GC,-XX:MaxInlineSize=70");
+        System.out.println("  --PerfStat=<boolean>     |  Launch slaves with 'perf stat' to count cycles, instructions and cache misses.");
+        System.out.println("  --JMH=<boolean>          |  Measure using JMH instead of the built in slave.  JMH's jars must be in lib/jmh");
+        System.out.println("                           |  and the benchmark compiled with 'ant compile-jmh'.");
+        System.out.println("  --Adaptive=<fraction>    |  Move on to the next size once the median's 95% confidence interval, relative to the");
+        System.out.println("                           |  median, is smaller than this.  At least MinTrials are always collected.");
+        System.out.println("  --MinTrials=<number>     |  Minimum number of trials for each matrix size when adaptive.");
+        System.out.println("  --Warmup=<fraction>      |  Warm-up until the throughput of recent batches varies less than this.  0 = no warm-up.");
+        System.out.println("  --WarmupTime=<ms>        |  Maximum number of milliseconds spent warming up before each measurement.");
         System.out.println();
         System.out.println("The only option which must be specified is \"FixedMemory\".  If no other options are specified " +
                 "then a default configuration will be used and the results" +
@@ -203,7 +412,7 @@ public class RuntimeBenchmarkMaster {
                 if( splits.length != 2 || args.length != 1 ) {failed = true; break;}
                 System.out.println("Resuming a benchmark in dir "+splits[1]);
                 RuntimeBenchmarkMaster master = new RuntimeBenchmarkMaster(splits[1]);
-                config = UtilXmlSerialization.deserializeXml(splits[1]+"/config.xml");
+                config = UtilBinarySerialization.loadArtifact(splits[1]+"/config");
                 master.performBenchmark(config);
                 return;
             } else if( flag.compareTo("Memory") == 0 ) {
@@ -218,6 +427,157 @@ public class RuntimeBenchmarkMaster {
                 if( splits.length != 2 ) {failed = true; break;}
                 config.sanityCheck = Boolean.parseBoolean(splits[1]);
                 System.out.println("Sanity check output = "+config.sanityCheck);
+            } else if( flag.compareTo("SlavePool") == 0 ) {
+                if( splits.length != 2 ) {failed = true; break;}
+                config.slavePool = Boolean.parseBoolean(splits[1]);
+                System.out.println("Slave pool = "+config.slavePool);
+            } else if( flag.compareTo("SlaveMaxJobs") == 0 ) {
+                if( splits.length != 2 ) {failed = true; break;}
+                if( config.slaveRecycle == null )
+                    config.slaveRecycle = SlaveRecyclePolicy.createDefault();
+                config.slaveRecycle.maxJobs = Integer.parseInt(splits[1]);
+                System.out.println("Pooled slaves are recycled after "+config.slaveRecycle.maxJobs+" jobs.");
+            } else if( flag.compareTo("Parallel") == 0 ) {
+                if( splits.length != 2 ) {failed = true; break;}
+                config.parallelLibraries = Boolean.parseBoolean(splits[1]);
+                System.out.println("Parallel libraries = "+config.parallelLibraries);
+            } else if( flag.compareTo("ParallelCores") == 0 ) {
+                if( splits.length != 2 ) {failed = true; break;}
+                config.parallelCoresPerSlave = Integer.parseInt(splits[1]);
+                System.out.println("CPUs per single threaded library = "+config.parallelCoresPerSlave);
+            } else if( flag.compareTo("ParallelMemory") == 0 ) {
+                if( splits.length != 2 ) {failed = true; break;}
+                config.parallelMemory = Integer.parseInt(splits[1]);
+                System.out.println("Memory for parallel libraries = "+config.parallelMemory+" (MB)");
+            } else if( flag.compareTo("Latency") == 0 ) {
+                if( splits.length != 2 ) {failed = true; break;}
+                config.latencySampleTime = Integer.parseInt(splits[1]);
+                System.out.println("Latency sampling time set to "+config.latencySampleTime+" (ms).");
+            } else if( flag.compareTo("Concurrent") == 0 ) {
+                if( splits.length != 2 ) {failed = true; break;}
+                config.concurrentThreads = Integer.parseInt(splits[1]);
+                if( config.concurrentThreads <= 0 )
+                    config.concurrentThreads = Runtime.getRuntime().availableProcessors();
+                System.out.println("Max concurrent threads = "+config.concurrentThreads);
+            } else if( flag.compareTo("LibraryThreads") == 0 ) {
+                if( splits.length != 2 ) {failed = true; break;}
+                config.libraryThreads = Integer.parseInt(splits[1]);
+                System.out.println("Library threads = "+config.libraryThreads);
+            } else if( flag.compareTo("LibraryThreadSweep") == 0 ) {
+                if( splits.length != 2 ) {failed = true; break;}
+                config.libraryThreadSweep = Boolean.parseBoolean(splits[1]);
+                System.out.println("Library thread sweep = "+config.libraryThreadSweep);
+            } else if( flag.compareTo("Batch") == 0 ) {
+                if( splits.length != 2 ) {failed = true; break;}
+                config.batchMult = config.batchSolve = config.batchFixed = Boolean.parseBoolean(splits[1]);
+                System.out.println("Batch operations = "+config.batchMult);
+            } else if( flag.compareTo("BatchLength") == 0 ) {
+                if( splits.length != 2 ) {failed = true; break;}
+                config.batchLength = Integer.parseInt(splits[1]);
+                System.out.println("Matrices in each batch = "+config.batchLength);
+            } else if( flag.compareTo("InPlace") == 0 ) {
+                if( splits.length != 2 ) {failed = true; break;}
+                config.inPlace = Boolean.parseBoolean(splits[1]);
+                System.out.println("In-place operations = "+config.inPlace);
+            } else if( flag.compareTo("Reuse") == 0 ) {
+                if( splits.length != 2 ) {failed = true; break;}
+                config.reuse = Boolean.parseBoolean(splits[1]);
+                System.out.println("Reuse decompositions = "+config.reuse);
+            } else if( flag.compareTo("Structured") == 0 ) {
+                if( splits.length != 2 ) {failed = true; break;}
+                config.structured = Boolean.parseBoolean(splits[1]);
+                System.out.println("Structured inputs = "+config.structured);
+            } else if( flag.compareTo("Sparse") == 0 ) {
+                if( splits.length != 2 ) {failed = true; break;}
+                config.sparse = Boolean.parseBoolean(splits[1]);
+                System.out.println("Sparse operations = "+config.sparse);
+            } else if( flag.compareTo("SparseDensity") == 0 ) {
+                if( splits.length != 2 ) {failed = true; break;}
+                config.sparseDensity = Double.parseDouble(splits[1]);
+                System.out.println("Sparse density = "+config.sparseDensity);
+            } else if( flag.compareTo("SparseSize") == 0 ) {
+                if( splits.length != 2 ) {failed = true; break;}
+                String rangeStr[] = splits[1].split(":");
+                if( rangeStr.length != 2 ) {failed = true; break;}
+                config.minSparseSize = Integer.parseInt(rangeStr[0]);
+                config.maxSparseSize = Integer.parseInt(rangeStr[1]);
+                System.out.println("Sparse matrix sizes = "+config.minSparseSize+" to "+config.maxSparseSize);
+            } else if( flag.compareTo("Iterative") == 0 ) {
+                if( splits.length != 2 ) {failed = true; break;}
+                config.iterative = Boolean.parseBoolean(splits[1]);
+                System.out.println("Iterative solvers = "+config.iterative);
+            } else if( flag.compareTo("IterativeTolerance") == 0 ) {
+                if( splits.length != 2 ) {failed = true; break;}
+                config.iterativeTolerance = Double.parseDouble(splits[1]);
+                System.out.println("Iterative tolerance = "+config.iterativeTolerance);
+            } else if( flag.compareTo("IterativeSize") == 0 ) {
+                if( splits.length != 2 ) {failed = true; break;}
+                String rangeStr[] = splits[1].split(":");
+                if( rangeStr.length != 2 ) {failed = true; break;}
+                config.minIterativeSize = Integer.parseInt(rangeStr[0]);
+                config.maxIterativeSize = Integer.parseInt(rangeStr[1]);
+                System.out.println("Iterative system sizes = "+config.minIterativeSize+" to "+config.maxIterativeSize);
+            } else if( flag.compareTo("Blas") == 0 ) {
+                if( splits.length != 2 ) {failed = true; break;}
+                config.blas = Boolean.parseBoolean(splits[1]);
+                System.out.println("BLAS vector operations = "+config.blas);
+            } else if( flag.compareTo("VectorSize") == 0 ) {
+                if( splits.length != 2 ) {failed = true; break;}
+                String rangeStr[] = splits[1].split(":");
+                if( rangeStr.length != 2 ) {failed = true; break;}
+                config.minVectorSize = Integer.parseInt(rangeStr[0]);
+                config.maxVectorSize = Integer.parseInt(rangeStr[1]);
+                System.out.println("Vector sizes = "+config.minVectorSize+" to "+config.maxVectorSize);
+            } else if( flag.compareTo("ElementWise") == 0 ) {
+                if( splits.length != 2 ) {failed = true; break;}
+                config.elementWise = Boolean.parseBoolean(splits[1]);
+                System.out.println("Element-wise operations = "+config.elementWise);
+            } else if( flag.compareTo("Float") == 0 ) {
+                if( splits.length != 2 ) {failed = true; break;}
+                config.singlePrecision = Boolean.parseBoolean(splits[1]);
+                System.out.println("Single precision = "+config.singlePrecision);
+            } else if( flag.compareTo("Complex") == 0 ) {
+                if( splits.length != 2 ) {failed = true; break;}
+                config.complex = Boolean.parseBoolean(splits[1]);
+                System.out.println("Complex = "+config.complex);
+            } else if( flag.compareTo("JvmProfiles") == 0 ) {
+                if( splits.length != 2 || !splits[1].equals("standard") ) {failed = true; break;}
+                config.jvmProfiles = JvmFlagProfile.createStandard();
+                System.out.println("Using the standard JVM flag profiles");
+            } else if( flag.compareTo("JvmProfile") == 0 ) {
+                // the flags themselves can contain '='
+                String value = args[i].substring(args[i].indexOf('=')+1);
+                if( splits.length < 2 || value.length() == 0 ) {failed = true; break;}
+                JvmFlagProfile profile = JvmFlagProfile.parse(value);
+                if( config.jvmProfiles == null )
+                    config.jvmProfiles = new ArrayList<JvmFlagProfile>();
+                config.jvmProfiles.add(profile);
+                System.out.println("Added JVM profile "+profile);
+            } else if( flag.compareTo("PerfStat") == 0 ) {
+                if( splits.length != 2 ) {failed = true; break;}
+                config.perfStat = Boolean.parseBoolean(splits[1]);
+                System.out.println("perf stat = "+config.perfStat);
+            } else if( flag.compareTo("JMH") == 0 ) {
+                if( splits.length != 2 ) {failed = true; break;}
+                config.jmhBackend = Boolean.parseBoolean(splits[1]);
+                System.out.println("JMH backend = "+config.jmhBackend);
+            } else if( flag.compareTo("Adaptive") == 0 ) {
+                if( splits.length != 2 ) {failed = true; break;}
+                config.adaptiveTrials = true;
+                config.targetIntervalWidth = Double.parseDouble(splits[1]);
+                System.out.println("Adaptive trials with a target median interval width of "+config.targetIntervalWidth);
+            } else if( flag.compareTo("MinTrials") == 0 ) {
+                if( splits.length != 2 ) {failed = true; break;}
+                config.minTrials = Integer.parseInt(splits[1]);
+                System.out.println("Minimum number of trials set to "+config.minTrials);
+            } else if( flag.compareTo("Warmup") == 0 ) {
+                if( splits.length != 2 ) {failed = true; break;}
+                config.warmupTolerance = Double.parseDouble(splits[1]);
+                System.out.println("Warm-up coefficient of variation tolerance = "+config.warmupTolerance);
+            } else if( flag.compareTo("WarmupTime") == 0 ) {
+                if( splits.length != 2 ) {failed = true; break;}
+                config.warmupMaxTime = Integer.parseInt(splits[1]);
+                System.out.println("Max warm-up time set to "+config.warmupMaxTime+" (ms).");
             } else {
                 System.out.println("Unknown flag: "+flag);
                 printHelp();
@@ -20,7 +20,10 @@
 package jmbench.tools.runtime;
 
 import jmbench.impl.LibraryConfigure;
+import jmbench.interfaces.MatrixStructure;
 import jmbench.interfaces.RuntimePerformanceFactory;
+import jmbench.interfaces.SparseFormat;
+import jmbench.tools.runtime.generator.IterativeSolverGenerator;
 
 import java.io.Serializable;
 
@@ -41,6 +44,12 @@ public class RuntimeEvaluationCase implements Serializable {
     private String nameAlgorithm;
     // what creates the matrices it processes
     private InputOutputGenerator generator;
+    // structure of the first input.  null if it's a dense matrix.  See StructuredPerformanceFactory
+    private MatrixStructure structure;
+    // format of the sparse inputs.  null if they are dense.  See SparseRuntimePerformanceFactory
+    private SparseFormat sparseFormat;
+    // fraction of the elements in the sparse inputs which are not zero
+    private double sparseDensity;
 
     private volatile RuntimeEvaluationTest theTest = new RuntimeEvaluationTest();
 
@@ -71,6 +80,8 @@ public class RuntimeEvaluationCase implements Serializable {
         theTest.setGoalRuntime(duration);
         theTest.setMaximumRuntime(maxRuntime);
         theTest.setSanityCheck(sanityCheck);
+        theTest.setStructure(structure);
+        theTest.setSparseFormat(sparseFormat);
 
         return theTest;
     }
@@ -83,6 +94,22 @@ public class RuntimeEvaluationCase implements Serializable {
         this.nameAlgorithm = nameAlgorithm;
     }
 
+    /**
+     * Name of the file results are saved to, without the extension.  The algorithm's name unless the input
+     * has a structure or is sparse, since the same algorithm is evaluated for each structure or format.
+     */
+    public String getFileName() {
+        if( structure != null )
+            return structure.getName()+"_"+nameAlgorithm;
+        if( sparseFormat != null ) {
+            // iterative solvers are evaluated on more than one problem
+            if( generator instanceof IterativeSolverGenerator )
+                return sparseFormat.getName()+"_"+((IterativeSolverGenerator)generator).getProblemName()+"_"+nameAlgorithm;
+            return sparseFormat.getName()+"_"+nameAlgorithm;
+        }
+        return nameAlgorithm;
+    }
+
     public Class<RuntimePerformanceFactory> getClassFactory() {
         return classFactory;
     }
@@ -122,4 +149,28 @@ public class RuntimeEvaluationCase implements Serializable {
     public void setClassConfigure(Class<LibraryConfigure> classConfigure) {
         this.classConfigure = classConfigure;
     }
+
+    public MatrixStructure getStructure() {
+        return structure;
+    }
+
+    public void setStructure(MatrixStructure structure) {
+        this.structure = structure;
+    }
+
+    public SparseFormat getSparseFormat() {
+        return sparseFormat;
+    }
+
+    public void setSparseFormat(SparseFormat sparseFormat) {
+        this.sparseFormat = sparseFormat;
+    }
+
+    public double getSparseDensity() {
+        return sparseDensity;
+    }
+
+    public void setSparseDensity(double sparseDensity) {
+        this.sparseDensity = sparseDensity;
+    }
 }
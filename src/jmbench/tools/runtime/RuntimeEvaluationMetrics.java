@@ -20,8 +20,10 @@
 package jmbench.tools.runtime;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 
 /**
@@ -37,12 +39,40 @@ public class RuntimeEvaluationMetrics
     public final static int METRIC_MAX = 3;
     public final static int METRIC_MEDIAN = 4;
 
+    // number of times the samples are resampled when computing the confidence interval of the median
+    public final static int BOOTSTRAP_SAMPLES = 1000;
+    // confidence level of the median's confidence interval
+    public final static double CONFIDENCE = 0.95;
+
     public double mean;
     public double stdev;
 
     public double min;
     public double max;
     public double median;
+    // bootstrapped confidence interval of the median
+    public double medianLower;
+    public double medianUpper;
+
+    // median and maximum number of bytes allocated by each operation.  NaN if unknown
+    public double allocatedPerOp;
+    public double allocatedPerOpMax;
+
+    // median throughput of each thread relative to a single thread.  1 if it was measured from one thread
+    public double threadEfficiency;
+
+    // median number of iterations an iterative solver took to converge.  0 if it isn't an iterative solver
+    public double iterations;
+
+    // minimum number of bytes each operation has to read from and write to memory.  0 if unknown
+    public long bytesPerOp;
+
+    // combined latency histogram from all the samples.  null if latency wasn't sampled
+    public LatencyHistogram latency;
+    // 50%, 99% and 99.9% latency percentiles in seconds
+    public double latency50;
+    public double latency99;
+    public double latency999;
 
     // unsorted raw results.  these are in the order they were generated
     public List<RuntimeMeasurement> rawResults;
@@ -81,6 +111,109 @@ public class RuntimeEvaluationMetrics
             stdev += (d - mean)*(d - mean);
         }
         stdev = Math.sqrt( stdev / numSamples );
+
+        computeMedianInterval(rawResults);
+        computeLatency(rawResults);
+        computeAllocation(rawResults);
+        computeThreadEfficiency(rawResults);
+        computeIterations(rawResults);
+    }
+
+    private void computeIterations( List<RuntimeMeasurement> rawResults ) {
+        double found[] = new double[ rawResults.size() ];
+        for( int i = 0; i < found.length; i++ ) {
+            found[i] = rawResults.get(i).iterations;
+        }
+        Arrays.sort(found);
+        iterations = found[found.length/2];
+    }
+
+    private void computeThreadEfficiency( List<RuntimeMeasurement> rawResults ) {
+        double found[] = new double[ rawResults.size() ];
+        for( int i = 0; i < found.length; i++ ) {
+            found[i] = rawResults.get(i).threadEfficiency;
+        }
+        Arrays.sort(found);
+        threadEfficiency = found[found.length/2];
+    }
+
+    private void computeAllocation( List<RuntimeMeasurement> rawResults ) {
+        List<Double> found = new ArrayList<Double>();
+        for( RuntimeMeasurement r : rawResults ) {
+            if( r.allocatedPerOp >= 0 )
+                found.add(r.allocatedPerOp);
+        }
+
+        if( found.isEmpty() ) {
+            allocatedPerOp = allocatedPerOpMax = Double.NaN;
+        } else {
+            Collections.sort(found);
+            allocatedPerOp = found.get(found.size()/2);
+            allocatedPerOpMax = found.get(found.size()-1);
+        }
+    }
+
+    /**
+     * Returns true if the operation was measured to allocate less than one byte per operation in every trial.
+     */
+    public boolean isZeroAllocation() {
+        return !Double.isNaN(allocatedPerOpMax) && allocatedPerOpMax < 1.0;
+    }
+
+    /**
+     * Combines the latency histograms from each sample and computes the percentiles
+     */
+    private void computeLatency( List<RuntimeMeasurement> rawResults ) {
+        latency = null;
+        for( RuntimeMeasurement r : rawResults ) {
+            if( r.latency == null )
+                continue;
+            if( latency == null )
+                latency = new LatencyHistogram();
+            latency.add(r.latency);
+        }
+
+        if( latency == null ) {
+            latency50 = latency99 = latency999 = Double.NaN;
+        } else {
+            latency50 = latency.getPercentile(50)/1e9;
+            latency99 = latency.getPercentile(99)/1e9;
+            latency999 = latency.getPercentile(99.9)/1e9;
+        }
+    }
+
+    /**
+     * Computes a percentile bootstrap confidence interval of the median.  A fixed random seed is used so that
+     * the same samples always produce the same interval.
+     */
+    private void computeMedianInterval( List<RuntimeMeasurement> sorted ) {
+        int numSamples = sorted.size();
+
+        double samples[] = new double[ numSamples ];
+        for( int i = 0; i < numSamples; i++ )
+            samples[i] = sorted.get(i).getOpsPerSec();
+
+        Random rand = new Random(0xBEEF);
+        double medians[] = new double[ BOOTSTRAP_SAMPLES ];
+        double resample[] = new double[ numSamples ];
+        for( int i = 0; i < BOOTSTRAP_SAMPLES; i++ ) {
+            for( int j = 0; j < numSamples; j++ )
+                resample[j] = samples[rand.nextInt(numSamples)];
+            Arrays.sort(resample);
+            medians[i] = resample[numSamples/2];
+        }
+        Arrays.sort(medians);
+
+        double alpha = (1.0-CONFIDENCE)/2.0;
+        medianLower = medians[(int)(alpha*(BOOTSTRAP_SAMPLES-1))];
+        medianUpper = medians[(int)Math.ceil((1.0-alpha)*(BOOTSTRAP_SAMPLES-1))];
+    }
+
+    /**
+     * Width of the median's confidence interval relative to the median.
+     */
+    public double getRelativeMedianInterval() {
+        return (medianUpper-medianLower)/median;
     }
 
     public RuntimeEvaluationMetrics(){}
@@ -106,6 +239,13 @@ public class RuntimeEvaluationMetrics
         throw new IllegalArgumentException("Unknown metric");
     }
 
+    /**
+     * Memory bandwidth in GB/s computed from the specified metric.  Zero if the bytes per operation is unknown.
+     */
+    public double getBandwidth( int which ) {
+        return getMetric(which)*bytesPerOp/1e9;
+    }
+
     public double getMean() {
         return mean;
     }
@@ -146,6 +286,94 @@ public class RuntimeEvaluationMetrics
         this.median = median;
     }
 
+    public double getMedianLower() {
+        return medianLower;
+    }
+
+    public void setMedianLower(double medianLower) {
+        this.medianLower = medianLower;
+    }
+
+    public double getMedianUpper() {
+        return medianUpper;
+    }
+
+    public void setMedianUpper(double medianUpper) {
+        this.medianUpper = medianUpper;
+    }
+
+    public double getAllocatedPerOp() {
+        return allocatedPerOp;
+    }
+
+    public void setAllocatedPerOp(double allocatedPerOp) {
+        this.allocatedPerOp = allocatedPerOp;
+    }
+
+    public double getAllocatedPerOpMax() {
+        return allocatedPerOpMax;
+    }
+
+    public void setAllocatedPerOpMax(double allocatedPerOpMax) {
+        this.allocatedPerOpMax = allocatedPerOpMax;
+    }
+
+    public double getThreadEfficiency() {
+        return threadEfficiency;
+    }
+
+    public void setThreadEfficiency(double threadEfficiency) {
+        this.threadEfficiency = threadEfficiency;
+    }
+
+    public double getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(double iterations) {
+        this.iterations = iterations;
+    }
+
+    public long getBytesPerOp() {
+        return bytesPerOp;
+    }
+
+    public void setBytesPerOp(long bytesPerOp) {
+        this.bytesPerOp = bytesPerOp;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public void setLatency(LatencyHistogram latency) {
+        this.latency = latency;
+    }
+
+    public double getLatency50() {
+        return latency50;
+    }
+
+    public void setLatency50(double latency50) {
+        this.latency50 = latency50;
+    }
+
+    public double getLatency99() {
+        return latency99;
+    }
+
+    public void setLatency99(double latency99) {
+        this.latency99 = latency99;
+    }
+
+    public double getLatency999() {
+        return latency999;
+    }
+
+    public void setLatency999(double latency999) {
+        this.latency999 = latency999;
+    }
+
     public List<RuntimeMeasurement> getRawResults() {
         return rawResults;
     }
@@ -21,15 +21,20 @@ package jmbench.tools.runtime;
 
 import jmbench.impl.LibraryConfigure;
 import jmbench.interfaces.BenchmarkMatrix;
+import jmbench.interfaces.IterativeSolver;
+import jmbench.interfaces.MatrixStructure;
 import jmbench.interfaces.MatrixProcessorInterface;
 import jmbench.interfaces.RuntimePerformanceFactory;
+import jmbench.interfaces.SparseFormat;
 import jmbench.tools.EvaluationTest;
 import jmbench.tools.OutputError;
 import jmbench.tools.TestResults;
+import jmbench.tools.runtime.generator.IterativeSolverGenerator;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Random;
+import java.util.concurrent.CountDownLatch;
 
 
 /**
@@ -38,11 +43,19 @@ import java.util.Random;
 public class RuntimeEvaluationTest extends EvaluationTest {
 
     public static final double MAX_ERROR_THRESHOLD = 0.05;
+    // a measurement is contaminated if compilation took more than this fraction of the measured time
+    public static final double MAX_COMPILE_FRACTION = 0.01;
+    // a measurement is contaminated if garbage collection took more than this fraction of the measured time
+    public static final double MAX_GC_FRACTION = 0.05;
 
     // how many trials have already been completed.  Used to determine which random seed is used
     private int numTrials;
 
     private String nameAlgorithm;
+    // structure of the first input.  null if it's dense
+    private MatrixStructure structure;
+    // format of the sparse inputs.  null if the inputs are dense
+    private SparseFormat sparseFormat;
     private int dimen;
     private Class<RuntimePerformanceFactory> classFactory;
     private InputOutputGenerator generator;
@@ -68,6 +81,33 @@ public class RuntimeEvaluationTest extends EvaluationTest {
     // used to configure the library at runtime
     private Class<LibraryConfigure> classConfigure;
 
+    // warm-up stops once the coefficient of variation of the throughput is less than this.  <= 0 for no warm-up
+    private double warmupTolerance;
+    // number of consecutive batches the coefficient of variation is computed from
+    private int warmupBatches;
+    // the maximum amount of time it will warm-up for in milliseconds
+    private long warmupMaxTime;
+
+    // how long it will sample the latency of individual operations for in milliseconds.  <= 0 to turn off
+    private long latencySampleTime;
+
+    // how many times a measurement is repeated if GC or compilation took up a significant part of it
+    private int contaminationReruns;
+
+    // number of threads which call the operation at the same time.  1 is the normal single threaded measurement
+    private int numThreads = 1;
+    // maximum number of threads the library can use internally.  <= 0 for the library's default
+    private int threadBudget;
+    // inputs and outputs for each thread when there is more than one.  The first thread uses inputs and outputs
+    private volatile BenchmarkMatrix threadInputs[][];
+    private volatile BenchmarkMatrix threadOutputs[][];
+
+    // has the algorithm been warmed up yet in this block
+    private volatile boolean warmedUp;
+    // how many operations were performed and how long it took to warm-up before the current trial
+    private volatile long warmupCycles;
+    private volatile double warmupTime;
+
     /**
      * Creates a new evaluation test.
      *
@@ -122,9 +162,11 @@ public class RuntimeEvaluationTest extends EvaluationTest {
         }
 
         estimatedTrials = 0;
+        warmedUp = false;
         masterRand = new Random(randomSeed);
         for( int i = 0; i < numTrials; i++ )
             masterRand.nextLong();
+        configure.setThreadBudget(threadBudget);
         configure.runtimeConfigure();
     }
 
@@ -135,6 +177,17 @@ public class RuntimeEvaluationTest extends EvaluationTest {
 
         inputs = generator.createInputs(factory,rand,sanityCheck,dimen);
         outputs = new BenchmarkMatrix[ generator.numOutputs() ];
+
+        if( numThreads > 1 ) {
+            threadInputs = new BenchmarkMatrix[ numThreads ][];
+            threadOutputs = new BenchmarkMatrix[ numThreads ][];
+            threadInputs[0] = inputs;
+            threadOutputs[0] = outputs;
+            for( int i = 1; i < numThreads; i++ ) {
+                threadInputs[i] = generator.createInputs(factory,rand,sanityCheck,dimen);
+                threadOutputs[i] = new BenchmarkMatrix[ generator.numOutputs() ];
+            }
+        }
     }
 
     /**
@@ -144,7 +197,7 @@ public class RuntimeEvaluationTest extends EvaluationTest {
      */
     @Override
     public long getInputMemorySize() {
-        return generator.getRequiredMemory(dimen);
+        return generator.getRequiredMemory(dimen)*Math.max(1,numThreads);
     }
 
     /**
@@ -157,11 +210,6 @@ public class RuntimeEvaluationTest extends EvaluationTest {
     public TestResults evaluate()
     {
         int cycles = 0;
-        long numTrials = estimatedTrials;
-
-        if( numTrials <= 0 ) {
-            numTrials = 1;
-        }
 
         // try to purge all temporary data that has yet to be clean up so that the GC won't run
         // while performance is being measured
@@ -174,19 +222,56 @@ public class RuntimeEvaluationTest extends EvaluationTest {
             return new RuntimeMeasurement(-1,-1, OutputError.NOT_SUPPORTED);
         }
 
+        // don't start measuring until the JIT is done with the algorithm
+        double steadyOpsPerSec = warmUp(alg);
+        if( steadyOpsPerSec > 0 ) {
+            estimatedTrials = (long)Math.ceil(steadyOpsPerSec*goalRuntime/1000.0);
+            runGarbageCollector();
+        }
+
+        if( numThreads > 1 )
+            return evaluateConcurrent(alg);
+
+        long numTrials = estimatedTrials;
+
+        if( numTrials <= 0 ) {
+            numTrials = 1;
+        }
+
         // translate it to nanoseconds
         long goalDuration = this.goalRuntime *1000000;
 
+        int reruns = 0;
+        // activity during the previous measurement which was thrown away
+        JvmActivity previous = null;
         while( true ) {
+            JvmActivity before = JvmActivity.capture();
+            long allocatedBefore = JvmActivity.threadAllocatedBytes();
             // nano is more precise than the millisecond timer
             long elapsedTime = alg.process(inputs, outputs, numTrials);
+            long allocatedAfter = JvmActivity.threadAllocatedBytes();
+            JvmActivity activity = JvmActivity.difference(before,JvmActivity.capture());
 
 //            System.out.println("elapsed time = "+elapsedTime + "  numTrials "+numTrials+"  ops/sec "+(double)numTrials/(elapsedTime/1e9));
 //            System.out.println("  in seconds "+(elapsedTime/1e9));
             if( elapsedTime > goalDuration*0.9 )  {
+                boolean contaminated = activity.isContaminated(elapsedTime,MAX_GC_FRACTION,MAX_COMPILE_FRACTION);
+                // if the GC happened again it's caused by the operation and rerunning won't change anything
+                boolean repeated = previous != null && activity.sameGcPattern(previous);
+                if( contaminated && !repeated && reruns++ < contaminationReruns ) {
+                    // the JavaVM was busy with something else while it was being timed, try again
+                    previous = activity;
+                    runGarbageCollector();
+                    continue;
+                }
                 estimatedTrials = (long)Math.ceil(goalDuration * (double)numTrials / (double)elapsedTime);
 //                System.out.println("  elapsedTime = "+elapsedTime);
-                return compileResults((double)numTrials/(elapsedTime/1e9));
+                RuntimeMeasurement results = compileResults(alg,(double)numTrials/(elapsedTime/1e9));
+                results.setActivity(activity,contaminated);
+                if( allocatedBefore >= 0 )
+                    results.allocatedPerOp = (allocatedAfter-allocatedBefore)/(double)numTrials;
+                results.latency = sampleLatency(alg);
+                return results;
             } else {  // 0.2 seconds
                 // if enough time has elapsed use a linear model to predict how many trials it will take
                 long oldNumTrials = numTrials;
@@ -204,6 +289,210 @@ public class RuntimeEvaluationTest extends EvaluationTest {
         }
     }
 
+    /**
+     * <p>
+     * Measures the total throughput when {@link #numThreads} threads call the operation at the same time.
+     * Each thread has its own instance of the algorithm and its own inputs, so if it doesn't scale it's
+     * because the library shares state internally or the threads are competing for the hardware.
+     * </p>
+     *
+     * <p>
+     * The single threaded throughput is measured in exactly the same way first, which is used to compute how
+     * efficiently each thread is used.
+     * </p>
+     */
+    private RuntimeMeasurement evaluateConcurrent( MatrixProcessorInterface alg ) {
+        MatrixProcessorInterface algs[] = new MatrixProcessorInterface[ numThreads ];
+        algs[0] = alg;
+        for( int i = 1; i < numThreads; i++ ) {
+            algs[i] = createAlgorithm();
+        }
+
+        double singleOpsPerSec = measureConcurrent(algs,1);
+        runGarbageCollector();
+
+        JvmActivity before = JvmActivity.capture();
+        double opsPerSec = measureConcurrent(algs,numThreads);
+        JvmActivity activity = JvmActivity.difference(before,JvmActivity.capture());
+
+        RuntimeMeasurement results = compileResults(algs[0],opsPerSec);
+        results.setActivity(activity,activity.isContaminated(goalRuntime*1000000,MAX_GC_FRACTION,MAX_COMPILE_FRACTION));
+        results.numThreads = numThreads;
+        results.threadEfficiency = opsPerSec/(numThreads*singleOpsPerSec);
+        return results;
+    }
+
+    /**
+     * Starts the specified number of threads at the same time and each one calls its algorithm for
+     * {@link #goalRuntime}.
+     *
+     * @return Sum of the throughput in ops/sec of each thread.
+     */
+    private double measureConcurrent( final MatrixProcessorInterface algs[] , int numThreads ) {
+        final CountDownLatch start = new CountDownLatch(1);
+        final double opsPerSec[] = new double[ numThreads ];
+        final RuntimeException failure[] = new RuntimeException[1];
+
+        Thread threads[] = new Thread[ numThreads ];
+        for( int i = 0; i < numThreads; i++ ) {
+            final int index = i;
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        opsPerSec[index] = runForGoal(algs[index],threadInputs[index],threadOutputs[index]);
+                    } catch( InterruptedException e ) {
+                        synchronized( failure ) {
+                            failure[0] = new RuntimeException(e);
+                        }
+                    } catch( RuntimeException e ) {
+                        synchronized( failure ) {
+                            failure[0] = e;
+                        }
+                    }
+                }
+            },"concurrent-"+i);
+            threads[i].start();
+        }
+
+        start.countDown();
+        try {
+            for( Thread t : threads ) {
+                t.join();
+            }
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+
+        synchronized( failure ) {
+            if( failure[0] != null )
+                throw failure[0];
+        }
+
+        double total = 0;
+        for( double d : opsPerSec )
+            total += d;
+        return total;
+    }
+
+    /**
+     * Calls the algorithm in batches until the total time spent inside of it is at least {@link #goalRuntime}.
+     * Batches are sized so that about 20 of them are needed.
+     *
+     * @return Throughput in ops/sec
+     */
+    private double runForGoal( MatrixProcessorInterface alg , BenchmarkMatrix[] inputs , BenchmarkMatrix[] outputs ) {
+        long goalDuration = goalRuntime*1000000;
+        long numTrials = Math.max(1,estimatedTrials/20);
+
+        long totalTime = 0;
+        long totalTrials = 0;
+        while( totalTime < goalDuration ) {
+            long elapsedTime = Math.max(1,alg.process(inputs, outputs, numTrials));
+            totalTime += elapsedTime;
+            totalTrials += numTrials;
+
+            numTrials = Math.max(1,(long)Math.ceil(goalDuration/20.0*numTrials/elapsedTime));
+        }
+
+        return totalTrials/(totalTime/1e9);
+    }
+
+    /**
+     * <p>
+     * Runs the algorithm in batches until its throughput has reached a steady state.  Each batch is sized
+     * to take about a tenth of the goal runtime.  Once the coefficient of variation of the throughput in the
+     * last {@link #warmupBatches} batches is less than {@link #warmupTolerance} the algorithm is considered
+     * to be warmed up.  It gives up once {@link #warmupMaxTime} has elapsed.
+     * </p>
+     *
+     * <p>
+     * Warm-up is only done before the first trial in a block since the following trials use the same compiled code.
+     * </p>
+     *
+     * @return The throughput in ops/sec of the last batch or -1 if it didn't warm-up.
+     */
+    private double warmUp( MatrixProcessorInterface alg ) {
+        warmupCycles = 0;
+        warmupTime = 0;
+
+        if( warmupTolerance <= 0 || warmedUp )
+            return -1;
+        warmedUp = true;
+
+        double window[] = new double[ Math.max(2,warmupBatches) ];
+        int numBatches = 0;
+
+        long batchDuration = goalRuntime*1000000/10;
+        long maxDuration = warmupMaxTime*1000000;
+        long totalTime = 0;
+        long numTrials = 1;
+        double opsPerSec = -1;
+
+        while( totalTime < maxDuration ) {
+            long elapsedTime = Math.max(1,alg.process(inputs, outputs, numTrials));
+            totalTime += elapsedTime;
+            warmupCycles += numTrials;
+
+            // short batches are dominated by timer noise and are only used to size the next batch
+            if( elapsedTime >= batchDuration/2 ) {
+                opsPerSec = numTrials/(elapsedTime/1e9);
+                window[numBatches++ % window.length] = opsPerSec;
+
+                if( numBatches >= window.length &&
+                        coefficientOfVariation(window) <= warmupTolerance )
+                    break;
+            }
+
+            numTrials = Math.max(1,(long)Math.ceil(batchDuration*(double)numTrials/elapsedTime));
+        }
+
+        warmupTime = totalTime/1e9;
+
+        return opsPerSec;
+    }
+
+    /**
+     * Times individual calls to the algorithm for {@link #latencySampleTime} milliseconds and records them
+     * in a histogram.  The time of each call includes the overhead of reading the timer.
+     *
+     * @return The histogram or null if sampling is turned off
+     */
+    private LatencyHistogram sampleLatency( MatrixProcessorInterface alg ) {
+        if( latencySampleTime <= 0 )
+            return null;
+
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        long end = System.nanoTime() + latencySampleTime*1000000;
+        do {
+            long elapsedTime = alg.process(inputs, outputs, 1);
+            if( elapsedTime < 0 )
+                break;
+            histogram.record(elapsedTime);
+        } while( System.nanoTime() < end );
+
+        return histogram;
+    }
+
+    /**
+     * Standard deviation divided by the mean
+     */
+    protected static double coefficientOfVariation( double values[] ) {
+        double mean = 0;
+        for( double v : values )
+            mean += v;
+        mean /= values.length;
+
+        double variance = 0;
+        for( double v : values )
+            variance += (v-mean)*(v-mean);
+        variance /= values.length-1;
+
+        return Math.sqrt(variance)/mean;
+    }
+
     private void runGarbageCollector() {
         // try to get it to clean up some
         for( int i = 0; i < 5; i++ ) {
@@ -217,9 +506,13 @@ public class RuntimeEvaluationTest extends EvaluationTest {
     /**
      * Generates the results based upon the computed opsPerSecond and the expected output.
      */
-    private RuntimeMeasurement compileResults( double opsPerSecond )
+    private RuntimeMeasurement compileResults( MatrixProcessorInterface alg , double opsPerSecond )
     {
         RuntimeMeasurement results = new RuntimeMeasurement(opsPerSecond,Runtime.getRuntime().totalMemory());
+        results.warmupCycles = warmupCycles;
+        results.warmupTime = warmupTime;
+        if( alg instanceof IterativeSolver )
+            results.iterations = ((IterativeSolver)alg).getIterations();
         if( sanityCheck )
             results.error = generator.checkResults(outputs,MAX_ERROR_THRESHOLD);
 
@@ -228,6 +521,26 @@ public class RuntimeEvaluationTest extends EvaluationTest {
 
     private MatrixProcessorInterface createAlgorithm() {
         try {
+            // sparse operations are created for a specific format
+            if( sparseFormat != null ) {
+                Method m = factory.getClass().getMethod(nameAlgorithm,SparseFormat.class);
+                MatrixProcessorInterface alg = (MatrixProcessorInterface)m.invoke(factory,sparseFormat);
+                // iterative solvers stop at the tolerance of the problem being solved
+                if( alg instanceof IterativeSolver ) {
+                    IterativeSolverGenerator g = (IterativeSolverGenerator)generator;
+                    ((IterativeSolver)alg).setConvergence(g.getTolerance(),g.getMaxIterations());
+                }
+                return alg;
+            }
+            // operations which take advantage of the structure have it as a parameter, otherwise
+            // the input is processed as a dense matrix
+            if( structure != null ) {
+                try {
+                    Method m = factory.getClass().getMethod(nameAlgorithm,MatrixStructure.class);
+                    return (MatrixProcessorInterface)m.invoke(factory,structure);
+                } catch (NoSuchMethodException ignore) {
+                }
+            }
             Method m = factory.getClass().getMethod(nameAlgorithm);
             return (MatrixProcessorInterface)m.invoke(factory);
         } catch (NoSuchMethodException e) {
@@ -263,6 +576,22 @@ public class RuntimeEvaluationTest extends EvaluationTest {
         this.nameAlgorithm = nameAlgorithm;
     }
 
+    public MatrixStructure getStructure() {
+        return structure;
+    }
+
+    public void setStructure(MatrixStructure structure) {
+        this.structure = structure;
+    }
+
+    public SparseFormat getSparseFormat() {
+        return sparseFormat;
+    }
+
+    public void setSparseFormat(SparseFormat sparseFormat) {
+        this.sparseFormat = sparseFormat;
+    }
+
     public int getDimen() {
         return dimen;
     }
@@ -303,6 +632,66 @@ public class RuntimeEvaluationTest extends EvaluationTest {
         this.numTrials = numTrials;
     }
 
+    /**
+     * Specifies how the algorithm is warmed up before it is measured.  See {@link #warmUp}.
+     */
+    public void setWarmup( double tolerance , int numBatches , long maxTime ) {
+        this.warmupTolerance = tolerance;
+        this.warmupBatches = numBatches;
+        this.warmupMaxTime = maxTime;
+    }
+
+    public int getNumThreads() {
+        return numThreads;
+    }
+
+    /**
+     * Specifies how many threads call the operation at the same time.  If more than one then the total
+     * throughput of all the threads is measured.  See {@link #evaluateConcurrent}.
+     */
+    public void setNumThreads(int numThreads) {
+        this.numThreads = numThreads;
+    }
+
+    public int getThreadBudget() {
+        return threadBudget;
+    }
+
+    /**
+     * Limits the number of threads the library can use internally.  See {@link LibraryConfigure#setThreadBudget}.
+     */
+    public void setThreadBudget(int threadBudget) {
+        this.threadBudget = threadBudget;
+    }
+
+    public int getContaminationReruns() {
+        return contaminationReruns;
+    }
+
+    public void setContaminationReruns(int contaminationReruns) {
+        this.contaminationReruns = contaminationReruns;
+    }
+
+    public long getLatencySampleTime() {
+        return latencySampleTime;
+    }
+
+    public void setLatencySampleTime(long latencySampleTime) {
+        this.latencySampleTime = latencySampleTime;
+    }
+
+    public double getWarmupTolerance() {
+        return warmupTolerance;
+    }
+
+    public int getWarmupBatches() {
+        return warmupBatches;
+    }
+
+    public long getWarmupMaxTime() {
+        return warmupMaxTime;
+    }
+
     @Override
     public long getMaximumRuntime() {
         return maxRuntime;
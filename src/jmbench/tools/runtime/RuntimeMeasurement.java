@@ -37,6 +37,32 @@ public class RuntimeMeasurement implements TestResults , Comparable<RuntimeMeasu
     // If output sanity checking is turned on then any errors that were detected are reported here
     public OutputError error;
 
+    // number of times the operation was performed to warm-up before it was measured
+    public long warmupCycles;
+    // how long it spent warming up in seconds
+    public double warmupTime;
+
+    // JavaVM activity while it was being measured.  number of garbage collections, time spent in garbage
+    // collection and compiling in milliseconds, and number of classes loaded
+    public long gcCount;
+    public long gcTime;
+    public long compileTime;
+    public long classesLoaded;
+    // true if garbage collection or compilation took up a significant part of the measurement
+    public boolean contaminated;
+
+    // average number of bytes allocated by each operation.  -1 if not supported by the JavaVM
+    public double allocatedPerOp = -1;
+
+    // number of threads which were calling the operation at the same time.  opsPerSec is the total of all threads
+    public int numThreads = 1;
+    // opsPerSec divided by the number of threads times the single threaded throughput.  1 = perfect scaling
+    public double threadEfficiency = 1;
+    // if latency sampling is turned on, how long individual operations took
+    public LatencyHistogram latency;
+    // number of iterations an iterative solver took to converge.  0 if it isn't an iterative solver
+    public int iterations;
+
     public RuntimeMeasurement( double opsPerSec , long memoryUsed ) {
         this.opsPerSec = opsPerSec;
         this.memoryUsed = memoryUsed;
@@ -74,6 +100,97 @@ public class RuntimeMeasurement implements TestResults , Comparable<RuntimeMeasu
         return memoryUsed;
     }
 
+    public long getWarmupCycles() {
+        return warmupCycles;
+    }
+
+    public void setWarmupCycles(long warmupCycles) {
+        this.warmupCycles = warmupCycles;
+    }
+
+    /**
+     * Saves the JavaVM activity that happened while it was being measured
+     */
+    public void setActivity( JvmActivity activity , boolean contaminated ) {
+        this.gcCount = activity.gcCount;
+        this.gcTime = activity.gcTime;
+        this.compileTime = activity.compileTime;
+        this.classesLoaded = activity.classesLoaded;
+        this.contaminated = contaminated;
+    }
+
+    public long getGcCount() {
+        return gcCount;
+    }
+
+    public long getGcTime() {
+        return gcTime;
+    }
+
+    public long getCompileTime() {
+        return compileTime;
+    }
+
+    public long getClassesLoaded() {
+        return classesLoaded;
+    }
+
+    public boolean isContaminated() {
+        return contaminated;
+    }
+
+    public void setContaminated(boolean contaminated) {
+        this.contaminated = contaminated;
+    }
+
+    public double getAllocatedPerOp() {
+        return allocatedPerOp;
+    }
+
+    public void setAllocatedPerOp(double allocatedPerOp) {
+        this.allocatedPerOp = allocatedPerOp;
+    }
+
+    public int getNumThreads() {
+        return numThreads;
+    }
+
+    public void setNumThreads(int numThreads) {
+        this.numThreads = numThreads;
+    }
+
+    public double getThreadEfficiency() {
+        return threadEfficiency;
+    }
+
+    public void setThreadEfficiency(double threadEfficiency) {
+        this.threadEfficiency = threadEfficiency;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public void setLatency(LatencyHistogram latency) {
+        this.latency = latency;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    public double getWarmupTime() {
+        return warmupTime;
+    }
+
+    public void setWarmupTime(double warmupTime) {
+        this.warmupTime = warmupTime;
+    }
+
     public int compareTo( RuntimeMeasurement r ) {
         if( r.opsPerSec < opsPerSec )
             return 1;
@@ -40,6 +40,10 @@ public class RuntimeResults implements Serializable {
 
     // if true it finished computing all the results for this operation
     public boolean complete;
+    // if true the library doesn't support this operation
+    public boolean notSupported;
+    // fraction of the elements in sparse inputs which are not zero.  0 if the inputs are dense
+    public double density;
 
     public RuntimeResults( String opName , String libraryName ,
                              int matDimen[] ,  RuntimeEvaluationMetrics metrics[] )
@@ -92,4 +96,20 @@ public class RuntimeResults implements Serializable {
     public void setComplete(boolean complete) {
         this.complete = complete;
     }
+
+    public boolean isNotSupported() {
+        return notSupported;
+    }
+
+    public void setNotSupported(boolean notSupported) {
+        this.notSupported = notSupported;
+    }
+
+    public double getDensity() {
+        return density;
+    }
+
+    public void setDensity(double density) {
+        this.density = density;
+    }
 }
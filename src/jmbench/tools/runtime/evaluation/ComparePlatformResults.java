@@ -19,6 +19,7 @@
 
 package jmbench.tools.runtime.evaluation;
 
+import jmbench.tools.runtime.RuntimeBenchmarkMaster;
 import jmbench.tools.runtime.RuntimeEvaluationMetrics;
 import jmbench.tools.runtime.RuntimeResults;
 
@@ -63,6 +64,36 @@ public class ComparePlatformResults {
         platforms.add(p);
     }
 
+    /**
+     * Adds every JVM flag profile found in a results directory created by
+     * {@link jmbench.tools.runtime.RuntimeBenchmarkMaster}.  Each is named after its profile.
+     *
+     * @param resultsDir Directory containing the "profile_*" directories.
+     * @param libraryDir Name of the directory containing the targeted library.
+     * @return Number of profiles which were added.
+     */
+    public int addProfiles( String resultsDir , String libraryDir ) {
+        String prefix = RuntimeBenchmarkMaster.PROFILE_DIR;
+
+        File[] files = new File(resultsDir).listFiles();
+        if( files == null )
+            throw new RuntimeException("Can't read "+resultsDir);
+        Arrays.sort(files);
+
+        int total = 0;
+        for( File f : files ) {
+            if( !f.isDirectory() || !f.getName().startsWith(prefix) )
+                continue;
+            if( !new File(f,libraryDir).exists() ) {
+                System.out.println("Skipping "+f.getName()+" since it doesn't contain "+libraryDir);
+                continue;
+            }
+            addPlatform(f.getPath(),libraryDir,f.getName().substring(prefix.length()));
+            total++;
+        }
+        return total;
+    }
+
     /**
      * Plot the results.
      *
@@ -271,9 +302,11 @@ public class ComparePlatformResults {
         System.out.println("--Library=<name>             : The library's name (name of its directory) which is being compared across platforms. *Must be specified*");
         System.out.println("--Input=<directory>          : Directory containing results.");
         System.out.println("--InputName=<name>           : Name used in plots for an input.  Specified in the same order as Input.");
+        System.out.println("--Profiles=<directory>       : Adds each JVM flag profile in a results directory as an input.");
         System.out.println();
         System.out.println("Example:");
         System.out.println("java -jar build/jar/benchmark_app.jar  comparePlatforms --Library=ejml --Input=results/Q9400_2010_08 --InputName=Q9400 --Input=results/PentiumM_2010_08 --InputName=PentiumM");
+        System.out.println("java -jar build/jar/benchmark_app.jar  comparePlatforms --Library=ejml --Profiles=results/1300000000000");
     }
 
     public static void parseInput( String args[] ) {
@@ -289,6 +322,7 @@ public class ComparePlatformResults {
         int minSize = 0;
         List<String> inputDirectories = new ArrayList<String>();
         List<String> names = new ArrayList<String>();
+        List<String> profileDirectories = new ArrayList<String>();
 
         for( int i = 0; i < args.length; i++ ) {
             String splits[] = args[i].split("=");
@@ -334,6 +368,9 @@ public class ComparePlatformResults {
                 inputDirectories.add(splits[1]);
             } else if( flag.compareTo("InputName") == 0 ) {
                 names.add(splits[1]);
+            } else if( flag.compareTo("Profiles") == 0 ) {
+                if( splits.length != 2 ) {failed = true; break;}
+                profileDirectories.add(splits[1]);
             } else {
                 System.out.println("Unknown flag: "+flag);
                 failed = true;
@@ -356,6 +393,10 @@ public class ComparePlatformResults {
 
                 app.addPlatform(dir,targetLibrary,name);
             }
+            for( String dir : profileDirectories ) {
+                if( app.addProfiles(dir,targetLibrary) == 0 )
+                    System.out.println("No JVM profiles found in "+dir);
+            }
 
             app.minMatrixSize = minSize;
             app.maxMatrixSize = maxSize;
@@ -23,6 +23,7 @@ import jmbench.impl.LibraryDescription;
 import jmbench.impl.LibraryLocation;
 import jmbench.tools.runtime.RuntimeEvaluationMetrics;
 import jmbench.tools.runtime.RuntimeResults;
+import jmbench.tools.stability.UtilBinarySerialization;
 import jmbench.tools.stability.UtilXmlSerialization;
 
 import java.io.File;
@@ -140,8 +141,38 @@ public class PlotRuntimeResults {
             RuntimeResultPlotter.variabilityPlots(l, fileNameVar,true,false);
             RuntimeResultPlotter.relativePlots(plotData, refType,null,fileNameRel,plotData.plotName,true,displayResults);
             RuntimeResultPlotter.absolutePlots(plotData, fileNameAbs,plotData.plotName,true,false);
+
+            String fileNameLatency = outputDirectory.getPath()+"/plots/latency/"+key;
+            RuntimeResultPlotter.latencyPlots(l,50,fileNameLatency+"_p50",true,false);
+            RuntimeResultPlotter.latencyPlots(l,99,fileNameLatency+"_p99",true,false);
+            RuntimeResultPlotter.latencyPlots(l,99.9,fileNameLatency+"_p999",true,false);
+
+            String fileNameAlloc = outputDirectory.getPath()+"/plots/allocation/"+key;
+            RuntimeResultPlotter.allocationPlots(l,false,fileNameAlloc,true,false);
+            RuntimeResultPlotter.allocationPlots(l,true,fileNameAlloc+"_element",true,false);
+
+            String fileNameSparse = outputDirectory.getPath()+"/plots/sparse/"+key;
+            RuntimeResultPlotter.sparsePlots(l,whichMetric,fileNameSparse,true,false);
+
+            String fileNameIterative = outputDirectory.getPath()+"/plots/iterative/"+key;
+            RuntimeResultPlotter.iterativePlots(l,whichMetric,RuntimeResultPlotter.Iterative.TIME,
+                    fileNameIterative+"_time",true,false);
+            RuntimeResultPlotter.iterativePlots(l,whichMetric,RuntimeResultPlotter.Iterative.ITERATIONS,
+                    fileNameIterative+"_iterations",true,false);
+            RuntimeResultPlotter.iterativePlots(l,whichMetric,RuntimeResultPlotter.Iterative.TIME_PER_ITERATION,
+                    fileNameIterative+"_per_iteration",true,false);
+
+            String fileNameBandwidth = outputDirectory.getPath()+"/plots/bandwidth/"+key;
+            RuntimeResultPlotter.bandwidthPlots(l,whichMetric,fileNameBandwidth,true,false);
         }
 
+        RuntimeResultPlotter.allocationSummary(opMap,outputDirectory.getPath()+"/plots/allocation/summary.txt");
+        RuntimeResultPlotter.batchSummary(opMap,outputDirectory.getPath()+"/plots/batch/summary.txt");
+        RuntimeResultPlotter.inPlaceSummary(opMap,outputDirectory.getPath()+"/plots/inplace/summary.txt");
+        RuntimeResultPlotter.reuseSummary(opMap,outputDirectory.getPath()+"/plots/reuse/summary.txt");
+        RuntimeResultPlotter.structuredSummary(opMap,outputDirectory.getPath()+"/plots/structured/summary.txt");
+        RuntimeResultPlotter.floatSummary(opMap,outputDirectory.getPath()+"/plots/float/summary.txt");
+
         RuntimeResultPlotter.summaryPlots(allResults,refType,weightedSummary,outputDirectory.getPath()+"/plots",true,displayResults);
         RuntimeResultPlotter.summaryAreaPlot(allResults,refType,outputDirectory.getPath()+"/plots",true,displayResults);
     }
@@ -213,7 +244,7 @@ public class PlotRuntimeResults {
      * @return true if it should be included
      */
     private boolean checkIncludeLibrary(String pathDir) {
-        LibraryDescription target = UtilXmlSerialization.deserializeXml(pathDir + ".xml");
+        LibraryDescription target = UtilBinarySerialization.loadArtifact(pathDir);
 
         if( target == null ) {
             // no library info associated with this directory so its probably not a results directory
@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.tools.runtime.evaluation;
+
+import jmbench.impl.LibraryDescription;
+import jmbench.impl.LibraryLocation;
+import jmbench.plots.OperationsVersusSizePlot;
+import jmbench.tools.runtime.RuntimeBenchmarkMaster;
+import jmbench.tools.runtime.RuntimeEvaluationMetrics;
+import jmbench.tools.runtime.RuntimeResults;
+import jmbench.tools.stability.UtilBinarySerialization;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.*;
+
+
+/**
+ * <p>
+ * Plots how well each library scales as the number of threads is increased.  The results for each number of threads
+ * are expected to be in their own directory named with a prefix followed by the number of threads, e.g. "concurrent4"
+ * or "threads4".
+ * For each operation and matrix size the median throughput, the speedup relative to the fewest number of threads,
+ * and the parallel efficiency (speedup divided by the increase in threads) are plotted.
+ * </p>
+ *
+ * <p>
+ * Plots are saved in plots/scaling and a table of the efficiencies is saved to plots/scaling/summary.txt.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PlotScalingResults {
+
+    File directory;
+    // prefix of the directories which contain the results for each number of threads
+    String prefix;
+
+    // should it display results to the screen
+    boolean displayResults = false;
+
+    // operation -> library -> number of threads -> results
+    Map<String,Map<String,Map<Integer,RuntimeResults>>> opMap =
+            new TreeMap<String,Map<String,Map<Integer,RuntimeResults>>>();
+    // number of threads found in the directory
+    List<Integer> threadCounts = new ArrayList<Integer>();
+
+    public PlotScalingResults( String dir , String prefix ) {
+        directory = new File(dir);
+        this.prefix = prefix;
+
+        if( !directory.isDirectory() ) {
+            throw new IllegalArgumentException("Need to specify a directory.");
+        }
+    }
+
+    /**
+     * Reads in results from each of the thread directories.
+     */
+    public void readResults() {
+        for( File level0 : directory.listFiles() ) {
+            if( !level0.isDirectory() || !level0.getName().startsWith(prefix) )
+                continue;
+
+            int numThreads;
+            try {
+                numThreads = Integer.parseInt(level0.getName().substring(prefix.length()));
+            } catch( NumberFormatException e ) {
+                continue;
+            }
+            threadCounts.add(numThreads);
+
+            for( File libDir : level0.listFiles() ) {
+                if( !libDir.isDirectory() )
+                    continue;
+
+                LibraryDescription desc = UtilBinarySerialization.loadArtifact(libDir.getAbsolutePath());
+                if( desc == null )
+                    continue;
+
+                for( String name : libDir.list() ) {
+                    if( !name.endsWith(".csv") )
+                        continue;
+
+                    String opName = name.substring(0,name.length()-4);
+                    RuntimeResults r = RuntimeResultsCsvIO.read(new File(libDir,name));
+
+                    Map<String,Map<Integer,RuntimeResults>> libMap = opMap.get(opName);
+                    if( libMap == null ) {
+                        libMap = new TreeMap<String,Map<Integer,RuntimeResults>>();
+                        opMap.put(opName,libMap);
+                    }
+                    Map<Integer,RuntimeResults> threadMap = libMap.get(r.getLibraryName());
+                    if( threadMap == null ) {
+                        threadMap = new TreeMap<Integer,RuntimeResults>();
+                        libMap.put(r.getLibraryName(),threadMap);
+                    }
+                    threadMap.put(numThreads,r);
+                }
+            }
+        }
+
+        Collections.sort(threadCounts);
+    }
+
+    public void plot() {
+        if( threadCounts.isEmpty() )
+            throw new IllegalArgumentException("No directories which start with "+prefix+" in "+directory.getPath());
+
+        String outputDir = directory.getPath()+"/plots/scaling";
+        new File(outputDir).mkdirs();
+
+        PrintStream summary;
+        try {
+            summary = new PrintStream(outputDir+"/summary.txt");
+        } catch (FileNotFoundException e) {
+            throw new RuntimeException(e);
+        }
+
+        summary.print("Parallel efficiency relative to "+threadCounts.get(0)+" threads\n\n");
+        summary.printf("%-30s %6s %-15s","operation","size","library");
+        for( int n : threadCounts )
+            summary.printf(" %7d",n);
+        summary.println();
+
+        for( String opName : opMap.keySet() ) {
+            Map<String,Map<Integer,RuntimeResults>> libMap = opMap.get(opName);
+
+            for( int size : findMatrixSizes(libMap) ) {
+                String title = opName+" "+size+"x"+size;
+                OperationsVersusSizePlot plotOps = new OperationsVersusSizePlot(title,"Threads","Total Ops/Sec");
+                OperationsVersusSizePlot plotSpeed = new OperationsVersusSizePlot(title,"Threads","Speedup");
+                OperationsVersusSizePlot plotEff = new OperationsVersusSizePlot(title,"Threads","Parallel Efficiency");
+                plotOps.setLogScale(true,false);
+
+                boolean plotted = false;
+                for( String libName : libMap.keySet() ) {
+                    double ops[] = findOpsPerSec(libMap.get(libName),size);
+                    double reference = ops[0];
+                    if( Double.isNaN(reference) )
+                        continue;
+
+                    int x[] = new int[ threadCounts.size() ];
+                    double speedup[] = new double[ x.length ];
+                    double efficiency[] = new double[ x.length ];
+                    for( int i = 0; i < x.length; i++ ) {
+                        x[i] = threadCounts.get(i);
+                        speedup[i] = ops[i]/reference;
+                        efficiency[i] = speedup[i]*threadCounts.get(0)/threadCounts.get(i);
+                    }
+
+                    LibraryLocation lib = LibraryLocation.lookup(libName);
+                    plotOps.addResults(x,ops,lib.getPlotName(),x.length,lib.getPlotLineType());
+                    plotSpeed.addResults(x,speedup,lib.getPlotName(),x.length,lib.getPlotLineType());
+                    plotEff.addResults(x,efficiency,lib.getPlotName(),x.length,lib.getPlotLineType());
+                    plotted = true;
+
+                    summary.printf("%-30s %6d %-15s",opName,size,lib.getPlotName());
+                    for( double e : efficiency )
+                        summary.printf(" %7.3f",e);
+                    summary.println();
+                }
+
+                if( !plotted )
+                    continue;
+
+                String fileName = outputDir+"/"+opName+"_"+size;
+                plotOps.savePDF(fileName+".pdf",600,500);
+                plotSpeed.savePDF(fileName+"_speedup.pdf",600,500);
+                plotEff.savePDF(fileName+"_efficiency.pdf",600,500);
+                if( displayResults )
+                    plotEff.displayWindow(600,500);
+            }
+        }
+
+        summary.close();
+    }
+
+    /**
+     * All the matrix sizes that any library has results for
+     */
+    private Set<Integer> findMatrixSizes( Map<String,Map<Integer,RuntimeResults>> libMap ) {
+        Set<Integer> ret = new TreeSet<Integer>();
+        for( Map<Integer,RuntimeResults> threadMap : libMap.values() ) {
+            for( RuntimeResults r : threadMap.values() ) {
+                RuntimeEvaluationMetrics metrics[] = r.getMetrics();
+                for( int i = 0; i < metrics.length; i++ ) {
+                    if( metrics[i] != null )
+                        ret.add(r.getMatDimen()[i]);
+                }
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Median throughput for each number of threads.  NaN if there are no results.
+     */
+    private double[] findOpsPerSec( Map<Integer,RuntimeResults> threadMap , int size ) {
+        double ret[] = new double[ threadCounts.size() ];
+        for( int i = 0; i < ret.length; i++ ) {
+            ret[i] = Double.NaN;
+            RuntimeResults r = threadMap.get(threadCounts.get(i));
+            if( r == null )
+                continue;
+            for( int j = 0; j < r.getMatDimen().length; j++ ) {
+                RuntimeEvaluationMetrics m = r.getMetrics()[j];
+                if( r.getMatDimen()[j] == size && m != null )
+                    ret[i] = m.getMedian();
+            }
+        }
+        return ret;
+    }
+
+    public static void printHelp() {
+        System.out.println("Plots how well libraries scale with the number of threads.");
+        System.out.println();
+        System.out.println("--Prefix=<name>                : Prefix of the directories for each number of threads.  Default is "+
+                RuntimeBenchmarkMaster.CONCURRENT_DIR);
+        System.out.println("                               : Use "+RuntimeBenchmarkMaster.LIBRARY_THREADS_DIR+
+                " for library thread sweeps.");
+        System.out.println("--Display=<true|false>         : If true some results will be displayed.");
+        System.out.println();
+        System.out.println("The last argument is the directory that contains the results.  If this is not specified");
+        System.out.println("then the most recently modified directory is used.");
+    }
+
+    public static void main( String args[] ) {
+        String inputDirectory = null;
+        String prefix = RuntimeBenchmarkMaster.CONCURRENT_DIR;
+        boolean displayResults = false;
+
+        boolean failed = false;
+
+        for( int i = 0; i < args.length; i++ ) {
+            String splits[] = args[i].split("=");
+
+            String flag = splits[0];
+
+            if( flag.length() < 2 || flag.charAt(0) != '-' || flag.charAt(1) != '-') {
+                inputDirectory = args[i];
+                break;
+            }
+
+            flag = flag.substring(2);
+
+            if( flag.compareTo("Prefix") == 0 ) {
+                if( splits.length != 2 ) {failed = true; break;}
+                prefix = splits[1];
+            } else if( flag.compareTo("Display") == 0 ) {
+                if( splits.length != 2 ) {failed = true; break;}
+                displayResults = Boolean.parseBoolean(splits[1]);
+            } else {
+                System.out.println("Unknown flag: "+flag);
+                failed = true;
+                break;
+            }
+        }
+
+        if( failed ) {
+            printHelp();
+            throw new RuntimeException("Parsing arguments failed");
+        }
+
+        if( inputDirectory == null )
+            inputDirectory = PlotRuntimeResults.findMostRecentDirectory();
+
+        System.out.println("Parsing "+inputDirectory);
+
+        PlotScalingResults p = new PlotScalingResults(inputDirectory,prefix);
+        p.displayResults = displayResults;
+        p.readResults();
+        p.plot();
+    }
+}
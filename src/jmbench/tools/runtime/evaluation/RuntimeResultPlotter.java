@@ -20,12 +20,16 @@
 package jmbench.tools.runtime.evaluation;
 
 import jmbench.impl.LibraryLocation;
+import jmbench.misc.RandomizeMatrices;
 import jmbench.plots.OperationsVersusSizePlot;
 import jmbench.plots.OverallRelativeAreaPlot;
 import jmbench.plots.SummaryWhiskerPlot;
 import jmbench.tools.runtime.RuntimeEvaluationMetrics;
 import jmbench.tools.runtime.RuntimeResults;
 
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
 import java.util.*;
 
 
@@ -368,6 +372,564 @@ public class RuntimeResultPlotter {
             splot.displayWindow(600, 500);
     }
 
+    /**
+     * Plots how long individual operations took at the specified percentile for each library.  Libraries
+     * which don't have latency samples are skipped.
+     *
+     * @param percentile Which percentile is plotted, from 0 to 100.
+     * @return true if anything was plotted
+     */
+    public static boolean latencyPlots( List<RuntimeResults> data ,
+                                        double percentile ,
+                                        String fileName ,
+                                        boolean savePDF ,
+                                        boolean showWindow )
+    {
+        String opName = data.get(0).getOpName();
+        OperationsVersusSizePlot splot = new OperationsVersusSizePlot(opName+" "+percentile+"% Latency",
+                "Time Per Op (s)");
+
+        splot.setLogScale(true,true);
+
+        int numMatrixSizes = getNumMatrices(data);
+
+        int matDimen[] = new int[ numMatrixSizes ];
+
+        if( fileName == null ) {
+            fileName = opName;
+        }
+
+        for( int i = 0; i < numMatrixSizes; i++ ){
+            matDimen[i] = getMatrixSize(data,i);
+        }
+
+        boolean plotted = false;
+        for( RuntimeResults ops : data ) {
+            RuntimeEvaluationMetrics[]metrics = ops.metrics;
+            int n = ops.getMatDimen().length;
+
+            double results[] = new double[ numMatrixSizes ];
+            boolean allInvalid = true;
+            for( int i = 0; i < numMatrixSizes; i++ ) {
+                if( i < n && metrics[i] != null && metrics[i].getLatency() != null ) {
+                    results[i] = metrics[i].getLatency().getPercentile(percentile)/1e9;
+                    allInvalid = false;
+                } else {
+                    results[i] = Double.NaN;
+                }
+            }
+
+            if( allInvalid )
+                continue;
+
+            LibraryLocation lib = LibraryLocation.lookup(ops.getLibraryName());
+            splot.addResults(matDimen,results,lib.getPlotName(),numMatrixSizes,
+                    lib.getPlotLineType());
+            plotted = true;
+        }
+
+        if( !plotted )
+            return false;
+
+        if( savePDF )
+            splot.savePDF(fileName+".pdf",600,500);
+        if( showWindow )
+            splot.displayWindow(600, 500);
+        return true;
+    }
+
+    /**
+     * Plots operations per second against the number of non-zero elements in each sparse input, which is what
+     * the cost of sparse operations depends on.  Only results from sparse operations can be plotted.
+     *
+     * @return true if anything was plotted
+     */
+    public static boolean sparsePlots( List<RuntimeResults> data ,
+                                       int whichMetric ,
+                                       String fileName ,
+                                       boolean savePDF ,
+                                       boolean showWindow )
+    {
+        double density = data.get(0).getDensity();
+        if( density <= 0 )
+            return false;
+
+        String opName = data.get(0).getOpName();
+        OperationsVersusSizePlot splot = new OperationsVersusSizePlot(opName,"Non-Zero Elements","op/sec");
+        splot.setSubTitle("Density "+density);
+
+        splot.setLogScale(true,true);
+
+        int numMatrixSizes = getNumMatrices(data);
+
+        int nonZeros[] = new int[ numMatrixSizes ];
+
+        if( fileName == null ) {
+            fileName = opName;
+        }
+
+        for( int i = 0; i < numMatrixSizes; i++ ){
+            nonZeros[i] = (int)RandomizeMatrices.sparseNonZeros(getMatrixSize(data,i),density);
+        }
+
+        boolean plotted = false;
+        for( RuntimeResults ops : data ) {
+            RuntimeEvaluationMetrics[]metrics = ops.metrics;
+            int n = ops.getMatDimen().length;
+
+            double results[] = new double[ numMatrixSizes ];
+            boolean allInvalid = true;
+            for( int i = 0; i < numMatrixSizes; i++ ) {
+                if( i < n && metrics[i] != null ) {
+                    results[i] = metrics[i].getMetric(whichMetric);
+                    allInvalid = false;
+                } else {
+                    results[i] = Double.NaN;
+                }
+            }
+
+            if( allInvalid )
+                continue;
+
+            LibraryLocation lib = LibraryLocation.lookup(ops.getLibraryName());
+            splot.addResults(nonZeros,results,lib.getPlotName(),numMatrixSizes,
+                    lib.getPlotLineType());
+            plotted = true;
+        }
+
+        if( !plotted )
+            return false;
+
+        if( savePDF )
+            splot.savePDF(fileName+".pdf",600,500);
+        if( showWindow )
+            splot.displayWindow(600, 500);
+        return true;
+    }
+
+    /**
+     * Plots how long iterative solvers took to reach the tolerance, how many iterations that took, or the
+     * time per iteration.  Only results from iterative solvers can be plotted.
+     *
+     * @return true if anything was plotted
+     */
+    public static boolean iterativePlots( List<RuntimeResults> data ,
+                                          int whichMetric ,
+                                          Iterative type ,
+                                          String fileName ,
+                                          boolean savePDF ,
+                                          boolean showWindow )
+    {
+        String opName = data.get(0).getOpName();
+        OperationsVersusSizePlot splot = new OperationsVersusSizePlot(opName,"Unknowns",type.getLabel());
+
+        splot.setLogScale(true,true);
+
+        int numMatrixSizes = getNumMatrices(data);
+
+        int matDimen[] = new int[ numMatrixSizes ];
+
+        if( fileName == null ) {
+            fileName = opName;
+        }
+
+        for( int i = 0; i < numMatrixSizes; i++ ){
+            matDimen[i] = getMatrixSize(data,i);
+        }
+
+        boolean plotted = false;
+        for( RuntimeResults ops : data ) {
+            RuntimeEvaluationMetrics[]metrics = ops.metrics;
+            int n = ops.getMatDimen().length;
+
+            double results[] = new double[ numMatrixSizes ];
+            boolean allInvalid = true;
+            for( int i = 0; i < numMatrixSizes; i++ ) {
+                if( i < n && metrics[i] != null && metrics[i].getIterations() > 0 ) {
+                    double iterations = metrics[i].getIterations();
+                    double seconds = 1.0/metrics[i].getMetric(whichMetric);
+                    switch( type ) {
+                        case TIME: results[i] = seconds; break;
+                        case ITERATIONS: results[i] = iterations; break;
+                        case TIME_PER_ITERATION: results[i] = seconds/iterations; break;
+                    }
+                    allInvalid = false;
+                } else {
+                    results[i] = Double.NaN;
+                }
+            }
+
+            if( allInvalid )
+                continue;
+
+            LibraryLocation lib = LibraryLocation.lookup(ops.getLibraryName());
+            splot.addResults(matDimen,results,lib.getPlotName(),numMatrixSizes,
+                    lib.getPlotLineType());
+            plotted = true;
+        }
+
+        if( !plotted )
+            return false;
+
+        if( savePDF )
+            splot.savePDF(fileName+".pdf",600,500);
+        if( showWindow )
+            splot.displayWindow(600, 500);
+        return true;
+    }
+
+    /**
+     * Plots the memory bandwidth in GB/s achieved by operations which are limited by it.  Only results with a
+     * known number of bytes per operation can be plotted.
+     *
+     * @return true if anything was plotted
+     */
+    public static boolean bandwidthPlots( List<RuntimeResults> data ,
+                                          int whichMetric ,
+                                          String fileName ,
+                                          boolean savePDF ,
+                                          boolean showWindow )
+    {
+        String opName = data.get(0).getOpName();
+        OperationsVersusSizePlot splot = new OperationsVersusSizePlot(opName,"GB/s");
+
+        splot.setLogScale(true,false);
+
+        int numMatrixSizes = getNumMatrices(data);
+
+        int matDimen[] = new int[ numMatrixSizes ];
+
+        if( fileName == null ) {
+            fileName = opName;
+        }
+
+        for( int i = 0; i < numMatrixSizes; i++ ){
+            matDimen[i] = getMatrixSize(data,i);
+        }
+
+        boolean plotted = false;
+        for( RuntimeResults ops : data ) {
+            RuntimeEvaluationMetrics[]metrics = ops.metrics;
+            int n = ops.getMatDimen().length;
+
+            double results[] = new double[ numMatrixSizes ];
+            boolean allInvalid = true;
+            for( int i = 0; i < numMatrixSizes; i++ ) {
+                if( i < n && metrics[i] != null && metrics[i].getBytesPerOp() > 0 ) {
+                    results[i] = metrics[i].getBandwidth(whichMetric);
+                    allInvalid = false;
+                } else {
+                    results[i] = Double.NaN;
+                }
+            }
+
+            if( allInvalid )
+                continue;
+
+            LibraryLocation lib = LibraryLocation.lookup(ops.getLibraryName());
+            splot.addResults(matDimen,results,lib.getPlotName(),numMatrixSizes,
+                    lib.getPlotLineType());
+            plotted = true;
+        }
+
+        if( !plotted )
+            return false;
+
+        if( savePDF )
+            splot.savePDF(fileName+".pdf",600,500);
+        if( showWindow )
+            splot.displayWindow(600, 500);
+        return true;
+    }
+
+    /**
+     * Plots the number of bytes allocated by each operation.  Libraries which never allocated memory can't
+     * be shown on a log scale, so "(zero alloc)" is added to their name instead.
+     *
+     * @param perElement If true the number of bytes is divided by the number of elements in the matrix.
+     * @return true if anything was plotted
+     */
+    public static boolean allocationPlots( List<RuntimeResults> data ,
+                                           boolean perElement ,
+                                           String fileName ,
+                                           boolean savePDF ,
+                                           boolean showWindow )
+    {
+        String opName = data.get(0).getOpName();
+        OperationsVersusSizePlot splot = new OperationsVersusSizePlot(opName,
+                perElement ? "Bytes Allocated Per Element" : "Bytes Allocated Per Op");
+
+        splot.setLogScale(true,true);
+
+        int numMatrixSizes = getNumMatrices(data);
+
+        int matDimen[] = new int[ numMatrixSizes ];
+
+        if( fileName == null ) {
+            fileName = opName;
+        }
+
+        for( int i = 0; i < numMatrixSizes; i++ ){
+            matDimen[i] = getMatrixSize(data,i);
+        }
+
+        boolean plotted = false;
+        for( RuntimeResults ops : data ) {
+            RuntimeEvaluationMetrics[]metrics = ops.metrics;
+            int n = ops.getMatDimen().length;
+
+            double results[] = new double[ numMatrixSizes ];
+            boolean allInvalid = true;
+            for( int i = 0; i < numMatrixSizes; i++ ) {
+                if( i < n && metrics[i] != null && !Double.isNaN(metrics[i].getAllocatedPerOp()) ) {
+                    double bytes = metrics[i].getAllocatedPerOp();
+                    if( perElement )
+                        bytes /= (double)matDimen[i]*matDimen[i];
+                    results[i] = bytes > 0 ? bytes : Double.NaN;
+                    allInvalid = false;
+                } else {
+                    results[i] = Double.NaN;
+                }
+            }
+
+            if( allInvalid )
+                continue;
+
+            LibraryLocation lib = LibraryLocation.lookup(ops.getLibraryName());
+            String label = lib.getPlotName();
+            if( isZeroAllocation(ops) )
+                label += " (zero alloc)";
+            splot.addResults(matDimen,results,label,numMatrixSizes,
+                    lib.getPlotLineType());
+            plotted = true;
+        }
+
+        if( !plotted )
+            return false;
+
+        if( savePDF )
+            splot.savePDF(fileName+".pdf",600,500);
+        if( showWindow )
+            splot.displayWindow(600, 500);
+        return true;
+    }
+
+    /**
+     * Returns true if allocation was measured for the operation and every matrix size is zero allocation.
+     */
+    public static boolean isZeroAllocation( RuntimeResults results ) {
+        boolean found = false;
+        for( RuntimeEvaluationMetrics m : results.metrics ) {
+            if( m == null || Double.isNaN(m.getAllocatedPerOp()) )
+                continue;
+            if( !m.isZeroAllocation() )
+                return false;
+            found = true;
+        }
+        return found;
+    }
+
+    /**
+     * Saves a table with how many bytes each library allocates per operation at the largest matrix size it
+     * processed.  Operations which never allocate are marked with "ZERO-ALLOC".
+     *
+     * @param opMap Results of each operation for all the libraries
+     */
+    public static void allocationSummary( Map<String, List> opMap , String fileName ) {
+        File parent = new File(fileName).getParentFile();
+        if( parent != null && !parent.exists() && !parent.mkdirs() )
+            throw new RuntimeException("Can't create directory "+parent.getPath());
+
+        try {
+            PrintStream out = new PrintStream(fileName);
+            out.println("# Bytes allocated per operation at the largest matrix size processed");
+            out.printf("%-30s %-12s %10s %18s\n","operation","library","size","bytes/op");
+
+            List<String> keys = new ArrayList<String>(opMap.keySet());
+            Collections.sort(keys);
+            for( String key : keys ) {
+                List<RuntimeResults> l = opMap.get(key);
+                for( RuntimeResults r : l ) {
+                    int last = -1;
+                    for( int i = 0; i < r.metrics.length; i++ ) {
+                        if( r.metrics[i] != null && !Double.isNaN(r.metrics[i].getAllocatedPerOp()) )
+                            last = i;
+                    }
+                    if( last < 0 )
+                        continue;
+
+                    String bytes = isZeroAllocation(r) ? "ZERO-ALLOC" :
+                            String.format("%.1f",r.metrics[last].getAllocatedPerOp());
+                    out.printf("%-30s %-12s %10d %18s\n",r.getOpName(),r.getLibraryName(),
+                            r.getMatDimen()[last],bytes);
+                }
+            }
+            out.close();
+        } catch (FileNotFoundException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Saves a table of how many matrices per second each library processed in the batched small matrix
+     * benchmarks, along with the time spent on each matrix.  Only operations starting with "batch" are included.
+     *
+     * @param opMap Results of each operation for all the libraries
+     */
+    public static void batchSummary( Map<String, List> opMap , String fileName ) {
+        List<String> keys = new ArrayList<String>();
+        for( String key : opMap.keySet() ) {
+            if( key.startsWith("batch") )
+                keys.add(key);
+        }
+        if( keys.isEmpty() )
+            return;
+        Collections.sort(keys);
+
+        File parent = new File(fileName).getParentFile();
+        if( parent != null && !parent.exists() && !parent.mkdirs() )
+            throw new RuntimeException("Can't create directory "+parent.getPath());
+
+        try {
+            PrintStream out = new PrintStream(fileName);
+            out.println("# Median number of matrices processed per second in each batch benchmark");
+            out.printf("%-30s %-12s %6s %16s %12s\n","operation","library","size","matrices/sec","ns/matrix");
+
+            for( String key : keys ) {
+                List<RuntimeResults> l = opMap.get(key);
+                for( RuntimeResults r : l ) {
+                    for( int i = 0; i < r.metrics.length; i++ ) {
+                        if( r.metrics[i] == null )
+                            continue;
+                        double median = r.metrics[i].getMedian();
+                        out.printf("%-30s %-12s %6d %16.1f %12.1f\n",r.getOpName(),r.getLibraryName(),
+                                r.getMatDimen()[i],median,1e9/median);
+                    }
+                }
+            }
+            out.close();
+        } catch (FileNotFoundException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Saves a table which compares each operation against the variant which writes into preallocated outputs.
+     * For every library and matrix size the operations per second and bytes allocated per operation of both are
+     * listed side by side.  Libraries without a way to write into existing matrices are marked with "NO-IN-PLACE".
+     *
+     * @param opMap Results of each operation for all the libraries
+     */
+    public static void inPlaceSummary( Map<String, List> opMap , String fileName ) {
+        variantSummary(opMap,"Into","into","NO-IN-PLACE",
+                "Allocating operations compared against writing into preallocated outputs",fileName);
+    }
+
+    /**
+     * Saves a table which compares each decomposition and solver against the variant which reuses the
+     * decomposition, in the same format as {@link #inPlaceSummary}.  Libraries which can only create a new
+     * decomposition are marked with "NO-REUSE".
+     *
+     * @param opMap Results of each operation for all the libraries
+     */
+    public static void reuseSummary( Map<String, List> opMap , String fileName ) {
+        variantSummary(opMap,"Reuse","reuse","NO-REUSE",
+                "Creating a new decomposition compared against reusing the decomposition",fileName);
+    }
+
+    /**
+     * Saves a table which compares structured inputs processed as dense matrices against the library's
+     * specialized representation for the structure, in the same format as {@link #inPlaceSummary}.  Libraries
+     * without a representation for the structure are marked with "NO-STRUCTURE".
+     *
+     * @param opMap Results of each operation for all the libraries
+     */
+    public static void structuredSummary( Map<String, List> opMap , String fileName ) {
+        variantSummary(opMap,"Structured","struct","NO-STRUCTURE",
+                "Structured inputs processed as dense matrices compared against specialized representations",fileName);
+    }
+
+    /**
+     * Saves a table which compares each operation in double precision against single precision, in the same
+     * format as {@link #inPlaceSummary}.  The ratio is the speedup from switching to single precision.  Libraries
+     * without single precision matrices are marked with "NO-FLOAT".
+     *
+     * @param opMap Results of each operation for all the libraries
+     */
+    public static void floatSummary( Map<String, List> opMap , String fileName ) {
+        variantSummary(opMap,"Float","float","NO-FLOAT",
+                "Double precision compared against single precision",fileName);
+    }
+
+    /**
+     * Compares each operation against its variant, which is found by appending the suffix to its name.
+     */
+    private static void variantSummary( Map<String, List> opMap , String suffix , String label ,
+                                        String notSupported , String title , String fileName ) {
+        List<String> keys = new ArrayList<String>();
+        for( String key : opMap.keySet() ) {
+            if( key.endsWith(suffix) && opMap.containsKey(key.substring(0,key.length()-suffix.length())) )
+                keys.add(key);
+        }
+        if( keys.isEmpty() )
+            return;
+        Collections.sort(keys);
+
+        File parent = new File(fileName).getParentFile();
+        if( parent != null && !parent.exists() && !parent.mkdirs() )
+            throw new RuntimeException("Can't create directory "+parent.getPath());
+
+        try {
+            PrintStream out = new PrintStream(fileName);
+            out.println("# "+title);
+            out.printf("%-30s %-12s %6s %14s %14s %8s %12s %12s\n","operation","library","size",
+                    "ops/sec",label+" ops/sec","ratio","bytes/op",label+" bytes/op");
+
+            for( String key : keys ) {
+                List<RuntimeResults> variant = opMap.get(key);
+                List<RuntimeResults> regular = opMap.get(key.substring(0,key.length()-suffix.length()));
+
+                for( RuntimeResults r : regular ) {
+                    RuntimeResults p = null;
+                    for( RuntimeResults a : variant ) {
+                        if( a.getLibraryName().equals(r.getLibraryName()) )
+                            p = a;
+                    }
+                    if( p == null )
+                        continue;
+
+                    if( p.isNotSupported() ) {
+                        out.printf("%-30s %-12s %6s %14s %14s\n",r.getOpName(),r.getLibraryName(),"-","-",notSupported);
+                        continue;
+                    }
+
+                    for( int i = 0; i < r.metrics.length; i++ ) {
+                        RuntimeEvaluationMetrics m = r.metrics[i];
+                        RuntimeEvaluationMetrics n = i < p.metrics.length ? p.metrics[i] : null;
+                        if( m == null && n == null )
+                            continue;
+
+                        out.printf("%-30s %-12s %6d %14s %14s %8s %12s %12s\n",r.getOpName(),r.getLibraryName(),
+                                r.getMatDimen()[i],
+                                m == null ? "-" : String.format("%.1f",m.getMedian()),
+                                n == null ? "-" : String.format("%.1f",n.getMedian()),
+                                m == null || n == null ? "-" : String.format("%.2f",n.getMedian()/m.getMedian()),
+                                formatBytes(m),formatBytes(n));
+                    }
+                }
+            }
+            out.close();
+        } catch (FileNotFoundException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static String formatBytes( RuntimeEvaluationMetrics m ) {
+        if( m == null || Double.isNaN(m.getAllocatedPerOp()) )
+            return "-";
+        return String.format("%.1f",m.getAllocatedPerOp());
+    }
+
     public static void absolutePlots( RuntimePlotData data ,
                                       String fileName ,
                                       String opName,
@@ -555,4 +1117,24 @@ public class RuntimeResultPlotter {
         MEDIAN,
         MAX
     }
+
+    /**
+     * Which measurement of an iterative solver is plotted
+     */
+    public static enum Iterative
+    {
+        TIME("Time To Tolerance (s)"),
+        ITERATIONS("Iterations"),
+        TIME_PER_ITERATION("Time Per Iteration (s)");
+
+        private String label;
+
+        Iterative(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
 }
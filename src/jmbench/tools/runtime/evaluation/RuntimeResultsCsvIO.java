@@ -20,6 +20,7 @@
 package jmbench.tools.runtime.evaluation;
 
 import jmbench.tools.OutputError;
+import jmbench.tools.runtime.LatencyHistogram;
 import jmbench.tools.runtime.RuntimeEvaluationMetrics;
 import jmbench.tools.runtime.RuntimeMeasurement;
 import jmbench.tools.runtime.RuntimeResults;
@@ -56,14 +57,22 @@ public class RuntimeResultsCsvIO {
             ret.libraryName = readString(input);
             ret.opName = readString(input);
             ret.complete = readBoolean(input);
-            ret.matDimen = new int[ readInt(input) ];
+            // older files don't record if the operation is supported
+            String header[] = readRestOfLine(input);
+            ret.matDimen = new int[ Integer.parseInt(header[0]) ];
+            if( header.length >= 2 )
+                ret.notSupported = Boolean.parseBoolean(header[1]);
+            if( header.length >= 3 )
+                ret.density = Double.parseDouble(header[2]);
             ret.metrics = new RuntimeEvaluationMetrics[ret.matDimen.length];
 
             for( int i = 0; i < ret.matDimen.length; i++ ) {
                 ret.matDimen[i] = readInt(input);
 
 
-                int numResults = readInt(input);
+                // the confidence interval of the median follows the number of results in newer files
+                String sizeLine[] = readRestOfLine(input);
+                int numResults = Integer.parseInt(sizeLine[0]);
                 if( numResults > 0 ) {
                     RuntimeEvaluationMetrics e = ret.metrics[i] = new RuntimeEvaluationMetrics();
                     e.rawResults = new ArrayList<RuntimeMeasurement>();
@@ -74,10 +83,46 @@ public class RuntimeResultsCsvIO {
 
                         OutputError error = faultName.compareTo("null") == 0 ? null : OutputError.valueOf(faultName);
 
-                        e.rawResults.add(new RuntimeMeasurement(opsPerSec,0,error));
+                        RuntimeMeasurement m = new RuntimeMeasurement(opsPerSec,0,error);
+
+                        // older files don't record how long it warmed up for
+                        String extra[] = readRestOfLine(input);
+                        if( extra.length >= 2 ) {
+                            m.warmupCycles = Long.parseLong(extra[0]);
+                            m.warmupTime = Double.parseDouble(extra[1]);
+                        }
+                        if( extra.length >= 3 && extra[2].compareTo("-") != 0 ) {
+                            m.latency = LatencyHistogram.decode(extra[2]);
+                        }
+                        if( extra.length >= 8 ) {
+                            m.gcCount = Long.parseLong(extra[3]);
+                            m.gcTime = Long.parseLong(extra[4]);
+                            m.compileTime = Long.parseLong(extra[5]);
+                            m.classesLoaded = Long.parseLong(extra[6]);
+                            m.contaminated = Boolean.parseBoolean(extra[7]);
+                        }
+                        if( extra.length >= 9 ) {
+                            m.allocatedPerOp = Double.parseDouble(extra[8]);
+                        }
+                        if( extra.length >= 11 ) {
+                            m.numThreads = Integer.parseInt(extra[9]);
+                            m.threadEfficiency = Double.parseDouble(extra[10]);
+                        }
+                        if( extra.length >= 12 ) {
+                            m.iterations = Integer.parseInt(extra[11]);
+                        }
+
+                        e.rawResults.add(m);
                     }
 
                     e.computeStatistics();
+                    if( sizeLine.length >= 3 ) {
+                        e.medianLower = Double.parseDouble(sizeLine[1]);
+                        e.medianUpper = Double.parseDouble(sizeLine[2]);
+                    }
+                    if( sizeLine.length >= 4 ) {
+                        e.bytesPerOp = Long.parseLong(sizeLine[3]);
+                    }
                 }
             }
 
@@ -120,6 +165,24 @@ public class RuntimeResultsCsvIO {
         return ret;
     }
 
+    /**
+     * Reads all the tokens until the end of the line.  Used for columns which have been added over time.
+     */
+    private static String[] readRestOfLine( InputStream input ) throws IOException {
+        String line = "";
+        while( true ) {
+            int c = input.read();
+            if( c < 0 || c == '\n' )
+                break;
+            line += (char)c;
+        }
+
+        line = line.trim();
+        if( line.length() == 0 )
+            return new String[0];
+        return line.split("\\s+");
+    }
+
     private static int readInt( InputStream input ) throws IOException {
         String s = readToken(input);
 
@@ -178,6 +241,12 @@ public class RuntimeResultsCsvIO {
             } else {
                 List<RuntimeMeasurement> raw = results.metrics[i].rawResults;
                 output.print(raw.size());
+                output.print('\t');
+                output.print(results.metrics[i].getMedianLower());
+                output.print('\t');
+                output.print(results.metrics[i].getMedianUpper());
+                output.print('\t');
+                output.print(results.metrics[i].getBytesPerOp());
                 output.print('\n');
                 for (RuntimeMeasurement m : raw) {
                     output.print(m.getOpsPerSec());
@@ -186,6 +255,30 @@ public class RuntimeResultsCsvIO {
                         out(output,"null");
                     else
                         out(output,m.getError().toString());
+                    output.print('\t');
+                    output.print(m.getWarmupCycles());
+                    output.print('\t');
+                    output.print(m.getWarmupTime());
+                    output.print('\t');
+                    output.print(m.getLatency() == null ? "-" : m.getLatency().encode());
+                    output.print('\t');
+                    output.print(m.getGcCount());
+                    output.print('\t');
+                    output.print(m.getGcTime());
+                    output.print('\t');
+                    output.print(m.getCompileTime());
+                    output.print('\t');
+                    output.print(m.getClassesLoaded());
+                    output.print('\t');
+                    output.print(m.isContaminated());
+                    output.print('\t');
+                    output.print(m.getAllocatedPerOp());
+                    output.print('\t');
+                    output.print(m.getNumThreads());
+                    output.print('\t');
+                    output.print(m.getThreadEfficiency());
+                    output.print('\t');
+                    output.print(m.getIterations());
                     output.print('\n');
                 }
             }
@@ -200,6 +293,10 @@ public class RuntimeResultsCsvIO {
         output.print(results.isComplete());
         output.print('\t');
         output.print(results.matDimen.length);
+        output.print('\t');
+        output.print(results.isNotSupported());
+        output.print('\t');
+        output.print(results.getDensity());
         output.print('\n');
     }
 
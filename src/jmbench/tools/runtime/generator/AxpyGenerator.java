@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.tools.runtime.generator;
+
+import jmbench.interfaces.BenchmarkMatrix;
+import jmbench.interfaces.MatrixFactory;
+import jmbench.tools.OutputError;
+import jmbench.tools.runtime.BandwidthGenerator;
+import org.ejml.alg.dense.mult.VectorVectorMult;
+import org.ejml.data.DenseMatrix64F;
+import org.ejml.ops.CommonOps;
+
+import java.util.Random;
+
+import static jmbench.misc.RandomizeMatrices.convertToEjml;
+import static jmbench.misc.RandomizeMatrices.randomize;
+
+
+/**
+ * <p>
+ * y = &alpha;*x + y where x and y are vectors.  The size is the length of the vectors.
+ * </p>
+ *
+ * <p>
+ * y is modified in place, so after k trials the output is y + k*&alpha;*x.  When checking the results k is
+ * estimated from the output and the output is then compared against the expected value for k trials.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class AxpyGenerator implements BandwidthGenerator {
+
+    public static double ALPHA = 0.75;
+
+    DenseMatrix64F x;
+    DenseMatrix64F y;
+
+    @Override
+    public BenchmarkMatrix[] createInputs( MatrixFactory factory , Random rand ,
+                                           boolean checkResults , int size ) {
+        BenchmarkMatrix[] inputs = new  BenchmarkMatrix[2];
+
+        inputs[0] = factory.create(size,1);
+        inputs[1] = factory.create(size,1);
+
+        randomize(inputs[0],-1,1,rand);
+        randomize(inputs[1],-1,1,rand);
+
+        if( checkResults ) {
+            x = convertToEjml(inputs[0]);
+            y = convertToEjml(inputs[1]);
+        }
+
+        return inputs;
+    }
+
+    @Override
+    public OutputError checkResults(BenchmarkMatrix[] output, double tol) {
+        if( output[0] == null )
+            return OutputError.MISC;
+
+        DenseMatrix64F found = convertToEjml(output[0]);
+        if( found.getNumElements() != y.getNumElements() )
+            return OutputError.MISC;
+
+        // number of times the operation was applied
+        DenseMatrix64F diff = new DenseMatrix64F(found.numRows,found.numCols);
+        CommonOps.sub(found,y,diff);
+        long k = Math.round(VectorVectorMult.innerProd(diff,x)/(ALPHA*VectorVectorMult.innerProd(x,x)));
+        if( k < 1 )
+            return OutputError.LARGE_ERROR;
+
+        DenseMatrix64F expected = y.copy();
+        CommonOps.addEquals(expected,k*ALPHA,x);
+
+        return ResultsChecking.checkResult(found,expected,tol);
+    }
+
+    @Override
+    public int numOutputs() {
+        return 1;
+    }
+
+    @Override
+    public long getRequiredMemory( int matrixSize ) {
+        return 8L*matrixSize*6L;
+    }
+
+    @Override
+    public long getBytesPerOp( int size ) {
+        return 8L*size*3L;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.tools.runtime.generator;
+
+import jmbench.interfaces.BenchmarkMatrix;
+import jmbench.interfaces.MatrixFactory;
+import jmbench.tools.OutputError;
+import jmbench.tools.runtime.InputOutputGenerator;
+import org.ejml.data.DenseMatrix64F;
+import org.ejml.ops.CommonOps;
+
+import java.util.Random;
+
+import static jmbench.misc.RandomizeMatrices.convertToEjml;
+import static jmbench.misc.RandomizeMatrices.randomize;
+
+
+/**
+ * Creates a batch of independent small matrices to be multiplied together.  See
+ * {@link jmbench.interfaces.BatchPerformanceFactory}.
+ *
+ * @author Peter Abeles
+ */
+public class BatchMultGenerator implements InputOutputGenerator {
+
+    // number of matrices in the batch
+    int batchLength;
+
+    DenseMatrix64F C[];
+
+    public BatchMultGenerator( int batchLength ) {
+        this.batchLength = batchLength;
+    }
+
+    public BatchMultGenerator() {
+    }
+
+    @Override
+    public BenchmarkMatrix[] createInputs( MatrixFactory factory , Random rand ,
+                                           boolean checkResults , int size ) {
+        BenchmarkMatrix[] inputs = new  BenchmarkMatrix[2*batchLength];
+
+        for( int i = 0; i < inputs.length; i++ ) {
+            inputs[i] = factory.create(size,size);
+            randomize(inputs[i],-1,1,rand);
+        }
+
+        if( checkResults ) {
+            C = new DenseMatrix64F[ batchLength ];
+            for( int i = 0; i < batchLength; i++ ) {
+                DenseMatrix64F A = convertToEjml(inputs[i]);
+                DenseMatrix64F B = convertToEjml(inputs[batchLength+i]);
+
+                C[i] = new DenseMatrix64F(size,size);
+                CommonOps.mult(A,B,C[i]);
+            }
+        }
+
+        return inputs;
+    }
+
+    @Override
+    public OutputError checkResults(BenchmarkMatrix[] output, double tol) {
+        if( output[0] == null )
+            return OutputError.MISC;
+
+        // elements after the number of trials haven't been processed and have no output
+        for( int i = 0; i < batchLength; i++ ) {
+            if( output[i] == null )
+                continue;
+            OutputError error = ResultsChecking.checkResult(convertToEjml(output[i]),C[i],tol);
+            if( error != OutputError.NO_ERROR )
+                return error;
+        }
+        return OutputError.NO_ERROR;
+    }
+
+    @Override
+    public int numOutputs() {
+        return batchLength;
+    }
+
+    @Override
+    public long getRequiredMemory( int matrixSize ) {
+        // elements plus the overhead of each matrix object
+        return batchLength*(8L*matrixSize*matrixSize+200L)*8L;
+    }
+
+    public int getBatchLength() {
+        return batchLength;
+    }
+
+    public void setBatchLength(int batchLength) {
+        this.batchLength = batchLength;
+    }
+}
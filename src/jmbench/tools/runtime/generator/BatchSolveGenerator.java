@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.tools.runtime.generator;
+
+import jmbench.interfaces.BenchmarkMatrix;
+import jmbench.interfaces.MatrixFactory;
+import jmbench.tools.OutputError;
+import jmbench.tools.runtime.InputOutputGenerator;
+import jmbench.tools.stability.StabilityBenchmark;
+import org.ejml.data.DenseMatrix64F;
+import org.ejml.ops.CommonOps;
+import org.ejml.ops.MatrixFeatures;
+
+import java.util.Random;
+
+import static jmbench.misc.RandomizeMatrices.convertToEjml;
+import static jmbench.misc.RandomizeMatrices.randomize;
+
+
+/**
+ * Creates a batch of independent small square systems of equations, A*x=b.  See
+ * {@link jmbench.interfaces.BatchPerformanceFactory}.
+ *
+ * @author Peter Abeles
+ */
+public class BatchSolveGenerator implements InputOutputGenerator {
+
+    // number of systems in the batch
+    int batchLength;
+
+    DenseMatrix64F A[];
+    DenseMatrix64F B[];
+
+    public BatchSolveGenerator( int batchLength ) {
+        this.batchLength = batchLength;
+    }
+
+    public BatchSolveGenerator() {
+    }
+
+    @Override
+    public BenchmarkMatrix[] createInputs( MatrixFactory factory , Random rand ,
+                                           boolean checkResults , int size ) {
+        BenchmarkMatrix[] inputs = new  BenchmarkMatrix[2*batchLength];
+
+        for( int i = 0; i < batchLength; i++ ) {
+            inputs[i] = factory.create(size,size);
+            inputs[batchLength+i] = factory.create(size,1);
+
+            randomize(inputs[i],-1,1,rand);
+            randomize(inputs[batchLength+i],-1,1,rand);
+        }
+
+        if( checkResults ) {
+            A = new DenseMatrix64F[ batchLength ];
+            B = new DenseMatrix64F[ batchLength ];
+            for( int i = 0; i < batchLength; i++ ) {
+                A[i] = convertToEjml(inputs[i]);
+                B[i] = convertToEjml(inputs[batchLength+i]);
+            }
+        }
+
+        return inputs;
+    }
+
+    @Override
+    public OutputError checkResults(BenchmarkMatrix[] output, double tol) {
+        if( output[0] == null )
+            return OutputError.MISC;
+
+        // elements after the number of trials haven't been processed and have no output
+        for( int i = 0; i < batchLength; i++ ) {
+            if( output[i] == null )
+                continue;
+
+            DenseMatrix64F X = convertToEjml(output[i]);
+            if( MatrixFeatures.hasUncountable(X) )
+                return OutputError.UNCOUNTABLE;
+
+            DenseMatrix64F B_found = new DenseMatrix64F(B[i].numRows,1);
+            CommonOps.mult(A[i],X,B_found);
+
+            if( StabilityBenchmark.residualError(B_found,B[i]) > tol )
+                return OutputError.LARGE_ERROR;
+        }
+        return OutputError.NO_ERROR;
+    }
+
+    @Override
+    public int numOutputs() {
+        return batchLength;
+    }
+
+    @Override
+    public long getRequiredMemory( int matrixSize ) {
+        // elements plus the overhead of each matrix object
+        return batchLength*(8L*matrixSize*(matrixSize+1)+300L)*6L;
+    }
+
+    public int getBatchLength() {
+        return batchLength;
+    }
+
+    public void setBatchLength(int batchLength) {
+        this.batchLength = batchLength;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package jmbench.tools.runtime.generator;
+
+import jmbench.interfaces.BenchmarkMatrix;
+import jmbench.interfaces.MatrixFactory;
+import jmbench.tools.OutputError;
+import org.ejml.data.DenseMatrix64F;
+import org.ejml.ops.CommonOps;
+
+import java.util.Random;
+
+import static jmbench.misc.RandomizeMatrices.convertToEjml;
+
+
+/**
+ * C = A + B where all the matrices are complex.
+ *
+ * @author Peter Abeles
+ */
+public class ComplexAddGenerator extends ComplexGenerator {
+
+    DenseMatrix64F C;
+
+    @Override
+    public BenchmarkMatrix[] createInputs( MatrixFactory factory , Random rand ,
+                                           boolean checkResults , int size ) {
+        BenchmarkMatrix[] inputs = new  BenchmarkMatrix[2];
+
+        inputs[0] = createComplex(factory,rand,size,size);
+        inputs[1] = createComplex(factory,rand,size,size);
+
+        if( checkResults ) {
+            DenseMatrix64F A = convertToEjml(inputs[0]);
+            DenseMatrix64F B = convertToEjml(inputs[1]);
+
+            // adding the interleaved components is the same as adding the complex numbers
+            C = new DenseMatrix64F(A.numRows,A.numCols);
+            CommonOps.add(A,B,C);
+        }
+
+        return inputs;
+    }
+
+    @Override
+    public OutputError checkResults(BenchmarkMatrix[] output, double tol) {
+        return ResultsChecking.checkResult(convertToEjml(output[0]),C,tol);
+    }
+
+    @Override
+    public int numOutputs() {
+        return 1;
+    }
+
+    @Override
+    public long getRequiredMemory( int matrixSize ) {
+        return 16L*matrixSize*matrixSize*20L;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package jmbench.tools.runtime.generator;
+
+import jmbench.interfaces.BenchmarkMatrix;
+import jmbench.interfaces.ComplexPerformanceFactory;
+import jmbench.interfaces.MatrixFactory;
+import jmbench.misc.RandomizeMatrices;
+import jmbench.tools.OutputError;
+import jmbench.tools.stability.StabilityBenchmark;
+import org.ejml.data.DenseMatrix64F;
+import org.ejml.ops.MatrixFeatures;
+
+import java.util.Random;
+
+import static jmbench.misc.RandomizeMatrices.convertToEjml;
+
+
+/**
+ * Eigen decomposition of a complex Hermitian matrix, the complex equivalent of {@link EigSymmGenerator}.  The
+ * eigenvalues are returned along the diagonal of D and the eigenvectors as the columns of V.  Both are complex.
+ *
+ * @author Peter Abeles
+ */
+public class ComplexEigHermitianGenerator extends ComplexGenerator {
+
+    DenseMatrix64F A;
+
+    @Override
+    public BenchmarkMatrix[] createInputs( MatrixFactory factory , Random rand ,
+                                           boolean checkResults , int size ) {
+        BenchmarkMatrix[] inputs = new  BenchmarkMatrix[1];
+
+        inputs[0] = ((ComplexPerformanceFactory)factory).createComplex(size,size);
+
+        RandomizeMatrices.hermitian(inputs[0],-1,1,rand);
+
+        if( checkResults ) {
+            A = convertToEjml(inputs[0]);
+        }
+
+        return inputs;
+    }
+
+    @Override
+    public OutputError checkResults(BenchmarkMatrix[] output, double tol) {
+        if( output[0] == null || output[1] == null ) {
+            return OutputError.MISC;
+        }
+
+        DenseMatrix64F D = convertToEjml(output[0]);
+        DenseMatrix64F V = convertToEjml(output[1]);
+
+        DenseMatrix64F L = mult(A,V);
+        DenseMatrix64F R = mult(V,D);
+
+        if( MatrixFeatures.hasUncountable(L) || MatrixFeatures.hasUncountable(R) )
+            return OutputError.UNCOUNTABLE;
+
+        double error = StabilityBenchmark.residualError(L,R);
+        if( error > tol ) {
+            return OutputError.LARGE_ERROR;
+        }
+
+        return OutputError.NO_ERROR;
+    }
+
+    @Override
+    public int numOutputs() {
+        return 2;
+    }
+
+    @Override
+    public long getRequiredMemory( int matrixSize ) {
+        return 16L*matrixSize*matrixSize*20L;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package jmbench.tools.runtime.generator;
+
+import jmbench.interfaces.BenchmarkMatrix;
+import jmbench.interfaces.ComplexPerformanceFactory;
+import jmbench.interfaces.MatrixFactory;
+import jmbench.tools.runtime.InputOutputGenerator;
+import org.ejml.data.DenseMatrix64F;
+
+import java.util.Random;
+
+import static jmbench.misc.RandomizeMatrices.randomize;
+
+
+/**
+ * <p>
+ * Base class for generators of operations on complex matrices.  Inputs are created by
+ * {@link ComplexPerformanceFactory} and are accessed with the real and imaginary components interleaved along
+ * each row, which allows them to be converted into EJML matrices like any other matrix.  EJML doesn't have
+ * complex operations, so the expected results are computed here.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public abstract class ComplexGenerator implements InputOutputGenerator {
+
+    /**
+     * Creates a complex matrix with random real and imaginary components between -1 and 1
+     */
+    protected BenchmarkMatrix createComplex( MatrixFactory factory , Random rand , int numRows , int numCols ) {
+        BenchmarkMatrix ret = ((ComplexPerformanceFactory)factory).createComplex(numRows,numCols);
+        randomize(ret,-1,1,rand);
+        return ret;
+    }
+
+    /**
+     * C = A*B where the matrices are in the interleaved format
+     */
+    protected static DenseMatrix64F mult( DenseMatrix64F A , DenseMatrix64F B ) {
+        int numRows = A.numRows;
+        int numCols = B.numCols/2;
+        int inner = A.numCols/2;
+
+        DenseMatrix64F C = new DenseMatrix64F(numRows,numCols*2);
+
+        for( int i = 0; i < numRows; i++ ) {
+            for( int k = 0; k < inner; k++ ) {
+                double realA = A.data[i*A.numCols+k*2];
+                double imagA = A.data[i*A.numCols+k*2+1];
+
+                int indexB = k*B.numCols;
+                int indexC = i*C.numCols;
+                for( int j = 0; j < numCols; j++ ) {
+                    double realB = B.data[indexB++];
+                    double imagB = B.data[indexB++];
+
+                    C.data[indexC++] += realA*realB - imagA*imagB;
+                    C.data[indexC++] += realA*imagB + imagA*realB;
+                }
+            }
+        }
+
+        return C;
+    }
+
+    /**
+     * B = A<sup>H</sup> where the matrices are in the interleaved format
+     */
+    protected static DenseMatrix64F transposeConjugate( DenseMatrix64F A ) {
+        int numRows = A.numRows;
+        int numCols = A.numCols/2;
+
+        DenseMatrix64F B = new DenseMatrix64F(numCols,numRows*2);
+
+        for( int i = 0; i < numRows; i++ ) {
+            for( int j = 0; j < numCols; j++ ) {
+                B.set(j,i*2,A.get(i,j*2));
+                B.set(j,i*2+1,-A.get(i,j*2+1));
+            }
+        }
+
+        return B;
+    }
+}
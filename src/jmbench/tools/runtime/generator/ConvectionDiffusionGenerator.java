@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.tools.runtime.generator;
+
+import jmbench.interfaces.SparseFormat;
+import jmbench.interfaces.SparseTriplets;
+
+
+/**
+ * Convection-diffusion equation in 2D with central differences and a constant flow along both axes.  The
+ * matrix is not symmetric, so conjugate gradient can't be used.  Its symmetric part is the Laplacian, which
+ * ensures solvers for nonsymmetric systems converge.
+ *
+ * @author Peter Abeles
+ */
+public class ConvectionDiffusionGenerator extends IterativeSolverGenerator {
+
+    // strength of the convection relative to the diffusion.  Less than one keeps it diagonally dominant
+    public static final double CONVECTION = 0.5;
+
+    public ConvectionDiffusionGenerator( SparseFormat format , double tolerance , int maxIterations ) {
+        super(format,tolerance,maxIterations);
+    }
+
+    public ConvectionDiffusionGenerator() {
+    }
+
+    @Override
+    protected SparseTriplets createSystem( int size ) {
+        return createGrid(size,4,-1-CONVECTION,-1+CONVECTION,-1-CONVECTION,-1+CONVECTION);
+    }
+
+    @Override
+    public String getProblemName() {
+        return "ConvDiff";
+    }
+}
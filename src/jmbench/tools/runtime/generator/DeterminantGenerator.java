@@ -21,6 +21,7 @@ package jmbench.tools.runtime.generator;
 
 import jmbench.interfaces.BenchmarkMatrix;
 import jmbench.interfaces.MatrixFactory;
+import jmbench.interfaces.MatrixStructure;
 import jmbench.misc.RandomizeMatrices;
 import jmbench.tools.OutputError;
 import jmbench.tools.runtime.InputOutputGenerator;
@@ -33,6 +34,16 @@ import java.util.Random;
  */
 public class DeterminantGenerator implements InputOutputGenerator {
 
+    // structure of the first input.  If null it's a dense random matrix
+    MatrixStructure structure;
+
+    public DeterminantGenerator() {
+    }
+
+    public DeterminantGenerator( MatrixStructure structure ) {
+        this.structure = structure;
+    }
+
     @Override
     public BenchmarkMatrix[] createInputs( MatrixFactory factory , Random rand ,
                                            boolean checkResults , int size ) {
@@ -40,7 +51,10 @@ public class DeterminantGenerator implements InputOutputGenerator {
 
         inputs[0] = factory.create(size,size);
 
-        RandomizeMatrices.randomize(inputs[0],-1,1,rand);
+        if( structure == null )
+            RandomizeMatrices.randomize(inputs[0],-1,1,rand);
+        else
+            RandomizeMatrices.structured(inputs[0],structure,rand);
 
         return inputs;
     }
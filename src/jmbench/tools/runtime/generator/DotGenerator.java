@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.tools.runtime.generator;
+
+import jmbench.interfaces.BenchmarkMatrix;
+import jmbench.interfaces.MatrixFactory;
+import jmbench.tools.OutputError;
+import jmbench.tools.runtime.BandwidthGenerator;
+import org.ejml.alg.dense.mult.VectorVectorMult;
+import org.ejml.data.DenseMatrix64F;
+
+import java.util.Random;
+
+import static jmbench.misc.RandomizeMatrices.convertToEjml;
+import static jmbench.misc.RandomizeMatrices.randomize;
+
+
+/**
+ * s = x<sup>T</sup>*y where x and y are vectors.  The size is the length of the vectors.
+ *
+ * @author Peter Abeles
+ */
+public class DotGenerator implements BandwidthGenerator {
+
+    DenseMatrix64F s;
+
+    @Override
+    public BenchmarkMatrix[] createInputs( MatrixFactory factory , Random rand ,
+                                           boolean checkResults , int size ) {
+        BenchmarkMatrix[] inputs = new  BenchmarkMatrix[2];
+
+        inputs[0] = factory.create(size,1);
+        inputs[1] = factory.create(size,1);
+
+        randomize(inputs[0],-1,1,rand);
+        randomize(inputs[1],-1,1,rand);
+
+        if( checkResults ) {
+            s = new DenseMatrix64F(1,1);
+            s.data[0] = VectorVectorMult.innerProd(convertToEjml(inputs[0]),convertToEjml(inputs[1]));
+        }
+
+        return inputs;
+    }
+
+    @Override
+    public OutputError checkResults(BenchmarkMatrix[] output, double tol) {
+        return ResultsChecking.checkResult(convertToEjml(output[0]),s,tol);
+    }
+
+    @Override
+    public int numOutputs() {
+        return 1;
+    }
+
+    @Override
+    public long getRequiredMemory( int matrixSize ) {
+        return 8L*matrixSize*4L;
+    }
+
+    @Override
+    public long getBytesPerOp( int size ) {
+        return 8L*size*2L;
+    }
+}
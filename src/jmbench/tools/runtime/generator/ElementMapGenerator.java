@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.tools.runtime.generator;
+
+import jmbench.interfaces.BenchmarkMatrix;
+import jmbench.interfaces.MatrixFactory;
+import jmbench.tools.OutputError;
+import jmbench.tools.runtime.BandwidthGenerator;
+import org.ejml.data.DenseMatrix64F;
+
+import java.util.Random;
+
+import static jmbench.misc.RandomizeMatrices.convertToEjml;
+import static jmbench.misc.RandomizeMatrices.randomize;
+
+
+/**
+ * B = f(A) where f is applied to each element independently and A is a square matrix.  The same function is
+ * used by every library, the logistic sigmoid, which is a typical function applied to features.
+ *
+ * @author Peter Abeles
+ */
+public class ElementMapGenerator implements BandwidthGenerator {
+
+    DenseMatrix64F B;
+
+    /**
+     * The function which is applied to each element.
+     */
+    public static double function( double x ) {
+        return 1.0/(1.0+Math.exp(-x));
+    }
+
+    @Override
+    public BenchmarkMatrix[] createInputs( MatrixFactory factory , Random rand ,
+                                           boolean checkResults , int size ) {
+        BenchmarkMatrix[] inputs = new  BenchmarkMatrix[1];
+
+        inputs[0] = factory.create(size,size);
+
+        randomize(inputs[0],-4,4,rand);
+
+        if( checkResults ) {
+            B = convertToEjml(inputs[0]).copy();
+
+            for( int i = 0; i < B.data.length; i++ ) {
+                B.data[i] = function(B.data[i]);
+            }
+        }
+
+        return inputs;
+    }
+
+    @Override
+    public OutputError checkResults(BenchmarkMatrix[] output, double tol) {
+        return ResultsChecking.checkResult(convertToEjml(output[0]),B,tol);
+    }
+
+    @Override
+    public int numOutputs() {
+        return 1;
+    }
+
+    @Override
+    public long getRequiredMemory( int matrixSize ) {
+        return 8L*matrixSize*matrixSize*4L;
+    }
+
+    @Override
+    public long getBytesPerOp( int size ) {
+        return 8L*size*size*2L;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.tools.runtime.generator;
+
+import jmbench.interfaces.BenchmarkMatrix;
+import jmbench.interfaces.MatrixFactory;
+import jmbench.tools.OutputError;
+import jmbench.tools.runtime.BandwidthGenerator;
+import org.ejml.data.DenseMatrix64F;
+import org.ejml.ops.CommonOps;
+import org.ejml.ops.NormOps;
+
+import java.util.Random;
+
+import static jmbench.misc.RandomizeMatrices.convertToEjml;
+import static jmbench.misc.RandomizeMatrices.randomize;
+
+
+/**
+ * Reduces all the elements in a square matrix A into a single number, which is returned as a 1x1 matrix.
+ *
+ * @author Peter Abeles
+ */
+public class ElementReduceGenerator implements BandwidthGenerator {
+
+    public static enum Reduction {
+        SUM,
+        MAX,
+        NORMF
+    }
+
+    Reduction reduction = Reduction.SUM;
+
+    DenseMatrix64F s;
+
+    public ElementReduceGenerator( Reduction reduction ) {
+        this.reduction = reduction;
+    }
+
+    public ElementReduceGenerator() {
+    }
+
+    @Override
+    public BenchmarkMatrix[] createInputs( MatrixFactory factory , Random rand ,
+                                           boolean checkResults , int size ) {
+        BenchmarkMatrix[] inputs = new  BenchmarkMatrix[1];
+
+        inputs[0] = factory.create(size,size);
+
+        // all positive so that the sum isn't close to zero, which would make the relative error meaningless
+        randomize(inputs[0],0,1,rand);
+
+        if( checkResults ) {
+            DenseMatrix64F A = convertToEjml(inputs[0]);
+            s = new DenseMatrix64F(1,1);
+
+            switch( reduction ) {
+                case SUM: s.data[0] = CommonOps.elementSum(A); break;
+                case MAX: s.data[0] = CommonOps.elementMax(A); break;
+                case NORMF: s.data[0] = NormOps.normF(A); break;
+            }
+        }
+
+        return inputs;
+    }
+
+    @Override
+    public OutputError checkResults(BenchmarkMatrix[] output, double tol) {
+        return ResultsChecking.checkResult(convertToEjml(output[0]),s,tol);
+    }
+
+    @Override
+    public int numOutputs() {
+        return 1;
+    }
+
+    @Override
+    public long getRequiredMemory( int matrixSize ) {
+        return 8L*matrixSize*matrixSize*2L;
+    }
+
+    @Override
+    public long getBytesPerOp( int size ) {
+        return 8L*size*size;
+    }
+
+    public Reduction getReduction() {
+        return reduction;
+    }
+}
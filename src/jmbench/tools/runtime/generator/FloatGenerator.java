@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package jmbench.tools.runtime.generator;
+
+import jmbench.interfaces.BenchmarkMatrix;
+import jmbench.interfaces.FloatPerformanceFactory;
+import jmbench.interfaces.MatrixFactory;
+import jmbench.tools.OutputError;
+import jmbench.tools.runtime.InputOutputGenerator;
+
+import java.util.Random;
+
+
+/**
+ * <p>
+ * Creates single precision inputs for an operation by passing a double precision generator a
+ * {@link MatrixFactory} which creates the library's float matrices.  The inputs are rounded when they are
+ * written into the float matrices and the expected results are computed in double precision from the rounded
+ * values, so only the error introduced by the library's float computation is checked.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class FloatGenerator implements InputOutputGenerator {
+
+    // generator for the same operation in double precision
+    InputOutputGenerator generator;
+
+    public FloatGenerator( InputOutputGenerator generator ) {
+        this.generator = generator;
+    }
+
+    public FloatGenerator() {
+    }
+
+    @Override
+    public BenchmarkMatrix[] createInputs( MatrixFactory factory , Random rand ,
+                                           boolean checkResults , int size ) {
+        return generator.createInputs(new FloatMatrixFactory((FloatPerformanceFactory)factory),
+                rand,checkResults,size);
+    }
+
+    @Override
+    public OutputError checkResults(BenchmarkMatrix[] output, double tol) {
+        return generator.checkResults(output,tol);
+    }
+
+    @Override
+    public int numOutputs() {
+        return generator.numOutputs();
+    }
+
+    @Override
+    public long getRequiredMemory( int matrixSize ) {
+        return generator.getRequiredMemory(matrixSize);
+    }
+
+    public InputOutputGenerator getGenerator() {
+        return generator;
+    }
+
+    /**
+     * Creates float matrices instead of the library's regular double matrices
+     */
+    private static class FloatMatrixFactory implements MatrixFactory {
+        FloatPerformanceFactory factory;
+
+        private FloatMatrixFactory( FloatPerformanceFactory factory ) {
+            this.factory = factory;
+        }
+
+        @Override
+        public BenchmarkMatrix create(int numRows, int numCols) {
+            return factory.createFloat(numRows,numCols);
+        }
+
+        @Override
+        public BenchmarkMatrix wrap(Object matrix) {
+            return factory.wrapFloat(matrix);
+        }
+    }
+}
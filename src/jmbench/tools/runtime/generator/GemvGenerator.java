@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.tools.runtime.generator;
+
+import jmbench.interfaces.BenchmarkMatrix;
+import jmbench.interfaces.MatrixFactory;
+import jmbench.tools.OutputError;
+import jmbench.tools.runtime.BandwidthGenerator;
+import org.ejml.data.DenseMatrix64F;
+import org.ejml.ops.CommonOps;
+
+import java.util.Random;
+
+import static jmbench.misc.RandomizeMatrices.convertToEjml;
+import static jmbench.misc.RandomizeMatrices.randomize;
+
+
+/**
+ * y = A*x or y = A<sup>T</sup>*x where A is a square matrix and x is a vector.
+ *
+ * @author Peter Abeles
+ */
+public class GemvGenerator implements BandwidthGenerator {
+
+    // is A transposed
+    boolean transposed;
+
+    DenseMatrix64F y;
+
+    public GemvGenerator( boolean transposed ) {
+        this.transposed = transposed;
+    }
+
+    public GemvGenerator() {
+    }
+
+    @Override
+    public BenchmarkMatrix[] createInputs( MatrixFactory factory , Random rand ,
+                                           boolean checkResults , int size ) {
+        BenchmarkMatrix[] inputs = new  BenchmarkMatrix[2];
+
+        inputs[0] = factory.create(size,size);
+        inputs[1] = factory.create(size,1);
+
+        randomize(inputs[0],-1,1,rand);
+        randomize(inputs[1],-1,1,rand);
+
+        if( checkResults ) {
+            DenseMatrix64F A = convertToEjml(inputs[0]);
+            DenseMatrix64F x = convertToEjml(inputs[1]);
+            y = new DenseMatrix64F(size,1);
+
+            if( transposed )
+                CommonOps.multTransA(A,x,y);
+            else
+                CommonOps.mult(A,x,y);
+        }
+
+        return inputs;
+    }
+
+    @Override
+    public OutputError checkResults(BenchmarkMatrix[] output, double tol) {
+        return ResultsChecking.checkResult(convertToEjml(output[0]),y,tol);
+    }
+
+    @Override
+    public int numOutputs() {
+        return 1;
+    }
+
+    @Override
+    public long getRequiredMemory( int matrixSize ) {
+        return 8L*matrixSize*matrixSize*2L + 8L*matrixSize*6L;
+    }
+
+    @Override
+    public long getBytesPerOp( int size ) {
+        return 8L*((long)size*size + 2L*size);
+    }
+
+    public boolean isTransposed() {
+        return transposed;
+    }
+}
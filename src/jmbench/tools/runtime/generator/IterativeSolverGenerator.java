@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.tools.runtime.generator;
+
+import jmbench.interfaces.BenchmarkMatrix;
+import jmbench.interfaces.MatrixFactory;
+import jmbench.interfaces.SparseFormat;
+import jmbench.interfaces.SparseTriplets;
+import jmbench.tools.OutputError;
+import org.ejml.data.DenseMatrix64F;
+import org.ejml.ops.RandomMatrices;
+
+import java.util.Random;
+
+import static jmbench.misc.RandomizeMatrices.convertToBm;
+import static jmbench.misc.RandomizeMatrices.convertToEjml;
+
+
+/**
+ * <p>
+ * Solves the sparse linear system A*x = b with an iterative solver.  The matrix size is the number of unknowns.
+ * A comes from discretizing a partial differential equation on a 2D grid with a five point stencil, which is
+ * what large systems in simulations typically look like.  b is computed from a random x so that the solution
+ * is known.  See {@link jmbench.interfaces.IterativeSolverPerformanceFactory}.
+ * </p>
+ *
+ * <p>
+ * The number of iterations depends on the tolerance and how well conditioned A is.  For both problems here it
+ * grows with the width of the grid.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public abstract class IterativeSolverGenerator extends SparseGenerator {
+
+    // GMRES stores its restart basis, about 30 vectors.  Other solvers only need a few
+    private static final int NUM_WORK_VECTORS = 40;
+
+    // relative residual the solvers stop at
+    protected double tolerance;
+    // solvers which take longer than this are considered to have failed
+    protected int maxIterations;
+
+    DenseMatrix64F x;
+
+    protected IterativeSolverGenerator( SparseFormat format , double tolerance , int maxIterations ) {
+        super(format,0);
+        this.tolerance = tolerance;
+        this.maxIterations = maxIterations;
+    }
+
+    protected IterativeSolverGenerator() {
+    }
+
+    /**
+     * Creates the system's matrix with the specified number of unknowns
+     */
+    protected abstract SparseTriplets createSystem( int size );
+
+    /**
+     * Short name of the problem, used in operation and file names
+     */
+    public abstract String getProblemName();
+
+    @Override
+    public BenchmarkMatrix[] createInputs( MatrixFactory factory , Random rand ,
+                                           boolean checkResults , int size ) {
+        BenchmarkMatrix[] inputs = new  BenchmarkMatrix[2];
+
+        SparseTriplets A = createSystem(size);
+
+        x = RandomMatrices.createRandom(size,1,-1,1,rand);
+        DenseMatrix64F b = new DenseMatrix64F(size,1);
+        mult(A,x,b);
+
+        inputs[0] = createSparse(factory,A);
+        inputs[1] = factory.create(size,1);
+        convertToBm(b,inputs[1]);
+
+        return inputs;
+    }
+
+    @Override
+    public OutputError checkResults(BenchmarkMatrix[] output, double tol) {
+        DenseMatrix64F o = convertToEjml(output[0]);
+
+        return ResultsChecking.checkResult(o,x,tol);
+    }
+
+    @Override
+    public int numOutputs() {
+        return 1;
+    }
+
+    @Override
+    public long getRequiredMemory( int matrixSize ) {
+        return getSparseMemory(5L*matrixSize,matrixSize) + 8L*matrixSize*NUM_WORK_VECTORS;
+    }
+
+    /**
+     * <p>
+     * Creates a matrix from a five point stencil on a grid which is sqrt(size) wide.  Unknowns are numbered row by
+     * row and the last row of the grid is only partially filled if size isn't a square.  Neighbors outside of the
+     * grid are zero.
+     * </p>
+     *
+     * <p>
+     * West and east are the previous and next unknown in the same row.  South and north are the unknown in
+     * the previous and next row.
+     * </p>
+     */
+    protected static SparseTriplets createGrid( int size , double center ,
+                                                double west , double east , double south , double north ) {
+        int width = (int)Math.ceil(Math.sqrt(size));
+
+        SparseTriplets A = new SparseTriplets(size,size,5*size);
+
+        // elements are added in order of increasing column
+        for( int i = 0; i < size; i++ ) {
+            if( i >= width )
+                A.add(i,i-width,south);
+            if( i % width != 0 )
+                A.add(i,i-1,west);
+            A.add(i,i,center);
+            if( (i+1) % width != 0 && i+1 < size )
+                A.add(i,i+1,east);
+            if( i+width < size )
+                A.add(i,i+width,north);
+        }
+
+        return A;
+    }
+
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    public int getMaxIterations() {
+        return maxIterations;
+    }
+}
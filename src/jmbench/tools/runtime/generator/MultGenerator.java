@@ -21,6 +21,7 @@ package jmbench.tools.runtime.generator;
 
 import jmbench.interfaces.BenchmarkMatrix;
 import jmbench.interfaces.MatrixFactory;
+import jmbench.interfaces.MatrixStructure;
 import jmbench.tools.OutputError;
 import jmbench.tools.runtime.InputOutputGenerator;
 import org.ejml.data.DenseMatrix64F;
@@ -30,6 +31,7 @@ import java.util.Random;
 
 import static jmbench.misc.RandomizeMatrices.convertToEjml;
 import static jmbench.misc.RandomizeMatrices.randomize;
+import static jmbench.misc.RandomizeMatrices.structured;
 
 
 /**
@@ -39,6 +41,15 @@ public class MultGenerator implements InputOutputGenerator {
 
     DenseMatrix64F C;
 
+    // structure of the first input.  If null it's a dense random matrix
+    MatrixStructure structure;
+
+    public MultGenerator() {
+    }
+
+    public MultGenerator( MatrixStructure structure ) {
+        this.structure = structure;
+    }
 
     @Override
     public BenchmarkMatrix[] createInputs( MatrixFactory factory , Random rand ,
@@ -48,7 +59,10 @@ public class MultGenerator implements InputOutputGenerator {
         inputs[0] = factory.create(size,size);
         inputs[1] = factory.create(size,size);
 
-        randomize(inputs[0],-1,1,rand);
+        if( structure == null )
+            randomize(inputs[0],-1,1,rand);
+        else
+            structured(inputs[0],structure,rand);
         randomize(inputs[1],-1,1,rand);
 
         if( checkResults ) {
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.tools.runtime.generator;
+
+import jmbench.interfaces.SparseFormat;
+import jmbench.interfaces.SparseTriplets;
+
+
+/**
+ * Poisson's equation with a 2D Laplacian.  The matrix is symmetric positive definite, so every iterative
+ * solver can be used.
+ *
+ * @author Peter Abeles
+ */
+public class PoissonGenerator extends IterativeSolverGenerator {
+
+    public PoissonGenerator( SparseFormat format , double tolerance , int maxIterations ) {
+        super(format,tolerance,maxIterations);
+    }
+
+    public PoissonGenerator() {
+    }
+
+    @Override
+    protected SparseTriplets createSystem( int size ) {
+        return createGrid(size,4,-1,-1,-1,-1);
+    }
+
+    @Override
+    public String getProblemName() {
+        return "Poisson";
+    }
+}
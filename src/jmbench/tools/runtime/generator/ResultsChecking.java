@@ -19,6 +19,8 @@
 
 package jmbench.tools.runtime.generator;
 
+import jmbench.interfaces.BenchmarkMatrix;
+import jmbench.interfaces.SparseTriplets;
 import jmbench.tools.OutputError;
 import org.ejml.data.DenseMatrix64F;
 import org.ejml.ops.CommonOps;
@@ -61,4 +63,54 @@ public class ResultsChecking {
 
         return OutputError.NO_ERROR;
     }
+
+    /**
+     * Compares a sparse output against the expected non-zero elements.  Only the elements which are expected to
+     * be non-zero are read from the output.  Non-zero elements anywhere else are detected by comparing against
+     * the number of non-zero elements the library reports, so the whole matrix is never scanned.
+     *
+     * @param foundNonZeros Number of non-zero elements in found, according to the library.
+     */
+    public static OutputError checkResult( BenchmarkMatrix found , SparseTriplets expected ,
+                                           long foundNonZeros , double tol )
+    {
+        if( found == null ) {
+            return OutputError.MISC;
+        }
+
+        if( found.numRows() != expected.numRows || found.numCols() != expected.numCols )
+            return OutputError.MISC;
+
+        double top = 0;
+        double bottom = 0;
+        // number of expected elements which are non-zero in the output
+        long matched = 0;
+
+        for( int i = 0; i < expected.length; i++ ) {
+            double f = found.get(expected.rows[i],expected.cols[i]);
+            if( Double.isNaN(f) || Double.isInfinite(f) )
+                return OutputError.UNCOUNTABLE;
+
+            if( f != 0 )
+                matched++;
+
+            double e = expected.values[i];
+            double d = f - e;
+            top += d*d;
+            bottom += e*e;
+        }
+
+        if( bottom == 0 )
+            return OutputError.ZERO_INPUT;
+
+        // non-zero elements outside of where they are expected
+        if( foundNonZeros > matched )
+            return OutputError.LARGE_ERROR;
+
+        if( Math.sqrt(top/bottom) > tol ) {
+            return OutputError.LARGE_ERROR;
+        }
+
+        return OutputError.NO_ERROR;
+    }
 }
@@ -21,6 +21,7 @@ package jmbench.tools.runtime.generator;
 
 import jmbench.interfaces.BenchmarkMatrix;
 import jmbench.interfaces.MatrixFactory;
+import jmbench.interfaces.MatrixStructure;
 import jmbench.tools.OutputError;
 import jmbench.tools.runtime.InputOutputGenerator;
 import jmbench.tools.stability.StabilityBenchmark;
@@ -31,6 +32,7 @@ import java.util.Random;
 
 import static jmbench.misc.RandomizeMatrices.convertToEjml;
 import static jmbench.misc.RandomizeMatrices.randomize;
+import static jmbench.misc.RandomizeMatrices.structured;
 
 
 /**
@@ -41,6 +43,16 @@ public class SolveEqGenerator implements InputOutputGenerator {
     DenseMatrix64F A;
     DenseMatrix64F B;
 
+    // structure of the first input.  If null it's a dense random matrix
+    MatrixStructure structure;
+
+    public SolveEqGenerator() {
+    }
+
+    public SolveEqGenerator( MatrixStructure structure ) {
+        this.structure = structure;
+    }
+
     @Override
     public BenchmarkMatrix[] createInputs( MatrixFactory factory , Random rand ,
                                            boolean checkResults , int size ) {
@@ -49,7 +61,10 @@ public class SolveEqGenerator implements InputOutputGenerator {
         inputs[0] = factory.create(size,size);
         inputs[1] = factory.create(size,1);
 
-        randomize(inputs[0],-1,1,rand);
+        if( structure == null )
+            randomize(inputs[0],-1,1,rand);
+        else
+            structured(inputs[0],structure,rand);
         randomize(inputs[1],-1,1,rand);
 
         if( checkResults ) {
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package jmbench.tools.runtime.generator;
+
+import jmbench.interfaces.BenchmarkMatrix;
+import jmbench.interfaces.MatrixFactory;
+import jmbench.interfaces.SparseFormat;
+import jmbench.interfaces.SparseRuntimePerformanceFactory;
+import jmbench.interfaces.SparseTriplets;
+import jmbench.misc.RandomizeMatrices;
+import jmbench.tools.OutputError;
+import jmbench.tools.runtime.InputOutputGenerator;
+import org.ejml.data.DenseMatrix64F;
+
+import java.util.Random;
+
+
+/**
+ * Base class for generators of operations on square sparse matrices.  The matrix size is the number of rows and
+ * columns, and the number of non-zero elements is determined by the density.  See
+ * {@link SparseRuntimePerformanceFactory}.
+ *
+ * @author Peter Abeles
+ */
+public abstract class SparseGenerator implements InputOutputGenerator {
+
+    // storage format of the sparse inputs
+    protected SparseFormat format;
+    // fraction of the elements in the sparse inputs which are not zero
+    protected double density;
+    // library which created the inputs.  Used to count the non-zero elements in sparse outputs
+    protected transient SparseRuntimePerformanceFactory factory;
+
+    protected SparseGenerator( SparseFormat format , double density ) {
+        this.format = format;
+        this.density = density;
+    }
+
+    protected SparseGenerator() {
+    }
+
+    /**
+     * Creates a random sparse matrix.
+     */
+    protected SparseTriplets createTriplets( Random rand , int size ) {
+        return RandomizeMatrices.sparse(size,size,density,rand);
+    }
+
+    /**
+     * Converts the sparse matrix into the library's format.  null if the library doesn't support the format,
+     * in which case the operation won't be supported either.
+     */
+    protected BenchmarkMatrix createSparse( MatrixFactory factory , SparseTriplets triplets ) {
+        this.factory = (SparseRuntimePerformanceFactory)factory;
+        return this.factory.createSparse(triplets,format);
+    }
+
+    /**
+     * Checks a sparse output against the expected non-zero elements.  Extra non-zero elements are found using
+     * the library's count of non-zero elements.
+     */
+    protected OutputError checkSparse( BenchmarkMatrix found , SparseTriplets expected , double tol ) {
+        if( found == null )
+            return OutputError.MISC;
+
+        return ResultsChecking.checkResult(found,expected,factory.countNonZeros(found),tol);
+    }
+
+    /**
+     * Rough estimate of how much memory a sparse matrix in any format will take up.  Formats which are based
+     * on hash maps use a lot more memory per element than compressed formats.
+     */
+    protected long getSparseMemory( long numNonZero , int size ) {
+        return 64L*numNonZero + 16L*size;
+    }
+
+    /**
+     * Computes C = A*B where B and C are dense.
+     */
+    protected static void mult( SparseTriplets A , DenseMatrix64F B , DenseMatrix64F C ) {
+        C.zero();
+        for( int i = 0; i < A.length; i++ ) {
+            int row = A.rows[i];
+            int col = A.cols[i];
+            double a = A.values[i];
+            for( int j = 0; j < B.numCols; j++ ) {
+                C.data[row*C.numCols+j] += a*B.data[col*B.numCols+j];
+            }
+        }
+    }
+
+    protected long getNonZeros( int size ) {
+        return RandomizeMatrices.sparseNonZeros(size,density);
+    }
+
+    public SparseFormat getFormat() {
+        return format;
+    }
+
+    public double getDensity() {
+        return density;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package jmbench.tools.runtime.generator;
+
+import jmbench.interfaces.BenchmarkMatrix;
+import jmbench.interfaces.MatrixFactory;
+import jmbench.interfaces.SparseFormat;
+import jmbench.interfaces.SparseTriplets;
+import jmbench.tools.OutputError;
+import org.ejml.data.DenseMatrix64F;
+
+import java.util.Random;
+
+import static jmbench.misc.RandomizeMatrices.convertToEjml;
+import static jmbench.misc.RandomizeMatrices.randomize;
+
+
+/**
+ * C = A*B where A is sparse and B is dense.  B has a fixed number of columns, instead of being square, so that
+ * the dense matrices are a reasonable size when A is large.  Matrix-vector multiplication is the special case
+ * where B has one column.
+ *
+ * @author Peter Abeles
+ */
+public class SparseMultDenseGenerator extends SparseGenerator {
+
+    // number of columns in the dense matrix
+    int numColumns;
+
+    DenseMatrix64F C;
+
+    public SparseMultDenseGenerator( SparseFormat format , double density , int numColumns ) {
+        super(format,density);
+        this.numColumns = numColumns;
+    }
+
+    public SparseMultDenseGenerator() {
+    }
+
+    @Override
+    public BenchmarkMatrix[] createInputs( MatrixFactory factory , Random rand ,
+                                           boolean checkResults , int size ) {
+        BenchmarkMatrix[] inputs = new  BenchmarkMatrix[2];
+
+        SparseTriplets A = createTriplets(rand,size);
+
+        inputs[0] = createSparse(factory,A);
+        inputs[1] = factory.create(size,numColumns);
+        randomize(inputs[1],-1,1,rand);
+
+        if( checkResults ) {
+            DenseMatrix64F B = convertToEjml(inputs[1]);
+            C = new DenseMatrix64F(size,numColumns);
+            mult(A,B,C);
+        }
+
+        return inputs;
+    }
+
+    @Override
+    public OutputError checkResults(BenchmarkMatrix[] output, double tol) {
+        DenseMatrix64F o = convertToEjml(output[0]);
+
+        return ResultsChecking.checkResult(o,C,tol);
+    }
+
+    @Override
+    public int numOutputs() {
+        return 1;
+    }
+
+    @Override
+    public long getRequiredMemory( int matrixSize ) {
+        return getSparseMemory(getNonZeros(matrixSize),matrixSize) + 4L*8L*matrixSize*numColumns;
+    }
+
+    public int getNumColumns() {
+        return numColumns;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package jmbench.tools.runtime.generator;
+
+import jmbench.interfaces.BenchmarkMatrix;
+import jmbench.interfaces.MatrixFactory;
+import jmbench.interfaces.SparseFormat;
+import jmbench.interfaces.SparseTriplets;
+import jmbench.tools.OutputError;
+
+import java.util.Random;
+
+
+/**
+ * C = A*B where A and B are sparse.
+ *
+ * @author Peter Abeles
+ */
+public class SparseMultSparseGenerator extends SparseGenerator {
+
+    SparseTriplets C;
+
+    public SparseMultSparseGenerator( SparseFormat format , double density ) {
+        super(format,density);
+    }
+
+    public SparseMultSparseGenerator() {
+    }
+
+    @Override
+    public BenchmarkMatrix[] createInputs( MatrixFactory factory , Random rand ,
+                                           boolean checkResults , int size ) {
+        BenchmarkMatrix[] inputs = new  BenchmarkMatrix[2];
+
+        SparseTriplets A = createTriplets(rand,size);
+        SparseTriplets B = createTriplets(rand,size);
+
+        inputs[0] = createSparse(factory,A);
+        inputs[1] = createSparse(factory,B);
+
+        if( checkResults ) {
+            C = A.mult(B);
+        }
+
+        return inputs;
+    }
+
+    @Override
+    public OutputError checkResults(BenchmarkMatrix[] output, double tol) {
+        return checkSparse(output[0],C,tol);
+    }
+
+    @Override
+    public int numOutputs() {
+        return 1;
+    }
+
+    @Override
+    public long getRequiredMemory( int matrixSize ) {
+        // each row in the output is the sum of several rows in B
+        long rowLength = getNonZeros(matrixSize)/matrixSize;
+        long outputNonZeros = matrixSize*Math.min(matrixSize,rowLength*rowLength);
+
+        return 2*getSparseMemory(getNonZeros(matrixSize),matrixSize) +
+                2*getSparseMemory(outputNonZeros,matrixSize);
+    }
+}
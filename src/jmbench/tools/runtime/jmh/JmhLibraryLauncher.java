@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.tools.runtime.jmh;
+
+import jmbench.impl.LibraryDescription;
+import jmbench.tools.SlaveSupervisor;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Future;
+
+
+/**
+ * <p>
+ * Launches JmhRuntimeLibrary in a new JavaVM with the library's jars and the JMH jars on its
+ * classpath.  JMH is loaded from "lib/jmh", which must contain jmh-core, jmh-generator-annprocess and their
+ * dependencies.  The JMH benchmark lives in "src-jmh" and is compiled separately with "ant compile-jmh", so
+ * neither the master nor the default build need JMH.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class JmhLibraryLauncher {
+
+    // directory JMH and its dependencies are loaded from
+    public static final String JMH_LIB_DIR = "lib/jmh";
+    // where "ant compile-jmh" puts the compiled JMH benchmark
+    public static final String JMH_CLASSES_DIR = "build/jmh/classes";
+    // referenced by name so that JMH is never loaded by the master
+    public static final String RUNNER = "jmbench.tools.runtime.jmh.JmhRuntimeLibrary";
+
+    private String directorySave;
+    private String configFile;
+    private LibraryDescription desc;
+    // flags passed to the JavaVMs forked by JMH
+    private String jvmFlags[] = new String[0];
+
+    /**
+     * @param directorySave Where the library's results are saved.  Its description must have already been saved.
+     * @param configFile Base name of the saved benchmark config.
+     * @param desc The library being benchmarked.
+     */
+    public JmhLibraryLauncher( String directorySave , String configFile , LibraryDescription desc ) {
+        this.directorySave = directorySave;
+        this.configFile = configFile;
+        this.desc = desc;
+    }
+
+    /**
+     * Flags which are passed to the JavaVMs JMH forks, in addition to the library's own flags.
+     */
+    public void setJvmFlags( String ...jvmFlags ) {
+        this.jvmFlags = jvmFlags.clone();
+    }
+
+    /**
+     * Runs the benchmark and blocks until it has finished.
+     */
+    public void performBenchmark() {
+        String[] command = createCommand();
+
+        try {
+            Process pr = Runtime.getRuntime().exec(command);
+
+            SlaveSupervisor supervisor = SlaveSupervisor.getInstance();
+            supervisor.watchKeyboard();
+            Future<?> input = supervisor.pump(pr.getInputStream(),System.out);
+            Future<?> error = supervisor.pump(pr.getErrorStream(),System.err);
+
+            supervisor.waitForExit(pr,0);
+            SlaveSupervisor.drain(input,1000);
+            SlaveSupervisor.drain(error,1000);
+            pr.getOutputStream().close();
+
+            if( pr.exitValue() != 0 )
+                System.out.println("JMH benchmark of "+desc.location.getPlotName()+" did not exit normally");
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    protected String[] createCommand() {
+        String sep = System.getProperty("path.separator");
+
+        String classPath = System.getProperty("java.class.path");
+        List<String> jars = new ArrayList<String>();
+        List<String> libraryJars = desc.location.listOfJarFilePaths();
+        if( libraryJars != null )
+            jars.addAll(libraryJars);
+        File files[] = new File(JMH_LIB_DIR).listFiles();
+        if( files == null )
+            throw new RuntimeException("Can't find JMH.  Its jars need to be in "+JMH_LIB_DIR);
+        for( File f : files ) {
+            if( f.getName().endsWith(".jar") )
+                jars.add(f.getAbsolutePath());
+        }
+        File classes = new File(JMH_CLASSES_DIR);
+        if( !classes.isDirectory() )
+            throw new RuntimeException("Can't find the JMH benchmark.  Compile it with 'ant compile-jmh'");
+        jars.add(classes.getAbsolutePath());
+        for( String s : jars ) {
+            classPath = classPath + sep + s;
+        }
+
+        String app = System.getProperty("java.home")+"/bin/java";
+
+        List<String> command = new ArrayList<String>();
+        command.add(app);
+        command.add("-server");
+        command.add("-classpath");
+        command.add(classPath);
+        command.add(RUNNER);
+        command.add(directorySave);
+        command.add(configFile);
+        command.addAll(Arrays.asList(jvmFlags));
+
+        return command.toArray(new String[command.size()]);
+    }
+}
@@ -59,8 +59,8 @@ public class StabilityBenchmark {
         SystemInfo info = new SystemInfo();
         info.grabCurrentInfo();
 
-        UtilXmlSerialization.serializeXml(info,directorySave+"/info.xml");
-        UtilXmlSerialization.serializeXml(config,directorySave+"/config.xml");
+        UtilBinarySerialization.saveArtifact(info,directorySave+"/info");
+        UtilBinarySerialization.saveArtifact(config,directorySave+"/config");
 
         MemoryBenchmark.saveLibraryDescriptions(directorySave,config.targets);
 
@@ -32,6 +32,8 @@ import java.util.List;
  */
 public class StabilityBenchmarkConfig implements Serializable {
 
+    private static final long serialVersionUID = 1L;
+
     public long randomSeed;
     public long maxProcessingTime;
 
@@ -79,6 +79,7 @@ public class StabilityBenchmarkLibrary {
 
         tools = new BenchmarkTools(1,config.baseMemory,config.scaleMemory,target.location.listOfJarFilePaths());
         tools.setFrozenDefaultTime(config.maxProcessingTime);
+        tools.setJreFlags(BenchmarkTools.lookupJreFlags(target.configure));
 
         if( directorySave != null ) {
             setupOutputDirectory();
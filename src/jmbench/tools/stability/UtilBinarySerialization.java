@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package jmbench.tools.stability;
+
+import java.io.*;
+
+/**
+ * <p>
+ * Saves and loads objects in a versioned binary format.  The file starts with {@link #MAGIC},
+ * {@link #VERSION} and the name of the saved class, followed by the object in Java's serialization format.
+ * </p>
+ *
+ * <p>
+ * Artifacts, such as the benchmark config and system info, are saved as a binary file and a human readable
+ * xml export.  When loading the binary file is used, unless it doesn't exist or can't be read by the current
+ * classes, in which case the xml file is read so that older results can still be processed.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class UtilBinarySerialization {
+
+    public static final int MAGIC = 0x4A4D4246;
+    public static final int VERSION = 1;
+
+    public static void serializeBinary( Object o , String fileName ) {
+        try {
+            ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(fileName)));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(o.getClass().getName());
+            out.writeObject(o);
+            out.close();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Reads in an object which was saved by {@link #serializeBinary}.
+     *
+     * @return The object or null if the file doesn't exist.
+     */
+    public static <T> T deserializeBinary( String fileName ) {
+        try {
+            return UtilBinarySerialization.<T>readBinary(fileName);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } catch (ClassNotFoundException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Reads the binary file.  A file which isn't in this format, or was saved by a different version, causes a
+     * StreamCorruptedException.  Classes which have changed incompatibly since it was saved cause an
+     * InvalidClassException.
+     *
+     * @return The object or null if the file doesn't exist.
+     */
+    private static <T> T readBinary( String fileName ) throws IOException, ClassNotFoundException {
+        if( !new File(fileName).exists() )
+            return null;
+
+        FileInputStream file = new FileInputStream(fileName);
+        ObjectInputStream in;
+        try {
+            in = new ObjectInputStream(new BufferedInputStream(file));
+        } catch (IOException e) {
+            file.close();
+            throw e;
+        }
+        try {
+            if( in.readInt() != MAGIC )
+                throw new StreamCorruptedException("Not a binary benchmark file: "+fileName);
+            int version = in.readInt();
+            if( version != VERSION )
+                throw new StreamCorruptedException("Unsupported version "+version+" in "+fileName);
+            // name of the class, only there to make the file easier to identify
+            in.readUTF();
+
+            return (T)in.readObject();
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Saves the object to "fileBase.bin" and exports it to "fileBase.xml".
+     */
+    public static void saveArtifact( Object o , String fileBase ) {
+        serializeBinary(o,fileBase+".bin");
+        UtilXmlSerialization.serializeXml(o,fileBase+".xml");
+    }
+
+    /**
+     * Loads an object saved by {@link #saveArtifact}.  If there is no binary file, or it can't be read because
+     * the classes have changed since it was saved, the xml file is read instead.
+     *
+     * @return The object or null if neither file exists.
+     */
+    public static <T> T loadArtifact( String fileBase ) {
+        String fileName = fileBase+".bin";
+        T ret;
+        try {
+            ret = UtilBinarySerialization.<T>readBinary(fileName);
+        } catch (InvalidClassException e) {
+            System.out.println("Incompatible binary file, reading xml instead. "+e.getMessage());
+            ret = null;
+        } catch (StreamCorruptedException e) {
+            System.out.println("Can't read binary file, reading xml instead. "+e.getMessage());
+            ret = null;
+        } catch (ClassNotFoundException e) {
+            System.out.println("Unknown class in binary file, reading xml instead. "+e.getMessage());
+            ret = null;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        if( ret != null )
+            return ret;
+        return UtilXmlSerialization.<T>deserializeXml(fileBase+".xml");
+    }
+}
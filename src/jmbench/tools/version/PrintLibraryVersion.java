@@ -20,11 +20,11 @@
 package jmbench.tools.version;
 
 import jmbench.impl.LibraryDescription;
+import jmbench.tools.SlaveSupervisor;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.util.List;
+import java.util.concurrent.Future;
 
 /**
  * Saves version information for a library to a file.  A new JVM needs to be launched because the libraries jars
@@ -48,13 +48,16 @@ public class PrintLibraryVersion {
         Runtime rt = Runtime.getRuntime();
         Process pr = rt.exec(params);
 
-        BufferedReader input = new BufferedReader(new InputStreamReader(pr.getInputStream()));
-        BufferedReader error = new BufferedReader(new InputStreamReader(pr.getErrorStream()));
+        SlaveSupervisor supervisor = SlaveSupervisor.getInstance();
+        supervisor.watchKeyboard();
 
-        monitorSlave(pr,input,error);
+        Future<?> input = supervisor.pump(pr.getInputStream(),System.out);
+        Future<?> error = supervisor.pump(pr.getErrorStream(),System.out);
 
-        printError(error);
-        printInputBuffer(input);
+        monitorSlave(pr);
+
+        SlaveSupervisor.drain(input,1000);
+        SlaveSupervisor.drain(error,1000);
 
         int exitVal = pr.waitFor();
         if( exitVal != 0 ) {
@@ -62,51 +65,22 @@ public class PrintLibraryVersion {
         }
     }
 
-    private boolean monitorSlave( Process pr, BufferedReader input, BufferedReader error)
-            throws IOException, InterruptedException {
+    /**
+     * Waits for the slave to finish.  If it's taking longer than it should the user is told, but it
+     * keeps on waiting.
+     *
+     * @return true if it took too long
+     */
+    private boolean monitorSlave( Process pr ) throws InterruptedException {
 
         int mustBeFrozenTime = 2000;
 
-        // flush the input buffer
-        System.in.skip(System.in.available());
-
-        boolean frozen = false;
-
-        long startTime = System.currentTimeMillis();
-        long lastAliveMessage = startTime;
-        for(;;) {
-            while( System.in.available() > 0 ) {
-                if( System.in.read() == 'q' ) {
-                    System.out.println("User requested for the application to quit by pressing 'q'");
-                    System.exit(0);
-                }
-            }
-
-            printError(error);
+        SlaveSupervisor supervisor = SlaveSupervisor.getInstance();
 
-            if( input.ready() ) {
-                printInputBuffer(input);
-            } else {
-                Thread.sleep(500);
-            }
-
-            try {
-                // exit value throws an exception is the process has yet to stop
-                pr.exitValue();
-                break;
-            } catch( IllegalThreadStateException e) {
-                // check to see if the process is frozen
-                if(System.currentTimeMillis() - startTime > mustBeFrozenTime ) {
-                    frozen = true;
-                    break;
-                }
-
-                // let everyone know its still alive
-                if( System.currentTimeMillis() - lastAliveMessage > 60000 ) {
-//                    System.out.println("\nMaster is still alive: "+new Date()+"  Press 'q' and enter to quit.");
-                    lastAliveMessage = System.currentTimeMillis();
-                }
-            }
+        boolean frozen = !supervisor.waitForExit(pr,mustBeFrozenTime);
+        if( frozen ) {
+            System.out.println("Version slave is taking longer than expected.");
+            supervisor.waitForExit(pr,0);
         }
 
         return frozen;
@@ -129,25 +103,6 @@ public class PrintLibraryVersion {
         return params;
     }
 
-    private void printError(BufferedReader error) throws IOException {
-        while( error.ready() ) {
-            int val = error.read();
-            if( val < 0 ) break;
-
-            System.out.print(Character.toChars(val));
-        }
-    }
-
-    private void printInputBuffer(BufferedReader input) throws IOException {
-
-        while( input.ready() ) {
-            int val = input.read();
-            if( val < 0 ) break;
-
-            System.out.print(Character.toChars(val));
-        }
-    }
-
     public String getClassPath(List<String> jarNames) {
         String extraJars = System.getProperty("java.class.path");
 
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.interfaces;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSparseTriplets {
+
+    /**
+     * 3x4 matrix with an empty row in the middle
+     */
+    private SparseTriplets createExample() {
+        SparseTriplets A = new SparseTriplets(3,4,2);
+        A.add(0,1,1.5);
+        A.add(0,3,-2);
+        A.add(2,0,3);
+        A.add(2,1,4);
+        A.add(2,2,-5);
+        return A;
+    }
+
+    @Test
+    public void rowPointers() {
+        SparseTriplets A = createExample();
+
+        int pointers[] = A.rowPointers();
+
+        assertEquals(4,pointers.length);
+        assertEquals(0,pointers[0]);
+        assertEquals(2,pointers[1]);
+        assertEquals(2,pointers[2]);
+        assertEquals(5,pointers[3]);
+
+        // every element in a row's range is in that row
+        for( int i = 0; i < A.numRows; i++ ) {
+            for( int index = pointers[i]; index < pointers[i+1]; index++ ) {
+                assertEquals(i,A.rows[index]);
+            }
+        }
+    }
+
+    @Test
+    public void transpose() {
+        SparseTriplets A = createExample();
+
+        SparseTriplets T = A.transpose();
+
+        assertEquals(4,T.numRows);
+        assertEquals(3,T.numCols);
+        assertEquals(A.length,T.length);
+
+        double dense[][] = toDense(A);
+        double denseT[][] = toDense(T);
+        for( int i = 0; i < A.numRows; i++ ) {
+            for( int j = 0; j < A.numCols; j++ ) {
+                assertEquals(dense[i][j],denseT[j][i],0);
+            }
+        }
+
+        // must be sorted by row and then by column
+        for( int i = 1; i < T.length; i++ ) {
+            assertTrue(T.rows[i-1] < T.rows[i] || (T.rows[i-1] == T.rows[i] && T.cols[i-1] < T.cols[i]));
+        }
+    }
+
+    private static double[][] toDense( SparseTriplets A ) {
+        double ret[][] = new double[ A.numRows ][ A.numCols ];
+        for( int i = 0; i < A.length; i++ ) {
+            ret[A.rows[i]][A.cols[i]] = A.values[i];
+        }
+        return ret;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.misc;
+
+import jmbench.interfaces.SparseTriplets;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * @author Peter Abeles
+ */
+public class TestRandomizeMatrices {
+
+    @Test
+    public void sparse() {
+        Random rand = new Random(234);
+
+        int numRows = 30;
+        int numCols = 50;
+        double density = 0.1;
+
+        SparseTriplets A = RandomizeMatrices.sparse(numRows,numCols,density,rand);
+
+        assertEquals(numRows,A.numRows);
+        assertEquals(numCols,A.numCols);
+
+        int rowLength = RandomizeMatrices.sparseRowLength(numCols,density);
+        assertEquals(5,rowLength);
+        assertEquals(numRows*rowLength,A.length);
+
+        int counts[] = A.rowCounts();
+        for( int i = 0; i < numRows; i++ ) {
+            assertEquals(rowLength,counts[i]);
+        }
+
+        for( int i = 0; i < A.length; i++ ) {
+            assertTrue(A.cols[i] >= 0 && A.cols[i] < numCols);
+            assertTrue(A.values[i] >= -1 && A.values[i] <= 1);
+
+            // sorted by row then column with no duplicates
+            if( i > 0 ) {
+                assertTrue(A.rows[i-1] < A.rows[i] || (A.rows[i-1] == A.rows[i] && A.cols[i-1] < A.cols[i]));
+            }
+        }
+    }
+
+    /**
+     * Every row must have at least one element, even if the density is very low
+     */
+    @Test
+    public void sparse_lowDensity() {
+        SparseTriplets A = RandomizeMatrices.sparse(10,10,1e-6,new Random(234));
+
+        assertEquals(10,A.length);
+        int counts[] = A.rowCounts();
+        for( int i = 0; i < 10; i++ ) {
+            assertEquals(1,counts[i]);
+        }
+    }
+}
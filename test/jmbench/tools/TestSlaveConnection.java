@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.tools;
+
+import org.junit.Test;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Connects {@link SlaveConnection} to a slave through pipes instead of a new process.
+ *
+ * @author Peter Abeles
+ */
+public class TestSlaveConnection {
+
+    private static final int PIPE_SIZE = 1 << 16;
+
+    // the slave's standard in and out
+    PipedInputStream slaveIn;
+    PipedOutputStream slaveOut;
+
+    /**
+     * Sends jobs to {@link EvaluatorSlave} and checks the results streamed back
+     */
+    @Test
+    public void roundTrip() throws Exception {
+        SlaveConnection connection = createConnection();
+        Thread slave = startSlave();
+
+        connection.submit(5,3,new DummyTest(-1,0));
+        assertTrue(connection.waitForJob(10000));
+
+        EvaluatorSlave.Results results = connection.getResults();
+        assertEquals(5,results.requestID);
+        assertNull(results.failed);
+        assertEquals(3,results.results.size());
+        for( int i = 0; i < 3; i++ ) {
+            assertEquals(i,((DummyResults)results.results.get(i)).trial);
+        }
+
+        // the same slave can process another job
+        connection.submit(6,2,new DummyTest(-1,0));
+        assertTrue(connection.waitForJob(10000));
+        assertEquals(6,connection.getResults().requestID);
+        assertEquals(2,connection.getResults().results.size());
+        assertEquals(2,connection.getNumJobs());
+
+        SlaveProtocol.writeQuit(connection.control);
+        slave.join(10000);
+        assertFalse(slave.isAlive());
+        assertNull(connection.getProtocolError());
+    }
+
+    /**
+     * If a trial takes too long the trials which were finished are still returned
+     */
+    @Test
+    public void tooSlow() throws Exception {
+        SlaveConnection connection = createConnection();
+        Thread slave = startSlave();
+
+        connection.submit(2,5,new DummyTest(0,20));
+        assertTrue(connection.waitForJob(10000));
+
+        EvaluatorSlave.Results results = connection.getResults();
+        assertEquals(EvaluatorSlave.FailReason.TOO_SLOW,results.failed);
+        assertEquals(1,results.results.size());
+
+        SlaveProtocol.writeQuit(connection.control);
+        slave.join(10000);
+    }
+
+    /**
+     * Results from other failures can't be trusted and are discarded
+     */
+    @Test
+    public void getResults_failed() throws Exception {
+        SlaveConnection connection = createConnection();
+        ObjectOutputStream out = startFakeSlave();
+
+        connection.submit(3,2,new DummyTest(-1,0));
+        SlaveProtocol.writeResult(out,3,new DummyResults(0));
+        SlaveProtocol.writeFinished(out,3,EvaluatorSlave.FailReason.OUT_OF_MEMORY,null,null);
+        assertTrue(connection.waitForJob(10000));
+
+        EvaluatorSlave.Results results = connection.getResults();
+        assertEquals(EvaluatorSlave.FailReason.OUT_OF_MEMORY,results.failed);
+        assertNull(results.results);
+        assertEquals(1,connection.getPartialResults().size());
+    }
+
+    /**
+     * Messages from a previous job should be ignored
+     */
+    @Test
+    public void readLoop_staleRequest() throws Exception {
+        SlaveConnection connection = createConnection();
+        ObjectOutputStream out = startFakeSlave();
+
+        connection.submit(8,2,new DummyTest(-1,0));
+        SlaveProtocol.writeResult(out,7,new DummyResults(100));
+        SlaveProtocol.writeFinished(out,7,EvaluatorSlave.FailReason.MISC_EXCEPTION,"old",null);
+        SlaveProtocol.writeResult(out,8,new DummyResults(0));
+        SlaveProtocol.writeResult(out,8,new DummyResults(1));
+        SlaveProtocol.writeFinished(out,8,null,null,null);
+        assertTrue(connection.waitForJob(10000));
+
+        EvaluatorSlave.Results results = connection.getResults();
+        assertEquals(8,results.requestID);
+        assertNull(results.failed);
+        assertNull(results.detailedError);
+        assertEquals(2,results.results.size());
+        assertEquals(0,((DummyResults)results.results.get(0)).trial);
+        assertEquals(1,((DummyResults)results.results.get(1)).trial);
+    }
+
+    /**
+     * A slave speaking a different version of the protocol is rejected
+     */
+    @Test
+    public void readLoop_wrongVersion() throws Exception {
+        SlaveConnection connection = createConnection();
+        ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(slaveOut));
+        out.writeInt(SlaveProtocol.MAGIC);
+        out.writeInt(SlaveProtocol.VERSION+1);
+        out.flush();
+
+        // no job was sent so it can only return once the connection is closed
+        assertTrue(connection.waitForJob(10000));
+        assertTrue(connection.isClosed());
+        assertTrue(connection.getProtocolError() != null);
+        assertFalse(connection.isJobFinished());
+        assertNull(connection.getResults());
+    }
+
+    private SlaveConnection createConnection() throws IOException {
+        PipedOutputStream masterOut = new PipedOutputStream();
+        slaveIn = new PipedInputStream(masterOut,PIPE_SIZE);
+        slaveOut = new PipedOutputStream();
+        PipedInputStream masterIn = new PipedInputStream(slaveOut,PIPE_SIZE);
+
+        return new SlaveConnection(masterIn,masterOut);
+    }
+
+    /**
+     * Runs {@link EvaluatorSlave} in a thread until it's told to quit
+     */
+    private Thread startSlave() {
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(slaveOut));
+                    SlaveProtocol.writeHeader(out);
+                    ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(slaveIn));
+                    SlaveProtocol.readHeader(in);
+                    EvaluatorSlave.processJobs(in,out);
+                    out.flush();
+                } catch( IOException e ) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+        t.setDaemon(true);
+        t.start();
+        return t;
+    }
+
+    /**
+     * The test writes the slave's messages itself
+     */
+    private ObjectOutputStream startFakeSlave() throws IOException {
+        ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(slaveOut));
+        SlaveProtocol.writeHeader(out);
+        return out;
+    }
+
+    public static class DummyTest extends EvaluationTest {
+        long maximumRuntime;
+        long sleep;
+        int trial;
+
+        public DummyTest( long maximumRuntime , long sleep ) {
+            this.maximumRuntime = maximumRuntime;
+            this.sleep = sleep;
+        }
+
+        @Override
+        public void init() {
+            trial = 0;
+        }
+
+        @Override
+        public void setupTrial() {}
+
+        @Override
+        public void printInfo() {}
+
+        @Override
+        public long getMaximumRuntime() {
+            return maximumRuntime;
+        }
+
+        @Override
+        public long getInputMemorySize() {
+            return 0;
+        }
+
+        @Override
+        public TestResults evaluate() {
+            if( sleep > 0 ) {
+                try {
+                    Thread.sleep(sleep);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            return new DummyResults(trial++);
+        }
+    }
+
+    public static class DummyResults implements TestResults {
+        int trial;
+
+        public DummyResults( int trial ) {
+            this.trial = trial;
+        }
+    }
+}
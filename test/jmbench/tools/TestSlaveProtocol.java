@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.tools;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSlaveProtocol {
+
+    @Test
+    public void header() throws IOException {
+        ObjectInputStream in = read(write(SlaveProtocol.MAGIC,SlaveProtocol.VERSION));
+
+        SlaveProtocol.readHeader(in);
+    }
+
+    @Test
+    public void header_wrongVersion() throws IOException {
+        ObjectInputStream in = read(write(SlaveProtocol.MAGIC,SlaveProtocol.VERSION+1));
+
+        try {
+            SlaveProtocol.readHeader(in);
+            fail("Should have been rejected");
+        } catch( IOException ignore ) {}
+    }
+
+    @Test
+    public void header_wrongMagic() throws IOException {
+        ObjectInputStream in = read(write(SlaveProtocol.MAGIC+1,SlaveProtocol.VERSION));
+
+        try {
+            SlaveProtocol.readHeader(in);
+            fail("Should have been rejected");
+        } catch( IOException ignore ) {}
+    }
+
+    @Test
+    public void finished() throws Exception {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(stream);
+        SlaveProtocol.writeFinished(out,12,EvaluatorSlave.FailReason.TOO_SLOW,"message",null);
+        ObjectInputStream in = read(stream.toByteArray());
+
+        assertEquals(SlaveProtocol.FINISHED,in.readByte());
+        assertEquals(12,in.readLong());
+        assertEquals(EvaluatorSlave.FailReason.TOO_SLOW,in.readObject());
+        assertEquals("message",in.readObject());
+        assertNull(in.readObject());
+    }
+
+    private static byte[] write( int magic , int version ) throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(stream);
+        out.writeInt(magic);
+        out.writeInt(version);
+        out.close();
+        return stream.toByteArray();
+    }
+
+    private static ObjectInputStream read( byte data[] ) throws IOException {
+        return new ObjectInputStream(new ByteArrayInputStream(data));
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.tools;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSlaveRecyclePolicy {
+
+    @Test
+    public void shouldRecycle_default() {
+        SlaveRecyclePolicy policy = SlaveRecyclePolicy.createDefault();
+
+        assertFalse(policy.shouldRecycle(1,results(null)));
+        assertFalse(policy.shouldRecycle(policy.maxJobs-1,results(null)));
+        // used up all its jobs
+        assertTrue(policy.shouldRecycle(policy.maxJobs,results(null)));
+        // nothing could be read from the slave
+        assertTrue(policy.shouldRecycle(1,null));
+        // any failure
+        for( EvaluatorSlave.FailReason r : EvaluatorSlave.FailReason.values() ) {
+            assertTrue(policy.shouldRecycle(1,results(r)));
+        }
+    }
+
+    @Test
+    public void shouldRecycle_selectedFailures() {
+        SlaveRecyclePolicy policy = new SlaveRecyclePolicy();
+        policy.recycleOn.add(EvaluatorSlave.FailReason.OUT_OF_MEMORY);
+
+        assertTrue(policy.shouldRecycle(1,results(EvaluatorSlave.FailReason.OUT_OF_MEMORY)));
+        assertFalse(policy.shouldRecycle(1,results(EvaluatorSlave.FailReason.TOO_SLOW)));
+        // no limit on the number of jobs
+        assertFalse(policy.shouldRecycle(100000,results(null)));
+        assertTrue(policy.shouldRecycle(1,null));
+    }
+
+    private static EvaluatorSlave.Results results( EvaluatorSlave.FailReason failed ) {
+        EvaluatorSlave.Results ret = new EvaluatorSlave.Results();
+        ret.failed = failed;
+        return ret;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.tools.runtime;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * @author Peter Abeles
+ */
+public class TestLatencyHistogram {
+
+    /**
+     * Small values have a bucket of their own, so the percentiles are known exactly
+     */
+    @Test
+    public void getPercentile_small() {
+        LatencyHistogram h = new LatencyHistogram();
+        for( int i = 1; i <= 10; i++ )
+            h.record(i);
+
+        assertEquals(10,h.getTotal());
+        assertEquals(1.5,h.getPercentile(0),1e-8);
+        assertEquals(5.5,h.getPercentile(50),1e-8);
+        assertEquals(9.5,h.getPercentile(90),1e-8);
+        assertEquals(10.5,h.getPercentile(100),1e-8);
+    }
+
+    /**
+     * For large values the relative error must be less than 1/SUB_BUCKETS
+     */
+    @Test
+    public void getPercentile_large() {
+        LatencyHistogram h = new LatencyHistogram();
+        for( int i = 1; i <= 1000; i++ )
+            h.record(i*1000L);
+
+        double tol = 1.0/LatencyHistogram.SUB_BUCKETS;
+        double percentiles[] = new double[]{1,25,50,75,99,100};
+        for( double p : percentiles ) {
+            double expected = Math.ceil(10*p)*1000;
+            double found = h.getPercentile(p);
+            assertTrue(p+" "+found,Math.abs(found-expected)/expected < tol);
+        }
+    }
+
+    @Test
+    public void getPercentile_empty() {
+        assertTrue(Double.isNaN(new LatencyHistogram().getPercentile(50)));
+    }
+
+    /**
+     * A value must be inside the range of the bucket it is put in
+     */
+    @Test
+    public void bucketIndex_bucketLower() {
+        long values[] = new long[]{0,1,15,16,17,31,32,33,1000,123456789L,(1L << 40)+12345};
+        for( long v : values ) {
+            int index = LatencyHistogram.bucketIndex(v);
+            assertTrue(LatencyHistogram.bucketLower(index) <= v);
+            assertTrue(LatencyHistogram.bucketLower(index+1) > v);
+        }
+    }
+
+    @Test
+    public void encode_decode() {
+        LatencyHistogram h = new LatencyHistogram();
+        h.record(3);
+        h.record(3);
+        h.record(2000);
+        h.record(5000000);
+
+        LatencyHistogram found = LatencyHistogram.decode(h.encode());
+
+        assertEquals(h.getTotal(),found.getTotal());
+        assertEquals(h.getCounts().length,found.getCounts().length);
+        for( int i = 0; i < h.getCounts().length; i++ ) {
+            assertEquals(h.getCounts()[i],found.getCounts()[i]);
+        }
+        assertEquals(h.getPercentile(50),found.getPercentile(50),1e-8);
+    }
+
+    @Test
+    public void encode_decode_empty() {
+        LatencyHistogram found = LatencyHistogram.decode(new LatencyHistogram().encode());
+
+        assertEquals(0,found.getTotal());
+    }
+
+    @Test
+    public void add() {
+        LatencyHistogram a = new LatencyHistogram();
+        LatencyHistogram b = new LatencyHistogram();
+        a.record(5);
+        b.record(5);
+        b.record(100000);
+
+        a.add(b);
+
+        assertEquals(3,a.getTotal());
+        assertEquals(2,a.getCounts()[5]);
+        assertEquals(1,a.getCounts()[LatencyHistogram.bucketIndex(100000)]);
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.tools.runtime;
+
+import jmbench.impl.FactoryLibraryDescriptions;
+import jmbench.impl.LibraryDescription;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * @author Peter Abeles
+ */
+public class TestParallelLibraryScheduler {
+
+    @Test
+    public void splitIntoSockets() {
+        List<int[]> sockets = ParallelLibraryScheduler.splitIntoSockets(10,4);
+
+        assertEquals(3,sockets.size());
+        assertEquals(4,sockets.get(0).length);
+        assertEquals(4,sockets.get(1).length);
+        assertEquals(2,sockets.get(2).length);
+
+        // every CPU is in exactly one socket
+        int expected = 0;
+        for( int[] s : sockets ) {
+            for( int cpu : s ) {
+                assertEquals(expected++,cpu);
+            }
+        }
+    }
+
+    @Test
+    public void findFree() {
+        boolean busy[] = new boolean[]{true,false,true,false,false,true};
+
+        assertEquals(1,ParallelLibraryScheduler.findFree(busy,1));
+        assertEquals(3,ParallelLibraryScheduler.findFree(busy,2));
+        assertEquals(-1,ParallelLibraryScheduler.findFree(busy,3));
+    }
+
+    @Test
+    public void createCpuList() {
+        int cpus[] = new int[]{4,5,6,7};
+
+        assertEquals("5,6,7",ParallelLibraryScheduler.createCpuList(cpus,1,3));
+        assertEquals("4",ParallelLibraryScheduler.createCpuList(cpus,0,1));
+    }
+
+    /**
+     * Single threaded libraries are packed next to each other until all the CPUs are used
+     */
+    @Test
+    public void reserveCpus_singleThreaded() {
+        List<boolean[]> busy = createBusy(2,4);
+
+        List<int[]> found = new ArrayList<int[]>();
+        for( int i = 0; i < 4; i++ ) {
+            int r[] = ParallelLibraryScheduler.reserveCpus(busy,false,2);
+            assertEquals(2,r[2]);
+            found.add(r);
+        }
+        assertNull(ParallelLibraryScheduler.reserveCpus(busy,false,2));
+
+        // the first socket is filled before the second
+        assertEquals(0,found.get(0)[0]);
+        assertEquals(0,found.get(0)[1]);
+        assertEquals(0,found.get(1)[0]);
+        assertEquals(2,found.get(1)[1]);
+        assertEquals(1,found.get(2)[0]);
+        assertEquals(1,found.get(3)[0]);
+        checkNoOverlap(found,2,4);
+    }
+
+    /**
+     * Multi-threaded libraries get a whole socket
+     */
+    @Test
+    public void reserveCpus_multiThreaded() {
+        List<boolean[]> busy = createBusy(2,4);
+
+        int a[] = ParallelLibraryScheduler.reserveCpus(busy,true,2);
+        int b[] = ParallelLibraryScheduler.reserveCpus(busy,true,2);
+
+        assertEquals(0,a[0]);
+        assertEquals(0,a[1]);
+        assertEquals(4,a[2]);
+        assertEquals(1,b[0]);
+        assertEquals(4,b[2]);
+        assertNull(ParallelLibraryScheduler.reserveCpus(busy,true,2));
+        assertNull(ParallelLibraryScheduler.reserveCpus(busy,false,1));
+    }
+
+    /**
+     * A multi-threaded library can't share a socket with a library which is already running
+     */
+    @Test
+    public void reserveCpus_mixed() {
+        List<boolean[]> busy = createBusy(2,4);
+
+        List<int[]> found = new ArrayList<int[]>();
+        found.add(ParallelLibraryScheduler.reserveCpus(busy,false,1));
+        found.add(ParallelLibraryScheduler.reserveCpus(busy,true,1));
+        assertEquals(1,found.get(1)[0]);
+        assertNull(ParallelLibraryScheduler.reserveCpus(busy,true,1));
+
+        // the rest of the first socket can still be used by single threaded libraries
+        for( int i = 0; i < 3; i++ ) {
+            int r[] = ParallelLibraryScheduler.reserveCpus(busy,false,1);
+            assertEquals(0,r[0]);
+            found.add(r);
+        }
+        assertNull(ParallelLibraryScheduler.reserveCpus(busy,false,1));
+        checkNoOverlap(found,2,4);
+    }
+
+    /**
+     * The heap is scaled like BenchmarkTools does and has room for the retry
+     */
+    @Test
+    public void estimateMemory() {
+        LibraryDescription desc = FactoryLibraryDescriptions.createEJML();
+        RuntimeBenchmarkConfig config = RuntimeBenchmarkConfig.createAllConfig();
+        config.slavePool = false;
+
+        // largest heap any case needs
+        long required = 0;
+        List<RuntimeEvaluationCase> cases =
+                new FactoryRuntimeEvaluationCase(desc.configure,desc.factoryRuntime,config).createCases();
+        for( RuntimeEvaluationCase c : cases ) {
+            int dimens[] = c.getDimens();
+            if( dimens.length == 0 )
+                continue;
+            long r = c.getGenerator().getRequiredMemory(dimens[dimens.length-1])/1024/1024+config.memorySlaveBase;
+            required = Math.max(required,r);
+        }
+        assertTrue(required > 0);
+
+        config.memorySlaveScale = 1;
+        assertEquals(required*ParallelLibraryScheduler.RETRY_HEADROOM+ParallelLibraryScheduler.SLAVE_OVERHEAD,
+                ParallelLibraryScheduler.estimateMemory(desc,config));
+
+        config.memorySlaveScale = 3;
+        assertEquals(required*3*ParallelLibraryScheduler.RETRY_HEADROOM+ParallelLibraryScheduler.SLAVE_OVERHEAD,
+                ParallelLibraryScheduler.estimateMemory(desc,config));
+
+        // each slave in the pool needs its own memory
+        config.slavePool = true;
+        config.slavePoolSize = 2;
+        assertEquals(2*(required*3*ParallelLibraryScheduler.RETRY_HEADROOM+ParallelLibraryScheduler.SLAVE_OVERHEAD),
+                ParallelLibraryScheduler.estimateMemory(desc,config));
+    }
+
+    /**
+     * If the heap size is fixed then it's used as is
+     */
+    @Test
+    public void estimateMemory_fixed() {
+        LibraryDescription desc = FactoryLibraryDescriptions.createEJML();
+        RuntimeBenchmarkConfig config = RuntimeBenchmarkConfig.createAllConfig();
+        config.slavePool = false;
+        config.memoryTrial = 300;
+        config.memorySlaveScale = 3;
+
+        assertEquals(300+ParallelLibraryScheduler.SLAVE_OVERHEAD,ParallelLibraryScheduler.estimateMemory(desc,config));
+    }
+
+    private static List<boolean[]> createBusy( int numSockets , int cpusPerSocket ) {
+        List<boolean[]> ret = new ArrayList<boolean[]>();
+        for( int i = 0; i < numSockets; i++ ) {
+            ret.add(new boolean[cpusPerSocket]);
+        }
+        return ret;
+    }
+
+    /**
+     * Makes sure no CPU was given to more than one library
+     */
+    private static void checkNoOverlap( List<int[]> found , int numSockets , int cpusPerSocket ) {
+        boolean used[][] = new boolean[numSockets][cpusPerSocket];
+        for( int[] r : found ) {
+            for( int i = 0; i < r[2]; i++ ) {
+                assertFalse(used[r[0]][r[1]+i]);
+                used[r[0]][r[1]+i] = true;
+            }
+        }
+    }
+}
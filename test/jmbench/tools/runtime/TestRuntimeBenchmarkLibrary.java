@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.tools.runtime;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+
+/**
+ * @author Peter Abeles
+ */
+public class TestRuntimeBenchmarkLibrary {
+
+    @Test
+    public void isSizeFinished_null() {
+        assertFalse(RuntimeBenchmarkLibrary.isSizeFinished(null,createConfig(true)));
+    }
+
+    /**
+     * Very consistent measurements should stop as soon as the minimum number of trials has been reached
+     */
+    @Test
+    public void isSizeFinished_tight() {
+        RuntimeBenchmarkConfig config = createConfig(true);
+
+        assertEquals(config.minTrials,countTrials(config,0.001));
+    }
+
+    /**
+     * Noisy measurements never reach the target width and should run until the maximum
+     */
+    @Test
+    public void isSizeFinished_noisy() {
+        RuntimeBenchmarkConfig config = createConfig(true);
+
+        assertEquals(config.maxTrials,countTrials(config,100));
+    }
+
+    /**
+     * If adaptive trials is off then the maximum number of trials is always used
+     */
+    @Test
+    public void isSizeFinished_notAdaptive() {
+        RuntimeBenchmarkConfig config = createConfig(false);
+
+        assertEquals(config.maxTrials,countTrials(config,0.001));
+    }
+
+    /**
+     * Somewhere in between it should stop once the interval is narrow enough, but not before minTrials
+     */
+    @Test
+    public void isSizeFinished_cutoff() {
+        RuntimeBenchmarkConfig config = createConfig(true);
+        config.targetIntervalWidth = 0.05;
+
+        int found = countTrials(config,20);
+        assertFalse(found <= config.minTrials);
+        assertFalse(found >= config.maxTrials);
+
+        // check the width at the point it stopped
+        List<RuntimeMeasurement> samples = TestRuntimeEvaluationMetrics.create(new Random(234),found,100,20);
+        RuntimeEvaluationMetrics m = new RuntimeEvaluationMetrics(samples);
+        assertFalse(m.getRelativeMedianInterval() > config.targetIntervalWidth);
+        samples.remove(samples.size()-1);
+        m = new RuntimeEvaluationMetrics(samples);
+        assertFalse(m.getRelativeMedianInterval() <= config.targetIntervalWidth);
+    }
+
+    /**
+     * Adds one trial at a time until it says the size is finished
+     */
+    private static int countTrials( RuntimeBenchmarkConfig config , double spread ) {
+        Random rand = new Random(234);
+        for( int numTrials = 1; numTrials < 1000; numTrials++ ) {
+            rand.setSeed(234);
+            List<RuntimeMeasurement> samples = TestRuntimeEvaluationMetrics.create(rand,numTrials,100,spread);
+            if( RuntimeBenchmarkLibrary.isSizeFinished(new RuntimeEvaluationMetrics(samples),config) )
+                return numTrials;
+        }
+        throw new RuntimeException("Never finished");
+    }
+
+    private static RuntimeBenchmarkConfig createConfig( boolean adaptive ) {
+        RuntimeBenchmarkConfig config = RuntimeBenchmarkConfig.createAllConfig();
+        config.adaptiveTrials = adaptive;
+        config.minTrials = 5;
+        config.maxTrials = 200;
+        config.targetIntervalWidth = 0.01;
+        return config;
+    }
+}
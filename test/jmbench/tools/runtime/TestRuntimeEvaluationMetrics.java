@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.tools.runtime;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * @author Peter Abeles
+ */
+public class TestRuntimeEvaluationMetrics {
+
+    @Test
+    public void medianInterval_containsMedian() {
+        RuntimeEvaluationMetrics m = new RuntimeEvaluationMetrics(create(new Random(234),25,100,20));
+
+        assertTrue(m.medianLower <= m.median);
+        assertTrue(m.median <= m.medianUpper);
+        assertTrue(m.medianLower >= m.min);
+        assertTrue(m.medianUpper <= m.max);
+    }
+
+    /**
+     * The same samples must always produce the same interval
+     */
+    @Test
+    public void medianInterval_deterministic() {
+        List<RuntimeMeasurement> samples = create(new Random(234),25,100,20);
+
+        RuntimeEvaluationMetrics a = new RuntimeEvaluationMetrics(samples);
+        RuntimeEvaluationMetrics b = new RuntimeEvaluationMetrics(samples);
+
+        assertEquals(a.medianLower,b.medianLower,0);
+        assertEquals(a.medianUpper,b.medianUpper,0);
+    }
+
+    @Test
+    public void medianInterval_constant() {
+        RuntimeEvaluationMetrics m = new RuntimeEvaluationMetrics(create(new Random(234),10,100,0));
+
+        assertEquals(100,m.medianLower,0);
+        assertEquals(100,m.medianUpper,0);
+        assertEquals(0,m.getRelativeMedianInterval(),0);
+    }
+
+    /**
+     * More samples from the same distribution should shrink the interval
+     */
+    @Test
+    public void medianInterval_moreSamples() {
+        RuntimeEvaluationMetrics few = new RuntimeEvaluationMetrics(create(new Random(234),10,100,20));
+        RuntimeEvaluationMetrics many = new RuntimeEvaluationMetrics(create(new Random(234),1000,100,20));
+
+        assertTrue(many.getRelativeMedianInterval() < few.getRelativeMedianInterval());
+    }
+
+    /**
+     * Creates measurements which are uniformly distributed around the mean
+     */
+    public static List<RuntimeMeasurement> create( Random rand , int N , double mean , double spread ) {
+        List<RuntimeMeasurement> ret = new ArrayList<RuntimeMeasurement>();
+        for( int i = 0; i < N; i++ ) {
+            ret.add(new RuntimeMeasurement(mean+spread*(rand.nextDouble()-0.5),0));
+        }
+        return ret;
+    }
+}
@@ -19,8 +19,127 @@
 
 package jmbench.tools.runtime.evaluation;
 
+import jmbench.tools.OutputError;
+import jmbench.tools.runtime.LatencyHistogram;
+import jmbench.tools.runtime.RuntimeEvaluationMetrics;
+import jmbench.tools.runtime.RuntimeMeasurement;
+import jmbench.tools.runtime.RuntimeResults;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+
 /**
  * @author Peter Abeles
  */
 public class TestRuntimeResultsCsvIO {
+
+    /**
+     * Write the results then read them back in and see if anything changed
+     */
+    @Test
+    public void writeRead() {
+        List<RuntimeMeasurement> raw = new ArrayList<RuntimeMeasurement>();
+        raw.add(new RuntimeMeasurement(100.5,0,null));
+        raw.add(new RuntimeMeasurement(98,0,OutputError.LARGE_ERROR));
+        raw.add(new RuntimeMeasurement(101,0,null));
+        raw.get(0).warmupCycles = 2000;
+        raw.get(0).warmupTime = 0.25;
+        raw.get(0).allocatedPerOp = 512.5;
+        raw.get(1).allocatedPerOp = 0;
+        raw.get(1).latency = new LatencyHistogram();
+        raw.get(1).latency.record(150);
+        raw.get(1).latency.record(2000000);
+        raw.get(1).gcCount = 3;
+        raw.get(1).gcTime = 45;
+        raw.get(1).compileTime = 120;
+        raw.get(1).classesLoaded = 7;
+        raw.get(1).contaminated = true;
+        raw.get(1).numThreads = 2;
+        raw.get(1).threadEfficiency = 0.9;
+        raw.get(2).numThreads = 4;
+        raw.get(2).threadEfficiency = 0.75;
+        raw.get(0).iterations = 40;
+        raw.get(1).iterations = 52;
+        raw.get(2).iterations = 47;
+
+        RuntimeEvaluationMetrics metrics[] = new RuntimeEvaluationMetrics[]{new RuntimeEvaluationMetrics(raw),null};
+        metrics[0].bytesPerOp = 1600;
+        RuntimeResults original = new RuntimeResults("op","lib",new int[]{5,10},metrics);
+        original.complete = false;
+
+        RuntimeResults found = RuntimeResultsCsvIO.read(new ByteArrayInputStream(write(original)));
+
+        assertEquals("op",found.opName);
+        assertEquals("lib",found.libraryName);
+        assertFalse(found.complete);
+        assertArrayEquals(original.matDimen,found.matDimen);
+        assertNull(found.metrics[1]);
+
+        RuntimeEvaluationMetrics m = found.metrics[0];
+        assertEquals(3,m.rawResults.size());
+        for( int i = 0; i < raw.size(); i++ ) {
+            RuntimeMeasurement a = raw.get(i);
+            RuntimeMeasurement b = m.rawResults.get(i);
+            assertEquals(a.opsPerSec,b.opsPerSec,1e-8);
+            assertEquals(a.error,b.error);
+            assertEquals(a.warmupCycles,b.warmupCycles);
+            assertEquals(a.warmupTime,b.warmupTime,1e-8);
+            assertEquals(a.gcCount,b.gcCount);
+            assertEquals(a.gcTime,b.gcTime);
+            assertEquals(a.compileTime,b.compileTime);
+            assertEquals(a.classesLoaded,b.classesLoaded);
+            assertEquals(a.contaminated,b.contaminated);
+            assertEquals(a.allocatedPerOp,b.allocatedPerOp,1e-8);
+            assertEquals(a.numThreads,b.numThreads);
+            assertEquals(a.threadEfficiency,b.threadEfficiency,1e-8);
+            assertEquals(a.iterations,b.iterations);
+            if( a.latency == null ) {
+                assertNull(b.latency);
+            } else {
+                assertEquals(a.latency.total,b.latency.total);
+                assertArrayEquals(a.latency.counts,b.latency.counts);
+            }
+        }
+        assertEquals(metrics[0].medianLower,m.medianLower,1e-8);
+        assertEquals(metrics[0].medianUpper,m.medianUpper,1e-8);
+        assertEquals(metrics[0].allocatedPerOp,m.allocatedPerOp,1e-8);
+        assertEquals(512.5,m.allocatedPerOpMax,1e-8);
+        assertEquals(0.9,m.threadEfficiency,1e-8);
+        assertEquals(47,m.iterations,1e-8);
+        assertEquals(1600,m.bytesPerOp);
+    }
+
+    /**
+     * Files written before the warm-up and confidence interval columns were added should still be readable
+     */
+    @Test
+    public void readOldFormat() {
+        String text = "\"lib\"\t\"op\"\ttrue\t1\n2\t2\n10.0\t\"null\"\n12.0\t\"null\"\n";
+
+        RuntimeResults found = RuntimeResultsCsvIO.read(new ByteArrayInputStream(text.getBytes()));
+
+        assertTrue(found.complete);
+        assertEquals(2,found.matDimen[0]);
+        RuntimeEvaluationMetrics m = found.metrics[0];
+        assertEquals(2,m.rawResults.size());
+        assertEquals(12.0,m.rawResults.get(1).opsPerSec,1e-8);
+        assertEquals(0,m.rawResults.get(1).warmupCycles);
+        assertTrue(m.medianLower <= m.median && m.median <= m.medianUpper);
+        assertEquals(0,m.bytesPerOp);
+    }
+
+    private static byte[] write( RuntimeResults results ) {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(stream);
+        RuntimeResultsCsvIO.write(results,out);
+        out.flush();
+        return stream.toByteArray();
+    }
 }
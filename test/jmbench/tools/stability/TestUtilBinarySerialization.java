@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2009-2011, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of JMatrixBenchmark.
+ *
+ * JMatrixBenchmark is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * JMatrixBenchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JMatrixBenchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package jmbench.tools.stability;
+
+import jmbench.tools.SlaveRecyclePolicy;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+
+/**
+ * @author Peter Abeles
+ */
+public class TestUtilBinarySerialization {
+
+    @Test
+    public void saveLoad() throws IOException {
+        String base = createBase();
+
+        UtilBinarySerialization.saveArtifact(createPolicy(7),base);
+        SlaveRecyclePolicy found = UtilBinarySerialization.loadArtifact(base);
+
+        assertEquals(7,found.maxJobs);
+        delete(base);
+    }
+
+    @Test
+    public void loadArtifact_missing() throws IOException {
+        String base = createBase();
+
+        assertNull(UtilBinarySerialization.loadArtifact(base));
+    }
+
+    /**
+     * If the binary file isn't in the expected format the xml file should be read
+     */
+    @Test
+    public void loadArtifact_badMagic() throws IOException {
+        String base = createBase();
+
+        UtilBinarySerialization.saveArtifact(createPolicy(7),base);
+        FileOutputStream out = new FileOutputStream(base+".bin");
+        out.write(new byte[]{1,2,3,4,5,6,7,8});
+        out.close();
+
+        SlaveRecyclePolicy found = UtilBinarySerialization.loadArtifact(base);
+        assertEquals(7,found.maxJobs);
+        delete(base);
+    }
+
+    /**
+     * If the class has changed since the binary file was saved the xml file should be read
+     */
+    @Test
+    public void loadArtifact_incompatibleClass() throws IOException {
+        String base = createBase();
+
+        // the binary file says maxJobs = 3 and the xml file says 7
+        UtilBinarySerialization.serializeBinary(createPolicy(3),base+".bin");
+        UtilXmlSerialization.serializeXml(createPolicy(7),base+".xml");
+        corruptSerialVersionUID(base+".bin",SlaveRecyclePolicy.class.getName());
+
+        SlaveRecyclePolicy found = UtilBinarySerialization.loadArtifact(base);
+        assertEquals(7,found.maxJobs);
+        delete(base);
+    }
+
+    /**
+     * Changes the serialVersionUID, which follows the class name in the stream, so that it no longer
+     * matches the class
+     */
+    private static void corruptSerialVersionUID( String fileName , String className ) throws IOException {
+        RandomAccessFile file = new RandomAccessFile(fileName,"rw");
+        byte data[] = new byte[ (int)file.length() ];
+        file.readFully(data);
+
+        byte name[] = className.getBytes("UTF-8");
+        // skip over the copy of the name written before the object
+        int start = indexOf(data,name,0);
+        int index = indexOf(data,name,start+name.length);
+
+        file.seek(index+name.length+7);
+        file.write(data[index+name.length+7]+1);
+        file.close();
+    }
+
+    private static int indexOf( byte data[] , byte target[] , int start ) {
+        for( int i = start; i <= data.length-target.length; i++ ) {
+            boolean match = true;
+            for( int j = 0; j < target.length && match; j++ ) {
+                match = data[i+j] == target[j];
+            }
+            if( match )
+                return i;
+        }
+        throw new RuntimeException("Not found");
+    }
+
+    private static SlaveRecyclePolicy createPolicy( int maxJobs ) {
+        SlaveRecyclePolicy ret = SlaveRecyclePolicy.createDefault();
+        ret.maxJobs = maxJobs;
+        return ret;
+    }
+
+    private static String createBase() throws IOException {
+        File f = File.createTempFile("artifact","");
+        f.delete();
+        return f.getAbsolutePath();
+    }
+
+    private static void delete( String base ) {
+        new File(base+".bin").delete();
+        new File(base+".xml").delete();
+    }
+}